@@ -3,6 +3,7 @@ plugins {
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
     alias(libs.plugins.jooq.docker)
+    alias(libs.plugins.jmh)
 }
 
 group = "com.storefront"
@@ -41,6 +42,9 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-starter-cache")
     implementation("com.github.ben-manes.caffeine:caffeine")
 
+    // ── In-JVM catalog indexes (compressed bitmaps for facet posting lists) ───
+    implementation("org.roaringbitmap:RoaringBitmap:1.3.0")
+
     // ── Security + Session ────────────────────────────────────────────────────
 //    implementation("org.springframework.boot:spring-boot-starter-security")
 //    implementation("org.springframework.session:spring-session-data-redis")
@@ -82,6 +86,39 @@ tasks.withType<Test> {
     jvmArgs("-XX:+EnableDynamicAgentLoading")
 }
 
+tasks.test {
+    useJUnitPlatform { excludeTags("query-plans") }
+}
+
+// ./gradlew queryPlanTest [-Dquery-plans.skus-per-group=200 ...]
+// EXPLAIN-based plan regression suite over a synthetic catalog (QueryPlanRegressionTest)
+tasks.register<Test>("queryPlanTest") {
+    group = "verification"
+    description = "Fails on seq scans of large catalog tables or buffer counts above baseline"
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    useJUnitPlatform { includeTags("query-plans") }
+    systemProperties(System.getProperties().filterKeys { it.toString().startsWith("query-plans.") }
+        .mapKeys { it.key.toString() })
+    shouldRunAfter(tasks.test)
+}
+
+// ─── Microbenchmarks (src/jmh/java) ───────────────────────────────────────────
+// ./gradlew jmh [-Pjmh.includes=FilterParamParser]
+// Runs with the GC profiler, so every benchmark also reports gc.alloc.rate.norm
+// (bytes allocated per operation). Results land in build/reports/jmh/results.json;
+// compare two runs with scripts/jmh_compare.py.
+jmh {
+    jmhVersion = libs.versions.jmh
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    resultsFile = layout.buildDirectory.file("reports/jmh/results.json")
+    (findProperty("jmh.includes") as String?)?.let { includes = listOf(it) }
+}
+
 // ─── Compiler flags ───────────────────────────────────────────────────────────
 tasks.withType<JavaCompile> {
     options.compilerArgs.addAll(
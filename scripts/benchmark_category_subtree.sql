@@ -0,0 +1,161 @@
+-- ════════════════════════════════════════════════════════════════════════════
+-- Subtree restriction benchmark: ltree self-join vs nested-set BETWEEN (V13)
+--
+-- Builds a large synthetic catalog in a throw-away schema (no FKs, so it
+-- does not touch real data), then runs the mid-level "filtered children"
+-- and "subtree facets" shapes both ways under EXPLAIN (ANALYZE, BUFFERS).
+--
+-- Run:
+--   docker exec -i storefront-db psql -U storefront -d storefront_dev \
+--       -v fanout=12 -v depth=4 -v skus_per_leaf=400 -v attrs_per_sku=6 \
+--       < scripts/benchmark_category_subtree.sql
+--
+-- Defaults (fanout 12, depth 4) give ~22k categories, ~20k leaves and
+-- ~50M sku_facet_index rows at 400 SKUs x 6 attributes; scale down for a
+-- laptop run, e.g. -v skus_per_leaf=50.
+-- ════════════════════════════════════════════════════════════════════════════
+
+\set ON_ERROR_STOP on
+\if :{?fanout}
+\else
+    \set fanout 12
+\endif
+\if :{?depth}
+\else
+    \set depth 4
+\endif
+\if :{?skus_per_leaf}
+\else
+    \set skus_per_leaf 400
+\endif
+\if :{?attrs_per_sku}
+\else
+    \set attrs_per_sku 6
+\endif
+\timing on
+
+DROP SCHEMA IF EXISTS bench_subtree CASCADE;
+CREATE SCHEMA bench_subtree;
+SET search_path = bench_subtree, public;
+
+
+-- ── Category tree ───────────────────────────────────────────────────────────
+
+CREATE TABLE categories (
+    id         INT PRIMARY KEY,
+    parent_id  INT,
+    path       LTREE NOT NULL,
+    is_leaf    BOOLEAN NOT NULL,
+    is_active  BOOLEAN NOT NULL,
+    sort_order SMALLINT NOT NULL,
+    lft        INT,
+    rgt        INT
+);
+
+WITH RECURSIVE tree AS (
+    SELECT 1 AS id, NULL::INT AS parent_id, 'root'::LTREE AS path, 0 AS level, 0 AS ord
+    UNION ALL
+    SELECT (t.id * :fanout) + g - (:fanout - 1), t.id,
+           t.path || ('n' || ((t.id * :fanout) + g - (:fanout - 1)))::LTREE,
+           t.level + 1, g
+    FROM tree t, generate_series(1, :fanout) g
+    WHERE t.level < :depth
+)
+INSERT INTO categories (id, parent_id, path, is_leaf, is_active, sort_order)
+SELECT id, parent_id, path, level = :depth, (id % 50) <> 0, ord
+FROM tree;
+
+-- Same numbering as fn_renumber_category_intervals()
+WITH RECURSIVE walk AS (
+    SELECT id, ARRAY[sort_order::INT, id] AS ord FROM categories WHERE parent_id IS NULL
+    UNION ALL
+    SELECT c.id, w.ord || ARRAY[c.sort_order::INT, c.id]
+    FROM categories c JOIN walk w ON w.id = c.parent_id
+), numbered AS (
+    SELECT id, ord, ROW_NUMBER() OVER (ORDER BY ord)::INT AS lft FROM walk
+), descendants AS (
+    SELECT n.ord[i] AS id, COUNT(*)::INT AS n
+    FROM numbered n, generate_subscripts(n.ord, 1) AS i
+    WHERE i % 2 = 0 AND n.ord[i] <> n.id
+    GROUP BY n.ord[i]
+)
+UPDATE categories c
+SET lft = n.lft, rgt = n.lft + COALESCE(d.n, 0)
+FROM numbered n LEFT JOIN descendants d ON d.id = n.id
+WHERE c.id = n.id;
+
+CREATE INDEX ON categories USING GIST (path);
+CREATE INDEX ON categories (path);
+CREATE INDEX ON categories (parent_id);
+CREATE INDEX ON categories (lft) INCLUDE (rgt);
+
+
+-- ── Facet rows ──────────────────────────────────────────────────────────────
+
+CREATE TABLE sku_facet_index (
+    sku_id       UUID NOT NULL,
+    category_id  INT  NOT NULL,
+    attribute_id INT  NOT NULL,
+    option_id    INT,
+    leaf_lft     INT
+);
+
+INSERT INTO sku_facet_index (sku_id, category_id, attribute_id, option_id, leaf_lft)
+SELECT s.sku_id, l.id, a, (hashint4(s.n * 31 + a) & 7) + a * 100,
+       CASE WHEN l.is_active THEN l.lft END
+FROM categories l
+CROSS JOIN LATERAL (SELECT gen_random_uuid() AS sku_id, n
+                    FROM generate_series(1, :skus_per_leaf) n) s
+CROSS JOIN generate_series(1, :attrs_per_sku) a
+WHERE l.is_leaf;
+
+CREATE INDEX ON sku_facet_index (category_id, attribute_id, option_id);
+CREATE INDEX ON sku_facet_index (leaf_lft, attribute_id, option_id) INCLUDE (sku_id)
+    WHERE leaf_lft IS NOT NULL;
+VACUUM ANALYZE categories, sku_facet_index;
+
+SELECT (SELECT COUNT(*) FROM categories) AS categories,
+       (SELECT COUNT(*) FROM categories WHERE is_leaf) AS leaves,
+       (SELECT COUNT(*) FROM sku_facet_index) AS facet_rows;
+
+
+-- ── Filtered children of the root ───────────────────────────────────────────
+
+\echo '== children / ltree'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT c.id, COUNT(DISTINCT sfi.sku_id)
+FROM categories c
+JOIN categories l ON l.path <@ c.path AND l.is_leaf AND l.is_active
+JOIN sku_facet_index sfi ON sfi.category_id = l.id
+WHERE c.parent_id = 1 AND c.is_active
+GROUP BY c.id;
+
+\echo '== children / nested set'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT c.id, COUNT(DISTINCT sfi.sku_id)
+FROM categories c
+JOIN sku_facet_index sfi ON sfi.leaf_lft BETWEEN c.lft AND c.rgt
+WHERE c.parent_id = 1 AND c.is_active
+GROUP BY c.id;
+
+
+-- ── Facets for one depth-1 subtree ──────────────────────────────────────────
+
+\echo '== subtree facets / ltree'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT sfi.attribute_id, sfi.option_id, COUNT(DISTINCT sfi.sku_id)
+FROM categories l
+JOIN sku_facet_index sfi ON sfi.category_id = l.id
+WHERE l.path <@ 'root.n2'::LTREE AND l.is_leaf AND l.is_active
+GROUP BY sfi.attribute_id, sfi.option_id;
+
+\echo '== subtree facets / nested set'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT sfi.attribute_id, sfi.option_id, COUNT(DISTINCT sfi.sku_id)
+FROM categories c
+JOIN sku_facet_index sfi ON sfi.leaf_lft BETWEEN c.lft AND c.rgt
+WHERE c.path = 'root.n2'::LTREE
+GROUP BY sfi.attribute_id, sfi.option_id;
+
+
+DROP SCHEMA bench_subtree CASCADE;
@@ -0,0 +1,113 @@
+-- ════════════════════════════════════════════════════════════════════════════
+-- Variant-table price tiers: correlated json_agg per SKU vs one batched fetch
+--
+-- Builds one large product group in a throw-away schema (no FKs, so it does
+-- not touch real data), then runs both query shapes under EXPLAIN (ANALYZE,
+-- BUFFERS) and compares the text-protocol payload each sends to the JVM.
+--
+-- Run:
+--   docker exec -i storefront-db psql -U storefront -d storefront_dev \
+--       -v skus=5000 -v tiers_per_sku=3 \
+--       < scripts/benchmark_price_tiers.sql
+--
+-- The Java side of the comparison (Jackson parse vs typed rows) is
+-- PriceTierDecodingBenchmark: ./gradlew jmh -Pjmh.includes=PriceTierDecoding
+-- ════════════════════════════════════════════════════════════════════════════
+
+\set ON_ERROR_STOP on
+\if :{?skus}
+\else
+    \set skus 5000
+\endif
+\if :{?tiers_per_sku}
+\else
+    \set tiers_per_sku 3
+\endif
+\timing on
+
+DROP SCHEMA IF EXISTS bench_price_tiers CASCADE;
+CREATE SCHEMA bench_price_tiers;
+SET search_path = bench_price_tiers, public;
+
+
+-- ── Data ────────────────────────────────────────────────────────────────────
+
+CREATE TABLE skus (
+    id               UUID PRIMARY KEY,
+    product_group_id UUID NOT NULL,
+    sort_key         VARCHAR(200) NOT NULL,
+    is_active        BOOLEAN NOT NULL
+);
+
+CREATE TABLE sku_price_tiers (
+    sku_id     UUID NOT NULL,
+    qty_min    INT NOT NULL,
+    qty_max    INT,
+    unit_price NUMERIC(12,4) NOT NULL,
+    currency   CHAR(3) NOT NULL DEFAULT 'USD',
+    is_active  BOOLEAN NOT NULL DEFAULT TRUE
+);
+
+INSERT INTO skus (id, product_group_id, sort_key, is_active)
+SELECT gen_random_uuid(), '00000000-0000-0000-0000-000000000001', lpad(n::TEXT, 6, '0'), TRUE
+FROM generate_series(1, :skus) n;
+
+INSERT INTO sku_price_tiers (sku_id, qty_min, qty_max, unit_price)
+SELECT s.id,
+       CASE WHEN t = 1 THEN 1 ELSE 25 * (4 ^ (t - 2))::INT END,
+       CASE WHEN t = :tiers_per_sku THEN NULL ELSE 25 * (4 ^ (t - 1))::INT - 1 END,
+       round((1.25 - 0.15 * t + random() * 0.1)::NUMERIC, 4)
+FROM skus s
+CROSS JOIN generate_series(1, :tiers_per_sku) t;
+
+CREATE INDEX ON skus (product_group_id, is_active, sort_key, id);
+CREATE INDEX ON sku_price_tiers (sku_id, currency, is_active);
+VACUUM ANALYZE skus, sku_price_tiers;
+
+
+-- ── Query shapes ────────────────────────────────────────────────────────────
+
+\echo '== json_agg per SKU'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT s.id,
+       (SELECT json_agg(json_build_object('qty_min', pt.qty_min, 'qty_max', pt.qty_max,
+                                          'price', pt.unit_price) ORDER BY pt.qty_min)
+        FROM sku_price_tiers pt
+        WHERE pt.sku_id = s.id AND pt.is_active AND pt.currency = 'USD') AS price_tiers
+FROM skus s
+WHERE s.product_group_id = '00000000-0000-0000-0000-000000000001' AND s.is_active
+ORDER BY s.sort_key, s.id;
+
+\echo '== batched tier rows'
+EXPLAIN (ANALYZE, BUFFERS, COSTS OFF)
+SELECT pt.sku_id, pt.qty_min, pt.qty_max, pt.unit_price
+FROM sku_price_tiers pt
+WHERE pt.sku_id = ANY (ARRAY(SELECT id FROM skus
+                             WHERE product_group_id = '00000000-0000-0000-0000-000000000001'
+                               AND is_active))
+  AND pt.currency = 'USD' AND pt.is_active
+ORDER BY pt.sku_id, pt.qty_min;
+
+
+-- ── Payload (text protocol, values only) ────────────────────────────────────
+
+\echo '== payload bytes'
+SELECT 'json_agg per SKU' AS shape,
+       SUM(octet_length(s.id::TEXT) + COALESCE(octet_length(j.price_tiers::TEXT), 0)) AS bytes
+FROM skus s
+CROSS JOIN LATERAL (
+    SELECT json_agg(json_build_object('qty_min', pt.qty_min, 'qty_max', pt.qty_max,
+                                      'price', pt.unit_price) ORDER BY pt.qty_min) AS price_tiers
+    FROM sku_price_tiers pt
+    WHERE pt.sku_id = s.id AND pt.is_active AND pt.currency = 'USD') j
+UNION ALL
+SELECT 'batched tier rows',
+       SUM(octet_length(s.id::TEXT))
+     + (SELECT SUM(octet_length(pt.sku_id::TEXT) + octet_length(pt.qty_min::TEXT)
+                 + COALESCE(octet_length(pt.qty_max::TEXT), 0) + octet_length(pt.unit_price::TEXT))
+        FROM sku_price_tiers pt
+        WHERE pt.is_active AND pt.currency = 'USD')
+FROM skus s;
+
+
+DROP SCHEMA bench_price_tiers CASCADE;
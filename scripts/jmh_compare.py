@@ -0,0 +1,67 @@
+#!/usr/bin/env python3
+"""
+Compare two JMH JSON result files (./gradlew jmh writes build/reports/jmh/results.json).
+
+For every benchmark present in both runs, prints the primary score and the
+normalized allocation rate (gc.alloc.rate.norm, bytes/op) side by side with
+the relative change.
+
+Usage:
+    git stash; ./gradlew jmh; cp build/reports/jmh/results.json /tmp/before.json; git stash pop
+    ./gradlew jmh
+    python3 scripts/jmh_compare.py /tmp/before.json build/reports/jmh/results.json
+"""
+
+import json
+import sys
+
+
+def load(path):
+    """Map 'Benchmark.method [param=value ...]' to (score, unit, alloc bytes/op)."""
+    with open(path) as f:
+        runs = json.load(f)
+    out = {}
+    for run in runs:
+        params = run.get("params") or {}
+        key = run["benchmark"].rsplit(".", 2)[-2] + "." + run["benchmark"].rsplit(".", 1)[-1]
+        if params:
+            key += " [" + " ".join(f"{k}={v}" for k, v in sorted(params.items())) + "]"
+        primary = run["primaryMetric"]
+        alloc = run.get("secondaryMetrics", {}).get("gc.alloc.rate.norm", {}).get("score")
+        out[key] = (primary["score"], primary["scoreUnit"], alloc)
+    return out
+
+
+def delta(before, after):
+    if before is None or after is None:
+        return "n/a"
+    if before == 0:
+        return "  =" if after == 0 else "  new"
+    return f"{(after - before) / before * 100:+6.1f}%"
+
+
+def main():
+    if len(sys.argv) != 3:
+        print(__doc__)
+        sys.exit(1)
+    before, after = load(sys.argv[1]), load(sys.argv[2])
+
+    width = max((len(k) for k in after), default=10)
+    print(f"{'benchmark':<{width}}  {'before':>12} {'after':>12} {'Δ':>8}   "
+          f"{'B/op before':>12} {'B/op after':>12} {'Δ':>8}")
+    for key in sorted(after):
+        if key not in before:
+            continue
+        b_score, unit, b_alloc = before[key]
+        a_score, _, a_alloc = after[key]
+        print(f"{key:<{width}}  {b_score:>12.2f} {a_score:>12.2f} {delta(b_score, a_score):>8}   "
+              f"{b_alloc or 0:>12.0f} {a_alloc or 0:>12.0f} {delta(b_alloc, a_alloc):>8}  ({unit})")
+
+    for key in sorted(set(after) - set(before)):
+        print(f"{key:<{width}}  (new)")
+    for key in sorted(set(before) - set(after)):
+        print(f"{key:<{width}}  (removed)")
+
+
+if __name__ == "__main__":
+    main()
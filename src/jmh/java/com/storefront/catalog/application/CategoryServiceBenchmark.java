@@ -0,0 +1,81 @@
+package com.storefront.catalog.application;
+
+import com.storefront.catalog.CategoryApi.CategoryBreadcrumb;
+import com.storefront.catalog.CategoryApi.CategoryNode;
+import com.storefront.catalog.CategoryApi.CategorySection;
+import com.storefront.catalog.domain.model.CatalogKeyFilter;
+import com.storefront.catalog.domain.model.CategoryRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory tree assembly behind the mega-menu, rendered on every page.
+ * The repository is replaced by a fixed list so only the grouping and
+ * sorting in CategoryService is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CategoryServiceBenchmark {
+
+    @Param({"12"})
+    public int topLevel;
+
+    @Param({"10"})
+    public int fanout;
+
+    private CategoryService service;
+
+    @Setup
+    public void setUp() {
+        List<CategoryNode> nodes = new ArrayList<>();
+        int id = 1;
+        for (int t = 0; t < topLevel; t++) {
+            int topId = id++;
+            nodes.add(node(topId, "T" + t, 0, (short) (topLevel - t), null));
+            for (int m = 0; m < fanout; m++) {
+                int midId = id++;
+                nodes.add(node(midId, "T" + t + ".M" + m, 1, (short) m, topId));
+                for (int l = 0; l < fanout; l++) {
+                    nodes.add(node(id++, "T" + t + ".M" + m + ".L" + l, 2, (short) l, midId));
+                }
+            }
+        }
+        service = new CategoryService(new FixedCategoryRepository(List.copyOf(nodes)),
+                null, null, null, null, new AllKeysMightExist());
+    }
+
+    @Benchmark
+    public List<CategorySection> findAllCategoriesGrouped() {
+        return service.findAllCategoriesGrouped();
+    }
+
+    private static CategoryNode node(int id, String path, int depth, short sortOrder, Integer parentId) {
+        return new CategoryNode(id, "Category " + id, "category-" + id, path, 0,
+                depth == 2, sortOrder, (short) depth, parentId);
+    }
+
+    /** The menu never consults the key filter; this one lets every key through. */
+    private static final class AllKeysMightExist implements CatalogKeyFilter {
+
+        @Override public boolean mightExist(KeyKind kind, String key) { return true; }
+        @Override public void recordFalsePositive(KeyKind kind) { }
+    }
+
+    private record FixedCategoryRepository(List<CategoryNode> all) implements CategoryRepository {
+
+        @Override public List<CategoryNode> findAllWithinDepth(short maxDepth) { return all; }
+
+        @Override public List<CategoryNode> findTopLevel() { throw new UnsupportedOperationException(); }
+        @Override public List<CategoryNode> findChildren(int parentId) { throw new UnsupportedOperationException(); }
+        @Override public List<CategoryBreadcrumb> findBreadcrumb(String categoryPath) { throw new UnsupportedOperationException(); }
+        @Override public Optional<CategoryNode> findBySlug(String slug) { throw new UnsupportedOperationException(); }
+        @Override public List<CategoryNode> findBySlugs(Collection<String> slugs) { throw new UnsupportedOperationException(); }
+        @Override public List<CategoryNode> findDescendants(String ancestorPath) { throw new UnsupportedOperationException(); }
+    }
+}
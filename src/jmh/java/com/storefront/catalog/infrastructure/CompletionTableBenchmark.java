@@ -0,0 +1,71 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.ProductApi.ProductGroupSummary;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One dropdown keystroke against a catalog-sized {@link CompletionTable}:
+ * prefixes of one to eight characters drawn from a skewed vocabulary, so
+ * both precomputed (heavy) prefixes and scanned ranges are exercised.
+ * Run with {@code -bm sample} for the latency percentiles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CompletionTableBenchmark {
+
+    @Param({"100000"})
+    public int groups;
+
+    private CompletionTable table;
+    private String[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        var vocabulary = new String[5_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            var word = new StringBuilder();
+            int length = 3 + random.nextInt(8);
+            for (int j = 0; j < length; j++) word.append((char) ('a' + random.nextInt(26)));
+            vocabulary[i] = word.toString();
+        }
+
+        List<ProductGroupSummary> summaries = new ArrayList<>(groups);
+        for (int i = 0; i < groups; i++) {
+            summaries.add(new ProductGroupSummary(UUID.randomUUID(),
+                    words(random, vocabulary, 4, 500), words(random, vocabulary, 5, 800),
+                    "group-" + i, null, random.nextInt(1_000), null, true));
+        }
+        table = CompletionTable.build(summaries, 10);
+
+        queries = new String[4_096];
+        for (int i = 0; i < queries.length; i++) {
+            var word = vocabulary[skewed(random, 500, vocabulary.length)];
+            queries[i] = word.substring(0, 1 + random.nextInt(Math.min(8, word.length())));
+        }
+    }
+
+    @Benchmark
+    public void complete(Blackhole bh) {
+        bh.consume(table.complete(queries[next++ & (queries.length - 1)], 10));
+    }
+
+    private static String words(Random random, String[] vocabulary, int count, int spread) {
+        var text = new StringBuilder();
+        for (int i = 0; i < count; i++) text.append(vocabulary[skewed(random, spread, vocabulary.length)]).append(' ');
+        return text.toString().strip();
+    }
+
+    private static int skewed(Random random, int spread, int bound) {
+        return (int) Math.abs(random.nextGaussian() * spread) % bound;
+    }
+}
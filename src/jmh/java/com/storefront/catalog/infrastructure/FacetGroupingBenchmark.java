@@ -0,0 +1,75 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.ProductApi.FacetGroup;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.storefront.jooq.Tables.ATTRIBUTE_DEFINITIONS;
+import static com.storefront.jooq.Tables.ATTRIBUTE_OPTIONS;
+
+/**
+ * Grouping of flat (attribute, option, count) rows into FacetGroups, as the
+ * SQL browse engine does after every facet query. The Result is built in
+ * memory with the same field layout the repository selects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FacetGroupingBenchmark {
+
+    @Param({"6", "24"})
+    public int attributes;
+
+    @Param({"12"})
+    public int optionsPerAttribute;
+
+    private Result<Record> records;
+
+    @Setup
+    public void setUp() {
+        var ctx = DSL.using(SQLDialect.POSTGRES);
+        Field<Integer> optionId = DSL.field(DSL.name("option_id"), Integer.class);
+        Field<Integer> skuCount = DSL.field(DSL.name("sku_count"), Integer.class);
+        Field<?>[] fields = {
+                ATTRIBUTE_DEFINITIONS.ID, ATTRIBUTE_DEFINITIONS.KEY, ATTRIBUTE_DEFINITIONS.LABEL,
+                ATTRIBUTE_DEFINITIONS.FILTER_WIDGET, ATTRIBUTE_DEFINITIONS.UNIT_LABEL, optionId,
+                ATTRIBUTE_OPTIONS.VALUE, ATTRIBUTE_OPTIONS.DISPLAY_VALUE, ATTRIBUTE_OPTIONS.IMAGE_URL,
+                skuCount };
+
+        records = ctx.newResult(fields);
+        int nextOption = 1;
+        for (int a = 1; a <= attributes; a++) {
+            for (int o = 0; o < optionsPerAttribute; o++, nextOption++) {
+                Record r = ctx.newRecord(fields);
+                r.set(ATTRIBUTE_DEFINITIONS.ID, a);
+                r.set(ATTRIBUTE_DEFINITIONS.KEY, "attr_" + a);
+                r.set(ATTRIBUTE_DEFINITIONS.LABEL, "Attribute " + a);
+                r.set(ATTRIBUTE_DEFINITIONS.FILTER_WIDGET, "checkbox");
+                r.set(ATTRIBUTE_DEFINITIONS.UNIT_LABEL, null);
+                r.set(optionId, nextOption);
+                r.set(ATTRIBUTE_OPTIONS.VALUE, "value-" + nextOption);
+                r.set(ATTRIBUTE_OPTIONS.DISPLAY_VALUE, "Value " + nextOption);
+                r.set(ATTRIBUTE_OPTIONS.IMAGE_URL, null);
+                r.set(skuCount, 10 + nextOption % 400);
+                records.add(r);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<FacetGroup> toFacetGroups() {
+        return JooqCategoryBrowseRepository.toFacetGroups(records,
+                ATTRIBUTE_DEFINITIONS.ID, ATTRIBUTE_DEFINITIONS.KEY,
+                ATTRIBUTE_DEFINITIONS.LABEL, ATTRIBUTE_DEFINITIONS.FILTER_WIDGET,
+                ATTRIBUTE_DEFINITIONS.UNIT_LABEL,
+                ATTRIBUTE_OPTIONS.VALUE, ATTRIBUTE_OPTIONS.DISPLAY_VALUE,
+                ATTRIBUTE_OPTIONS.IMAGE_URL);
+    }
+}
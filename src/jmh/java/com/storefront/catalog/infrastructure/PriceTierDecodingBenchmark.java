@@ -0,0 +1,100 @@
+package com.storefront.catalog.infrastructure;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.storefront.catalog.ProductApi.PriceTier;
+import org.jooq.Field;
+import org.jooq.Record;
+import org.jooq.Result;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.storefront.jooq.Tables.SKU_PRICE_TIERS;
+
+/**
+ * Price tiers of one variant-table page, decoded both ways: the former
+ * json_agg string per row parsed with Jackson (as the template did), against
+ * grouping the flat tier rows of the batched query. Run with the gc profiler
+ * for bytes allocated per page; scripts/benchmark_price_tiers.sql measures
+ * the database side and the bytes on the wire.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PriceTierDecodingBenchmark {
+
+    @Param({"100", "500"})
+    public int rows;
+
+    @Param({"3"})
+    public int tiersPerSku;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private String[] jsonAggregates;
+    private Result<Record> tierRows;
+
+    @Setup
+    public void setUp() {
+        var ctx = DSL.using(SQLDialect.POSTGRES);
+        var pt = SKU_PRICE_TIERS;
+        Field<?>[] fields = { pt.SKU_ID, pt.QTY_MIN, pt.QTY_MAX, pt.UNIT_PRICE };
+        tierRows = ctx.newResult(fields);
+        jsonAggregates = new String[rows];
+
+        for (int i = 0; i < rows; i++) {
+            UUID skuId = UUID.randomUUID();
+            var json = new StringBuilder("[");
+            for (int t = 0; t < tiersPerSku; t++) {
+                int min = t == 0 ? 1 : 25 * (int) Math.pow(4, t - 1);
+                Integer max = t == tiersPerSku - 1 ? null : 25 * (int) Math.pow(4, t) - 1;
+                var price = BigDecimal.valueOf(12_500 - 1_500L * t + i, 4);
+
+                Record r = ctx.newRecord(fields);
+                r.set(pt.SKU_ID, skuId);
+                r.set(pt.QTY_MIN, min);
+                r.set(pt.QTY_MAX, max);
+                r.set(pt.UNIT_PRICE, price);
+                tierRows.add(r);
+
+                // json_build_object's own formatting
+                if (t > 0) json.append(", ");
+                json.append("{\"qty_min\" : ").append(min)
+                        .append(", \"qty_max\" : ").append(max)
+                        .append(", \"price\" : ").append(price.toPlainString()).append('}');
+            }
+            jsonAggregates[i] = json.append(']').toString();
+        }
+    }
+
+    @Benchmark
+    public void jsonAggregate(Blackhole bh) throws Exception {
+        for (String json : jsonAggregates) {
+            List<JsonNode> tiers = new ArrayList<>();
+            for (JsonNode tier : mapper.readTree(json)) tiers.add(tier);
+            for (JsonNode tier : tiers) {
+                bh.consume(tier.get("qty_min").asInt());
+                bh.consume(tier.get("price").asText());
+            }
+        }
+    }
+
+    @Benchmark
+    public void typedTiers(Blackhole bh) {
+        Map<UUID, List<PriceTier>> bySku = JooqSkuRepository.groupPriceTiers(tierRows);
+        for (List<PriceTier> tiers : bySku.values()) {
+            for (PriceTier tier : tiers) {
+                bh.consume(tier.qtyMin());
+                bh.consume(tier.unitPrice().toPlainString());
+            }
+        }
+    }
+}
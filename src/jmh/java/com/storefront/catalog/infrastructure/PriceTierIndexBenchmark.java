@@ -0,0 +1,57 @@
+package com.storefront.catalog.infrastructure;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pricing a quote of {@code lines} SKUs against a catalog-sized index — the
+ * work behind one {@code findSkuPriceInfos} call, previously one SQL query
+ * per line. Ids are already resolved to ordinals; see SkuOrdinalTableBenchmark
+ * for that half.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PriceTierIndexBenchmark {
+
+    @Param({"200000"})
+    public int skus;
+
+    @Param({"10", "500"})
+    public int lines;
+
+    private PriceTierIndex index;
+    private int[] quoteSkus;
+    private int[] quoteQuantities;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        var builder = PriceTierIndex.builder();
+        for (int i = 0; i < skus; i++) {
+            var base = BigDecimal.valueOf(10 + random.nextInt(5000), 2);
+            builder.tier(i, "PN" + i, "Each", 1, 24, base)
+                    .tier(i, "PN" + i, "Each", 25, 99, base.multiply(new BigDecimal("0.80")))
+                    .tier(i, "PN" + i, "Each", 100, null, base.multiply(new BigDecimal("0.65")));
+        }
+        index = builder.build();
+
+        quoteSkus = new int[lines];
+        quoteQuantities = new int[lines];
+        for (int i = 0; i < lines; i++) {
+            quoteSkus[i] = random.nextInt(skus);
+            quoteQuantities[i] = 1 + random.nextInt(250);
+        }
+    }
+
+    @Benchmark
+    public void quote(Blackhole bh) {
+        for (int i = 0; i < lines; i++) {
+            bh.consume(index.unitPrice(quoteSkus[i], quoteQuantities[i]));
+        }
+    }
+}
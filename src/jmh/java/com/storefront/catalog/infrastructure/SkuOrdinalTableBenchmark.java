@@ -0,0 +1,62 @@
+package com.storefront.catalog.infrastructure;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving {@code lookups} SKU ids to ordinals against a catalog-sized
+ * dictionary: the open-addressed long-pair table versus the
+ * {@code HashMap<UUID, Integer>} the in-JVM indexes used to keep each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SkuOrdinalTableBenchmark {
+
+    @Param({"1000000"})
+    public int skus;
+
+    @Param({"500"})
+    public int lookups;
+
+    private SkuOrdinalTable table;
+    private Map<UUID, Integer> hashMap;
+    private UUID[] probes;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        var builder = SkuOrdinalTable.builder(null);
+        var ids = new UUID[skus];
+        hashMap = new HashMap<>();
+        for (int i = 0; i < skus; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong());
+            builder.add(i, ids[i]);
+            hashMap.put(ids[i], i);
+        }
+        table = builder.build();
+
+        // Fresh UUID objects, as parsed from a request — no identity hits
+        probes = new UUID[lookups];
+        for (int i = 0; i < lookups; i++) {
+            var id = ids[random.nextInt(skus)];
+            probes[i] = new UUID(id.getMostSignificantBits(), id.getLeastSignificantBits());
+        }
+    }
+
+    @Benchmark
+    public void ordinalTable(Blackhole bh) {
+        for (UUID probe : probes) bh.consume(table.ordinalOf(probe));
+    }
+
+    @Benchmark
+    public void hashMap(Blackhole bh) {
+        for (UUID probe : probes) bh.consume(hashMap.get(probe));
+    }
+}
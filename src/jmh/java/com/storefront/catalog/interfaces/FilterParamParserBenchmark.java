@@ -0,0 +1,50 @@
+package com.storefront.catalog.interfaces;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query-string parsing runs on every category and product-group request,
+ * including each HTMX filter toggle.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FilterParamParserBenchmark {
+
+    private Map<String, String> typical;
+    private Map<String, String> heavy;
+
+    @Setup
+    public void setUp() {
+        // Two checkbox facets and one range, plus the unrelated params a real URL carries
+        typical = new LinkedHashMap<>();
+        typical.put("page", "0");
+        typical.put("enum_14", "203,201");
+        typical.put("enum_9", "88");
+        typical.put("range_min_31", "12.5");
+        typical.put("range_max_31", "40");
+
+        heavy = new LinkedHashMap<>();
+        for (int attr = 1; attr <= 12; attr++) {
+            heavy.put("enum_" + attr, "9,3,7,3,1,12,5,5,2");
+        }
+        for (int attr = 40; attr < 46; attr++) {
+            heavy.put("range_min_" + attr, "0.125");
+            heavy.put("range_max_" + attr, "1500");
+        }
+    }
+
+    @Benchmark
+    public FilterParamParser.ParsedFilters typicalSelection() {
+        return FilterParamParser.parse(typical);
+    }
+
+    @Benchmark
+    public FilterParamParser.ParsedFilters heavySelection() {
+        return FilterParamParser.parse(heavy);
+    }
+}
@@ -0,0 +1,49 @@
+package com.storefront.shared;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Line-total arithmetic as the cart and quick-order compute it: unit price
+ * times quantity, summed over lines, compared against a threshold.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MoneyBenchmark {
+
+    private static final int LINES = 25;
+
+    private Money[] unitPrices;
+    private int[] quantities;
+    private Money freeShippingThreshold;
+    private BigDecimal discount;
+
+    @Setup
+    public void setUp() {
+        unitPrices = new Money[LINES];
+        quantities = new int[LINES];
+        for (int i = 0; i < LINES; i++) {
+            unitPrices[i] = Money.ofUsd(BigDecimal.valueOf(17 + i * 113L, 2));
+            quantities[i] = 1 + (i * 7) % 100;
+        }
+        freeShippingThreshold = Money.ofUsd("250.00");
+        discount = new BigDecimal("0.85");
+    }
+
+    @Benchmark
+    public Money lineTotal() {
+        return unitPrices[7].multiply(quantities[7]);
+    }
+
+    @Benchmark
+    public boolean orderTotal() {
+        Money total = Money.zero(Money.USD);
+        for (int i = 0; i < LINES; i++) {
+            total = total.add(unitPrices[i].multiply(quantities[i]));
+        }
+        return total.multiply(discount).isGreaterThan(freeShippingThreshold);
+    }
+}
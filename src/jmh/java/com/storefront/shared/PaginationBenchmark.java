@@ -0,0 +1,49 @@
+package com.storefront.shared;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Page wrappers built for every listing response. Slice.of copies the
+ * fetched rows when there is no probe row, so its cost scales with page size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PaginationBenchmark {
+
+    @Param({"24", "48", "100"})
+    public int pageSize;
+
+    private List<Integer> fullSlice;
+    private List<Integer> lastSlice;
+    private SliceRequest sliceRequest;
+    private PageRequest pageRequest;
+
+    @Setup
+    public void setUp() {
+        fullSlice = new ArrayList<>();
+        for (int i = 0; i <= pageSize; i++) fullSlice.add(i);   // includes the probe row
+        lastSlice = new ArrayList<>(fullSlice.subList(0, pageSize / 2));
+        sliceRequest = SliceRequest.of(3, pageSize);
+        pageRequest = PageRequest.of(3, pageSize);
+    }
+
+    @Benchmark
+    public Slice<Integer> sliceWithProbeRow() {
+        return Slice.of(fullSlice, sliceRequest);
+    }
+
+    @Benchmark
+    public Slice<Integer> sliceLastPage() {
+        return Slice.of(lastSlice, sliceRequest);
+    }
+
+    @Benchmark
+    public Pagination<Integer> paginationOf() {
+        return Pagination.of(lastSlice, 12_345, pageRequest);
+    }
+}
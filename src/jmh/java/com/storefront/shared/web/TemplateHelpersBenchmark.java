@@ -0,0 +1,27 @@
+package com.storefront.shared.web;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Helpers called per row while rendering variant tables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TemplateHelpersBenchmark {
+
+    private BigDecimal price;
+
+    @Setup
+    public void setUp() {
+        price = new BigDecimal("1234.5678");
+    }
+
+    @Benchmark
+    public String formatCurrency() {
+        return TemplateHelpers.formatCurrency(price);
+    }
+}
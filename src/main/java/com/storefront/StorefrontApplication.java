@@ -4,6 +4,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.modulith.Modulith;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * StorefrontApplication — single deployable Spring Boot modulith.
@@ -21,6 +22,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
 @Modulith
 @EnableCaching
 @EnableAsync
+@EnableScheduling
 public class StorefrontApplication {
 
     private StorefrontApplication() {
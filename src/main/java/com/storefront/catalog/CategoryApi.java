@@ -6,6 +6,7 @@ import com.storefront.catalog.ProductApi.NumericRange;
 import com.storefront.catalog.ProductApi.SkuRow;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -21,6 +22,12 @@ public interface CategoryApi {
 
     Optional<CategoryNode> findCategoryBySlug(String slug);
 
+    /**
+     * Batch form of {@link #findCategoryBySlug}: active categories keyed by
+     * slug; unknown slugs are absent.
+     */
+    Map<String, CategoryNode> findCategoriesBySlugs(Collection<String> slugs);
+
     List<CategoryNode> findCategoryDescendants(String categoryPath);
 
     List<CategorySection> findAllCategoriesGrouped();
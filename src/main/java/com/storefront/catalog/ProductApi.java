@@ -4,6 +4,7 @@ import com.storefront.shared.Slice;
 import com.storefront.shared.SliceRequest;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -25,16 +26,69 @@ public interface ProductApi {
     List<UUID> findMatchingSkuIds(UUID groupId, Map<Integer, List<Integer>> enumFilters,
                                   Map<Integer, NumericRange> rangeFilters);
 
+    /**
+     * Matching variant rows (sort_key order) and facet counts over those rows,
+     * computed together from the group's in-memory columnar snapshot.
+     */
+    FilteredVariantTable filterVariantTable(UUID groupId, Map<Integer, List<Integer>> enumFilters,
+                                            Map<Integer, NumericRange> rangeFilters);
+
+    /**
+     * Streaming form of {@link #filterVariantTable} for very large groups: at
+     * most {@code storefront.catalog.variant-table.stream-max-rows} rows in
+     * sort_key order, continuing after {@code cursor} when it is not null.
+     * The match count (-1 on a continuation) and the cursor of the rows that
+     * follow are settled before {@code sink} runs; the rows themselves are
+     * read in short keyset batches, never held as a list, and no connection
+     * is held while the sink writes them.
+     */
+    void streamVariantTable(UUID groupId, Map<Integer, List<Integer>> enumFilters,
+                            Map<Integer, NumericRange> rangeFilters, String cursor, VariantRowSink sink);
+
+    /**
+     * One page of the variant table in {@code (sort_key, id)} order, from the
+     * group's columnar snapshot — for groups up to the stream threshold only;
+     * larger ones page through {@link #findVariantSlice}. The first page (no
+     * cursor) also carries the match count and facet counts; later pages
+     * continue from {@code request.cursor()} with rows only.
+     */
+    VariantTablePage findVariantTablePage(UUID groupId, Map<Integer, List<Integer>> enumFilters,
+                                          Map<Integer, NumericRange> rangeFilters, SliceRequest request);
+
+    /**
+     * {@link #findVariantTablePage} for groups above the stream threshold,
+     * which stay out of the columnar store: every page is a keyset seek on
+     * {@code (sort_key, id)} in SQL, and the first page's count and facet
+     * counts come from SQL too.
+     */
+    VariantTablePage findVariantSlice(UUID groupId, Map<Integer, List<Integer>> enumFilters,
+                                      Map<Integer, NumericRange> rangeFilters, SliceRequest request);
+
     Optional<SkuRow> findSkuByPartNumber(String partNumber);
 
+    /**
+     * Quick-order lookup of a pasted list. Part numbers are trimmed, blanks
+     * dropped and duplicates collapsed; {@code found} and {@code unknown} keep
+     * the input order. Ids come from the in-memory part-number index and the
+     * rows from one batched query.
+     */
+    PartNumberResolution resolvePartNumbers(List<String> partNumbers);
+
     // ─── Column config ─────────────────────────────────────────────────────────
 
     List<ColumnConfig> findColumnConfig(UUID groupId);
 
+    /** Batch form of {@link #findColumnConfig} — one query; groups without columns map to an empty list. */
+    Map<UUID, List<ColumnConfig>> findColumnConfigs(Collection<UUID> groupIds);
+
     // ─── Filter facets ─────────────────────────────────────────────────────────
 
     List<FacetGroup> findFacetCounts(UUID groupId, List<UUID> matchingSkuIds);
 
+    /** Facet counts over the group's SKUs matching every filter, in SQL — for groups outside the columnar store. */
+    List<FacetGroup> findFacetCounts(UUID groupId, Map<Integer, List<Integer>> enumFilters,
+                                     Map<Integer, NumericRange> rangeFilters);
+
     List<AttributeSummary> findFilterableAttributes(int categoryId);
 
     // ─── Bulk lookups ─────────────────────────────────────────────────────
@@ -45,8 +99,16 @@ public interface ProductApi {
 
     boolean skuExistsAndActive(UUID skuId);
 
+    /** Served from the in-memory price tier index — no SQL. */
     Optional<SkuPriceInfo> findSkuPriceInfo(UUID skuId, int quantity);
 
+    /**
+     * Batch form of {@link #findSkuPriceInfo}: quantities by SKU id, priced
+     * against one consistent index snapshot. SKUs that cannot be priced are
+     * absent from the result.
+     */
+    Map<UUID, SkuPriceInfo> findSkuPriceInfos(Map<UUID, Integer> quantities);
+
     // ─── Projection records ────────────────────────────────────────────────────
 
     record ProductGroupSummary(
@@ -77,15 +139,94 @@ public interface ProductApi {
             String categoryPath
     ) {}
 
+    /**
+     * {@code specs} is aligned with the group's {@link #findColumnConfig} list.
+     * Tables order rows by {@code (sortKey, id)}.
+     */
     record SkuRow(
             UUID id,
+            String sortKey,
             String partNumber,
-            String specsJson,
+            SpecValues specs,
             String sellUnit,
             int sellQty,
             boolean inStock,
             BigDecimal price1ea,
-            String priceTiersJson
+            List<PriceTier> priceTiers
+    ) {}
+
+    /** An active USD quantity break; {@code qtyMax} null = open-ended. Tier lists are ordered by qtyMin. */
+    record PriceTier(int qtyMin, Integer qtyMax, BigDecimal unitPrice) {}
+
+    /**
+     * A SKU's spec values projected into its group's column order: value i
+     * belongs to column i of {@link #findColumnConfig}. Built once when the row
+     * is loaded, so rendering a table does no JSON work; a missing value reads
+     * as the empty string.
+     */
+    final class SpecValues {
+
+        public static final SpecValues EMPTY = new SpecValues(new String[0]);
+
+        private final String[] values;
+
+        private SpecValues(String[] values) {
+            this.values = values;
+        }
+
+        public static SpecValues of(String[] values) {
+            return values == null || values.length == 0 ? EMPTY : new SpecValues(values.clone());
+        }
+
+        public String get(int column) {
+            String value = column < values.length ? values[column] : null;
+            return value != null ? value : "";
+        }
+
+        public int size() {
+            return values.length;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof SpecValues other && Arrays.equals(values, other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(values);
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(values);
+        }
+    }
+
+    /**
+     * {@code rows} is single-pass and only valid during the call;
+     * {@code nextCursor} is null when they run to the end of the table.
+     */
+    @FunctionalInterface
+    interface VariantRowSink {
+        void accept(int rowCount, Iterable<SkuRow> rows, String nextCursor);
+    }
+
+    record FilteredVariantTable(
+            List<SkuRow> rows,
+            List<FacetGroup> facets
+    ) {}
+
+    record PartNumberResolution(
+            List<SkuRow> found,
+            List<String> unknown
+    ) {}
+
+    /** {@code matchCount} is -1 and {@code facets} empty on cursor pages. */
+    record VariantTablePage(
+            Slice<SkuRow> rows,
+            int matchCount,
+            List<FacetGroup> facets
     ) {}
 
     record ColumnConfig(
@@ -107,7 +248,8 @@ public interface ProductApi {
             String label,
             String filterWidget,
             String unitLabel,
-            List<FacetOption> options
+            List<FacetOption> options,
+            RangeFacet range
     ) {}
 
     record FacetOption(
@@ -118,8 +260,22 @@ public interface ProductApi {
             int skuCount
     ) {}
 
+    /** Either bound may be null (open-ended). */
     record NumericRange(BigDecimal min, BigDecimal max) {}
 
+    /**
+     * Distribution of a numeric attribute over the current result set, with the
+     * attribute's own range filter left out so the slider shows the full spread.
+     * {@code min} and {@code max} are the extent of the values counted — null
+     * when nothing matches. {@code scopeMin} and {@code scopeMax} are the
+     * attribute's extent over the whole category or product group, whatever
+     * the filters, and {@code buckets} splits [scopeMin, scopeMax] into
+     * equal-width bins; the last bin is closed on both ends. Null on
+     * {@link FacetGroup} when not computed.
+     */
+    record RangeFacet(BigDecimal min, BigDecimal max, BigDecimal scopeMin, BigDecimal scopeMax,
+                      List<Integer> buckets) {}
+
     record SkuPriceInfo(
             UUID skuId,
             String partNumber,
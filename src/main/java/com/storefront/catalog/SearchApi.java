@@ -4,10 +4,36 @@ import com.storefront.shared.PageRequest;
 import com.storefront.shared.Pagination;
 
 import java.util.List;
+import java.util.UUID;
 
 public interface SearchApi {
 
     Pagination<ProductApi.ProductGroupSummary> search(String query, PageRequest request);
 
     List<ProductApi.ProductGroupSummary> searchDropdown(String query, int limit);
-}
\ No newline at end of file
+
+    /**
+     * Product groups with SKUs matching the query by part number — ignoring
+     * case, dashes and spacing, whole, as a prefix or as a fragment — or by
+     * spec values ({@code "316 stainless"}), best-matching groups first.
+     */
+    List<VariantMatch> searchVariants(String query, int limit);
+
+    /** The group's SKUs matching the query as {@link #searchVariants} does, best first. */
+    List<UUID> findMatchingVariantIds(UUID groupId, String query);
+
+    // ─── Projection records ────────────────────────────────────────────────────
+
+    /**
+     * A group and its matching SKUs. {@code partNumbers} are the best few
+     * matches; {@code matchCount} counts the matches found, which stop at the
+     * configured candidate limit per match kind — when {@code countCapped},
+     * the search was cut there and the count is a lower bound ("12+").
+     */
+    record VariantMatch(
+            ProductApi.ProductGroupSummary group,
+            int matchCount,
+            boolean countCapped,
+            List<String> partNumbers
+    ) {}
+}
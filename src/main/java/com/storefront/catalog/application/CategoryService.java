@@ -4,21 +4,27 @@ import com.storefront.catalog.CategoryApi;
 import com.storefront.catalog.ProductApi.FacetGroup;
 import com.storefront.catalog.ProductApi.NumericRange;
 import com.storefront.catalog.domain.model.AttributeRepository;
+import com.storefront.catalog.domain.model.CatalogKeyFilter;
 import com.storefront.catalog.domain.model.CategoryBrowseRepository;
 import com.storefront.catalog.domain.model.CategoryRepository;
 import com.storefront.catalog.domain.model.ProductGroupRepository;
 import com.storefront.catalog.domain.model.SkuRepository;
+import com.storefront.shared.Coalesced;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static com.storefront.catalog.domain.model.CatalogKeyFilter.KeyKind.CATEGORY_SLUG;
+
 @Service
 @RequiredArgsConstructor
 class CategoryService implements CategoryApi {
@@ -28,38 +34,70 @@ class CategoryService implements CategoryApi {
     private final ProductGroupRepository productGroupRepository;
     private final SkuRepository skuRepository;
     private final AttributeRepository attributeRepository;
+    private final CatalogKeyFilter keyFilter;
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public List<CategoryNode> findTopLevelCategories() {
         return categoryRepository.findTopLevel();
     }
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public List<CategoryNode> findChildCategories(int parentId) {
         return categoryRepository.findChildren(parentId);
     }
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public List<CategoryBreadcrumb> findBreadcrumb(String categoryPath) {
         return categoryRepository.findBreadcrumb(categoryPath);
     }
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public Optional<CategoryNode> findCategoryBySlug(String slug) {
-        return categoryRepository.findBySlug(slug);
+        if (!keyFilter.mightExist(CATEGORY_SLUG, slug)) return Optional.empty();
+        var category = categoryRepository.findBySlug(slug);
+        if (category.isEmpty()) keyFilter.recordFalsePositive(CATEGORY_SLUG);
+        return category;
     }
 
     @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public Map<String, CategoryNode> findCategoriesBySlugs(Collection<String> slugs) {
+        var candidates = slugs.stream()
+                .distinct()
+                .filter(slug -> keyFilter.mightExist(CATEGORY_SLUG, slug))
+                .toList();
+        if (candidates.isEmpty()) return Map.of();
+
+        Map<String, CategoryNode> result = new LinkedHashMap<>();
+        // One slug stays on the cached single lookup; only real batches go to = ANY
+        if (candidates.size() == 1) {
+            String slug = candidates.getFirst();
+            categoryRepository.findBySlug(slug).ifPresent(c -> result.put(slug, c));
+        } else {
+            categoryRepository.findBySlugs(candidates).forEach(c -> result.put(c.slug(), c));
+        }
+        for (int i = result.size(); i < candidates.size(); i++) keyFilter.recordFalsePositive(CATEGORY_SLUG);
+        return result;
+    }
+
+    @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public List<CategoryNode> findCategoryDescendants(String categoryPath) {
         return categoryRepository.findDescendants(categoryPath);
     }
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public List<CategorySection> findAllCategoriesGrouped() {
         var all = categoryRepository.findAllWithinDepth((short) 2);
@@ -84,9 +122,11 @@ class CategoryService implements CategoryApi {
     }
 
     // ─── Faceted browse methods ──────────────────────────────────────────────
+    // Children and facets take no transaction here: the bitmap engine answers from
+    // memory, and the SQL engine opens its own read-only one, after its result cache.
 
     @Override
-    @Transactional(readOnly = true)
+    @Coalesced
     public List<FilteredCategory> findFilteredChildren(
             int parentId, String parentPath,
             Map<Integer, List<Integer>> enumFilters,
@@ -95,7 +135,7 @@ class CategoryService implements CategoryApi {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Coalesced
     public List<FacetGroup> findMidLevelFacets(
             String categoryPath,
             Map<Integer, List<Integer>> enumFilters,
@@ -104,7 +144,7 @@ class CategoryService implements CategoryApi {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Coalesced
     public List<FacetGroup> findLeafFacets(
             int categoryId,
             Map<Integer, List<Integer>> enumFilters,
@@ -113,24 +153,28 @@ class CategoryService implements CategoryApi {
     }
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public List<LeafGroupTable> findLeafGroupTables(
             int categoryId, String categoryPath,
             Map<Integer, List<Integer>> enumFilters,
             Map<Integer, NumericRange> rangeFilters) {
 
-        var skuIdsByGroup = categoryBrowseRepository.findMatchingSkuIdsByGroup(
+        var skuOrdinalsByGroup = categoryBrowseRepository.findMatchingSkuOrdinalsByGroup(
                 categoryId, enumFilters, rangeFilters);
 
-        if (skuIdsByGroup.isEmpty()) return List.of();
+        if (skuOrdinalsByGroup.isEmpty()) return List.of();
 
-        var groups = productGroupRepository.findSummariesByIds(skuIdsByGroup.keySet());
+        // Five statements regardless of how many groups the leaf has: the summaries, the rows
+        // plus their groups' column keys and price tiers, and the column configs
+        var groups = productGroupRepository.findSummariesByIds(skuOrdinalsByGroup.keySet());
+        var rowsByGroup = skuRepository.findVariantTables(skuOrdinalsByGroup);
+        var columnsByGroup = attributeRepository.findColumnConfigs(skuOrdinalsByGroup.keySet());
 
         List<LeafGroupTable> result = new ArrayList<>();
         for (var group : groups) {
-            var skuIds = skuIdsByGroup.get(group.id());
-            var rows = skuRepository.findVariantTable(group.id(), skuIds);
-            var columns = attributeRepository.findColumnConfig(group.id());
+            var rows = rowsByGroup.getOrDefault(group.id(), List.of());
+            var columns = columnsByGroup.getOrDefault(group.id(), List.of());
             result.add(new LeafGroupTable(
                     group.id(), group.name(), group.slug(),
                     group.overviewImageUrl(), group.minPriceUsd(),
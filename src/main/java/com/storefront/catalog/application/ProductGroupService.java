@@ -2,20 +2,31 @@ package com.storefront.catalog.application;
 
 import com.storefront.catalog.ProductApi;
 import com.storefront.catalog.domain.model.AttributeRepository;
+import com.storefront.catalog.domain.model.CatalogKeyFilter;
+import com.storefront.catalog.domain.model.PartNumberIndex;
+import com.storefront.catalog.domain.model.PriceTierStore;
 import com.storefront.catalog.domain.model.ProductGroupRepository;
 import com.storefront.catalog.domain.model.SkuRepository;
+import com.storefront.catalog.domain.model.VariantCursor;
+import com.storefront.catalog.domain.model.VariantTableStore;
+import com.storefront.shared.Coalesced;
 import com.storefront.shared.Slice;
 import com.storefront.shared.SliceRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
+import static com.storefront.catalog.domain.model.CatalogKeyFilter.KeyKind.PART_NUMBER;
+import static com.storefront.catalog.domain.model.CatalogKeyFilter.KeyKind.PRODUCT_GROUP_SLUG;
+
 @Service
 @RequiredArgsConstructor
 class ProductGroupService implements ProductApi {
@@ -23,26 +34,38 @@ class ProductGroupService implements ProductApi {
     private final ProductGroupRepository productGroupRepository;
     private final SkuRepository skuRepository;
     private final AttributeRepository attributeRepository;
+    private final VariantTableStore variantTableStore;
+    private final PriceTierStore priceTierStore;
+    private final PartNumberIndex partNumberIndex;
+    private final CatalogKeyFilter keyFilter;
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public Slice<ProductGroupSummary> browseByCategory(String categoryPath, SliceRequest request) {
         return productGroupRepository.browseByCategory(categoryPath, request);
     }
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public Optional<ProductGroupDetail> findProductGroupBySlug(String slug) {
-        return productGroupRepository.findBySlug(slug);
+        // Definite misses skip Redis too — it does not cache absent groups
+        if (!keyFilter.mightExist(PRODUCT_GROUP_SLUG, slug)) return Optional.empty();
+        var group = productGroupRepository.findBySlug(slug);
+        if (group.isEmpty()) keyFilter.recordFalsePositive(PRODUCT_GROUP_SLUG);
+        return group;
     }
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public List<SkuRow> findVariantTable(UUID groupId, List<UUID> matchingSkuIds) {
         return skuRepository.findVariantTable(groupId, matchingSkuIds);
     }
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public List<UUID> findMatchingSkuIds(UUID groupId,
                                           Map<Integer, List<Integer>> enumFilters,
@@ -51,30 +74,138 @@ class ProductGroupService implements ProductApi {
     }
 
     @Override
+    public FilteredVariantTable filterVariantTable(UUID groupId,
+                                                   Map<Integer, List<Integer>> enumFilters,
+                                                   Map<Integer, NumericRange> rangeFilters) {
+        // Deliberately not @Transactional: a warm group is served from the in-memory columnar
+        // store without a connection, and a cold group's load opens its own replica transaction
+        return variantTableStore.filter(groupId, enumFilters, rangeFilters);
+    }
+
+    @Override
+    public void streamVariantTable(UUID groupId,
+                                   Map<Integer, List<Integer>> enumFilters,
+                                   Map<Integer, NumericRange> rangeFilters,
+                                   String cursor,
+                                   VariantRowSink sink) {
+        // Not @Transactional: each batch is its own short replica read, so the connection
+        // goes back to the pool while the sink writes to the client
+        skuRepository.streamVariantTable(groupId, enumFilters, rangeFilters, cursor, sink);
+    }
+
+    @Override
+    @Coalesced
+    public VariantTablePage findVariantTablePage(UUID groupId,
+                                                 Map<Integer, List<Integer>> enumFilters,
+                                                 Map<Integer, NumericRange> rangeFilters,
+                                                 SliceRequest request) {
+        if (!request.isCursorBased()) {
+            // The first page carries the count and facet counts, so it takes the full pass
+            var table = variantTableStore.filter(groupId, enumFilters, rangeFilters);
+            var rows = table.rows();
+            var firstRows = rows.subList(0, Math.min(rows.size(), request.fetchSize()));
+            return new VariantTablePage(VariantCursor.slice(firstRows, request), rows.size(), table.facets());
+        }
+
+        var after = VariantCursor.decode(request.cursor().get());
+        if (after.isEmpty()) return new VariantTablePage(Slice.empty(request), -1, List.of());
+        // Later pages seek to the cursor and test only the rows past it; a snapshot reloaded
+        // since the last page still has a well-defined position for it
+        var pageRows = variantTableStore.page(groupId, enumFilters, rangeFilters, after.get(), request.fetchSize());
+        return new VariantTablePage(VariantCursor.slice(pageRows, request), -1, List.of());
+    }
+
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public VariantTablePage findVariantSlice(UUID groupId,
+                                             Map<Integer, List<Integer>> enumFilters,
+                                             Map<Integer, NumericRange> rangeFilters,
+                                             SliceRequest request) {
+        var rows = skuRepository.findVariantSlice(groupId, enumFilters, rangeFilters, request);
+        if (request.isCursorBased()) return new VariantTablePage(rows, -1, List.of());
+        return new VariantTablePage(rows,
+                skuRepository.countMatchingSkus(groupId, enumFilters, rangeFilters),
+                attributeRepository.findFacetCounts(groupId, enumFilters, rangeFilters));
+    }
+
+    @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public Optional<SkuRow> findSkuByPartNumber(String partNumber) {
-        return skuRepository.findByPartNumber(partNumber);
+        if (!keyFilter.mightExist(PART_NUMBER, partNumber)) return Optional.empty();
+        var sku = skuRepository.findByPartNumber(partNumber);
+        if (sku.isEmpty()) keyFilter.recordFalsePositive(PART_NUMBER);
+        return sku;
+    }
+
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public PartNumberResolution resolvePartNumbers(List<String> partNumbers) {
+        var requested = partNumbers.stream()
+                .map(String::strip)
+                .filter(partNumber -> !partNumber.isEmpty())
+                .distinct()
+                .toList();
+
+        // SQL on part_number only until the index has loaded
+        var rows = partNumberIndex.isReady()
+                ? skuRepository.findByIds(partNumberIndex.findAll(requested).values())
+                : skuRepository.findByPartNumbers(requested);
+
+        Map<String, SkuRow> byPartNumber = new HashMap<>();
+        rows.forEach(row -> byPartNumber.putIfAbsent(row.partNumber(), row));
+
+        List<SkuRow> found = new ArrayList<>();
+        List<String> unknown = new ArrayList<>();
+        for (String partNumber : requested) {
+            var row = byPartNumber.get(partNumber);
+            if (row != null) found.add(row);
+            else unknown.add(partNumber);
+        }
+        return new PartNumberResolution(found, unknown);
     }
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public List<ColumnConfig> findColumnConfig(UUID groupId) {
         return attributeRepository.findColumnConfig(groupId);
     }
 
     @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public Map<UUID, List<ColumnConfig>> findColumnConfigs(Collection<UUID> groupIds) {
+        return attributeRepository.findColumnConfigs(groupIds);
+    }
+
+    @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public List<FacetGroup> findFacetCounts(UUID groupId, List<UUID> matchingSkuIds) {
         return attributeRepository.findFacetCounts(groupId, matchingSkuIds);
     }
 
     @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public List<FacetGroup> findFacetCounts(UUID groupId,
+                                            Map<Integer, List<Integer>> enumFilters,
+                                            Map<Integer, NumericRange> rangeFilters) {
+        return attributeRepository.findFacetCounts(groupId, enumFilters, rangeFilters);
+    }
+
+    @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public List<AttributeSummary> findFilterableAttributes(int categoryId) {
         return attributeRepository.findFilterableAttributes(categoryId);
     }
 
     @Override
+    @Coalesced
     @Transactional(readOnly = true)
     public List<ProductGroupSummary> findProductGroupSummariesByIds(Collection<UUID> ids) {
         return productGroupRepository.findSummariesByIds(ids);
@@ -87,8 +218,12 @@ class ProductGroupService implements ProductApi {
     }
 
     @Override
-    @Transactional(readOnly = true)
     public Optional<SkuPriceInfo> findSkuPriceInfo(UUID skuId, int quantity) {
-        return skuRepository.findPriceInfo(skuId, quantity);
+        return priceTierStore.price(skuId, quantity);
+    }
+
+    @Override
+    public Map<UUID, SkuPriceInfo> findSkuPriceInfos(Map<UUID, Integer> quantities) {
+        return priceTierStore.priceAll(quantities);
     }
 }
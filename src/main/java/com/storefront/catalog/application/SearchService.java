@@ -3,29 +3,95 @@ package com.storefront.catalog.application;
 import com.storefront.catalog.ProductApi;
 import com.storefront.catalog.SearchApi;
 import com.storefront.catalog.domain.model.ProductGroupRepository;
+import com.storefront.catalog.domain.model.SearchIndex;
+import com.storefront.catalog.domain.model.SkuMatch;
+import com.storefront.catalog.domain.model.SkuRepository;
+import com.storefront.catalog.domain.model.TypeaheadIndex;
+import com.storefront.shared.Coalesced;
 import com.storefront.shared.PageRequest;
 import com.storefront.shared.Pagination;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 class SearchService implements SearchApi {
 
+    /** Part numbers shown per group; the deep link lists them all. */
+    private static final int PART_NUMBERS_PER_GROUP = 5;
+
     private final ProductGroupRepository productGroupRepository;
+    private final SkuRepository skuRepository;
+    private final SearchIndex searchIndex;
+    private final Optional<TypeaheadIndex> typeaheadIndex;
 
     @Override
-    @Transactional(readOnly = true)
+    @Coalesced
     public Pagination<ProductApi.ProductGroupSummary> search(String query, PageRequest request) {
+        // No transaction here: the index answers from memory, and only the SQL fallback opens one
+        if (searchIndex.isReady()) {
+            var page = searchIndex.search(query, request);
+            if (page.totalItems() > 0) return page;
+        }
+        // SQL until the index has loaded, and for words it has no term for — typos the trigram match catches
         return productGroupRepository.search(query, request);
     }
 
     @Override
-    @Transactional(readOnly = true)
     public List<ProductApi.ProductGroupSummary> searchDropdown(String query, int limit) {
+        // Every keystroke lands here — served from memory, no transaction, once the index is up.
+        // Without it (disabled, or still loading) SQL answers through a prefix-reuse cache
+        var index = typeaheadIndex.filter(TypeaheadIndex::isReady);
+        if (index.isPresent()) return index.get().complete(query, limit);
         return productGroupRepository.searchDropdown(query, limit);
     }
+
+    @Override
+    @Coalesced
+    @Transactional(readOnly = true)
+    public List<VariantMatch> searchVariants(String query, int limit) {
+        // Matches arrive best kind first, so a group's first match is its best
+        var found = skuRepository.search(query, null);
+        Map<UUID, List<SkuMatch>> byGroup = new LinkedHashMap<>();
+        for (var match : found.matches()) {
+            byGroup.computeIfAbsent(match.groupId(), id -> new ArrayList<>()).add(match);
+        }
+        if (byGroup.isEmpty()) return List.of();
+
+        var ranked = byGroup.values().stream()
+                .sorted(Comparator.comparing((List<SkuMatch> matches) -> matches.get(0).kind())
+                        .thenComparing(List::size, Comparator.reverseOrder()))
+                .toList();
+        var summaries = productGroupRepository.findSummariesByIds(byGroup.keySet()).stream()
+                .collect(Collectors.toMap(ProductApi.ProductGroupSummary::id, Function.identity()));
+
+        List<VariantMatch> result = new ArrayList<>();
+        for (var matches : ranked) {
+            var group = summaries.get(matches.get(0).groupId());
+            if (group == null) continue;   // inactive group
+            result.add(new VariantMatch(group, matches.size(), found.capped(), matches.stream()
+                    .limit(PART_NUMBERS_PER_GROUP)
+                    .map(SkuMatch::partNumber)
+                    .toList()));
+            if (result.size() == limit) break;
+        }
+        return result;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<UUID> findMatchingVariantIds(UUID groupId, String query) {
+        return skuRepository.search(query, groupId).matches().stream().map(SkuMatch::skuId).toList();
+    }
 }
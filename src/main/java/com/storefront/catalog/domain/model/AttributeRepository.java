@@ -3,15 +3,28 @@ package com.storefront.catalog.domain.model;
 import com.storefront.catalog.ProductApi.AttributeSummary;
 import com.storefront.catalog.ProductApi.ColumnConfig;
 import com.storefront.catalog.ProductApi.FacetGroup;
+import com.storefront.catalog.ProductApi.NumericRange;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public interface AttributeRepository {
 
     List<ColumnConfig> findColumnConfig(UUID groupId);
 
+    /** Batch form of {@link #findColumnConfig} — one query; groups without columns map to an empty list. */
+    Map<UUID, List<ColumnConfig>> findColumnConfigs(Collection<UUID> groupIds);
+
     List<FacetGroup> findFacetCounts(UUID groupId, List<UUID> matchingSkuIds);
 
+    /**
+     * {@link #findFacetCounts(UUID, List)} over the SKUs matching the filters,
+     * which stay a condition in the query instead of an id list.
+     */
+    List<FacetGroup> findFacetCounts(UUID groupId, Map<Integer, List<Integer>> enumFilters,
+                                     Map<Integer, NumericRange> rangeFilters);
+
     List<AttributeSummary> findFilterableAttributes(int categoryId);
 }
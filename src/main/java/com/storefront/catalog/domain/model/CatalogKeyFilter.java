@@ -0,0 +1,19 @@
+package com.storefront.catalog.domain.model;
+
+/**
+ * Cheap negative check in front of slug and part-number lookups.
+ *
+ * {@link #mightExist} answering {@code false} means the key is not active
+ * in the catalog — callers answer "not found" without going to a cache or
+ * the database. {@code true} means only "possibly"; the lookup proceeds.
+ */
+public interface CatalogKeyFilter {
+
+    enum KeyKind { CATEGORY_SLUG, PRODUCT_GROUP_SLUG, PART_NUMBER }
+
+    /** Whether the key may be active; {@code true} for everything until loaded. */
+    boolean mightExist(KeyKind kind, String key);
+
+    /** Reports that a key {@link #mightExist} let through was not found after all. */
+    void recordFalsePositive(KeyKind kind);
+}
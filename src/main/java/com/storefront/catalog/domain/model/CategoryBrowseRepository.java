@@ -39,10 +39,10 @@ public interface CategoryBrowseRepository {
             Map<Integer, NumericRange> rangeFilters);
 
     /**
-     * Leaf: matching SKU IDs keyed by product_group_id.
-     * Groups with zero matching SKUs are omitted entirely.
+     * Leaf: matching SKU ordinals ({@link SkuOrdinals}), ascending, keyed by
+     * product_group_id. Groups with zero matching SKUs are omitted entirely.
      */
-    Map<UUID, List<UUID>> findMatchingSkuIdsByGroup(
+    Map<UUID, int[]> findMatchingSkuOrdinalsByGroup(
             int categoryId,
             Map<Integer, List<Integer>> enumFilters,
             Map<Integer, NumericRange> rangeFilters);
@@ -3,6 +3,7 @@ package com.storefront.catalog.domain.model;
 import com.storefront.catalog.CategoryApi.CategoryBreadcrumb;
 import com.storefront.catalog.CategoryApi.CategoryNode;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +17,9 @@ public interface CategoryRepository {
 
     Optional<CategoryNode> findBySlug(String slug);
 
+    /** Batch form of {@link #findBySlug} — active categories among the slugs, in no particular order. */
+    List<CategoryNode> findBySlugs(Collection<String> slugs);
+
     List<CategoryNode> findDescendants(String ancestorPath);
 
     List<CategoryNode> findAllWithinDepth(short maxDepth);
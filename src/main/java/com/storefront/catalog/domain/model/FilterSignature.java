@@ -0,0 +1,84 @@
+package com.storefront.catalog.domain.model;
+
+import com.storefront.catalog.ProductApi.NumericRange;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Canonical, order-independent cache key for a filter selection.
+ *
+ * Attribute ids and option ids are sorted and de-duplicated, range bounds are
+ * normalised ({@code 10.0} ≡ {@code 10}, open bound = {@code *}), and entries
+ * the queries ignore (empty option lists, null ranges) are dropped. The
+ * canonical text is SHA-256 hashed and truncated to 128 bits, so
+ * {@code enum_3=1,2&enum_5=9} and {@code enum_5=9&enum_3=2,1} map to the same
+ * 22-character key.
+ */
+public final class FilterSignature {
+
+    /** Signature of "no filters" — kept readable in Redis. */
+    public static final String NONE = "none";
+
+    private FilterSignature() {
+    }
+
+    public static String of(Map<Integer, List<Integer>> enumFilters,
+                            Map<Integer, NumericRange> rangeFilters) {
+        String canonical = canonical(enumFilters, rangeFilters);
+        return canonical.isEmpty() ? NONE : hash(canonical);
+    }
+
+    /** e.g. {@code e3=1,2;e5=9;r7=1.5..*} */
+    static String canonical(Map<Integer, List<Integer>> enumFilters,
+                            Map<Integer, NumericRange> rangeFilters) {
+        var sb = new StringBuilder();
+
+        if (enumFilters != null) {
+            new TreeMap<>(enumFilters).forEach((attrId, optionIds) -> {
+                if (optionIds == null || optionIds.isEmpty()) return;
+                sb.append('e').append(attrId).append('=');
+                var sorted = new TreeSet<>(optionIds);
+                var it = sorted.iterator();
+                while (it.hasNext()) {
+                    sb.append(it.next());
+                    if (it.hasNext()) sb.append(',');
+                }
+                sb.append(';');
+            });
+        }
+
+        if (rangeFilters != null) {
+            new TreeMap<>(rangeFilters).forEach((attrId, range) -> {
+                if (range == null) return;
+                sb.append('r').append(attrId).append('=')
+                        .append(bound(range.min())).append("..").append(bound(range.max()))
+                        .append(';');
+            });
+        }
+        return sb.toString();
+    }
+
+    private static String bound(BigDecimal value) {
+        if (value == null) return "*";
+        return value.signum() == 0 ? "0" : value.stripTrailingZeros().toPlainString();
+    }
+
+    private static String hash(String canonical) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);   // mandated by the JCA spec
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.storefront.catalog.domain.model;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+public interface PartNumberIndex {
+
+    /** Whether a snapshot is loaded; until then callers resolve through SQL. */
+    boolean isReady();
+
+    /**
+     * Active SKU ids of the given part numbers (exact match). Unknown part
+     * numbers are absent; the result iterates in input order.
+     */
+    Map<String, UUID> findAll(Collection<String> partNumbers);
+}
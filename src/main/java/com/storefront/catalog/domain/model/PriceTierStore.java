@@ -0,0 +1,23 @@
+package com.storefront.catalog.domain.model;
+
+import com.storefront.catalog.ProductApi.SkuPriceInfo;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PriceTierStore {
+
+    /**
+     * USD unit price of the active tier covering {@code quantity}. Empty for
+     * unknown or inactive SKUs, SKUs without active USD tiers, and quantities
+     * no tier covers.
+     */
+    Optional<SkuPriceInfo> price(UUID skuId, int quantity);
+
+    /**
+     * Batch form of {@link #price} — quantities by SKU id. SKUs that cannot be
+     * priced are absent from the result, which iterates in input order.
+     */
+    Map<UUID, SkuPriceInfo> priceAll(Map<UUID, Integer> quantities);
+}
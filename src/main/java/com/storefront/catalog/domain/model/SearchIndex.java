@@ -0,0 +1,18 @@
+package com.storefront.catalog.domain.model;
+
+import com.storefront.catalog.ProductApi.ProductGroupSummary;
+import com.storefront.shared.PageRequest;
+import com.storefront.shared.Pagination;
+
+public interface SearchIndex {
+
+    /** Whether a snapshot is loaded; until then callers search through SQL. */
+    boolean isReady();
+
+    /**
+     * Active product groups matching the free-text query, best first.
+     * {@code totalItems} counts every match; zero when no query word is
+     * known to the index.
+     */
+    Pagination<ProductGroupSummary> search(String query, PageRequest request);
+}
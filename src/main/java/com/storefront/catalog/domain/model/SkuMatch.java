@@ -0,0 +1,22 @@
+package com.storefront.catalog.domain.model;
+
+import java.util.UUID;
+
+/**
+ * An active SKU found by part-number or spec-value search, and how it
+ * matched.
+ */
+public record SkuMatch(UUID skuId, UUID groupId, String partNumber, Kind kind) {
+
+    /** Best first: ordering by kind ranks a match. */
+    public enum Kind {
+        /** The part number, ignoring case, dashes and spacing. */
+        PART_NUMBER,
+        /** A part number starting with the query. */
+        PART_NUMBER_PREFIX,
+        /** A part number containing the query. */
+        PART_NUMBER_FRAGMENT,
+        /** Spec values containing every query word. */
+        SPEC_VALUES
+    }
+}
@@ -0,0 +1,13 @@
+package com.storefront.catalog.domain.model;
+
+import java.util.List;
+
+/**
+ * The answer to a SKU search. {@code capped} is set when some match kind
+ * reached the candidate limit: there are more matches than listed, and
+ * counts taken from {@code matches} are lower bounds.
+ */
+public record SkuMatches(List<SkuMatch> matches, boolean capped) {
+
+    public static final SkuMatches NONE = new SkuMatches(List.of(), false);
+}
@@ -0,0 +1,26 @@
+package com.storefront.catalog.domain.model;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Dictionary between SKU ids and their dense integer ordinals ({@code skus.ordinal}).
+ *
+ * In-memory catalog structures key SKUs by ordinal — arrays, bitmaps,
+ * {@code int[]} — and translate back to ids here, at the API edge. Ordinals
+ * are assigned by the database on insert and never reused.
+ */
+public interface SkuOrdinals {
+
+    /** Returned by {@link #ordinalOf} for ids the dictionary does not know (yet). */
+    int ABSENT = -1;
+
+    /** Ordinal of the SKU, or {@link #ABSENT}. */
+    int ordinalOf(UUID skuId);
+
+    /** Id behind the ordinal, or null for ordinals not assigned (yet). */
+    UUID skuId(int ordinal);
+
+    /** Ids behind the ordinals, in the same order; unassigned ordinals are skipped. */
+    List<UUID> skuIds(int[] ordinals);
+}
@@ -1,9 +1,12 @@
 package com.storefront.catalog.domain.model;
 
 import com.storefront.catalog.ProductApi.NumericRange;
-import com.storefront.catalog.ProductApi.SkuPriceInfo;
 import com.storefront.catalog.ProductApi.SkuRow;
+import com.storefront.catalog.ProductApi.VariantRowSink;
+import com.storefront.shared.Slice;
+import com.storefront.shared.SliceRequest;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -13,12 +16,55 @@ public interface SkuRepository {
 
     List<SkuRow> findVariantTable(UUID groupId, List<UUID> matchingSkuIds);
 
+    /**
+     * Batch form of {@link #findVariantTable} — one query for many groups,
+     * with the matching SKUs given as {@link SkuOrdinals ordinals}.
+     * Rows per group are in sort_key order; a null or empty ordinal array
+     * means every active SKU of that group. Result iterates in the input key order.
+     */
+    Map<UUID, List<SkuRow>> findVariantTables(Map<UUID, int[]> matchingSkuOrdinalsByGroup);
+
     List<UUID> findMatchingSkuIds(UUID groupId, Map<Integer, List<Integer>> enumFilters,
                                   Map<Integer, NumericRange> rangeFilters);
 
+    int countMatchingSkus(UUID groupId, Map<Integer, List<Integer>> enumFilters,
+                          Map<Integer, NumericRange> rangeFilters);
+
+    /**
+     * One page of the matching SKUs in {@code (sort_key, id)} order, seeking
+     * past the request's {@link VariantCursor} when it has one. An unreadable
+     * cursor yields an empty slice.
+     */
+    Slice<SkuRow> findVariantSlice(UUID groupId, Map<Integer, List<Integer>> enumFilters,
+                                   Map<Integer, NumericRange> rangeFilters, SliceRequest request);
+
+    /**
+     * Up to the configured maximum of the group's active SKUs matching every
+     * filter, in variant table order after {@code cursor} when it has one,
+     * read in keyset batches of the configured fetch size. An unreadable
+     * cursor yields no rows.
+     */
+    void streamVariantTable(UUID groupId, Map<Integer, List<Integer>> enumFilters,
+                            Map<Integer, NumericRange> rangeFilters, String cursor, VariantRowSink sink);
+
     Optional<SkuRow> findByPartNumber(String partNumber);
 
+    /** Active SKUs among the ids, in no particular order — one {@code = ANY} probe. */
+    List<SkuRow> findByIds(Collection<UUID> skuIds);
+
+    /** Active SKUs with any of the part numbers (exact match), in no particular order. */
+    List<SkuRow> findByPartNumbers(Collection<String> partNumbers);
+
     boolean existsAndActive(UUID skuId);
 
-    Optional<SkuPriceInfo> findPriceInfo(UUID skuId, int quantity);
+    /**
+     * Active SKUs matching the query by part number — exactly, by prefix or
+     * by fragment, ignoring case, dashes and spacing — or by spec values,
+     * best {@link SkuMatch.Kind kind} first, then by part number. Each kind
+     * contributes at most the configured candidate limit — the first by part
+     * number — so the answer stays bounded however common the query, and is
+     * marked {@link SkuMatches#capped capped} when a kind had more. A null
+     * {@code groupId} searches every group.
+     */
+    SkuMatches search(String query, UUID groupId);
 }
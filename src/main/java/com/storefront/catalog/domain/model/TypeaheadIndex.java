@@ -0,0 +1,17 @@
+package com.storefront.catalog.domain.model;
+
+import com.storefront.catalog.ProductApi.ProductGroupSummary;
+
+import java.util.List;
+
+public interface TypeaheadIndex {
+
+    /** Whether a snapshot is loaded; until then callers complete through SQL. */
+    boolean isReady();
+
+    /**
+     * Up to {@code limit} active product groups whose name or subtitle has a
+     * word sequence starting with the query, best first.
+     */
+    List<ProductGroupSummary> complete(String query, int limit);
+}
@@ -0,0 +1,80 @@
+package com.storefront.catalog.domain.model;
+
+import com.storefront.catalog.ProductApi.SkuRow;
+import com.storefront.shared.Slice;
+import com.storefront.shared.SliceRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Keyset position in a variant table: the {@code (sort_key, id)} of the last
+ * row already shown. sort_key alone is not unique, the id breaks ties.
+ *
+ * Travels as the opaque {@link SliceRequest#cursor()} string — base64url of
+ * {@code id + ':' + sortKey}, so sort keys containing the separator survive.
+ *
+ * Variant tables order sort_key {@code COLLATE "C"} (code point order) and
+ * uuids as unsigned bytes, in SQL and in {@link #precedes} alike, so an
+ * in-memory table can seek to a cursor SQL produced and the other way round.
+ */
+public record VariantCursor(String sortKey, UUID id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static VariantCursor after(SkuRow row) {
+        return new VariantCursor(row.sortKey(), row.id());
+    }
+
+    public String encode() {
+        return ENCODER.encodeToString((id + ":" + sortKey).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Empty for anything {@link #encode} did not produce. */
+    public static Optional<VariantCursor> decode(String cursor) {
+        try {
+            String text = new String(DECODER.decode(cursor), StandardCharsets.UTF_8);
+            int sep = text.indexOf(':');
+            if (sep < 0) return Optional.empty();
+            return Optional.of(new VariantCursor(text.substring(sep + 1), UUID.fromString(text.substring(0, sep))));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    /** Whether the row comes after this position in variant table order. */
+    public boolean precedes(SkuRow row) {
+        int bySortKey = compareCodePoints(sortKey, row.sortKey());
+        if (bySortKey != 0) return bySortKey < 0;
+        int byHigh = Long.compareUnsigned(id.getMostSignificantBits(), row.id().getMostSignificantBits());
+        if (byHigh != 0) return byHigh < 0;
+        return Long.compareUnsigned(id.getLeastSignificantBits(), row.id().getLeastSignificantBits()) < 0;
+    }
+
+    /** What {@code COLLATE "C"} does to UTF-8 text; {@link String#compareTo} differs past the BMP. */
+    private static int compareCodePoints(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(j);
+            if (ca != cb) return Integer.compare(ca, cb);
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    /**
+     * Slice from up to {@code request.fetchSize()} rows in keyset order, with
+     * the next cursor pointing at the last row kept (not the probe row).
+     */
+    public static Slice<SkuRow> slice(List<SkuRow> rawRows, SliceRequest request) {
+        if (rawRows.size() <= request.pageSize()) return Slice.of(rawRows, request);
+        return Slice.of(rawRows, request, after(rawRows.get(request.pageSize() - 1)).encode());
+    }
+}
@@ -0,0 +1,34 @@
+package com.storefront.catalog.domain.model;
+
+import com.storefront.catalog.ProductApi.FilteredVariantTable;
+import com.storefront.catalog.ProductApi.NumericRange;
+import com.storefront.catalog.ProductApi.SkuRow;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface VariantTableStore {
+
+    /**
+     * Active SKUs of the group matching every filter, in {@link VariantCursor} order, plus
+     * per-option counts over those SKUs for the group's filterable columns.
+     * Unknown groups yield an empty table.
+     */
+    FilteredVariantTable filter(
+            UUID groupId,
+            Map<Integer, List<Integer>> enumFilters,
+            Map<Integer, NumericRange> rangeFilters);
+
+    /**
+     * Up to {@code limit} of the SKUs {@link #filter} returns, continuing
+     * after {@code after} — without facet counts, and without testing the
+     * rows before the cursor.
+     */
+    List<SkuRow> page(
+            UUID groupId,
+            Map<Integer, List<Integer>> enumFilters,
+            Map<Integer, NumericRange> rangeFilters,
+            VariantCursor after,
+            int limit);
+}
@@ -0,0 +1,172 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.CategoryApi.FilteredCategory;
+import com.storefront.catalog.ProductApi.FacetGroup;
+import com.storefront.catalog.ProductApi.NumericRange;
+import com.storefront.catalog.domain.model.CategoryBrowseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.storefront.jooq.Tables.*;
+
+/**
+ * {@link CategoryBrowseRepository} answered from an in-JVM {@link FacetBitmapIndex}
+ * instead of EXISTS-per-filter SQL against {@code sku_facet_index}.
+ *
+ * The snapshot is loaded from the read replica at startup and rebuilt in the
+ * background whenever the facet index or category/attribute metadata changes.
+ * Select with {@code storefront.catalog.browse.engine=bitmap} (default);
+ * {@code sql} switches back to {@link JooqCategoryBrowseRepository}.
+ */
+@Repository
+@ConditionalOnProperty(name = "storefront.catalog.browse.engine", havingValue = "bitmap", matchIfMissing = true)
+@Slf4j
+class BitmapCategoryBrowseRepository implements CategoryBrowseRepository {
+
+    private final DSLContext dsl;
+    private final int fetchSize;
+    private final RefreshableSnapshot<FacetBitmapIndex> index;
+
+    BitmapCategoryBrowseRepository(@Qualifier("readOnlyDsl") DSLContext readOnlyDsl,
+                                   @Value("${storefront.catalog.browse.load-fetch-size:10000}") int fetchSize) {
+        this.dsl = readOnlyDsl;
+        this.fetchSize = fetchSize;
+        this.index = new RefreshableSnapshot<>("facet-bitmap-index", this::load);
+    }
+
+    // ─── CategoryBrowseRepository ────────────────────────────────────────────
+
+    @Override
+    public List<FilteredCategory> findFilteredChildren(
+            int parentId, String parentPath,
+            Map<Integer, List<Integer>> enumFilters,
+            Map<Integer, NumericRange> rangeFilters) {
+        return index.get().filteredChildren(parentId, enumFilters, rangeFilters);
+    }
+
+    @Override
+    public List<FacetGroup> findMidLevelFacets(
+            String categoryPath,
+            Map<Integer, List<Integer>> enumFilters,
+            Map<Integer, NumericRange> rangeFilters) {
+        return index.get().subtreeFacets(categoryPath, enumFilters, rangeFilters);
+    }
+
+    @Override
+    public List<FacetGroup> findLeafFacets(
+            int categoryId,
+            Map<Integer, List<Integer>> enumFilters,
+            Map<Integer, NumericRange> rangeFilters) {
+        return index.get().leafFacets(categoryId, enumFilters, rangeFilters);
+    }
+
+    @Override
+    public Map<UUID, int[]> findMatchingSkuOrdinalsByGroup(
+            int categoryId,
+            Map<Integer, List<Integer>> enumFilters,
+            Map<Integer, NumericRange> rangeFilters) {
+        return index.get().matchingSkuOrdinalsByGroup(categoryId, enumFilters, rangeFilters);
+    }
+
+    // ─── Lifecycle ───────────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        var snapshot = index.get();
+        log.info("Facet bitmap index ready: {} SKUs", snapshot.skuCount());
+    }
+
+    @EventListener
+    void onCatalogChange(CatalogTablesChanged event) {
+        if (event.touches("sku_facet_index", "categories", "attribute_definitions", "attribute_options")) {
+            index.refreshAsync();
+        }
+    }
+
+    // ─── Loading ─────────────────────────────────────────────────────────────
+
+    /**
+     * Reads metadata plus the whole facet index in one read-only transaction so
+     * the snapshot is consistent. The facet rows are streamed through a
+     * server-side cursor — never materialised as a jOOQ Result — joined to
+     * {@code skus} for the ordinal the bitmaps are keyed by.
+     */
+    private FacetBitmapIndex load() {
+        return dsl.transactionResult(cfg -> {
+            var tx = DSL.using(cfg);
+            var builder = FacetBitmapIndex.builder();
+
+            tx.select(CATEGORIES.ID, CATEGORIES.PARENT_ID, CATEGORIES.NAME, CATEGORIES.SLUG,
+                            CATEGORIES.PATH, CATEGORIES.IS_LEAF, CATEGORIES.IS_ACTIVE,
+                            CATEGORIES.DEPTH, CATEGORIES.SORT_ORDER)
+                    .from(CATEGORIES)
+                    .forEach(r -> builder.category(
+                            r.get(CATEGORIES.ID),
+                            r.get(CATEGORIES.PARENT_ID),
+                            r.get(CATEGORIES.NAME),
+                            r.get(CATEGORIES.SLUG),
+                            String.valueOf(r.get(CATEGORIES.PATH)),
+                            r.get(CATEGORIES.IS_LEAF),
+                            r.get(CATEGORIES.IS_ACTIVE),
+                            r.get(CATEGORIES.DEPTH),
+                            r.get(CATEGORIES.SORT_ORDER)));
+
+            tx.select(ATTRIBUTE_DEFINITIONS.ID, ATTRIBUTE_DEFINITIONS.KEY, ATTRIBUTE_DEFINITIONS.LABEL,
+                            ATTRIBUTE_DEFINITIONS.FILTER_WIDGET, ATTRIBUTE_DEFINITIONS.UNIT_LABEL,
+                            ATTRIBUTE_DEFINITIONS.FILTER_SORT_ORDER, ATTRIBUTE_DEFINITIONS.IS_FILTERABLE)
+                    .from(ATTRIBUTE_DEFINITIONS)
+                    .forEach(r -> builder.attribute(
+                            r.get(ATTRIBUTE_DEFINITIONS.ID),
+                            r.get(ATTRIBUTE_DEFINITIONS.KEY),
+                            r.get(ATTRIBUTE_DEFINITIONS.LABEL),
+                            r.get(ATTRIBUTE_DEFINITIONS.FILTER_WIDGET),
+                            r.get(ATTRIBUTE_DEFINITIONS.UNIT_LABEL),
+                            r.get(ATTRIBUTE_DEFINITIONS.FILTER_SORT_ORDER),
+                            r.get(ATTRIBUTE_DEFINITIONS.IS_FILTERABLE)));
+
+            tx.select(ATTRIBUTE_OPTIONS.ID, ATTRIBUTE_OPTIONS.ATTRIBUTE_ID, ATTRIBUTE_OPTIONS.VALUE,
+                            ATTRIBUTE_OPTIONS.DISPLAY_VALUE, ATTRIBUTE_OPTIONS.IMAGE_URL,
+                            ATTRIBUTE_OPTIONS.SORT_ORDER)
+                    .from(ATTRIBUTE_OPTIONS)
+                    .forEach(r -> builder.option(
+                            r.get(ATTRIBUTE_OPTIONS.ID),
+                            r.get(ATTRIBUTE_OPTIONS.ATTRIBUTE_ID),
+                            r.get(ATTRIBUTE_OPTIONS.VALUE),
+                            r.get(ATTRIBUTE_OPTIONS.DISPLAY_VALUE),
+                            r.get(ATTRIBUTE_OPTIONS.IMAGE_URL),
+                            r.get(ATTRIBUTE_OPTIONS.SORT_ORDER)));
+
+            var sfi = SKU_FACET_INDEX;
+            try (var cursor = tx
+                    .select(SKUS.ORDINAL, sfi.PRODUCT_GROUP_ID, sfi.CATEGORY_ID,
+                            sfi.ATTRIBUTE_ID, sfi.OPTION_ID, sfi.VALUE_NUMERIC)
+                    .from(sfi)
+                    .join(SKUS).on(SKUS.ID.eq(sfi.SKU_ID))
+                    .fetchSize(fetchSize)
+                    .fetchLazy()) {
+                for (var r : cursor) {
+                    builder.facet(
+                            r.get(SKUS.ORDINAL),
+                            r.get(sfi.PRODUCT_GROUP_ID),
+                            r.get(sfi.CATEGORY_ID),
+                            r.get(sfi.ATTRIBUTE_ID),
+                            r.get(sfi.OPTION_ID),
+                            r.get(sfi.VALUE_NUMERIC));
+                }
+            }
+
+            return builder.build();
+        });
+    }
+}
@@ -0,0 +1,144 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.domain.model.CatalogKeyFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.storefront.catalog.domain.model.CatalogKeyFilter.KeyKind.CATEGORY_SLUG;
+import static com.storefront.catalog.domain.model.CatalogKeyFilter.KeyKind.PART_NUMBER;
+import static com.storefront.catalog.domain.model.CatalogKeyFilter.KeyKind.PRODUCT_GROUP_SLUG;
+import static com.storefront.jooq.Tables.CATEGORIES;
+import static com.storefront.jooq.Tables.PRODUCT_GROUPS;
+import static com.storefront.jooq.Tables.SKUS;
+
+/**
+ * {@link CatalogKeyFilter} over one {@link BloomFilter} per key kind, built
+ * from the active category slugs, product-group slugs and part numbers.
+ *
+ * Each filter is its own snapshot, rebuilt in the background when its table
+ * changes. Until a filter has loaded it lets every key through. A key made
+ * active since the last rebuild is reported missing until the change watcher
+ * picks it up — the same staleness window as the other in-JVM indexes.
+ *
+ * Metrics, tagged {@code kind}:
+ * <ul>
+ *   <li>{@code catalog.key_filter.rejections} — lookups answered "not found" by the filter</li>
+ *   <li>{@code catalog.key_filter.false_positives} — keys let through that were not found</li>
+ *   <li>{@code catalog.key_filter.expected_fpp} — false-positive rate implied by the bits set</li>
+ *   <li>{@code catalog.key_filter.keys} — keys in the current filter</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+class BloomCatalogKeyFilter implements CatalogKeyFilter {
+
+    private final DSLContext dsl;
+    private final double fpp;
+    private final int fetchSize;
+    private final Map<KeyKind, RefreshableSnapshot<BloomFilter>> filters = new EnumMap<>(KeyKind.class);
+    private final Map<KeyKind, Counter> rejections = new EnumMap<>(KeyKind.class);
+    private final Map<KeyKind, Counter> falsePositives = new EnumMap<>(KeyKind.class);
+
+    BloomCatalogKeyFilter(@Qualifier("readOnlyDsl") DSLContext readOnlyDsl,
+                          MeterRegistry meterRegistry,
+                          @Value("${storefront.catalog.key-filter.fpp:0.01}") double fpp,
+                          @Value("${storefront.catalog.key-filter.load-fetch-size:10000}") int fetchSize) {
+        this.dsl = readOnlyDsl;
+        this.fpp = fpp;
+        this.fetchSize = fetchSize;
+
+        filters.put(CATEGORY_SLUG, new RefreshableSnapshot<>("key-filter-categories",
+                () -> load(CATEGORIES, CATEGORIES.SLUG, CATEGORIES.IS_ACTIVE)));
+        filters.put(PRODUCT_GROUP_SLUG, new RefreshableSnapshot<>("key-filter-product-groups",
+                () -> load(PRODUCT_GROUPS, PRODUCT_GROUPS.SLUG, PRODUCT_GROUPS.IS_ACTIVE)));
+        filters.put(PART_NUMBER, new RefreshableSnapshot<>("key-filter-part-numbers",
+                () -> load(SKUS, SKUS.PART_NUMBER, SKUS.IS_ACTIVE)));
+
+        for (var kind : KeyKind.values()) {
+            String tag = kind.name().toLowerCase();
+            var snapshot = filters.get(kind);
+            rejections.put(kind, Counter.builder("catalog.key_filter.rejections")
+                    .description("Lookups answered not-found by the Bloom filter")
+                    .tag("kind", tag)
+                    .register(meterRegistry));
+            falsePositives.put(kind, Counter.builder("catalog.key_filter.false_positives")
+                    .description("Keys the Bloom filter let through that were not found")
+                    .tag("kind", tag)
+                    .register(meterRegistry));
+            Gauge.builder("catalog.key_filter.expected_fpp", snapshot,
+                            s -> s.isReady() ? s.get().expectedFpp() : Double.NaN)
+                    .description("False-positive rate implied by the filter's set bits")
+                    .tag("kind", tag)
+                    .register(meterRegistry);
+            Gauge.builder("catalog.key_filter.keys", snapshot,
+                            s -> s.isReady() ? s.get().keyCount() : Double.NaN)
+                    .tag("kind", tag)
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public boolean mightExist(KeyKind kind, String key) {
+        var snapshot = filters.get(kind);
+        if (!snapshot.isReady() || snapshot.get().mightContain(key)) return true;
+        rejections.get(kind).increment();
+        return false;
+    }
+
+    @Override
+    public void recordFalsePositive(KeyKind kind) {
+        // Before the filter loads everything passes; those misses say nothing about it
+        if (filters.get(kind).isReady()) falsePositives.get(kind).increment();
+    }
+
+    // ─── Lifecycle ───────────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        filters.forEach((kind, snapshot) -> {
+            var filter = snapshot.get();
+            log.info("Key filter {} ready: {} keys, {} bits, {} hashes",
+                    kind, filter.keyCount(), filter.bitSize(), filter.hashCount());
+        });
+    }
+
+    @EventListener
+    void onCatalogChange(CatalogTablesChanged event) {
+        if (event.touches("categories")) filters.get(CATEGORY_SLUG).refreshAsync();
+        if (event.touches("product_groups")) filters.get(PRODUCT_GROUP_SLUG).refreshAsync();
+        if (event.touches("skus")) filters.get(PART_NUMBER).refreshAsync();
+    }
+
+    // ─── Loading ─────────────────────────────────────────────────────────────
+
+    private BloomFilter load(Table<?> table, Field<String> key, Field<Boolean> active) {
+        return dsl.transactionResult(cfg -> {
+            List<String> keys = new ArrayList<>();
+            try (var cursor = DSL.using(cfg)
+                    .select(key)
+                    .from(table)
+                    .where(active.isTrue())
+                    .fetchSize(fetchSize)
+                    .fetchLazy()) {
+                for (var r : cursor) keys.add(r.value1());
+            }
+            return BloomFilter.of(keys, fpp);
+        });
+    }
+}
@@ -0,0 +1,104 @@
+package com.storefront.catalog.infrastructure;
+
+import java.util.Collection;
+
+/**
+ * Immutable Bloom filter over strings.
+ *
+ * {@link #mightContain} never answers {@code false} for a key the filter was
+ * built from; for any other key it answers {@code true} with a probability
+ * close to the target false-positive rate. Sized from the key count: a
+ * {@code long[]} of {@code m = -n·ln(p) / ln²2} bits probed at
+ * {@code k = m/n · ln2} positions. The k positions come from two 64-bit
+ * hashes by double hashing (Kirsch–Mitzenmacher), so a probe walks the key
+ * twice however many positions it checks.
+ */
+final class BloomFilter {
+
+    private final long[] bits;
+    private final long bitSize;
+    private final int hashCount;
+    private final int keyCount;
+
+    private BloomFilter(long[] bits, int hashCount, int keyCount) {
+        this.bits = bits;
+        this.bitSize = (long) bits.length * Long.SIZE;
+        this.hashCount = hashCount;
+        this.keyCount = keyCount;
+    }
+
+    /**
+     * @param fpp target false-positive probability, in (0, 1)
+     */
+    static BloomFilter of(Collection<String> keys, double fpp) {
+        if (!(fpp > 0 && fpp < 1)) {
+            throw new IllegalArgumentException("fpp must be in (0, 1): " + fpp);
+        }
+        int n = Math.max(1, keys.size());
+        long m = Math.max(Long.SIZE, (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+
+        var filter = new BloomFilter(new long[Math.toIntExact((m + Long.SIZE - 1) / Long.SIZE)], k, keys.size());
+        for (String key : keys) filter.put(key);
+        return filter;
+    }
+
+    boolean mightContain(String key) {
+        long h1 = hash(key, 0);
+        long h2 = hash(key, h1) | 1;   // odd step: probes never collapse onto one bit
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitSize);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * False-positive probability implied by the bits actually set,
+     * {@code (set / m)^k} — tracks the target unless the filter was sized
+     * for fewer keys than it holds.
+     */
+    double expectedFpp() {
+        long set = 0;
+        for (long word : bits) set += Long.bitCount(word);
+        return Math.pow((double) set / bitSize, hashCount);
+    }
+
+    int keyCount() {
+        return keyCount;
+    }
+
+    long bitSize() {
+        return bitSize;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    // ─── Internals ───────────────────────────────────────────────────────────
+
+    private void put(String key) {
+        long h1 = hash(key, 0);
+        long h2 = hash(key, h1) | 1;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitSize);
+            bits[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    /** FNV-1a over the UTF-16 chars, seeded, then the MurmurHash3 64-bit finalizer. */
+    private static long hash(String key, long seed) {
+        long h = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
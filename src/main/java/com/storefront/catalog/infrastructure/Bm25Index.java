@@ -0,0 +1,240 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.ProductApi.ProductGroupSummary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Immutable inverted index over product groups, ranked with BM25F.
+ *
+ * A group has three fields — name, subtitle, description — weighted
+ * 3 : 2 : 1, in line with the A/B/C weights of {@code search_vector}. Each
+ * posting stores the group's field-weighted, length-normalised frequency of
+ * the term, so scoring a posting at query time is
+ * {@code idf · tf·(k1+1) / (tf + k1)} and nothing else.
+ *
+ * Query terms are ANDed, as {@code websearch_to_tsquery} does; when no group
+ * has every term, the groups having any of them are ranked instead. A word
+ * prefixed with {@code -} excludes the groups that contain it. Terms are
+ * analysed with {@link SearchText#terms}.
+ */
+final class Bm25Index {
+
+    static final float K1 = 1.2f;
+    static final float B = 0.75f;
+    private static final float[] FIELD_WEIGHTS = {3f, 2f, 1f};
+
+    /** One page of ranked groups; {@code total} counts every match. */
+    record Hits(List<ProductGroupSummary> items, int total) {}
+
+    /** Documents ascending, with the normalised term frequency of each. */
+    private record Postings(int[] docs, float[] tfs) {}
+
+    private final ProductGroupSummary[] docs;
+    private final Map<String, Postings> postings;
+
+    private Bm25Index(ProductGroupSummary[] docs, Map<String, Postings> postings) {
+        this.docs = docs;
+        this.postings = postings;
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    int size() {
+        return docs.length;
+    }
+
+    int termCount() {
+        return postings.size();
+    }
+
+    // ─── Search ──────────────────────────────────────────────────────────────
+
+    Hits search(String query, int offset, int limit) {
+        Set<String> include = new LinkedHashSet<>();
+        List<Postings> exclude = new ArrayList<>();
+        for (String word : query.strip().split("\\s+")) {
+            boolean negated = word.length() > 1 && word.charAt(0) == '-';
+            for (String term : SearchText.terms(negated ? word.substring(1) : word)) {
+                if (!negated) include.add(term);
+                else if (postings.containsKey(term)) exclude.add(postings.get(term));
+            }
+        }
+
+        List<Postings> lists = new ArrayList<>();
+        List<Float> idfs = new ArrayList<>();
+        for (String term : include) {
+            var p = postings.get(term);
+            if (p == null) continue;
+            lists.add(p);
+            idfs.add((float) Math.log(1 + (docs.length - p.docs.length + 0.5) / (p.docs.length + 0.5)));
+        }
+        if (lists.isEmpty()) return new Hits(List.of(), 0);
+
+        var candidates = merge(lists, idfs, exclude);
+        // AND when some group has every term (a term nobody has rules that out), else OR
+        int needed = lists.size() == include.size() && candidates.maxMatched == lists.size() ? lists.size() : 1;
+        return rank(candidates, needed, offset, limit);
+    }
+
+    /** Walks the postings lists in document order, scoring each document once. */
+    private Candidates merge(List<Postings> lists, List<Float> idfs, List<Postings> exclude) {
+        var candidates = new Candidates();
+        int[] cursor = new int[lists.size()];
+        while (true) {
+            int doc = Integer.MAX_VALUE;
+            for (int i = 0; i < lists.size(); i++) {
+                var p = lists.get(i);
+                if (cursor[i] < p.docs.length) doc = Math.min(doc, p.docs[cursor[i]]);
+            }
+            if (doc == Integer.MAX_VALUE) return candidates;
+
+            float score = 0;
+            int matched = 0;
+            for (int i = 0; i < lists.size(); i++) {
+                var p = lists.get(i);
+                if (cursor[i] < p.docs.length && p.docs[cursor[i]] == doc) {
+                    float tf = p.tfs[cursor[i]++];
+                    score += idfs.get(i) * tf * (K1 + 1) / (tf + K1);
+                    matched++;
+                }
+            }
+            if (!excluded(doc, exclude)) candidates.add(doc, score, matched);
+        }
+    }
+
+    private static boolean excluded(int doc, List<Postings> exclude) {
+        for (var p : exclude) {
+            if (Arrays.binarySearch(p.docs, doc) >= 0) return true;
+        }
+        return false;
+    }
+
+    /** Top {@code offset + limit} by a bounded heap, then the requested slice. */
+    private Hits rank(Candidates candidates, int needed, int offset, int limit) {
+        Comparator<Integer> better = Comparator
+                .<Integer>comparingDouble(c -> -candidates.scores[c])
+                .thenComparing(c -> docs[candidates.docs[c]].name())
+                .thenComparingInt(c -> candidates.docs[c]);
+        int k = offset + limit;
+        var heap = new PriorityQueue<Integer>(Math.max(1, Math.min(k, candidates.size)), better.reversed());
+        int total = 0;
+        for (int c = 0; c < candidates.size; c++) {
+            if (candidates.matched[c] < needed) continue;
+            total++;
+            if (heap.size() < k) {
+                heap.add(c);
+            } else if (k > 0 && better.compare(c, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(c);
+            }
+        }
+
+        List<ProductGroupSummary> top = new ArrayList<>(heap.size());
+        while (!heap.isEmpty()) top.add(docs[candidates.docs[heap.poll()]]);
+        Collections.reverse(top);
+        var page = offset >= top.size() ? List.<ProductGroupSummary>of() : top.subList(offset, top.size());
+        return new Hits(List.copyOf(page), total);
+    }
+
+    /** Growable parallel arrays — one entry per document that had any term. */
+    private static final class Candidates {
+        int[] docs = new int[64];
+        float[] scores = new float[64];
+        int[] matched = new int[64];
+        int size;
+        int maxMatched;
+
+        void add(int doc, float score, int matchedTerms) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+                matched = Arrays.copyOf(matched, size * 2);
+            }
+            docs[size] = doc;
+            scores[size] = score;
+            matched[size] = matchedTerms;
+            size++;
+            maxMatched = Math.max(maxMatched, matchedTerms);
+        }
+    }
+
+    // ─── Building ────────────────────────────────────────────────────────────
+
+    static final class Builder {
+
+        private final List<ProductGroupSummary> docs = new ArrayList<>();
+        private final List<List<String>[]> fields = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /** Fields are analysed terms ({@link SearchText#terms}); documents keep insertion order. */
+        @SuppressWarnings("unchecked")
+        Builder add(ProductGroupSummary summary, List<String> name, List<String> subtitle, List<String> description) {
+            docs.add(summary);
+            fields.add(new List[]{name, subtitle, description});
+            return this;
+        }
+
+        Bm25Index build() {
+            float[] avgLength = new float[FIELD_WEIGHTS.length];
+            for (var doc : fields) {
+                for (int f = 0; f < avgLength.length; f++) avgLength[f] += doc[f].size();
+            }
+            for (int f = 0; f < avgLength.length; f++) {
+                avgLength[f] = Math.max(1f, avgLength[f] / Math.max(1, fields.size()));
+            }
+
+            Map<String, PostingsBuilder> building = new HashMap<>();
+            Map<String, Float> weighted = new HashMap<>();
+            for (int d = 0; d < fields.size(); d++) {
+                var doc = fields.get(d);
+                weighted.clear();
+                for (int f = 0; f < doc.length; f++) {
+                    float norm = 1 - B + B * doc[f].size() / avgLength[f];
+                    float weight = FIELD_WEIGHTS[f] / norm;
+                    for (String term : doc[f]) weighted.merge(term, weight, Float::sum);
+                }
+                int docId = d;
+                weighted.forEach((term, tf) ->
+                        building.computeIfAbsent(term, t -> new PostingsBuilder()).add(docId, tf));
+            }
+
+            Map<String, Postings> postings = new HashMap<>(building.size() * 4 / 3 + 1);
+            building.forEach((term, b) -> postings.put(term, b.build()));
+            return new Bm25Index(docs.toArray(ProductGroupSummary[]::new), postings);
+        }
+    }
+
+    private static final class PostingsBuilder {
+        int[] docs = new int[4];
+        float[] tfs = new float[4];
+        int size;
+
+        void add(int doc, float tf) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                tfs = Arrays.copyOf(tfs, size * 2);
+            }
+            docs[size] = doc;
+            tfs[size] = tf;
+            size++;
+        }
+
+        Postings build() {
+            return new Postings(Arrays.copyOf(docs, size), Arrays.copyOf(tfs, size));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.storefront.catalog.infrastructure;
+
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.storefront.jooq.Tables.CATALOG_CHANGE_VERSIONS;
+
+/**
+ * Polls {@code catalog_change_versions} (maintained by statement-level triggers,
+ * see V11) and publishes {@link CatalogTablesChanged} for every table whose
+ * counter moved since the previous poll.
+ *
+ * The first poll only records the baseline — indexes build their initial
+ * snapshot lazily or on startup, not in response to this event.
+ */
+@Component
+@Slf4j
+class CatalogChangeWatcher {
+
+    private final DSLContext readOnlyDsl;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<String, Long> lastSeen = new HashMap<>();
+
+    CatalogChangeWatcher(@Qualifier("readOnlyDsl") DSLContext readOnlyDsl,
+                         ApplicationEventPublisher eventPublisher) {
+        this.readOnlyDsl = readOnlyDsl;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Scheduled(fixedDelayString = "${storefront.catalog.change-poll-interval:PT5S}",
+            initialDelayString = "${storefront.catalog.change-poll-interval:PT5S}")
+    synchronized void poll() {
+        Map<String, Long> current = readOnlyDsl
+                .select(CATALOG_CHANGE_VERSIONS.TABLE_NAME, CATALOG_CHANGE_VERSIONS.VERSION)
+                .from(CATALOG_CHANGE_VERSIONS)
+                .fetchMap(CATALOG_CHANGE_VERSIONS.TABLE_NAME, CATALOG_CHANGE_VERSIONS.VERSION);
+
+        boolean baseline = lastSeen.isEmpty();
+        Set<String> changed = new HashSet<>();
+        current.forEach((table, version) -> {
+            Long previous = lastSeen.put(table, version);
+            if (!baseline && !version.equals(previous)) changed.add(table);
+        });
+
+        if (!changed.isEmpty()) {
+            log.debug("Catalog tables changed: {}", changed);
+            eventPublisher.publishEvent(new CatalogTablesChanged(Set.copyOf(changed)));
+        }
+    }
+}
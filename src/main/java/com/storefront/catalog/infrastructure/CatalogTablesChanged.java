@@ -0,0 +1,19 @@
+package com.storefront.catalog.infrastructure;
+
+import java.util.Set;
+
+/**
+ * Local (in-JVM) event published by {@link CatalogChangeWatcher} when one or
+ * more catalog tables have been written since the previous poll.
+ * In-memory indexes listen for it and rebuild the snapshots that depend on
+ * the changed tables.
+ */
+record CatalogTablesChanged(Set<String> tables) {
+
+    boolean touches(String... candidates) {
+        for (var table : candidates) {
+            if (tables.contains(table)) return true;
+        }
+        return false;
+    }
+}
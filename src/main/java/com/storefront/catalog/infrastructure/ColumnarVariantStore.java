@@ -0,0 +1,207 @@
+package com.storefront.catalog.infrastructure;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.storefront.catalog.ProductApi.FilteredVariantTable;
+import com.storefront.catalog.ProductApi.NumericRange;
+import com.storefront.catalog.ProductApi.SkuRow;
+import com.storefront.catalog.domain.model.VariantCursor;
+import com.storefront.catalog.domain.model.VariantTableStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.storefront.jooq.Tables.*;
+
+/**
+ * {@link VariantTableStore} backed by per-group {@link VariantColumns}
+ * snapshots held in a weight-bounded Caffeine cache.
+ *
+ * A group is loaded on first request (five queries in one read-only
+ * transaction) and evicted by size or idle time. Any SKU, attribute or price
+ * change bumps product_groups.updated_at through the denorm triggers; when the
+ * change watcher reports product_groups activity, cached groups whose
+ * updated_at moved are reloaded in the background while the old snapshot keeps
+ * serving. Attribute metadata changes drop the whole cache.
+ *
+ * A group still loading is not in the cache yet, so those checks miss it.
+ * Each load instead counts the change events that arrive while it runs and,
+ * if any did, checks its own snapshot before it is cached.
+ */
+@Component
+@Slf4j
+class ColumnarVariantStore implements VariantTableStore {
+
+    /** Loads to try before caching a snapshot the catalog keeps changing under. */
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private final DSLContext dsl;
+    private final LoadingCache<UUID, VariantColumns> cache;
+    private final AtomicLong groupChanges = new AtomicLong();
+    private final AtomicLong metadataChanges = new AtomicLong();
+
+    ColumnarVariantStore(@Qualifier("readOnlyDsl") DSLContext readOnlyDsl,
+                         MeterRegistry meterRegistry,
+                         @Value("${storefront.catalog.variant-store.max-cells:5000000}") long maxCells,
+                         @Value("${storefront.catalog.variant-store.expire-after-access:PT30M}") Duration expireAfterAccess) {
+        this.dsl = readOnlyDsl;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxCells)
+                .weigher((UUID groupId, VariantColumns columns) -> columns.weight())
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "variant-store");
+    }
+
+    @Override
+    public FilteredVariantTable filter(UUID groupId,
+                                       Map<Integer, List<Integer>> enumFilters,
+                                       Map<Integer, NumericRange> rangeFilters) {
+        return cache.get(groupId).filter(enumFilters, rangeFilters);
+    }
+
+    @Override
+    public List<SkuRow> page(UUID groupId,
+                             Map<Integer, List<Integer>> enumFilters,
+                             Map<Integer, NumericRange> rangeFilters,
+                             VariantCursor after, int limit) {
+        return cache.get(groupId).page(enumFilters, rangeFilters, after, limit);
+    }
+
+    // ─── Invalidation ────────────────────────────────────────────────────────
+
+    @EventListener
+    void onCatalogChange(CatalogTablesChanged event) {
+        if (event.touches("attribute_definitions", "attribute_options", "product_group_columns")) {
+            metadataChanges.incrementAndGet();
+            cache.invalidateAll();
+            return;
+        }
+        if (!event.touches("product_groups")) return;
+        groupChanges.incrementAndGet();
+
+        var cached = cache.asMap();
+        if (cached.isEmpty()) return;
+
+        Map<UUID, OffsetDateTime> current = dsl
+                .select(PRODUCT_GROUPS.ID, PRODUCT_GROUPS.UPDATED_AT)
+                .from(PRODUCT_GROUPS)
+                .where(PRODUCT_GROUPS.ID.in(cached.keySet()))
+                .fetchMap(PRODUCT_GROUPS.ID, PRODUCT_GROUPS.UPDATED_AT);
+
+        cached.forEach((groupId, columns) -> {
+            if (!Objects.equals(current.get(groupId), columns.version())) {
+                log.debug("Reloading variant columns for product group {}", groupId);
+                cache.refresh(groupId);
+            }
+        });
+    }
+
+    // ─── Loading ─────────────────────────────────────────────────────────────
+
+    /**
+     * A change event during the read may be about this group. After a metadata
+     * change the snapshot is read again. After a group change it is kept only if
+     * updated_at still matches. Past {@link #MAX_LOAD_ATTEMPTS} the last snapshot
+     * is cached anyway, and the next change event checks it like any other.
+     */
+    private VariantColumns load(UUID groupId) {
+        VariantColumns columns = null;
+        for (int attempt = 0; attempt < MAX_LOAD_ATTEMPTS; attempt++) {
+            long groups = groupChanges.get();
+            long metadata = metadataChanges.get();
+            columns = read(groupId);
+            if (metadataChanges.get() != metadata) continue;
+            if (groupChanges.get() == groups || Objects.equals(currentVersion(groupId), columns.version())) {
+                return columns;
+            }
+            log.debug("Product group {} changed while its variant columns loaded; reading again", groupId);
+        }
+        return columns;
+    }
+
+    private OffsetDateTime currentVersion(UUID groupId) {
+        return dsl.select(PRODUCT_GROUPS.UPDATED_AT)
+                .from(PRODUCT_GROUPS)
+                .where(PRODUCT_GROUPS.ID.eq(groupId))
+                .fetchOne(PRODUCT_GROUPS.UPDATED_AT);
+    }
+
+    private VariantColumns read(UUID groupId) {
+        return dsl.transactionResult(cfg -> {
+            var tx = DSL.using(cfg);
+
+            // Read the version first: a change committed after this point moves
+            // updated_at past it and triggers another reload.
+            OffsetDateTime version = tx
+                    .select(PRODUCT_GROUPS.UPDATED_AT)
+                    .from(PRODUCT_GROUPS)
+                    .where(PRODUCT_GROUPS.ID.eq(groupId))
+                    .fetchOne(PRODUCT_GROUPS.UPDATED_AT);
+
+            var rows = JooqSkuRepository.toSkuRows(tx, tx
+                    .select(JooqSkuRepository.SKU_ROW)
+                    .from(SKUS)
+                    .where(SKUS.PRODUCT_GROUP_ID.eq(groupId).and(SKUS.IS_ACTIVE.isTrue()))
+                    .orderBy(JooqSkuRepository.VARIANT_ORDER)
+                    .fetch());
+
+            var builder = VariantColumns.builder(version, rows);
+
+            tx.select(SKU_ATTRIBUTES.SKU_ID, SKU_ATTRIBUTES.ATTRIBUTE_ID,
+                            SKU_ATTRIBUTES.OPTION_ID, SKU_ATTRIBUTES.VALUE_NUMERIC)
+                    .from(SKU_ATTRIBUTES)
+                    .join(SKUS).on(SKUS.ID.eq(SKU_ATTRIBUTES.SKU_ID))
+                    .where(SKUS.PRODUCT_GROUP_ID.eq(groupId).and(SKUS.IS_ACTIVE.isTrue()))
+                    .forEach(r -> builder.value(
+                            r.get(SKU_ATTRIBUTES.SKU_ID),
+                            r.get(SKU_ATTRIBUTES.ATTRIBUTE_ID),
+                            r.get(SKU_ATTRIBUTES.OPTION_ID),
+                            r.get(SKU_ATTRIBUTES.VALUE_NUMERIC)));
+
+            if (!builder.attributeIds().isEmpty()) {
+                tx.select(ATTRIBUTE_OPTIONS.ID, ATTRIBUTE_OPTIONS.VALUE, ATTRIBUTE_OPTIONS.DISPLAY_VALUE,
+                                ATTRIBUTE_OPTIONS.IMAGE_URL, ATTRIBUTE_OPTIONS.SORT_ORDER)
+                        .from(ATTRIBUTE_OPTIONS)
+                        .where(ATTRIBUTE_OPTIONS.ATTRIBUTE_ID.in(builder.attributeIds()))
+                        .forEach(r -> builder.option(
+                                r.get(ATTRIBUTE_OPTIONS.ID),
+                                r.get(ATTRIBUTE_OPTIONS.VALUE),
+                                r.get(ATTRIBUTE_OPTIONS.DISPLAY_VALUE),
+                                r.get(ATTRIBUTE_OPTIONS.IMAGE_URL),
+                                r.get(ATTRIBUTE_OPTIONS.SORT_ORDER)));
+            }
+
+            tx.select(ATTRIBUTE_DEFINITIONS.ID, ATTRIBUTE_DEFINITIONS.KEY, ATTRIBUTE_DEFINITIONS.LABEL,
+                            ATTRIBUTE_DEFINITIONS.FILTER_WIDGET, ATTRIBUTE_DEFINITIONS.UNIT_LABEL)
+                    .from(PRODUCT_GROUP_COLUMNS)
+                    .join(ATTRIBUTE_DEFINITIONS).on(ATTRIBUTE_DEFINITIONS.ID.eq(PRODUCT_GROUP_COLUMNS.ATTRIBUTE_ID))
+                    .where(PRODUCT_GROUP_COLUMNS.PRODUCT_GROUP_ID.eq(groupId)
+                            .and(ATTRIBUTE_DEFINITIONS.IS_FILTERABLE.isTrue()))
+                    .orderBy(PRODUCT_GROUP_COLUMNS.SORT_ORDER)
+                    .forEach(r -> builder.facetAttribute(
+                            r.get(ATTRIBUTE_DEFINITIONS.ID),
+                            r.get(ATTRIBUTE_DEFINITIONS.KEY),
+                            r.get(ATTRIBUTE_DEFINITIONS.LABEL),
+                            r.get(ATTRIBUTE_DEFINITIONS.FILTER_WIDGET),
+                            r.get(ATTRIBUTE_DEFINITIONS.UNIT_LABEL)));
+
+            return builder.build();
+        });
+    }
+}
@@ -0,0 +1,292 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.ProductApi.ProductGroupSummary;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable prefix-completion table for the search dropdown.
+ *
+ * Every product group contributes one completion key per distinct word of
+ * its name and subtitle, as cut by {@link SearchText#tokens}, so a query
+ * matches whatever its words are cased or punctuated like. A group matches
+ * when each query word is a prefix of one of its words, in any order —
+ * {@code "hex screw"} finds "Hex Head Screws" — as the SQL dropdown's
+ * {@code 'hex':* & 'screw':*} does.
+ *
+ * Keys are held sorted, so the keys starting with a prefix form one
+ * contiguous range. For a one-word query a short range is ranked on the
+ * fly; for prefixes whose range is longer than {@code HEAVY_RANGE} —
+ * {@code "s"}, {@code "st"}, {@code "stainless"} — the top completions were
+ * precomputed at build time. A longer query walks the narrowest of its
+ * words' ranges and checks the other words against each candidate's own
+ * sorted words.
+ *
+ * Ranking: name matches before subtitle matches, earlier words before
+ * later ones, then more SKUs, then name. A group matched by several words
+ * ranks by its weakest match.
+ */
+final class CompletionTable {
+
+    static final int HEAVY_RANGE = 256;
+
+    /** Keys are truncated — enough to be selective, and it bounds memory. */
+    static final int MAX_KEY_LENGTH = 48;
+
+    private final ProductGroupSummary[] groups;   // in name order
+    private final String[] keys;                  // sorted
+    private final int[] keyGroups;                // group of each key
+    private final long[] keyRanks;                // lower is better
+    private final String[][] groupWords;          // each group's keys, sorted
+    private final long[][] groupWordRanks;        // rank of each of them
+    private final String[] heavyPrefixes;         // sorted
+    private final int[][] heavyTop;               // best groups first
+    private final int topK;
+
+    private CompletionTable(ProductGroupSummary[] groups, String[] keys, int[] keyGroups, long[] keyRanks,
+                            String[][] groupWords, long[][] groupWordRanks,
+                            String[] heavyPrefixes, int[][] heavyTop, int topK) {
+        this.groups = groups;
+        this.keys = keys;
+        this.keyGroups = keyGroups;
+        this.keyRanks = keyRanks;
+        this.groupWords = groupWords;
+        this.groupWordRanks = groupWordRanks;
+        this.heavyPrefixes = heavyPrefixes;
+        this.heavyTop = heavyTop;
+        this.topK = topK;
+    }
+
+    /**
+     * @param topK completions precomputed per heavy prefix — the largest
+     *             {@code limit} served without scanning a heavy range
+     */
+    static CompletionTable build(List<ProductGroupSummary> summaries, int topK) {
+        var groups = summaries.stream()
+                .sorted(Comparator.comparing(ProductGroupSummary::name).thenComparing(ProductGroupSummary::id))
+                .toArray(ProductGroupSummary[]::new);
+
+        List<Entry> entries = new ArrayList<>();
+        Map<String, String> shared = new HashMap<>();   // one copy of each recurring key
+        String[][] groupWords = new String[groups.length][];
+        long[][] groupWordRanks = new long[groups.length][];
+        for (int g = 0; g < groups.length; g++) {
+            var group = groups[g];
+            Map<String, Long> words = new TreeMap<>();   // best rank of each distinct word
+            var name = SearchText.tokens(group.name());
+            for (int w = 0; w < name.size(); w++) {
+                words.merge(key(name.get(w), shared), rank(0, w, group), Math::min);
+            }
+            var subtitle = SearchText.tokens(group.subtitle());
+            for (int w = 0; w < subtitle.size(); w++) {
+                words.merge(key(subtitle.get(w), shared), rank(1, w, group), Math::min);
+            }
+            groupWords[g] = words.keySet().toArray(String[]::new);
+            groupWordRanks[g] = words.values().stream().mapToLong(Long::longValue).toArray();
+            for (int w = 0; w < groupWords[g].length; w++) {
+                entries.add(new Entry(groupWords[g][w], g, groupWordRanks[g][w]));
+            }
+        }
+        entries.sort(Comparator.comparing(Entry::key).thenComparingLong(Entry::rank));
+
+        int n = entries.size();
+        String[] keys = new String[n];
+        int[] keyGroups = new int[n];
+        long[] keyRanks = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = entries.get(i).key();
+            keyGroups[i] = entries.get(i).group();
+            keyRanks[i] = entries.get(i).rank();
+        }
+
+        var table = new CompletionTable(groups, keys, keyGroups, keyRanks, groupWords, groupWordRanks,
+                new String[0], new int[0][], topK);
+        return table.withHeavyPrefixes();
+    }
+
+    int size() {
+        return groups.length;
+    }
+
+    int keyCount() {
+        return keys.length;
+    }
+
+    int heavyPrefixCount() {
+        return heavyPrefixes.length;
+    }
+
+    // ─── Lookup ──────────────────────────────────────────────────────────────
+
+    List<ProductGroupSummary> complete(String query, int limit) {
+        var prefixes = SearchText.tokens(query).stream().map(CompletionTable::truncate).distinct().toList();
+        if (prefixes.isEmpty() || limit <= 0) return List.of();
+
+        int[] best;
+        if (prefixes.size() > 1) {
+            best = bestOfAll(prefixes, limit);
+        } else {
+            String prefix = prefixes.get(0);
+            int heavy = Arrays.binarySearch(heavyPrefixes, prefix);
+            best = heavy >= 0 && limit <= topK
+                    ? Arrays.copyOf(heavyTop[heavy], Math.min(limit, heavyTop[heavy].length))
+                    : best(lowerBound(keys, prefix), lowerBound(keys, prefix + Character.MAX_VALUE), limit);
+        }
+        List<ProductGroupSummary> result = new ArrayList<>(best.length);
+        for (int g : best) result.add(groups[g]);
+        return result;
+    }
+
+    /**
+     * Best groups having a word that starts with each of the prefixes. Only
+     * the narrowest prefix range is walked; the other prefixes are looked up
+     * in each candidate's own words.
+     */
+    private int[] bestOfAll(List<String> prefixes, int limit) {
+        int from = 0;
+        int to = keys.length;
+        for (String prefix : prefixes) {
+            int start = lowerBound(keys, prefix);
+            int end = lowerBound(keys, prefix + Character.MAX_VALUE);
+            if (end - start < to - from) {
+                from = start;
+                to = end;
+            }
+        }
+
+        Map<Integer, Long> candidates = new HashMap<>();
+        for (int i = from; i < to; i++) {
+            candidates.computeIfAbsent(keyGroups[i], g -> weakestMatch(g, prefixes));
+        }
+        return candidates.entrySet().stream()
+                .filter(c -> c.getValue() >= 0)
+                .sorted(Map.Entry.<Integer, Long>comparingByValue().thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .mapToInt(Map.Entry::getKey)
+                .toArray();
+    }
+
+    /** Worst over the prefixes of the group's best word starting with it; -1 when a prefix starts none. */
+    private long weakestMatch(int group, List<String> prefixes) {
+        String[] words = groupWords[group];
+        long weakest = 0;
+        for (String prefix : prefixes) {
+            long best = Long.MAX_VALUE;
+            for (int w = lowerBound(words, prefix); w < words.length && words[w].startsWith(prefix); w++) {
+                best = Math.min(best, groupWordRanks[group][w]);
+            }
+            if (best == Long.MAX_VALUE) return -1;
+            weakest = Math.max(weakest, best);
+        }
+        return weakest;
+    }
+
+    /** Best distinct groups among keys[from, to), ranked. */
+    private int[] best(int from, int to, int limit) {
+        int[] top = new int[limit];
+        long[] topRank = new long[limit];
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            int g = keyGroups[i];
+            long r = keyRanks[i];
+            int existing = indexOf(top, size, g);
+            if (existing >= 0) {
+                if (!before(r, g, topRank[existing], g)) continue;
+                // Better key for a listed group: take it out and re-insert below
+                System.arraycopy(top, existing + 1, top, existing, size - existing - 1);
+                System.arraycopy(topRank, existing + 1, topRank, existing, size - existing - 1);
+                size--;
+            } else if (size == limit && !before(r, g, topRank[size - 1], top[size - 1])) {
+                continue;
+            }
+            int at = size == limit ? size - 1 : size++;
+            while (at > 0 && before(r, g, topRank[at - 1], top[at - 1])) {
+                top[at] = top[at - 1];
+                topRank[at] = topRank[at - 1];
+                at--;
+            }
+            top[at] = g;
+            topRank[at] = r;
+        }
+        return Arrays.copyOf(top, size);
+    }
+
+    private static boolean before(long rank, int group, long otherRank, int otherGroup) {
+        return rank < otherRank || (rank == otherRank && group < otherGroup);
+    }
+
+    private static int indexOf(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) return i;
+        }
+        return -1;
+    }
+
+    private static int lowerBound(String[] sorted, String key) {
+        int lo = 0;
+        int hi = sorted.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (sorted[mid].compareTo(key) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // ─── Building ────────────────────────────────────────────────────────────
+
+    private record Entry(String key, int group, long rank) {}
+
+    /** field (name 0, subtitle 1), word position, fewer SKUs last — packed so lower sorts first. */
+    private static long rank(int field, int position, ProductGroupSummary group) {
+        return (long) field << 62
+                | (long) Math.min(position, 0x3FFF) << 48
+                | (0xFFFF_FFFFL - Math.max(0, group.skuCount()));
+    }
+
+    private static String key(String word, Map<String, String> shared) {
+        return shared.computeIfAbsent(truncate(word), k -> k);
+    }
+
+    private static String truncate(String word) {
+        return word.length() > MAX_KEY_LENGTH ? word.substring(0, MAX_KEY_LENGTH) : word;
+    }
+
+    /**
+     * Precomputes the top completions of every prefix whose key range is
+     * longer than {@link #HEAVY_RANGE}. A range only splits into smaller ones
+     * as its prefix grows, so the walk descends into heavy ranges alone; done
+     * depth first, it yields the prefixes already in sorted order.
+     */
+    private CompletionTable withHeavyPrefixes() {
+        List<String> prefixes = new ArrayList<>();
+        List<int[]> tops = new ArrayList<>();
+        splitHeavy(0, keys.length, 0, prefixes, tops);
+        return new CompletionTable(groups, keys, keyGroups, keyRanks, groupWords, groupWordRanks,
+                prefixes.toArray(String[]::new), tops.toArray(int[][]::new), topK);
+    }
+
+    /** keys[from, to) share their first {@code depth} chars; visits the heavy ranges one char deeper. */
+    private void splitHeavy(int from, int to, int depth, List<String> prefixes, List<int[]> tops) {
+        if (depth == MAX_KEY_LENGTH) return;
+        int start = from;
+        while (start < to && keys[start].length() == depth) start++;   // the prefix itself sorts first
+        while (start < to) {
+            char c = keys[start].charAt(depth);
+            int end = start + 1;
+            while (end < to && keys[end].charAt(depth) == c) end++;
+            if (end - start > HEAVY_RANGE) {
+                prefixes.add(keys[start].substring(0, depth + 1));
+                tops.add(best(start, end, topK));
+                splitHeavy(start, end, depth + 1, prefixes, tops);
+            }
+            start = end;
+        }
+    }
+}
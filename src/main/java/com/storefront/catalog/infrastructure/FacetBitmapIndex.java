@@ -0,0 +1,523 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.CategoryApi.FilteredCategory;
+import com.storefront.catalog.ProductApi.FacetGroup;
+import com.storefront.catalog.ProductApi.FacetOption;
+import com.storefront.catalog.ProductApi.NumericRange;
+import com.storefront.catalog.ProductApi.RangeFacet;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Immutable, compressed-bitmap snapshot of {@code sku_facet_index}.
+ * ═══════════════════════════════════════════════════════════════════
+ *
+ * SKUs are identified by their {@code skus.ordinal}. Every
+ * {@code (attribute_id, option_id)} pair gets a Roaring posting list over
+ * those ordinals, every leaf category and every subtree gets a bitmap of the
+ * SKUs beneath it, every leaf keeps one bitmap per product group, and numeric
+ * values are kept as value-sorted arrays so a range filter is two binary
+ * searches. A range facet's bounds are precomputed per leaf and subtree; its
+ * histogram reads only the values of the SKUs in the universe. No SKU id is
+ * held: matches leave the index as ordinals.
+ *
+ * A faceted request then becomes:
+ *   match    = AND over attributes of (OR over selected options) AND ranges
+ *   universe = scope(category or subtree) AND match
+ *   count    = |posting AND universe|   (intersection popcount, no allocation)
+ *
+ * Semantics mirror {@link JooqCategoryBrowseRepository}: rows with a NULL
+ * option_id are counted under {@link #NO_OPTION} and reported with a null
+ * optionId, subtrees only include active leaves, and only filterable
+ * attributes produce facets.
+ */
+final class FacetBitmapIndex {
+
+    /** Posting-list option id for rows whose option_id is NULL (numeric attributes). */
+    static final int NO_OPTION = 0;
+
+    private static final RoaringBitmap EMPTY = new RoaringBitmap();
+
+    private final int skuCount;
+    private final Map<Integer, CategoryEntry> categories;
+    private final Map<String, Integer> categoryIdByPath;
+    private final Map<Integer, List<CategoryEntry>> activeChildrenByParent;
+    private final Map<Integer, RoaringBitmap> skusByLeaf;
+    private final Map<Integer, RoaringBitmap> skusBySubtree;
+    private final Map<Integer, GroupEntry[]> groupsByLeaf;
+    private final Map<Integer, int[]> facetAttributesByLeaf;
+    private final Map<Integer, int[]> facetAttributesBySubtree;
+    private final Map<Integer, AttributeEntry> attributes;
+    private final Map<Long, RoaringBitmap> postings;
+    private final Map<Integer, NumericColumn> numericColumns;
+    private final Map<Integer, Map<Integer, double[]>> rangeBoundsByLeaf;
+    private final Map<Integer, Map<Integer, double[]>> rangeBoundsBySubtree;
+
+    private FacetBitmapIndex(Builder b) {
+        this.skuCount = b.allSkus.getCardinality();
+        this.categories = Map.copyOf(b.categories);
+        this.postings = b.postings;
+        this.skusByLeaf = b.skusByLeaf;
+
+        this.attributes = new HashMap<>();
+        b.attributes.forEach((id, meta) -> {
+            List<OptionEntry> options = new ArrayList<>(b.optionsByAttribute.getOrDefault(id, List.of()));
+            options.sort(Comparator.comparingInt(OptionEntry::sortOrder).thenComparingInt(OptionEntry::id));
+            if (postings.containsKey(key(id, NO_OPTION))) {
+                options.add(new OptionEntry(NO_OPTION, null, null, null, Short.MAX_VALUE));
+            }
+            attributes.put(id, new AttributeEntry(meta.id(), meta.key(), meta.label(), meta.filterWidget(),
+                    meta.unitLabel(), meta.filterSortOrder(), meta.filterable(), List.copyOf(options)));
+        });
+
+        this.categoryIdByPath = new HashMap<>();
+        this.activeChildrenByParent = new HashMap<>();
+        for (var c : categories.values()) {
+            categoryIdByPath.put(c.path(), c.id());
+            if (c.isActive() && c.parentId() != null) {
+                activeChildrenByParent.computeIfAbsent(c.parentId(), k -> new ArrayList<>()).add(c);
+            }
+        }
+        activeChildrenByParent.values().forEach(list -> list.sort(
+                Comparator.comparingInt(CategoryEntry::sortOrder).thenComparingInt(CategoryEntry::id)));
+
+        // Roll every active leaf up into each ancestor (and itself) by walking its ltree path.
+        this.rangeBoundsByLeaf = b.rangeBoundsByLeaf;
+        this.skusBySubtree = new HashMap<>();
+        this.rangeBoundsBySubtree = new HashMap<>();
+        Map<Integer, Set<Integer>> subtreeAttributes = new HashMap<>();
+        skusByLeaf.forEach((leafId, skus) -> {
+            var leaf = categories.get(leafId);
+            if (leaf == null || !leaf.isLeaf() || !leaf.isActive()) return;
+            var leafAttributes = b.attributesByLeaf.getOrDefault(leafId, Set.of());
+            var leafBounds = rangeBoundsByLeaf.getOrDefault(leafId, Map.of());
+            String path = leaf.path();
+            int end = path.length();
+            while (end > 0) {
+                Integer ancestorId = categoryIdByPath.get(path.substring(0, end));
+                if (ancestorId != null) {
+                    skusBySubtree.computeIfAbsent(ancestorId, k -> new RoaringBitmap()).or(skus);
+                    subtreeAttributes.computeIfAbsent(ancestorId, k -> new HashSet<>()).addAll(leafAttributes);
+                    var bounds = rangeBoundsBySubtree.computeIfAbsent(ancestorId, k -> new HashMap<>());
+                    leafBounds.forEach((attributeId, range) -> widen(bounds, attributeId, range[0], range[1]));
+                }
+                end = path.lastIndexOf('.', end - 1);
+            }
+        });
+
+        this.facetAttributesByLeaf = new HashMap<>();
+        b.attributesByLeaf.forEach((id, attrs) -> facetAttributesByLeaf.put(id, facetOrder(attrs)));
+        this.facetAttributesBySubtree = new HashMap<>();
+        subtreeAttributes.forEach((id, attrs) -> facetAttributesBySubtree.put(id, facetOrder(attrs)));
+
+        // Groups of a leaf in order of their first SKU, so results are stable across rebuilds
+        this.groupsByLeaf = new HashMap<>();
+        b.skusByLeafGroup.forEach((leafId, byGroup) -> {
+            byGroup.values().forEach(RoaringBitmap::runOptimize);
+            groupsByLeaf.put(leafId, byGroup.entrySet().stream()
+                    .map(e -> new GroupEntry(e.getKey(), e.getValue()))
+                    .sorted(Comparator.comparingInt(g -> g.skus().first()))
+                    .toArray(GroupEntry[]::new));
+        });
+
+        this.numericColumns = new HashMap<>();
+        b.numeric.forEach((id, column) -> numericColumns.put(id, column.build()));
+
+        postings.values().forEach(RoaringBitmap::runOptimize);
+        skusByLeaf.values().forEach(RoaringBitmap::runOptimize);
+        skusBySubtree.values().forEach(RoaringBitmap::runOptimize);
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    int skuCount() {
+        return skuCount;
+    }
+
+    // ─── Queries ─────────────────────────────────────────────────────────────
+
+    List<FilteredCategory> filteredChildren(int parentId,
+                                            Map<Integer, List<Integer>> enumFilters,
+                                            Map<Integer, NumericRange> rangeFilters) {
+        var children = activeChildrenByParent.getOrDefault(parentId, List.of());
+        if (children.isEmpty()) return List.of();
+
+        RoaringBitmap match = match(enumFilters, rangeFilters);
+        List<FilteredCategory> result = new ArrayList<>();
+        for (var child : children) {
+            var subtree = skusBySubtree.get(child.id());
+            if (subtree == null) continue;
+            long count = match == null
+                    ? subtree.getLongCardinality()
+                    : RoaringBitmap.andCardinality(subtree, match);
+            if (count > 0) {
+                result.add(new FilteredCategory(child.id(), child.name(), child.slug(), child.path(),
+                        child.isLeaf(), child.depth(), child.sortOrder(), count));
+            }
+        }
+        return result;
+    }
+
+    List<FacetGroup> subtreeFacets(String categoryPath,
+                                   Map<Integer, List<Integer>> enumFilters,
+                                   Map<Integer, NumericRange> rangeFilters) {
+        Integer categoryId = categoryIdByPath.get(categoryPath);
+        if (categoryId == null) return List.of();
+        return facets(skusBySubtree.get(categoryId), facetAttributesBySubtree.get(categoryId),
+                rangeBoundsBySubtree.get(categoryId), enumFilters, rangeFilters);
+    }
+
+    List<FacetGroup> leafFacets(int categoryId,
+                                Map<Integer, List<Integer>> enumFilters,
+                                Map<Integer, NumericRange> rangeFilters) {
+        return facets(skusByLeaf.get(categoryId), facetAttributesByLeaf.get(categoryId),
+                rangeBoundsByLeaf.get(categoryId), enumFilters, rangeFilters);
+    }
+
+    /** Matching SKU ordinals (ascending) per product group of the leaf — no per-SKU hashing. */
+    Map<UUID, int[]> matchingSkuOrdinalsByGroup(int categoryId,
+                                                Map<Integer, List<Integer>> enumFilters,
+                                                Map<Integer, NumericRange> rangeFilters) {
+        var groups = groupsByLeaf.get(categoryId);
+        if (groups == null) return Map.of();
+        var match = match(enumFilters, rangeFilters);
+
+        Map<UUID, int[]> result = new LinkedHashMap<>();
+        for (var group : groups) {
+            int[] ordinals = restrict(group.skus(), match).toArray();
+            if (ordinals.length > 0) result.put(group.groupId(), ordinals);
+        }
+        return result;
+    }
+
+    // ─── Bitmap algebra ──────────────────────────────────────────────────────
+
+    /** SKUs satisfying every active filter, or {@code null} when no filter is active. */
+    RoaringBitmap match(Map<Integer, List<Integer>> enumFilters, Map<Integer, NumericRange> rangeFilters) {
+        List<RoaringBitmap> clauses = new ArrayList<>();
+
+        if (enumFilters != null) {
+            for (var entry : enumFilters.entrySet()) {
+                var optionIds = entry.getValue();
+                if (optionIds == null || optionIds.isEmpty()) continue;
+
+                List<RoaringBitmap> selected = new ArrayList<>(optionIds.size());
+                for (int optionId : optionIds) {
+                    var posting = postings.get(key(entry.getKey(), optionId));
+                    if (posting != null) selected.add(posting);
+                }
+                clauses.add(selected.isEmpty() ? EMPTY : FastAggregation.or(selected.iterator()));
+            }
+        }
+
+        if (rangeFilters != null) {
+            for (var entry : rangeFilters.entrySet()) {
+                var range = entry.getValue();
+                if (range == null) continue;
+                var column = numericColumns.get(entry.getKey());
+                clauses.add(column == null ? EMPTY : column.between(range.min(), range.max()));
+            }
+        }
+
+        if (clauses.isEmpty()) return null;
+        if (clauses.size() == 1) return clauses.get(0);
+        return FastAggregation.and(clauses.iterator());
+    }
+
+    private static RoaringBitmap restrict(RoaringBitmap scope, RoaringBitmap match) {
+        return match == null ? scope : RoaringBitmap.and(scope, match);
+    }
+
+    /**
+     * Option counts over the universe. Range-widget attributes are listed even
+     * when no option is left, so a filter that excludes everything still shows
+     * the slider it could be widened with.
+     */
+    private List<FacetGroup> facets(RoaringBitmap scope, int[] attributeIds, Map<Integer, double[]> rangeBounds,
+                                    Map<Integer, List<Integer>> enumFilters,
+                                    Map<Integer, NumericRange> rangeFilters) {
+        if (scope == null || attributeIds == null) return List.of();
+        var universe = restrict(scope, match(enumFilters, rangeFilters));
+
+        List<FacetGroup> groups = new ArrayList<>();
+        for (int attributeId : attributeIds) {
+            var attribute = attributes.get(attributeId);
+            List<FacetOption> options = new ArrayList<>();
+            for (var option : attribute.options()) {
+                var posting = postings.get(key(attributeId, option.id()));
+                if (posting == null) continue;
+                int count = RoaringBitmap.andCardinality(posting, universe);
+                if (count > 0) {
+                    options.add(new FacetOption(
+                            option.id() == NO_OPTION ? null : option.id(),
+                            option.value(), option.displayValue(), option.imageUrl(), count));
+                }
+            }
+            var range = rangeFacet(attribute, scope, universe, rangeBounds, enumFilters, rangeFilters);
+            if (!options.isEmpty() || range != null) {
+                groups.add(new FacetGroup(attribute.id(), attribute.key(), attribute.label(),
+                        attribute.filterWidget(), attribute.unitLabel(), options, range));
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Distribution of a range-widget attribute over the universe with the
+     * attribute's own range filter lifted, binned over the attribute's bounds
+     * in the scope, so the slider keeps its full extent while the other
+     * filters still apply. Its min and max are those of the universe's values.
+     */
+    private RangeFacet rangeFacet(AttributeEntry attribute, RoaringBitmap scope, RoaringBitmap universe,
+                                  Map<Integer, double[]> rangeBounds,
+                                  Map<Integer, List<Integer>> enumFilters,
+                                  Map<Integer, NumericRange> rangeFilters) {
+        if (!"range".equals(attribute.filterWidget()) || rangeBounds == null) return null;
+        var column = numericColumns.get(attribute.id());
+        var bounds = rangeBounds.get(attribute.id());
+        if (column == null || bounds == null) return null;
+
+        if (rangeFilters != null && rangeFilters.get(attribute.id()) != null) {
+            Map<Integer, NumericRange> others = new HashMap<>(rangeFilters);
+            others.remove(attribute.id());
+            universe = restrict(scope, match(enumFilters, others));
+        }
+        return column.histogram(bounds[0], bounds[1], universe);
+    }
+
+    /** Filterable attribute ids in sidebar order (filter_sort_order, then id). */
+    private int[] facetOrder(Set<Integer> attributeIds) {
+        return attributeIds.stream()
+                .map(attributes::get)
+                .filter(a -> a != null && a.filterable())
+                .sorted(Comparator.comparingInt(AttributeEntry::filterSortOrder)
+                        .thenComparingInt(AttributeEntry::id))
+                .mapToInt(AttributeEntry::id)
+                .toArray();
+    }
+
+    private static long key(int attributeId, int optionId) {
+        return ((long) attributeId << 32) | (optionId & 0xFFFFFFFFL);
+    }
+
+    /** Extends an attribute's [min, max] in {@code bounds} to cover [min, max]. */
+    private static void widen(Map<Integer, double[]> bounds, int attributeId, double min, double max) {
+        var range = bounds.computeIfAbsent(attributeId,
+                k -> new double[]{Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY});
+        range[0] = Math.min(range[0], min);
+        range[1] = Math.max(range[1], max);
+    }
+
+    // ─── Snapshot entries ────────────────────────────────────────────────────
+
+    record CategoryEntry(int id, Integer parentId, String name, String slug, String path,
+                         boolean isLeaf, boolean isActive, short depth, short sortOrder) {}
+
+    record AttributeEntry(int id, String key, String label, String filterWidget, String unitLabel,
+                          short filterSortOrder, boolean filterable, List<OptionEntry> options) {}
+
+    record OptionEntry(int id, String value, String displayValue, String imageUrl, short sortOrder) {}
+
+    record GroupEntry(UUID groupId, RoaringBitmap skus) {}
+
+    /**
+     * Values of one numeric attribute sorted ascending, with the owning SKU
+     * ordinal at the same position — a range filter is two binary searches.
+     * The same pairs are also kept in ordinal order, so the values of a set
+     * of SKUs are found without scanning the column.
+     */
+    static final class NumericColumn {
+
+        private final double[] values;
+        private final int[] ordinals;
+        private final int[] ordinalsAscending;
+        private final double[] valuesByOrdinal;
+
+        private NumericColumn(double[] values, int[] ordinals) {
+            this.values = values;
+            this.ordinals = ordinals;
+
+            long[] pairs = new long[ordinals.length];
+            for (int i = 0; i < ordinals.length; i++) pairs[i] = ((long) ordinals[i] << 32) | i;
+            Arrays.sort(pairs);
+            this.ordinalsAscending = new int[pairs.length];
+            this.valuesByOrdinal = new double[pairs.length];
+            for (int i = 0; i < pairs.length; i++) {
+                ordinalsAscending[i] = (int) (pairs[i] >>> 32);
+                valuesByOrdinal[i] = values[(int) pairs[i]];
+            }
+        }
+
+        /** SKUs whose value lies in [min, max]; a null bound is open. */
+        RoaringBitmap between(BigDecimal min, BigDecimal max) {
+            int from = min == null ? 0 : lowerBound(min.doubleValue());
+            int to = max == null ? values.length : upperBound(max.doubleValue());
+            if (from >= to) return new RoaringBitmap();
+            int[] slice = Arrays.copyOfRange(ordinals, from, to);
+            Arrays.sort(slice);
+            return RoaringBitmap.bitmapOf(slice);
+        }
+
+        /**
+         * Histogram over [min, max] of the values of the SKUs in
+         * {@code universe}: one binary search per SKU, each starting where
+         * the previous one ended, never a scan of the whole column.
+         */
+        RangeFacet histogram(double min, double max, RoaringBitmap universe) {
+            var histogram = new RangeHistogram(min, max);
+            int from = 0;
+            var it = universe.getIntIterator();
+            while (it.hasNext() && from < ordinalsAscending.length) {
+                int ordinal = it.next();
+                int i = Arrays.binarySearch(ordinalsAscending, from, ordinalsAscending.length, ordinal);
+                if (i < 0) {
+                    from = -i - 1;
+                    continue;
+                }
+                while (i > from && ordinalsAscending[i - 1] == ordinal) i--;
+                for (; i < ordinalsAscending.length && ordinalsAscending[i] == ordinal; i++) {
+                    histogram.add(valuesByOrdinal[i]);
+                }
+                from = i;
+            }
+            return histogram.build();
+        }
+
+        /** First index whose value is ≥ x. */
+        private int lowerBound(double x) {
+            int lo = 0, hi = values.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] < x) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+
+        /** First index whose value is > x. */
+        private int upperBound(double x) {
+            int lo = 0, hi = values.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] <= x) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+
+        static final class Builder {
+            private double[] values = new double[16];
+            private int[] ordinals = new int[16];
+            private int size;
+
+            void add(double value, int ordinal) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                    ordinals = Arrays.copyOf(ordinals, size * 2);
+                }
+                values[size] = value;
+                ordinals[size++] = ordinal;
+            }
+
+            NumericColumn build() {
+                var v = Arrays.copyOf(values, size);
+                var o = Arrays.copyOf(ordinals, size);
+                sort(v, o, 0, size - 1);
+                return new NumericColumn(v, o);
+            }
+
+            /** Three-way quicksort on parallel arrays — numeric facets have many duplicate values. */
+            private static void sort(double[] v, int[] o, int lo, int hi) {
+                while (hi - lo > 16) {
+                    double a = v[lo], b = v[(lo + hi) >>> 1], c = v[hi];
+                    double pivot = Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+                    int lt = lo, i = lo, gt = hi;
+                    while (i <= gt) {
+                        int cmp = Double.compare(v[i], pivot);
+                        if (cmp < 0) swap(v, o, lt++, i++);
+                        else if (cmp > 0) swap(v, o, i, gt--);
+                        else i++;
+                    }
+                    // Recurse into the smaller side, loop on the larger — bounded stack depth.
+                    if (lt - lo < hi - gt) {
+                        sort(v, o, lo, lt - 1);
+                        lo = gt + 1;
+                    } else {
+                        sort(v, o, gt + 1, hi);
+                        hi = lt - 1;
+                    }
+                }
+                for (int i = lo + 1; i <= hi; i++) {
+                    for (int j = i; j > lo && v[j - 1] > v[j]; j--) swap(v, o, j, j - 1);
+                }
+            }
+
+            private static void swap(double[] v, int[] o, int i, int j) {
+                double tv = v[i]; v[i] = v[j]; v[j] = tv;
+                int to = o[i]; o[i] = o[j]; o[j] = to;
+            }
+        }
+    }
+
+    // ─── Builder ─────────────────────────────────────────────────────────────
+
+    static final class Builder {
+
+        private final Map<Integer, CategoryEntry> categories = new HashMap<>();
+        private final Map<Integer, AttributeEntry> attributes = new HashMap<>();
+        private final Map<Integer, List<OptionEntry>> optionsByAttribute = new HashMap<>();
+        private final RoaringBitmap allSkus = new RoaringBitmap();
+        private final Map<Integer, RoaringBitmap> skusByLeaf = new HashMap<>();
+        private final Map<Integer, Map<UUID, RoaringBitmap>> skusByLeafGroup = new HashMap<>();
+        private final Map<Integer, Set<Integer>> attributesByLeaf = new HashMap<>();
+        private final Map<Long, RoaringBitmap> postings = new HashMap<>();
+        private final Map<Integer, NumericColumn.Builder> numeric = new HashMap<>();
+        private final Map<Integer, Map<Integer, double[]>> rangeBoundsByLeaf = new HashMap<>();
+
+        private Builder() {
+        }
+
+        Builder category(int id, Integer parentId, String name, String slug, String path,
+                         boolean isLeaf, boolean isActive, short depth, short sortOrder) {
+            categories.put(id, new CategoryEntry(id, parentId, name, slug, path, isLeaf, isActive, depth, sortOrder));
+            return this;
+        }
+
+        Builder attribute(int id, String key, String label, String filterWidget, String unitLabel,
+                          short filterSortOrder, boolean filterable) {
+            attributes.put(id, new AttributeEntry(id, key, label, filterWidget, unitLabel,
+                    filterSortOrder, filterable, List.of()));
+            return this;
+        }
+
+        Builder option(int id, int attributeId, String value, String displayValue, String imageUrl, short sortOrder) {
+            optionsByAttribute.computeIfAbsent(attributeId, k -> new ArrayList<>())
+                    .add(new OptionEntry(id, value, displayValue, imageUrl, sortOrder));
+            return this;
+        }
+
+        Builder facet(int ordinal, UUID groupId, int categoryId, int attributeId,
+                      Integer optionId, BigDecimal valueNumeric) {
+            allSkus.add(ordinal);
+            skusByLeafGroup.computeIfAbsent(categoryId, k -> new HashMap<>())
+                    .computeIfAbsent(groupId, k -> new RoaringBitmap()).add(ordinal);
+            skusByLeaf.computeIfAbsent(categoryId, k -> new RoaringBitmap()).add(ordinal);
+            attributesByLeaf.computeIfAbsent(categoryId, k -> new HashSet<>()).add(attributeId);
+            postings.computeIfAbsent(key(attributeId, optionId == null ? NO_OPTION : optionId),
+                    k -> new RoaringBitmap()).add(ordinal);
+            if (valueNumeric != null) {
+                double value = valueNumeric.doubleValue();
+                numeric.computeIfAbsent(attributeId, k -> new NumericColumn.Builder()).add(value, ordinal);
+                widen(rangeBoundsByLeaf.computeIfAbsent(categoryId, k -> new HashMap<>()), attributeId, value, value);
+            }
+            return this;
+        }
+
+        FacetBitmapIndex build() {
+            return new FacetBitmapIndex(this);
+        }
+    }
+}
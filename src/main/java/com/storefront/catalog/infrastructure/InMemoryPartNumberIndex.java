@@ -0,0 +1,91 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.domain.model.PartNumberIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.storefront.jooq.Tables.SKUS;
+
+/**
+ * {@link PartNumberIndex} over a hash map of every active SKU's part number,
+ * so a pasted quick-order list resolves to ids without touching the database.
+ *
+ * Loaded from the read replica at startup and rebuilt in the background when
+ * {@code skus} changes.
+ */
+@Component
+@Slf4j
+class InMemoryPartNumberIndex implements PartNumberIndex {
+
+    private final DSLContext dsl;
+    private final int fetchSize;
+    private final RefreshableSnapshot<Map<String, UUID>> index;
+
+    InMemoryPartNumberIndex(@Qualifier("readOnlyDsl") DSLContext readOnlyDsl,
+                            @Value("${storefront.catalog.part-number-index.load-fetch-size:10000}") int fetchSize) {
+        this.dsl = readOnlyDsl;
+        this.fetchSize = fetchSize;
+        this.index = new RefreshableSnapshot<>("part-number-index", this::load);
+    }
+
+    @Override
+    public boolean isReady() {
+        return index.isReady();
+    }
+
+    @Override
+    public Map<String, UUID> findAll(Collection<String> partNumbers) {
+        var snapshot = index.get();
+        Map<String, UUID> result = new LinkedHashMap<>();
+        for (String partNumber : partNumbers) {
+            UUID id = snapshot.get(partNumber);
+            if (id != null) result.put(partNumber, id);
+        }
+        return result;
+    }
+
+    // ─── Lifecycle ───────────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        log.info("Part number index ready: {} part numbers", index.get().size());
+    }
+
+    @EventListener
+    void onCatalogChange(CatalogTablesChanged event) {
+        if (event.touches("skus")) {
+            index.refreshAsync();
+        }
+    }
+
+    // ─── Loading ─────────────────────────────────────────────────────────────
+
+    private Map<String, UUID> load() {
+        return dsl.transactionResult(cfg -> {
+            Map<String, UUID> snapshot = new HashMap<>();
+            try (var cursor = DSL.using(cfg)
+                    .select(SKUS.PART_NUMBER, SKUS.ID)
+                    .from(SKUS)
+                    .where(SKUS.IS_ACTIVE.isTrue())
+                    .fetchSize(fetchSize)
+                    .fetchLazy()) {
+                for (var r : cursor) {
+                    snapshot.put(r.get(SKUS.PART_NUMBER), r.get(SKUS.ID));
+                }
+            }
+            return Map.copyOf(snapshot);   // open-addressed, no per-entry nodes
+        });
+    }
+}
@@ -0,0 +1,119 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.ProductApi.SkuPriceInfo;
+import com.storefront.catalog.domain.model.PriceTierStore;
+import com.storefront.catalog.domain.model.SkuOrdinals;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.storefront.jooq.Tables.SKUS;
+import static com.storefront.jooq.Tables.SKU_PRICE_TIERS;
+
+/**
+ * {@link PriceTierStore} answered from an in-JVM {@link PriceTierIndex}, so
+ * pricing a cart of any size issues no SQL. Ids are translated to ordinals
+ * through {@link SkuOrdinals} on the way in and echoed on the way out.
+ *
+ * The snapshot is loaded from the read replica at startup and rebuilt in the
+ * background whenever {@code sku_price_tiers} or {@code skus} (activation,
+ * part number, sell unit) changes.
+ */
+@Component
+@Slf4j
+class InMemoryPriceTierStore implements PriceTierStore {
+
+    private final DSLContext dsl;
+    private final SkuOrdinals skuOrdinals;
+    private final int fetchSize;
+    private final RefreshableSnapshot<PriceTierIndex> index;
+
+    InMemoryPriceTierStore(@Qualifier("readOnlyDsl") DSLContext readOnlyDsl,
+                           SkuOrdinals skuOrdinals,
+                           @Value("${storefront.catalog.price-index.load-fetch-size:10000}") int fetchSize) {
+        this.dsl = readOnlyDsl;
+        this.skuOrdinals = skuOrdinals;
+        this.fetchSize = fetchSize;
+        this.index = new RefreshableSnapshot<>("price-tier-index", this::load);
+    }
+
+    @Override
+    public Optional<SkuPriceInfo> price(UUID skuId, int quantity) {
+        return Optional.ofNullable(quote(index.get(), skuId, quantity));
+    }
+
+    @Override
+    public Map<UUID, SkuPriceInfo> priceAll(Map<UUID, Integer> quantities) {
+        var snapshot = index.get();   // one snapshot for the whole batch
+        Map<UUID, SkuPriceInfo> result = new LinkedHashMap<>();
+        quantities.forEach((skuId, quantity) -> {
+            var info = quote(snapshot, skuId, quantity);
+            if (info != null) result.put(skuId, info);
+        });
+        return result;
+    }
+
+    private SkuPriceInfo quote(PriceTierIndex snapshot, UUID skuId, int quantity) {
+        int ordinal = skuOrdinals.ordinalOf(skuId);
+        var unitPrice = snapshot.unitPrice(ordinal, quantity);
+        if (unitPrice == null) return null;
+        return new SkuPriceInfo(skuId, snapshot.partNumber(ordinal), unitPrice, snapshot.sellUnit(ordinal));
+    }
+
+    // ─── Lifecycle ───────────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        var snapshot = index.get();
+        log.info("Price tier index ready: {} SKUs, {} tiers", snapshot.skuCount(), snapshot.tierCount());
+    }
+
+    @EventListener
+    void onCatalogChange(CatalogTablesChanged event) {
+        if (event.touches("sku_price_tiers", "skus")) {
+            index.refreshAsync();
+        }
+    }
+
+    // ─── Loading ─────────────────────────────────────────────────────────────
+
+    /** Active USD tiers of active SKUs, streamed through a server-side cursor in builder (ordinal) order. */
+    private PriceTierIndex load() {
+        return dsl.transactionResult(cfg -> {
+            var builder = PriceTierIndex.builder();
+            var pt = SKU_PRICE_TIERS;
+            try (var cursor = DSL.using(cfg)
+                    .select(SKUS.ORDINAL, SKUS.PART_NUMBER, SKUS.SELL_UNIT,
+                            pt.QTY_MIN, pt.QTY_MAX, pt.UNIT_PRICE)
+                    .from(SKUS)
+                    .join(pt).on(pt.SKU_ID.eq(SKUS.ID))
+                    .where(SKUS.IS_ACTIVE.isTrue()
+                            .and(pt.IS_ACTIVE.isTrue())
+                            .and(pt.CURRENCY.eq("USD")))
+                    .orderBy(SKUS.ORDINAL, pt.QTY_MIN)
+                    .fetchSize(fetchSize)
+                    .fetchLazy()) {
+                for (var r : cursor) {
+                    builder.tier(
+                            r.get(SKUS.ORDINAL),
+                            r.get(SKUS.PART_NUMBER),
+                            r.get(SKUS.SELL_UNIT),
+                            r.get(pt.QTY_MIN),
+                            r.get(pt.QTY_MAX),
+                            r.get(pt.UNIT_PRICE));
+                }
+            }
+            return builder.build();
+        });
+    }
+}
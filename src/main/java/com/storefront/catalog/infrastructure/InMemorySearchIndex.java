@@ -0,0 +1,172 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.ProductApi.ProductGroupSummary;
+import com.storefront.catalog.domain.model.SearchIndex;
+import com.storefront.shared.PageRequest;
+import com.storefront.shared.Pagination;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.storefront.jooq.Tables.PRODUCT_GROUPS;
+
+/**
+ * {@link SearchIndex} over an in-JVM {@link Bm25Index} of the active product
+ * groups' names, subtitles and descriptions.
+ *
+ * Loaded from the read replica at startup. When {@code product_groups}
+ * changes, only the rows updated since the last load are read
+ * ({@code updated_at} is kept by trigger, see V5) and the index is rebuilt
+ * in memory from the retained, already-analysed documents. The active ids
+ * are then read as well: documents no longer among them were hard-deleted,
+ * which leaves no row to catch up on, and are dropped; an active id with no
+ * document was missed by the catch-up, and the build reloads everything.
+ */
+@Component
+@Slf4j
+class InMemorySearchIndex implements SearchIndex {
+
+    /**
+     * {@code updated_at} is the writer's transaction start, so a row can
+     * commit with a timestamp older than one already read. Re-reading this
+     * far behind the watermark catches it.
+     */
+    private static final Duration CATCH_UP_OVERLAP = Duration.ofMinutes(5);
+
+    /** Analysed fields of one group, retained between builds. */
+    private record Document(ProductGroupSummary summary,
+                            List<String> name, List<String> subtitle, List<String> description) {}
+
+    private final DSLContext dsl;
+    private final int fetchSize;
+    private final RefreshableSnapshot<Bm25Index> index;
+
+    // Loader state — only touched inside load()
+    private final Map<UUID, Document> documents = new HashMap<>();
+    private OffsetDateTime watermark;
+
+    InMemorySearchIndex(@Qualifier("readOnlyDsl") DSLContext readOnlyDsl,
+                        @Value("${storefront.catalog.search-index.load-fetch-size:5000}") int fetchSize) {
+        this.dsl = readOnlyDsl;
+        this.fetchSize = fetchSize;
+        this.index = new RefreshableSnapshot<>("search-index", this::load);
+    }
+
+    @Override
+    public boolean isReady() {
+        return index.isReady();
+    }
+
+    @Override
+    public Pagination<ProductGroupSummary> search(String query, PageRequest request) {
+        var hits = index.get().search(query, request.offset(), request.pageSize());
+        return Pagination.of(hits.items(), hits.total(), request);
+    }
+
+    // ─── Lifecycle ───────────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        var snapshot = index.get();
+        log.info("Search index ready: {} product groups, {} terms", snapshot.size(), snapshot.termCount());
+    }
+
+    @EventListener
+    void onCatalogChange(CatalogTablesChanged event) {
+        if (event.touches("product_groups")) {
+            index.refreshAsync();
+        }
+    }
+
+    // ─── Loading ─────────────────────────────────────────────────────────────
+
+    private synchronized Bm25Index load() {
+        if (watermark == null || !catchUp()) {
+            documents.clear();
+            watermark = null;
+            read(PRODUCT_GROUPS.IS_ACTIVE.isTrue());
+            log.debug("Search index loaded {} product groups", documents.size());
+        }
+
+        var builder = Bm25Index.builder();
+        documents.values().forEach(d -> builder.add(d.summary(), d.name(), d.subtitle(), d.description()));
+        return builder.build();
+    }
+
+    /** Applies the rows changed since the watermark; false when a full reload is needed. */
+    private boolean catchUp() {
+        int changed = read(PRODUCT_GROUPS.UPDATED_AT.gt(watermark.minus(CATCH_UP_OVERLAP)));
+        Set<UUID> active = new HashSet<>(dsl
+                .select(PRODUCT_GROUPS.ID)
+                .from(PRODUCT_GROUPS)
+                .where(PRODUCT_GROUPS.IS_ACTIVE.isTrue())
+                .fetch(PRODUCT_GROUPS.ID));
+        int deleted = documents.size();
+        documents.keySet().retainAll(active);
+        deleted -= documents.size();
+        log.debug("Search index caught up on {} changed and {} deleted product groups", changed, deleted);
+        return active.size() == documents.size();
+    }
+
+    /** Upserts active rows and drops inactive ones; returns the rows read. */
+    private int read(Condition condition) {
+        return dsl.transactionResult(cfg -> {
+            int rows = 0;
+            try (var cursor = DSL.using(cfg)
+                    .select(PRODUCT_GROUPS.ID, PRODUCT_GROUPS.NAME, PRODUCT_GROUPS.SUBTITLE,
+                            PRODUCT_GROUPS.SLUG, PRODUCT_GROUPS.OVERVIEW_IMAGE_URL,
+                            PRODUCT_GROUPS.SKU_COUNT, PRODUCT_GROUPS.MIN_PRICE_USD,
+                            PRODUCT_GROUPS.ANY_IN_STOCK, PRODUCT_GROUPS.DESCRIPTION,
+                            PRODUCT_GROUPS.IS_ACTIVE, PRODUCT_GROUPS.UPDATED_AT)
+                    .from(PRODUCT_GROUPS)
+                    .where(condition)
+                    .fetchSize(fetchSize)
+                    .fetchLazy()) {
+                for (var r : cursor) {
+                    rows++;
+                    var id = r.get(PRODUCT_GROUPS.ID);
+                    if (r.get(PRODUCT_GROUPS.IS_ACTIVE)) {
+                        var summary = new ProductGroupSummary(
+                                id,
+                                r.get(PRODUCT_GROUPS.NAME),
+                                r.get(PRODUCT_GROUPS.SUBTITLE),
+                                r.get(PRODUCT_GROUPS.SLUG),
+                                r.get(PRODUCT_GROUPS.OVERVIEW_IMAGE_URL),
+                                r.get(PRODUCT_GROUPS.SKU_COUNT),
+                                r.get(PRODUCT_GROUPS.MIN_PRICE_USD),
+                                r.get(PRODUCT_GROUPS.ANY_IN_STOCK));
+                        documents.put(id, new Document(summary,
+                                analyse(summary.name()),
+                                analyse(summary.subtitle()),
+                                analyse(r.get(PRODUCT_GROUPS.DESCRIPTION))));
+                    } else {
+                        documents.remove(id);
+                    }
+                    var updatedAt = r.get(PRODUCT_GROUPS.UPDATED_AT);
+                    if (watermark == null || updatedAt.isAfter(watermark)) watermark = updatedAt;
+                }
+            }
+            return rows;
+        });
+    }
+
+    /** Interned, so the retained documents share one copy of each term. */
+    private static List<String> analyse(String text) {
+        return SearchText.terms(text).stream().map(String::intern).toList();
+    }
+}
@@ -0,0 +1,104 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.ProductApi.ProductGroupSummary;
+import com.storefront.catalog.domain.model.TypeaheadIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.storefront.jooq.Tables.PRODUCT_GROUPS;
+
+/**
+ * {@link TypeaheadIndex} over an in-JVM {@link CompletionTable} of the active
+ * product groups' names and subtitles, for the search dropdown.
+ *
+ * Loaded from the read replica at startup and rebuilt in the background when
+ * {@code product_groups} changes; the new table replaces the old one in a
+ * single reference swap, so a keystroke never sees a half-built table.
+ * With {@code storefront.catalog.typeahead.enabled=false} the dropdown is
+ * served by SQL instead.
+ */
+@Component
+@ConditionalOnProperty(prefix = "storefront.catalog.typeahead", name = "enabled", matchIfMissing = true)
+@Slf4j
+class InMemoryTypeaheadIndex implements TypeaheadIndex {
+
+    private final DSLContext dsl;
+    private final int fetchSize;
+    private final int topK;
+    private final RefreshableSnapshot<CompletionTable> table;
+
+    InMemoryTypeaheadIndex(@Qualifier("readOnlyDsl") DSLContext readOnlyDsl,
+                           @Value("${storefront.catalog.typeahead.load-fetch-size:5000}") int fetchSize,
+                           @Value("${storefront.catalog.typeahead.top-k:10}") int topK) {
+        this.dsl = readOnlyDsl;
+        this.fetchSize = fetchSize;
+        this.topK = topK;
+        this.table = new RefreshableSnapshot<>("typeahead-index", this::load);
+    }
+
+    @Override
+    public boolean isReady() {
+        return table.isReady();
+    }
+
+    @Override
+    public List<ProductGroupSummary> complete(String query, int limit) {
+        return table.get().complete(query, limit);
+    }
+
+    // ─── Lifecycle ───────────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        var snapshot = table.get();
+        log.info("Typeahead index ready: {} product groups, {} keys, {} precomputed prefixes",
+                snapshot.size(), snapshot.keyCount(), snapshot.heavyPrefixCount());
+    }
+
+    @EventListener
+    void onCatalogChange(CatalogTablesChanged event) {
+        if (event.touches("product_groups")) {
+            table.refreshAsync();
+        }
+    }
+
+    // ─── Loading ─────────────────────────────────────────────────────────────
+
+    private CompletionTable load() {
+        return dsl.transactionResult(cfg -> {
+            List<ProductGroupSummary> groups = new ArrayList<>();
+            try (var cursor = DSL.using(cfg)
+                    .select(PRODUCT_GROUPS.ID, PRODUCT_GROUPS.NAME, PRODUCT_GROUPS.SUBTITLE,
+                            PRODUCT_GROUPS.SLUG, PRODUCT_GROUPS.OVERVIEW_IMAGE_URL,
+                            PRODUCT_GROUPS.SKU_COUNT, PRODUCT_GROUPS.MIN_PRICE_USD,
+                            PRODUCT_GROUPS.ANY_IN_STOCK)
+                    .from(PRODUCT_GROUPS)
+                    .where(PRODUCT_GROUPS.IS_ACTIVE.isTrue())
+                    .fetchSize(fetchSize)
+                    .fetchLazy()) {
+                for (var r : cursor) {
+                    groups.add(new ProductGroupSummary(
+                            r.get(PRODUCT_GROUPS.ID),
+                            r.get(PRODUCT_GROUPS.NAME),
+                            r.get(PRODUCT_GROUPS.SUBTITLE),
+                            r.get(PRODUCT_GROUPS.SLUG),
+                            r.get(PRODUCT_GROUPS.OVERVIEW_IMAGE_URL),
+                            r.get(PRODUCT_GROUPS.SKU_COUNT),
+                            r.get(PRODUCT_GROUPS.MIN_PRICE_USD),
+                            r.get(PRODUCT_GROUPS.ANY_IN_STOCK)));
+                }
+            }
+            return CompletionTable.build(groups, topK);
+        });
+    }
+}
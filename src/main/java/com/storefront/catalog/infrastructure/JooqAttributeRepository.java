@@ -4,16 +4,22 @@ import com.storefront.catalog.ProductApi.AttributeSummary;
 import com.storefront.catalog.ProductApi.ColumnConfig;
 import com.storefront.catalog.ProductApi.FacetGroup;
 import com.storefront.catalog.ProductApi.FacetOption;
+import com.storefront.catalog.ProductApi.NumericRange;
 import com.storefront.catalog.domain.model.AttributeRepository;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Record;
+import org.jooq.SelectField;
 import org.jooq.impl.DSL;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static com.storefront.jooq.Tables.ATTRIBUTE_DEFINITIONS;
@@ -35,39 +41,53 @@ class JooqAttributeRepository implements AttributeRepository {
     @Transactional(readOnly = true)
     public List<ColumnConfig> findColumnConfig(UUID groupId) {
         return readOnlyDsl
-                .select(
-                        PRODUCT_GROUP_COLUMNS.SORT_ORDER,
-                        PRODUCT_GROUP_COLUMNS.ROLE,
-                        DSL.coalesce(PRODUCT_GROUP_COLUMNS.COLUMN_HEADER, ATTRIBUTE_DEFINITIONS.LABEL).as("header"),
-                        DSL.coalesce(PRODUCT_GROUP_COLUMNS.COLUMN_WIDTH_PX, ATTRIBUTE_DEFINITIONS.TABLE_COLUMN_WIDTH).as("width"),
-                        ATTRIBUTE_DEFINITIONS.KEY,
-                        ATTRIBUTE_DEFINITIONS.UNIT_LABEL,
-                        ATTRIBUTE_DEFINITIONS.DATA_TYPE,
-                        ATTRIBUTE_DEFINITIONS.FILTER_WIDGET,
-                        ATTRIBUTE_DEFINITIONS.FILTER_SORT_ORDER,
-                        ATTRIBUTE_DEFINITIONS.IS_FILTERABLE
-                )
+                .select(columnConfigFields())
                 .from(PRODUCT_GROUP_COLUMNS)
                 .join(ATTRIBUTE_DEFINITIONS).on(ATTRIBUTE_DEFINITIONS.ID.eq(PRODUCT_GROUP_COLUMNS.ATTRIBUTE_ID))
                 .where(PRODUCT_GROUP_COLUMNS.PRODUCT_GROUP_ID.eq(groupId))
-                .orderBy(PRODUCT_GROUP_COLUMNS.SORT_ORDER)
-                .fetch(r -> new ColumnConfig(
-                        r.get(PRODUCT_GROUP_COLUMNS.SORT_ORDER),
-                        r.get(PRODUCT_GROUP_COLUMNS.ROLE),
-                        r.get("header", String.class),
-                        r.get("width", Integer.class),
-                        r.get(ATTRIBUTE_DEFINITIONS.KEY),
-                        r.get(ATTRIBUTE_DEFINITIONS.UNIT_LABEL),
-                        r.get(ATTRIBUTE_DEFINITIONS.DATA_TYPE),
-                        r.get(ATTRIBUTE_DEFINITIONS.FILTER_WIDGET),
-                        r.get(ATTRIBUTE_DEFINITIONS.FILTER_SORT_ORDER),
-                        r.get(ATTRIBUTE_DEFINITIONS.IS_FILTERABLE)
-                ));
+                .orderBy(PRODUCT_GROUP_COLUMNS.SORT_ORDER, PRODUCT_GROUP_COLUMNS.ATTRIBUTE_ID)
+                .fetch(this::toColumnConfig);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, List<ColumnConfig>> findColumnConfigs(Collection<UUID> groupIds) {
+        Map<UUID, List<ColumnConfig>> result = new LinkedHashMap<>();
+        if (groupIds == null || groupIds.isEmpty()) return result;
+        groupIds.forEach(id -> result.put(id, new ArrayList<>()));
+
+        readOnlyDsl
+                .select(PRODUCT_GROUP_COLUMNS.PRODUCT_GROUP_ID)
+                .select(columnConfigFields())
+                .from(PRODUCT_GROUP_COLUMNS)
+                .join(ATTRIBUTE_DEFINITIONS).on(ATTRIBUTE_DEFINITIONS.ID.eq(PRODUCT_GROUP_COLUMNS.ATTRIBUTE_ID))
+                .where(PRODUCT_GROUP_COLUMNS.PRODUCT_GROUP_ID.eq(DSL.any(result.keySet().toArray(UUID[]::new))))
+                .orderBy(PRODUCT_GROUP_COLUMNS.PRODUCT_GROUP_ID, PRODUCT_GROUP_COLUMNS.SORT_ORDER,
+                        PRODUCT_GROUP_COLUMNS.ATTRIBUTE_ID)
+                .forEach(r -> result.get(r.get(PRODUCT_GROUP_COLUMNS.PRODUCT_GROUP_ID)).add(toColumnConfig(r)));
+        return result;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<FacetGroup> findFacetCounts(UUID groupId, List<UUID> matchingSkuIds) {
+        return facetCounts(groupId, SKUS.PRODUCT_GROUP_ID.eq(groupId)
+                .and(SKUS.IS_ACTIVE.isTrue())
+                .and(matchingSkuIds != null && !matchingSkuIds.isEmpty()
+                        ? SKUS.ID.in(matchingSkuIds)
+                        : DSL.trueCondition()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FacetGroup> findFacetCounts(UUID groupId,
+                                            Map<Integer, List<Integer>> enumFilters,
+                                            Map<Integer, NumericRange> rangeFilters) {
+        return facetCounts(groupId, JooqSkuRepository.matchingSkus(groupId, enumFilters, rangeFilters));
+    }
+
+    /** Option counts of the group's filterable columns over the SKUs meeting {@code skus}. */
+    private List<FacetGroup> facetCounts(UUID groupId, Condition skus) {
         var records = readOnlyDsl
                 .select(
                         ATTRIBUTE_DEFINITIONS.ID,
@@ -87,12 +107,7 @@ class JooqAttributeRepository implements AttributeRepository {
                                 .and(PRODUCT_GROUP_COLUMNS.PRODUCT_GROUP_ID.eq(groupId))
                                 .and(ATTRIBUTE_DEFINITIONS.IS_FILTERABLE.isTrue()))
                 .join(SKU_ATTRIBUTES).on(SKU_ATTRIBUTES.ATTRIBUTE_ID.eq(ATTRIBUTE_DEFINITIONS.ID))
-                .join(SKUS).on(SKUS.ID.eq(SKU_ATTRIBUTES.SKU_ID)
-                        .and(SKUS.PRODUCT_GROUP_ID.eq(groupId))
-                        .and(SKUS.IS_ACTIVE.isTrue())
-                        .and(matchingSkuIds != null && !matchingSkuIds.isEmpty()
-                                ? SKUS.ID.in(matchingSkuIds)
-                                : DSL.trueCondition()))
+                .join(SKUS).on(SKUS.ID.eq(SKU_ATTRIBUTES.SKU_ID).and(skus))
                 .leftJoin(ATTRIBUTE_OPTIONS).on(ATTRIBUTE_OPTIONS.ID.eq(SKU_ATTRIBUTES.OPTION_ID))
                 .groupBy(ATTRIBUTE_DEFINITIONS.ID, ATTRIBUTE_DEFINITIONS.KEY,
                         ATTRIBUTE_DEFINITIONS.LABEL, ATTRIBUTE_DEFINITIONS.FILTER_WIDGET,
@@ -114,7 +129,8 @@ class JooqAttributeRepository implements AttributeRepository {
                     r.get(ATTRIBUTE_DEFINITIONS.LABEL),
                     r.get(ATTRIBUTE_DEFINITIONS.FILTER_WIDGET),
                     r.get(ATTRIBUTE_DEFINITIONS.UNIT_LABEL),
-                    new ArrayList<>()
+                    new ArrayList<>(),
+                    null
             ));
 
             Integer optionId = r.get("option_id", Integer.class);
@@ -130,6 +146,37 @@ class JooqAttributeRepository implements AttributeRepository {
         return new ArrayList<>(groups.values());
     }
 
+    // ─── Helpers ─────────────────────────────────────────────────────────────
+
+    private static List<SelectField<?>> columnConfigFields() {
+        return List.of(
+                PRODUCT_GROUP_COLUMNS.SORT_ORDER,
+                PRODUCT_GROUP_COLUMNS.ROLE,
+                DSL.coalesce(PRODUCT_GROUP_COLUMNS.COLUMN_HEADER, ATTRIBUTE_DEFINITIONS.LABEL).as("header"),
+                DSL.coalesce(PRODUCT_GROUP_COLUMNS.COLUMN_WIDTH_PX, ATTRIBUTE_DEFINITIONS.TABLE_COLUMN_WIDTH).as("width"),
+                ATTRIBUTE_DEFINITIONS.KEY,
+                ATTRIBUTE_DEFINITIONS.UNIT_LABEL,
+                ATTRIBUTE_DEFINITIONS.DATA_TYPE,
+                ATTRIBUTE_DEFINITIONS.FILTER_WIDGET,
+                ATTRIBUTE_DEFINITIONS.FILTER_SORT_ORDER,
+                ATTRIBUTE_DEFINITIONS.IS_FILTERABLE);
+    }
+
+    private ColumnConfig toColumnConfig(Record r) {
+        return new ColumnConfig(
+                r.get(PRODUCT_GROUP_COLUMNS.SORT_ORDER),
+                r.get(PRODUCT_GROUP_COLUMNS.ROLE),
+                r.get("header", String.class),
+                r.get("width", Integer.class),
+                r.get(ATTRIBUTE_DEFINITIONS.KEY),
+                r.get(ATTRIBUTE_DEFINITIONS.UNIT_LABEL),
+                r.get(ATTRIBUTE_DEFINITIONS.DATA_TYPE),
+                r.get(ATTRIBUTE_DEFINITIONS.FILTER_WIDGET),
+                r.get(ATTRIBUTE_DEFINITIONS.FILTER_SORT_ORDER),
+                r.get(ATTRIBUTE_DEFINITIONS.IS_FILTERABLE)
+        );
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<AttributeSummary> findFilterableAttributes(int categoryId) {
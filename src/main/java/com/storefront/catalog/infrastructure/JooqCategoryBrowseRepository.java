@@ -9,6 +9,8 @@ import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.jooq.impl.DSL;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -17,8 +19,13 @@ import java.util.*;
 import static com.storefront.jooq.Tables.*;
 
 @Repository
+@ConditionalOnProperty(name = "storefront.catalog.browse.engine", havingValue = "sql")
 class JooqCategoryBrowseRepository implements CategoryBrowseRepository {
 
+    /** SpEL for the canonical filter signature — identical selections share an entry. */
+    private static final String SIGNATURE =
+            "T(com.storefront.catalog.domain.model.FilterSignature).of(#enumFilters, #rangeFilters)";
+
     private final DSLContext dsl;
 
     JooqCategoryBrowseRepository(@Qualifier("readOnlyDsl") DSLContext readOnlyDsl) {
@@ -28,14 +35,19 @@ class JooqCategoryBrowseRepository implements CategoryBrowseRepository {
     // ─── Mid-level: filtered children ────────────────────────────────────────
 
     @Override
+    @Cacheable(value = "category-browse", cacheManager = "redisCacheManager",
+            key = "'children:' + #parentId + ':' + " + SIGNATURE)
     @Transactional(readOnly = true)
     public List<FilteredCategory> findFilteredChildren(
             int parentId, String parentPath,
             Map<Integer, List<Integer>> enumFilters,
             Map<Integer, NumericRange> rangeFilters) {
 
+        if (!hasFilters(enumFilters, rangeFilters)) {
+            return findChildrenFromRollup(parentId);
+        }
+
         var sfi = SKU_FACET_INDEX.as("sfi");
-        var cLeaf = CATEGORIES.as("c_leaf");
         var cChild = CATEGORIES.as("c_child");
 
         Condition skuCondition = buildSkuFilterCondition(sfi, enumFilters, rangeFilters);
@@ -51,11 +63,7 @@ class JooqCategoryBrowseRepository implements CategoryBrowseRepository {
                         cChild.SORT_ORDER,
                         DSL.countDistinct(sfi.SKU_ID).as("sku_count"))
                 .from(cChild)
-                .join(cLeaf).on(DSL.condition("{0} <@ {1}::ltree",
-                        cLeaf.PATH, cChild.PATH)
-                        .and(cLeaf.IS_LEAF.isTrue())
-                        .and(cLeaf.IS_ACTIVE.isTrue()))
-                .join(sfi).on(sfi.CATEGORY_ID.eq(cLeaf.ID))
+                .join(sfi).on(sfi.LEAF_LFT.between(cChild.LFT, cChild.RGT))   // active leaves only (V13)
                 .where(cChild.PARENT_ID.eq(parentId)
                         .and(cChild.IS_ACTIVE.isTrue())
                         .and(skuCondition))
@@ -78,14 +86,21 @@ class JooqCategoryBrowseRepository implements CategoryBrowseRepository {
     // ─── Mid-level: facets across descendants ─────────────────────────────────
 
     @Override
+    @Cacheable(value = "category-facets", cacheManager = "redisCacheManager",
+            key = "'mid:' + #categoryPath + ':' + " + SIGNATURE)
     @Transactional(readOnly = true)
     public List<FacetGroup> findMidLevelFacets(
             String categoryPath,
             Map<Integer, List<Integer>> enumFilters,
             Map<Integer, NumericRange> rangeFilters) {
 
+        if (!hasFilters(enumFilters, rangeFilters)) {
+            return findFacetsFromRollup(DSL.condition("{0} = {1}::ltree",
+                    CATEGORIES.PATH, DSL.val(categoryPath)));
+        }
+
         var sfi = SKU_FACET_INDEX.as("sfi");
-        var cLeaf = CATEGORIES.as("c_leaf");
+        var cScope = CATEGORIES.as("c_scope");
 
         Condition skuCondition = buildSkuFilterCondition(sfi, enumFilters, rangeFilters);
 
@@ -101,15 +116,12 @@ class JooqCategoryBrowseRepository implements CategoryBrowseRepository {
                         ATTRIBUTE_OPTIONS.DISPLAY_VALUE,
                         ATTRIBUTE_OPTIONS.IMAGE_URL,
                         DSL.countDistinct(sfi.SKU_ID).as("sku_count"))
-                .from(cLeaf)
-                .join(sfi).on(sfi.CATEGORY_ID.eq(cLeaf.ID))
+                .from(cScope)
+                .join(sfi).on(sfi.LEAF_LFT.between(cScope.LFT, cScope.RGT))   // active leaves only (V13)
                 .join(ATTRIBUTE_DEFINITIONS).on(ATTRIBUTE_DEFINITIONS.ID.eq(sfi.ATTRIBUTE_ID)
                         .and(ATTRIBUTE_DEFINITIONS.IS_FILTERABLE.isTrue()))
                 .leftJoin(ATTRIBUTE_OPTIONS).on(ATTRIBUTE_OPTIONS.ID.eq(sfi.OPTION_ID))
-                .where(DSL.condition("{0} <@ {1}::ltree",
-                        cLeaf.PATH, DSL.val(categoryPath))
-                        .and(cLeaf.IS_LEAF.isTrue())
-                        .and(cLeaf.IS_ACTIVE.isTrue())
+                .where(DSL.condition("{0} = {1}::ltree", cScope.PATH, DSL.val(categoryPath))
                         .and(skuCondition))
                 .groupBy(ATTRIBUTE_DEFINITIONS.ID, ATTRIBUTE_DEFINITIONS.KEY,
                         ATTRIBUTE_DEFINITIONS.LABEL, ATTRIBUTE_DEFINITIONS.FILTER_WIDGET,
@@ -132,12 +144,18 @@ class JooqCategoryBrowseRepository implements CategoryBrowseRepository {
     // ─── Leaf: category-level facets ─────────────────────────────────────────
 
     @Override
+    @Cacheable(value = "category-facets", cacheManager = "redisCacheManager",
+            key = "'leaf:' + #categoryId + ':' + " + SIGNATURE)
     @Transactional(readOnly = true)
     public List<FacetGroup> findLeafFacets(
             int categoryId,
             Map<Integer, List<Integer>> enumFilters,
             Map<Integer, NumericRange> rangeFilters) {
 
+        if (!hasFilters(enumFilters, rangeFilters)) {
+            return findFacetsFromRollup(CATEGORIES.ID.eq(categoryId));
+        }
+
         var sfi = SKU_FACET_INDEX.as("sfi");
 
         Condition skuCondition = buildSkuFilterCondition(sfi, enumFilters, rangeFilters);
@@ -177,11 +195,11 @@ class JooqCategoryBrowseRepository implements CategoryBrowseRepository {
                 ATTRIBUTE_OPTIONS.IMAGE_URL);
     }
 
-    // ─── Leaf: matching SKU IDs by product group ──────────────────────────────
+    // ─── Leaf: matching SKU ordinals by product group ─────────────────────────
 
     @Override
     @Transactional(readOnly = true)
-    public Map<UUID, List<UUID>> findMatchingSkuIdsByGroup(
+    public Map<UUID, int[]> findMatchingSkuOrdinalsByGroup(
             int categoryId,
             Map<Integer, List<Integer>> enumFilters,
             Map<Integer, NumericRange> rangeFilters) {
@@ -191,21 +209,100 @@ class JooqCategoryBrowseRepository implements CategoryBrowseRepository {
         Condition skuCondition = buildSkuFilterCondition(sfi, enumFilters, rangeFilters);
 
         var rows = dsl
-                .selectDistinct(sfi.PRODUCT_GROUP_ID, sfi.SKU_ID)
+                .selectDistinct(sfi.PRODUCT_GROUP_ID, SKUS.ORDINAL)
                 .from(sfi)
+                .join(SKUS).on(SKUS.ID.eq(sfi.SKU_ID))
                 .where(sfi.CATEGORY_ID.eq(categoryId).and(skuCondition))
+                .orderBy(SKUS.ORDINAL)
                 .fetch();
 
-        Map<UUID, List<UUID>> result = new LinkedHashMap<>();
-        for (var r : rows) {
-            result.computeIfAbsent(r.get(sfi.PRODUCT_GROUP_ID), k -> new ArrayList<>())
-                    .add(r.get(sfi.SKU_ID));
-        }
+        Map<UUID, int[]> result = new LinkedHashMap<>();
+        rows.intoGroups(sfi.PRODUCT_GROUP_ID).forEach((groupId, skus) ->
+                result.put(groupId, skus.getValues(SKUS.ORDINAL).stream().mapToInt(Integer::intValue).toArray()));
         return result;
     }
 
+    // ─── Unfiltered: pre-aggregated rollup (V12) ─────────────────────────────
+
+    /** Active children with their rolled-up distinct SKU count — one PK lookup per child. */
+    private List<FilteredCategory> findChildrenFromRollup(int parentId) {
+        return dsl
+                .select(CATEGORIES.ID, CATEGORIES.NAME, CATEGORIES.SLUG, CATEGORIES.PATH,
+                        CATEGORIES.IS_LEAF, CATEGORIES.DEPTH, CATEGORIES.SORT_ORDER,
+                        CATEGORY_SKU_COUNTS.SKU_COUNT)
+                .from(CATEGORIES)
+                .join(CATEGORY_SKU_COUNTS).on(CATEGORY_SKU_COUNTS.CATEGORY_ID.eq(CATEGORIES.ID))
+                .where(CATEGORIES.PARENT_ID.eq(parentId)
+                        .and(CATEGORIES.IS_ACTIVE.isTrue())
+                        .and(CATEGORY_SKU_COUNTS.SKU_COUNT.gt(0)))
+                .orderBy(CATEGORIES.SORT_ORDER)
+                .fetch(r -> new FilteredCategory(
+                        r.get(CATEGORIES.ID),
+                        r.get(CATEGORIES.NAME),
+                        r.get(CATEGORIES.SLUG),
+                        String.valueOf(r.get(CATEGORIES.PATH)),
+                        r.get(CATEGORIES.IS_LEAF),
+                        r.get(CATEGORIES.DEPTH),
+                        r.get(CATEGORIES.SORT_ORDER),
+                        r.get(CATEGORY_SKU_COUNTS.SKU_COUNT).longValue()));
+    }
+
+    /**
+     * Facets for one category straight from category_facet_counts — a single
+     * range scan on its primary key, at any depth. option_id 0 is the rollup's
+     * "no option" bucket and is reported as null, like the live query.
+     */
+    private List<FacetGroup> findFacetsFromRollup(Condition category) {
+        var cfc = CATEGORY_FACET_COUNTS;
+
+        var records = dsl
+                .select(
+                        ATTRIBUTE_DEFINITIONS.ID,
+                        ATTRIBUTE_DEFINITIONS.KEY,
+                        ATTRIBUTE_DEFINITIONS.LABEL,
+                        ATTRIBUTE_DEFINITIONS.FILTER_WIDGET,
+                        ATTRIBUTE_DEFINITIONS.UNIT_LABEL,
+                        DSL.nullif(cfc.OPTION_ID, 0).as("option_id"),
+                        ATTRIBUTE_OPTIONS.VALUE,
+                        ATTRIBUTE_OPTIONS.DISPLAY_VALUE,
+                        ATTRIBUTE_OPTIONS.IMAGE_URL,
+                        cfc.SKU_COUNT.as("sku_count"))
+                .from(CATEGORIES)
+                .join(cfc).on(cfc.CATEGORY_ID.eq(CATEGORIES.ID))
+                .join(ATTRIBUTE_DEFINITIONS).on(ATTRIBUTE_DEFINITIONS.ID.eq(cfc.ATTRIBUTE_ID)
+                        .and(ATTRIBUTE_DEFINITIONS.IS_FILTERABLE.isTrue()))
+                .leftJoin(ATTRIBUTE_OPTIONS).on(ATTRIBUTE_OPTIONS.ID.eq(cfc.OPTION_ID))
+                .where(category.and(cfc.SKU_COUNT.gt(0)))
+                .orderBy(ATTRIBUTE_DEFINITIONS.FILTER_SORT_ORDER, ATTRIBUTE_DEFINITIONS.ID,
+                        ATTRIBUTE_OPTIONS.SORT_ORDER)
+                .fetch();
+
+        return toFacetGroups(records,
+                ATTRIBUTE_DEFINITIONS.ID, ATTRIBUTE_DEFINITIONS.KEY,
+                ATTRIBUTE_DEFINITIONS.LABEL, ATTRIBUTE_DEFINITIONS.FILTER_WIDGET,
+                ATTRIBUTE_DEFINITIONS.UNIT_LABEL,
+                ATTRIBUTE_OPTIONS.VALUE, ATTRIBUTE_OPTIONS.DISPLAY_VALUE,
+                ATTRIBUTE_OPTIONS.IMAGE_URL);
+    }
+
     // ─── Helpers ─────────────────────────────────────────────────────────────
 
+    /** Same emptiness rules buildSkuFilterCondition applies. */
+    private static boolean hasFilters(Map<Integer, List<Integer>> enumFilters,
+                                      Map<Integer, NumericRange> rangeFilters) {
+        if (enumFilters != null) {
+            for (var optionIds : enumFilters.values()) {
+                if (optionIds != null && !optionIds.isEmpty()) return true;
+            }
+        }
+        if (rangeFilters != null) {
+            for (var range : rangeFilters.values()) {
+                if (range != null) return true;
+            }
+        }
+        return false;
+    }
+
     private Condition buildSkuFilterCondition(
             org.jooq.Table<?> sfiAlias,
             Map<Integer, List<Integer>> enumFilters,
@@ -246,7 +343,7 @@ class JooqCategoryBrowseRepository implements CategoryBrowseRepository {
                         dsl.selectOne().from(inner)
                                 .where(inner.SKU_ID.eq(outerSkuId)
                                         .and(inner.ATTRIBUTE_ID.eq(attrId))
-                                        .and(inner.VALUE_NUMERIC.between(range.min(), range.max())))
+                                        .and(JooqSkuRepository.inRange(inner.VALUE_NUMERIC, range)))
                 ));
             }
         }
@@ -254,7 +351,8 @@ class JooqCategoryBrowseRepository implements CategoryBrowseRepository {
         return combined;
     }
 
-    private List<FacetGroup> toFacetGroups(
+    /** Package-private and static so FacetGroupingBenchmark can drive it without a database. */
+    static List<FacetGroup> toFacetGroups(
             org.jooq.Result<?> records,
             org.jooq.Field<Integer> attrIdField,
             org.jooq.Field<String> keyField,
@@ -274,7 +372,8 @@ class JooqCategoryBrowseRepository implements CategoryBrowseRepository {
                     r.get(labelField),
                     r.get(widgetField),
                     r.get(unitField),
-                    new ArrayList<>()));
+                    new ArrayList<>(),
+                    null));
 
             Integer optionId = r.get("option_id", Integer.class);
             groups.get(attrId).options().add(new FacetOption(
@@ -11,6 +11,7 @@ import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -86,6 +87,21 @@ class JooqCategoryRepository implements CategoryRepository {
                 .fetchOptional(this::toNode);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public List<CategoryNode> findBySlugs(Collection<String> slugs) {
+        if (slugs.isEmpty()) return List.of();
+        return readOnlyDsl
+                .select(CATEGORIES.ID, CATEGORIES.NAME, CATEGORIES.SLUG,
+                        CATEGORIES.PATH, CATEGORIES.GROUP_COUNT,
+                        CATEGORIES.IS_LEAF, CATEGORIES.SORT_ORDER,
+                        CATEGORIES.DEPTH, CATEGORIES.PARENT_ID)
+                .from(CATEGORIES)
+                .where(CATEGORIES.SLUG.eq(DSL.any(slugs.toArray(String[]::new)))
+                        .and(CATEGORIES.IS_ACTIVE.isTrue()))
+                .fetch(this::toNode);
+    }
+
     @Override
     @Cacheable(value = "categories", key = "'descendants:' + #ancestorPath")
     @Transactional(readOnly = true)
@@ -5,20 +5,31 @@ import com.storefront.catalog.ProductApi.ProductGroupSummary;
 import com.storefront.catalog.domain.model.ProductGroupRepository;
 import com.storefront.shared.PageRequest;
 import com.storefront.shared.Pagination;
+import com.storefront.shared.Pagination.TotalAccuracy;
 import com.storefront.shared.Slice;
 import com.storefront.shared.SliceRequest;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Field;
 import org.jooq.Record;
+import org.jooq.Select;
 import org.jooq.impl.DSL;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static com.storefront.jooq.Tables.CATEGORIES;
 import static com.storefront.jooq.Tables.PRODUCT_GROUPS;
@@ -26,10 +37,44 @@ import static com.storefront.jooq.Tables.PRODUCT_GROUPS;
 @Repository
 class JooqProductGroupRepository implements ProductGroupRepository {
 
+    /**
+     * How {@link #search} totals its matches:
+     * {@code exact} counts every match, {@code capped} stops counting at the
+     * cap ("1,000+"), {@code estimated} takes the planner's row estimate and
+     * counts exactly only when that is under the cap.
+     */
+    enum SearchCountMode { EXACT, CAPPED, ESTIMATED }
+
+    private static final Field<?>[] SUMMARY_FIELDS = {
+            PRODUCT_GROUPS.ID, PRODUCT_GROUPS.NAME, PRODUCT_GROUPS.SUBTITLE,
+            PRODUCT_GROUPS.SLUG, PRODUCT_GROUPS.OVERVIEW_IMAGE_URL,
+            PRODUCT_GROUPS.SKU_COUNT, PRODUCT_GROUPS.MIN_PRICE_USD,
+            PRODUCT_GROUPS.ANY_IN_STOCK};
+
     private final DSLContext readOnlyDsl;
+    private final SearchCountMode searchCountMode;
+    private final int searchCountCap;
+    private final PrefixResultCache<ProductGroupSummary> dropdownCache;
 
-    JooqProductGroupRepository(@Qualifier("readOnlyDsl") DSLContext readOnlyDsl) {
+    JooqProductGroupRepository(@Qualifier("readOnlyDsl") DSLContext readOnlyDsl,
+                               MeterRegistry meterRegistry,
+                               @Value("${storefront.catalog.search.count-mode:capped}") String searchCountMode,
+                               @Value("${storefront.catalog.search.count-cap:1000}") int searchCountCap,
+                               @Value("${storefront.catalog.search.dropdown-cache.max-prefix-length:3}") int dropdownPrefixLength,
+                               @Value("${storefront.catalog.search.dropdown-cache.entry-cap:500}") int dropdownEntryCap,
+                               @Value("${storefront.catalog.search.dropdown-cache.max-candidates:100000}") long dropdownMaxCandidates,
+                               @Value("${storefront.catalog.search.dropdown-cache.expire-after-write:PT5M}") Duration dropdownExpiry) {
         this.readOnlyDsl = readOnlyDsl;
+        this.searchCountMode = SearchCountMode.valueOf(searchCountMode.strip().toUpperCase(Locale.ROOT));
+        this.searchCountCap = searchCountCap;
+        this.dropdownCache = new PrefixResultCache<>(dropdownPrefixLength, dropdownEntryCap,
+                dropdownMaxCandidates, dropdownExpiry, JooqProductGroupRepository::matchesDropdown);
+        for (var outcome : PrefixResultCache.Outcome.values()) {
+            FunctionCounter.builder("catalog.search.dropdown_cache", dropdownCache, c -> c.count(outcome))
+                    .description("SQL dropdown lookups by how the prefix cache answered them")
+                    .tags("result", outcome.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
     }
 
     @Override
@@ -107,49 +152,125 @@ class JooqProductGroupRepository implements ProductGroupRepository {
 
         var combinedCondition = condition.or(trigramCondition);
 
-        int total = readOnlyDsl.selectCount().from(PRODUCT_GROUPS)
-                .where(combinedCondition).fetchOne(0, int.class);
+        return switch (searchCountMode) {
+            case EXACT -> searchCounted(combinedCondition, rank, request, Integer.MAX_VALUE);
+            case CAPPED -> searchCounted(combinedCondition, rank, request, searchCountCap);
+            case ESTIMATED -> {
+                // EXPLAIN plans without executing; only a small match set gets counted for real
+                var matchAll = readOnlyDsl.selectOne().from(PRODUCT_GROUPS).where(combinedCondition);
+                long estimate = Math.max(0, Math.round(readOnlyDsl.explain(matchAll).rows()));
+                if (estimate <= searchCountCap) {
+                    yield searchCounted(combinedCondition, rank, request, searchCountCap);
+                }
+                var items = readOnlyDsl
+                        .select(SUMMARY_FIELDS)
+                        .from(PRODUCT_GROUPS)
+                        .where(combinedCondition)
+                        .orderBy(rank.desc())
+                        .limit(request.pageSize())
+                        .offset(request.offset())
+                        .fetch(this::toSummary);
+                yield Pagination.of(items, (int) Math.min(estimate, Integer.MAX_VALUE), request,
+                        TotalAccuracy.ESTIMATE);
+            }
+        };
+    }
 
-        List<ProductGroupSummary> items = readOnlyDsl
-                .select(PRODUCT_GROUPS.ID, PRODUCT_GROUPS.NAME, PRODUCT_GROUPS.SUBTITLE,
-                        PRODUCT_GROUPS.SLUG, PRODUCT_GROUPS.OVERVIEW_IMAGE_URL,
-                        PRODUCT_GROUPS.SKU_COUNT, PRODUCT_GROUPS.MIN_PRICE_USD,
-                        PRODUCT_GROUPS.ANY_IN_STOCK)
+    /**
+     * The page and its total in one statement: {@code count(*) OVER ()} is
+     * evaluated before LIMIT/OFFSET, so every row carries the match count.
+     * Below {@code cap} the inner LIMIT never binds and the count is exact;
+     * above it, counting stops one row past the cap or past the requested
+     * page, whichever is further — the best-ranked rows, so every page is
+     * still the right page and pages past the cap stay reachable. A cut
+     * count is a lower bound, and the next page is judged from this one
+     * being full.
+     */
+    private Pagination<ProductGroupSummary> searchCounted(Condition condition, Field<Double> rank,
+                                                          PageRequest request, int cap) {
+        var all = readOnlyDsl
+                .select(SUMMARY_FIELDS)
+                .select(rank.as("rank"))
                 .from(PRODUCT_GROUPS)
-                .where(combinedCondition)
-                .orderBy(rank.desc())
+                .where(condition);
+        int window = cap == Integer.MAX_VALUE ? cap : Math.max(cap, request.offset() + request.pageSize());
+        Select<?> capped = window == Integer.MAX_VALUE ? all : all.orderBy(rank.desc()).limit(window + 1);
+        var matches = capped.asTable("matches");
+        var matchRank = matches.field("rank", Double.class);
+        var total = DSL.count().over().as("total");
+
+        var records = readOnlyDsl
+                .select(matches.fields(SUMMARY_FIELDS))
+                .select(total)
+                .from(matches)
+                .orderBy(matchRank.desc())
                 .limit(request.pageSize())
                 .offset(request.offset())
-                .fetch(this::toSummary);
+                .fetch();
+
+        int count;
+        if (!records.isEmpty()) {
+            count = records.get(0).get(total);
+        } else if (request.offset() == 0) {
+            count = 0;
+        } else {
+            // Paged past the end: no row to carry the count
+            count = readOnlyDsl.fetchCount(matches);
+        }
 
-        return Pagination.of(items, total, request);
+        var items = records.map(this::toSummary);
+        return count > window
+                ? Pagination.of(items, window, request, TotalAccuracy.LOWER_BOUND)
+                : Pagination.of(items, count, request);
     }
 
+    /**
+     * Groups whose name or subtitle has, for every query word, a word starting
+     * with it ({@code 'hex':* & 'b':*}). Words are matched as written — the
+     * {@code simple} configuration over {@code catalog_dropdown_vector} (V17),
+     * no stop words dropped and nothing stemmed — so the matches only narrow
+     * as the query grows and the prefix cache can answer {@code "bol"} from
+     * the candidates it holds for {@code "bo"}. No transaction: a single
+     * statement, and cache hits should not take a connection.
+     */
     @Override
-    @Transactional(readOnly = true)
     public List<ProductGroupSummary> searchDropdown(String query, int limit) {
-        var tsQuery = DSL.field("websearch_to_tsquery('english', {0})", Object.class, query);
-        var searchVec = DSL.field("search_vector", Object.class);
-        var rank = DSL.field("ts_rank(search_vector, websearch_to_tsquery('english', {0}))", Double.class, query);
-
-        var condition = DSL.condition("{0} @@ {1}", searchVec, tsQuery)
-                .and(PRODUCT_GROUPS.IS_ACTIVE.isTrue());
+        return dropdownCache.get(query, limit, this::fetchDropdown);
+    }
 
-        var trigramCondition = DSL.condition("{0} % {1}", PRODUCT_GROUPS.NAME, DSL.val(query))
-                .and(PRODUCT_GROUPS.IS_ACTIVE.isTrue());
+    private List<ProductGroupSummary> fetchDropdown(String key, int limit) {
+        String prefixQuery = SearchText.tokens(key).stream()
+                .map(word -> "'" + word + "':*")
+                .collect(Collectors.joining(" & "));
+        var tsQuery = DSL.field("to_tsquery('simple', {0})", Object.class, prefixQuery);
+        var dropdownVec = DSL.field("catalog_dropdown_vector({0}, {1})", Object.class,
+                PRODUCT_GROUPS.NAME, PRODUCT_GROUPS.SUBTITLE);
+        var rank = DSL.field("ts_rank({0}, {1})", Double.class, dropdownVec, tsQuery);
 
         return readOnlyDsl
-                .select(PRODUCT_GROUPS.ID, PRODUCT_GROUPS.NAME, PRODUCT_GROUPS.SUBTITLE,
-                        PRODUCT_GROUPS.SLUG, PRODUCT_GROUPS.OVERVIEW_IMAGE_URL,
-                        PRODUCT_GROUPS.SKU_COUNT, PRODUCT_GROUPS.MIN_PRICE_USD,
-                        PRODUCT_GROUPS.ANY_IN_STOCK)
+                .select(SUMMARY_FIELDS)
                 .from(PRODUCT_GROUPS)
-                .where(condition.or(trigramCondition))
-                .orderBy(rank.desc())
+                .where(DSL.condition("{0} @@ {1}", dropdownVec, tsQuery)
+                        .and(PRODUCT_GROUPS.IS_ACTIVE.isTrue()))
+                .orderBy(rank.desc(), PRODUCT_GROUPS.NAME)
                 .limit(limit)
                 .fetch(this::toSummary);
     }
 
+    /** The in-memory side of {@link #fetchDropdown}: the same words, the same prefix test. */
+    private static boolean matchesDropdown(ProductGroupSummary group, List<String> words) {
+        var text = SearchText.tokens(group.name());
+        text.addAll(SearchText.tokens(group.subtitle()));
+        return words.stream().allMatch(word -> text.stream().anyMatch(t -> t.startsWith(word)));
+    }
+
+    @EventListener
+    void onCatalogChange(CatalogTablesChanged event) {
+        if (event.touches("product_groups")) {
+            dropdownCache.invalidateAll();
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<ProductGroupSummary> findSummariesByIds(Collection<UUID> ids) {
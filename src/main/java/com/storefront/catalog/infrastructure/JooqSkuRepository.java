@@ -1,22 +1,51 @@
 package com.storefront.catalog.infrastructure;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonToken;
 import com.storefront.catalog.ProductApi.NumericRange;
-import com.storefront.catalog.ProductApi.SkuPriceInfo;
+import com.storefront.catalog.ProductApi.PriceTier;
 import com.storefront.catalog.ProductApi.SkuRow;
+import com.storefront.catalog.ProductApi.SpecValues;
+import com.storefront.catalog.ProductApi.VariantRowSink;
+import com.storefront.catalog.domain.model.SkuMatch;
+import com.storefront.catalog.domain.model.SkuMatches;
 import com.storefront.catalog.domain.model.SkuRepository;
+import com.storefront.catalog.domain.model.VariantCursor;
+import com.storefront.shared.Slice;
+import com.storefront.shared.SliceRequest;
 import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Field;
 import org.jooq.Record;
+import org.jooq.Record4;
+import org.jooq.Result;
+import org.jooq.Select;
+import org.jooq.SelectField;
+import org.jooq.SortField;
+import org.jooq.exception.DataTypeException;
 import org.jooq.impl.DSL;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
+import static com.storefront.jooq.Tables.ATTRIBUTE_DEFINITIONS;
+import static com.storefront.jooq.Tables.PRODUCT_GROUP_COLUMNS;
 import static com.storefront.jooq.Tables.SKUS;
 import static com.storefront.jooq.Tables.SKU_ATTRIBUTES;
 import static com.storefront.jooq.Tables.SKU_PRICE_TIERS;
@@ -24,38 +53,107 @@ import static com.storefront.jooq.Tables.SKU_PRICE_TIERS;
 @Repository
 class JooqSkuRepository implements SkuRepository {
 
+    /** specs_jsonb as text; {@link #toSkuRows} picks the group's column values out of it. */
+    private static final Field<String> SPECS = DSL.field("{0}::TEXT", String.class, SKUS.SPECS_JSONB).as("specs");
+
+    /**
+     * Columns read by {@link #toSkuRows}; the groups' column keys and the price
+     * tiers come from further, batched queries.
+     */
+    static final List<SelectField<?>> SKU_ROW = List.of(
+            SKUS.ID, SKUS.PRODUCT_GROUP_ID, SKUS.SORT_KEY, SKUS.PART_NUMBER, SPECS,
+            SKUS.SELL_UNIT, SKUS.SELL_QTY, SKUS.IN_STOCK, SKUS.PRICE_1EA);
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    /**
+     * sort_key compared bytewise, as {@link VariantCursor#precedes} compares it —
+     * the collation idx_sku_group_keyset is built with.
+     */
+    private static final Field<String> SORT_KEY = SKUS.SORT_KEY.collate("C");
+
+    /** Variant table order: {@code (sort_key, id)}, matching {@link VariantCursor}. */
+    static final List<SortField<?>> VARIANT_ORDER = List.of(SORT_KEY.asc(), SKUS.ID.asc());
+
+    /** Same expressions as the V19 indexes — a query spelled differently would not use them. */
+    private static final Field<String> PART_NUMBER_KEY =
+            DSL.field("catalog_part_number_key({0})", String.class, SKUS.PART_NUMBER);
+    private static final Field<Object> SPEC_VECTOR =
+            DSL.field("catalog_sku_spec_vector({0})", Object.class, SKUS.SPECS_JSONB);
+
+    private static final Pattern NOT_KEY_CHARS = Pattern.compile("[^a-z0-9]+");
+
     private final DSLContext readOnlyDsl;
+    private final int streamFetchSize;
+    private final int streamMaxRows;
+    private final int searchCandidateLimit;
+    private final int searchMinFragmentLength;
 
-    JooqSkuRepository(@Qualifier("readOnlyDsl") DSLContext readOnlyDsl) {
+    JooqSkuRepository(@Qualifier("readOnlyDsl") DSLContext readOnlyDsl,
+                      @Value("${storefront.catalog.variant-table.stream-fetch-size:500}") int streamFetchSize,
+                      @Value("${storefront.catalog.variant-table.stream-max-rows:10000}") int streamMaxRows,
+                      @Value("${storefront.catalog.sku-search.candidate-limit:500}") int searchCandidateLimit,
+                      @Value("${storefront.catalog.sku-search.min-fragment-length:4}") int searchMinFragmentLength) {
         this.readOnlyDsl = readOnlyDsl;
+        this.streamFetchSize = streamFetchSize;
+        this.streamMaxRows = streamMaxRows;
+        this.searchCandidateLimit = searchCandidateLimit;
+        this.searchMinFragmentLength = searchMinFragmentLength;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<SkuRow> findVariantTable(UUID groupId, List<UUID> matchingSkuIds) {
-        // Price tiers as JSON subquery
-        var priceTiers = DSL.field(
-                "(SELECT json_agg(json_build_object(" +
-                        "'qty_min', pt.qty_min, 'qty_max', pt.qty_max, 'price', pt.unit_price) " +
-                        "ORDER BY pt.qty_min) " +
-                        "FROM sku_price_tiers pt " +
-                        "WHERE pt.sku_id = skus.id AND pt.is_active AND pt.currency = 'USD')",
-                String.class
-        ).as("price_tiers");
-
         Condition condition = SKUS.PRODUCT_GROUP_ID.eq(groupId).and(SKUS.IS_ACTIVE.isTrue());
         if (matchingSkuIds != null && !matchingSkuIds.isEmpty()) {
             condition = condition.and(SKUS.ID.in(matchingSkuIds));
         }
 
-        return readOnlyDsl
-                .select(SKUS.ID, SKUS.PART_NUMBER, SKUS.SPECS_JSONB,
-                        SKUS.SELL_UNIT, SKUS.SELL_QTY, SKUS.IN_STOCK,
-                        SKUS.PRICE_1EA, priceTiers)
+        return toSkuRows(readOnlyDsl, readOnlyDsl
+                .select(SKU_ROW)
                 .from(SKUS)
                 .where(condition)
-                .orderBy(SKUS.SORT_KEY)
-                .fetch(this::toSkuRow);
+                .orderBy(VARIANT_ORDER)
+                .fetch());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Map<UUID, List<SkuRow>> findVariantTables(Map<UUID, int[]> matchingSkuOrdinalsByGroup) {
+        Map<UUID, List<SkuRow>> result = new LinkedHashMap<>();
+        if (matchingSkuOrdinalsByGroup == null || matchingSkuOrdinalsByGroup.isEmpty()) return result;
+
+        List<Integer> ordinals = new ArrayList<>();
+        List<UUID> wholeGroups = new ArrayList<>();
+        matchingSkuOrdinalsByGroup.forEach((groupId, skus) -> {
+            result.put(groupId, new ArrayList<>());
+            if (skus == null || skus.length == 0) wholeGroups.add(groupId);
+            else for (int ordinal : skus) ordinals.add(ordinal);
+        });
+
+        // Arrays bind as a single parameter — no 32k bind-variable limit on large leaves.
+        // An int4[] of ordinals is a quarter of the uuid[] it replaces, probed through uq_skus_ordinal.
+        Condition selection = DSL.falseCondition();
+        if (!ordinals.isEmpty()) {
+            selection = selection.or(SKUS.ORDINAL.eq(DSL.any(ordinals.toArray(Integer[]::new))));
+        }
+        if (!wholeGroups.isEmpty()) {
+            selection = selection.or(SKUS.PRODUCT_GROUP_ID.eq(DSL.any(wholeGroups.toArray(UUID[]::new))));
+        }
+
+        var records = readOnlyDsl
+                .select(SKU_ROW)
+                .from(SKUS)
+                .where(SKUS.PRODUCT_GROUP_ID.eq(DSL.any(result.keySet().toArray(UUID[]::new)))
+                        .and(SKUS.IS_ACTIVE.isTrue())
+                        .and(selection))
+                .orderBy(VARIANT_ORDER)
+                .fetch();
+        var rows = toSkuRows(readOnlyDsl, records, fetchColumnKeys(readOnlyDsl, result.keySet()));
+        for (int i = 0; i < rows.size(); i++) {
+            result.get(records.get(i).get(SKUS.PRODUCT_GROUP_ID)).add(rows.get(i));
+        }
+        return result;
     }
 
     @Override
@@ -63,71 +161,139 @@ class JooqSkuRepository implements SkuRepository {
     public List<UUID> findMatchingSkuIds(UUID groupId,
                                   Map<Integer, List<Integer>> enumFilters,
                                   Map<Integer, NumericRange> rangeFilters) {
-        // Base condition: active SKUs in this product group
-        Condition condition = SKUS.PRODUCT_GROUP_ID.eq(groupId).and(SKUS.IS_ACTIVE.isTrue());
+        return readOnlyDsl.select(SKUS.ID).from(SKUS)
+                .where(matchingSkus(groupId, enumFilters, rangeFilters))
+                .fetch(SKUS.ID);
+    }
 
-        if ((enumFilters == null || enumFilters.isEmpty()) &&
-                (rangeFilters == null || rangeFilters.isEmpty())) {
-            return readOnlyDsl.select(SKUS.ID).from(SKUS).where(condition).fetch(SKUS.ID);
-        }
+    @Override
+    @Transactional(readOnly = true)
+    public int countMatchingSkus(UUID groupId,
+                                 Map<Integer, List<Integer>> enumFilters,
+                                 Map<Integer, NumericRange> rangeFilters) {
+        return readOnlyDsl.fetchCount(SKUS, matchingSkus(groupId, enumFilters, rangeFilters));
+    }
 
-        // Each filter adds an EXISTS subquery — equivalent to INTERSECT but composable
-        var sa = SKU_ATTRIBUTES.as("sa");
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<SkuRow> findVariantSlice(UUID groupId,
+                                          Map<Integer, List<Integer>> enumFilters,
+                                          Map<Integer, NumericRange> rangeFilters,
+                                          SliceRequest request) {
+        Condition condition = matchingSkus(groupId, enumFilters, rangeFilters);
+        if (request.isCursorBased()) {
+            var after = VariantCursor.decode(request.cursor().get());
+            if (after.isEmpty()) return Slice.empty(request);
+            // Row comparison seeks straight into idx_sku_group_keyset — no OFFSET to walk
+            condition = condition.and(DSL.row(SORT_KEY, SKUS.ID)
+                    .gt(after.get().sortKey(), after.get().id()));
+        }
 
-        if (enumFilters != null) {
-            for (var entry : enumFilters.entrySet()) {
-                int attrId = entry.getKey();
-                List<Integer> optionIds = entry.getValue();
-                if (optionIds == null || optionIds.isEmpty()) continue;
+        var records = readOnlyDsl
+                .select(SKU_ROW)
+                .from(SKUS)
+                .where(condition)
+                .orderBy(VARIANT_ORDER)
+                .limit(request.fetchSize())
+                .fetch();
+        return VariantCursor.slice(toSkuRows(readOnlyDsl, records), request);
+    }
 
-                condition = condition.and(DSL.exists(
-                        readOnlyDsl.selectOne()
-                                .from(sa)
-                                .where(sa.SKU_ID.eq(SKUS.ID)
-                                        .and(sa.ATTRIBUTE_ID.eq(attrId))
-                                        .and(sa.OPTION_ID.in(optionIds)))
-                ));
+    @Override
+    public void streamVariantTable(UUID groupId,
+                                   Map<Integer, List<Integer>> enumFilters,
+                                   Map<Integer, NumericRange> rangeFilters,
+                                   String cursor,
+                                   VariantRowSink sink) {
+        Condition matching = matchingSkus(groupId, enumFilters, rangeFilters);
+        Condition window = matching;
+        if (cursor != null) {
+            var after = VariantCursor.decode(cursor);
+            if (after.isEmpty()) {
+                sink.accept(-1, List.of(), null);
+                return;
             }
+            window = window.and(DSL.row(SORT_KEY, SKUS.ID).gt(after.get().sortKey(), after.get().id()));
         }
 
-        if (rangeFilters != null) {
-            for (var entry : rangeFilters.entrySet()) {
-                int attrId = entry.getKey();
-                NumericRange range = entry.getValue();
-                if (range == null) continue;
-
-                condition = condition.and(DSL.exists(
-                        readOnlyDsl.selectOne()
-                                .from(sa)
-                                .where(sa.SKU_ID.eq(SKUS.ID)
-                                        .and(sa.ATTRIBUTE_ID.eq(attrId))
-                                        .and(sa.VALUE_NUMERIC.between(range.min(), range.max())))
-                ));
-            }
+        // Settled before the sink writes anything: the count, and where this call stops.
+        // The row at the bound and the one past it tell whether a continuation is needed.
+        int rowCount = cursor == null ? readOnlyDsl.fetchCount(SKUS, matching) : -1;
+        var bound = readOnlyDsl
+                .select(SKUS.SORT_KEY, SKUS.ID)
+                .from(SKUS)
+                .where(window)
+                .orderBy(VARIANT_ORDER)
+                .offset(streamMaxRows - 1)
+                .limit(2)
+                .fetch();
+        String nextCursor = null;
+        if (!bound.isEmpty()) {
+            var last = new VariantCursor(bound.get(0).value1(), bound.get(0).value2());
+            window = window.and(DSL.row(SORT_KEY, SKUS.ID).le(last.sortKey(), last.id()));
+            if (bound.size() > 1) nextCursor = last.encode();
         }
 
-        return readOnlyDsl.select(SKUS.ID).from(SKUS).where(condition).fetch(SKUS.ID);
+        // Each batch seeks past the previous one in its own short read: the connection
+        // goes back to the pool while the sink writes, however slow the client
+        var columnKeys = fetchColumnKeys(readOnlyDsl, List.of(groupId));
+        Condition bounded = window;
+        var rows = Stream.iterate(
+                        streamBatch(bounded, null, columnKeys),
+                        batch -> !batch.isEmpty(),
+                        batch -> batch.size() < streamFetchSize
+                                ? List.of()
+                                : streamBatch(bounded, VariantCursor.after(batch.getLast()), columnKeys))
+                .flatMap(List::stream);
+        sink.accept(rowCount, rows::iterator, nextCursor);
+    }
+
+    private List<SkuRow> streamBatch(Condition window, VariantCursor after, Map<UUID, String[]> columnKeys) {
+        Condition condition = after == null
+                ? window
+                : window.and(DSL.row(SORT_KEY, SKUS.ID).gt(after.sortKey(), after.id()));
+        return toSkuRows(readOnlyDsl, readOnlyDsl
+                .select(SKU_ROW)
+                .from(SKUS)
+                .where(condition)
+                .orderBy(VARIANT_ORDER)
+                .limit(streamFetchSize)
+                .fetch(), columnKeys);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Optional<SkuRow> findByPartNumber(String partNumber) {
-        var priceTiers = DSL.field(
-                "(SELECT json_agg(json_build_object(" +
-                        "'qty_min', pt.qty_min, 'qty_max', pt.qty_max, 'price', pt.unit_price) " +
-                        "ORDER BY pt.qty_min) " +
-                        "FROM sku_price_tiers pt " +
-                        "WHERE pt.sku_id = skus.id AND pt.is_active AND pt.currency = 'USD')",
-                String.class
-        ).as("price_tiers");
-
-        return readOnlyDsl
-                .select(SKUS.ID, SKUS.PART_NUMBER, SKUS.SPECS_JSONB,
-                        SKUS.SELL_UNIT, SKUS.SELL_QTY, SKUS.IN_STOCK,
-                        SKUS.PRICE_1EA, priceTiers)
+        var records = readOnlyDsl
+                .select(SKU_ROW)
                 .from(SKUS)
                 .where(SKUS.PART_NUMBER.eq(partNumber).and(SKUS.IS_ACTIVE.isTrue()))
-                .fetchOptional(this::toSkuRow);
+                .fetch();
+        return toSkuRows(readOnlyDsl, records).stream().findFirst();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SkuRow> findByIds(Collection<UUID> skuIds) {
+        if (skuIds.isEmpty()) return List.of();
+        return toSkuRows(readOnlyDsl, readOnlyDsl
+                .select(SKU_ROW)
+                .from(SKUS)
+                .where(SKUS.ID.eq(DSL.any(skuIds.toArray(UUID[]::new)))
+                        .and(SKUS.IS_ACTIVE.isTrue()))
+                .fetch());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<SkuRow> findByPartNumbers(Collection<String> partNumbers) {
+        if (partNumbers.isEmpty()) return List.of();
+        return toSkuRows(readOnlyDsl, readOnlyDsl
+                .select(SKU_ROW)
+                .from(SKUS)
+                .where(SKUS.PART_NUMBER.eq(DSL.any(partNumbers.toArray(String[]::new)))
+                        .and(SKUS.IS_ACTIVE.isTrue()))
+                .fetch());
     }
 
     @Override
@@ -137,40 +303,235 @@ class JooqSkuRepository implements SkuRepository {
                 SKUS, SKUS.ID.eq(skuId).and(SKUS.IS_ACTIVE.isTrue()));
     }
 
+    // ─── Search ──────────────────────────────────────────────────────────────
+
+    /**
+     * One statement, a {@code UNION ALL} of one index-backed branch per match
+     * kind: the exact and prefix branches seek idx_sku_pn_key, the fragment
+     * branch probes the trigram index (only for keys long enough to be
+     * selective), the spec branch idx_sku_spec_vector. Each branch returns its
+     * first candidate-limit matches by part number, plus one to tell whether
+     * it was cut; part numbers compare bytewise ({@code COLLATE "C"}), as
+     * Java orders them below.
+     */
     @Override
     @Transactional(readOnly = true)
-    public Optional<SkuPriceInfo> findPriceInfo(UUID skuId, int quantity) {
+    public SkuMatches search(String query, UUID groupId) {
+        Condition scope = SKUS.IS_ACTIVE.isTrue();
+        if (groupId != null) scope = scope.and(SKUS.PRODUCT_GROUP_ID.eq(groupId));
+
+        String key = partNumberKey(query);
+        List<Select<Record4<UUID, UUID, String, Integer>>> branches = new ArrayList<>();
+        if (!key.isEmpty()) {
+            branches.add(searchBranch(SkuMatch.Kind.PART_NUMBER, scope.and(PART_NUMBER_KEY.eq(key))));
+            branches.add(searchBranch(SkuMatch.Kind.PART_NUMBER_PREFIX,
+                    scope.and(PART_NUMBER_KEY.like(key + "%")).and(PART_NUMBER_KEY.ne(key))));
+        }
+        if (key.length() >= searchMinFragmentLength) {
+            branches.add(searchBranch(SkuMatch.Kind.PART_NUMBER_FRAGMENT,
+                    scope.and(PART_NUMBER_KEY.like("%" + key + "%")).and(PART_NUMBER_KEY.notLike(key + "%"))));
+        }
+        if (query != null && !query.isBlank()) {
+            branches.add(searchBranch(SkuMatch.Kind.SPEC_VALUES,
+                    scope.and(DSL.condition("{0} @@ plainto_tsquery('simple', {1})", SPEC_VECTOR, DSL.val(query)))));
+        }
+        if (branches.isEmpty()) return SkuMatches.NONE;
+
+        var union = branches.get(0);
+        for (int i = 1; i < branches.size(); i++) union = union.unionAll(branches.get(i));
+
+        // A SKU matching several ways is listed once, under its best kind
+        Map<UUID, SkuMatch> matches = new LinkedHashMap<>();
+        int[] perKind = new int[SkuMatch.Kind.values().length];
+        boolean capped = false;
+        List<SkuMatch> rows = new ArrayList<>(union.fetch(r ->
+                new SkuMatch(r.value1(), r.value2(), r.value3(), SkuMatch.Kind.values()[r.value4()])));
+        rows.sort(Comparator.comparing(SkuMatch::kind).thenComparing(SkuMatch::partNumber));
+        for (var match : rows) {
+            if (perKind[match.kind().ordinal()]++ == searchCandidateLimit) {
+                capped = true;   // the branch's extra row
+                continue;
+            }
+            matches.putIfAbsent(match.skuId(), match);
+        }
+        return new SkuMatches(List.copyOf(matches.values()), capped);
+    }
+
+    private Select<Record4<UUID, UUID, String, Integer>> searchBranch(SkuMatch.Kind kind, Condition condition) {
         return readOnlyDsl
-                .select(SKUS.ID, SKUS.PART_NUMBER, SKU_PRICE_TIERS.UNIT_PRICE, SKUS.SELL_UNIT)
+                .select(SKUS.ID, SKUS.PRODUCT_GROUP_ID, SKUS.PART_NUMBER, DSL.inline(kind.ordinal()).as("kind"))
                 .from(SKUS)
-                .join(SKU_PRICE_TIERS).on(SKU_PRICE_TIERS.SKU_ID.eq(SKUS.ID))
-                .where(SKUS.ID.eq(skuId)
-                        .and(SKUS.IS_ACTIVE.isTrue())
-                        .and(SKU_PRICE_TIERS.IS_ACTIVE.isTrue())
-                        .and(SKU_PRICE_TIERS.CURRENCY.eq("USD"))
-                        .and(SKU_PRICE_TIERS.QTY_MIN.le(quantity))
-                        .and(SKU_PRICE_TIERS.QTY_MAX.isNull().or(SKU_PRICE_TIERS.QTY_MAX.ge(quantity))))
-                .orderBy(SKU_PRICE_TIERS.QTY_MIN.desc())
-                .limit(1)
-                .fetchOptional(r -> new SkuPriceInfo(
-                        r.get(SKUS.ID),
-                        r.get(SKUS.PART_NUMBER),
-                        r.get(SKU_PRICE_TIERS.UNIT_PRICE),
-                        r.get(SKUS.SELL_UNIT)
-                ));
+                .where(condition)
+                .orderBy(SKUS.PART_NUMBER.collate("C"))
+                .limit(searchCandidateLimit + 1);
+    }
+
+    /** Java side of {@code catalog_part_number_key}: lower-cased letters and digits only. */
+    static String partNumberKey(String text) {
+        return text == null ? "" : NOT_KEY_CHARS.matcher(text.toLowerCase(Locale.ROOT)).replaceAll("");
     }
 
-    private SkuRow toSkuRow(Record r) {
-        var specsJsonb = r.get(SKUS.SPECS_JSONB);
+    // ─── Row mapping ─────────────────────────────────────────────────────────
+
+    /**
+     * Maps {@link #SKU_ROW} records, resolving their groups' column keys and
+     * attaching their price tiers from one batched query each.
+     */
+    static List<SkuRow> toSkuRows(DSLContext dsl, Result<? extends Record> records) {
+        return toSkuRows(dsl, records, fetchColumnKeys(dsl, records.intoSet(SKUS.PRODUCT_GROUP_ID)));
+    }
+
+    /** {@link #toSkuRows(DSLContext, Result)} with the column keys already resolved, e.g. once per stream. */
+    static List<SkuRow> toSkuRows(DSLContext dsl, Result<? extends Record> records, Map<UUID, String[]> columnKeys) {
+        var tiers = fetchPriceTiers(dsl, records.getValues(SKUS.ID));
+        List<SkuRow> rows = new ArrayList<>(records.size());
+        for (var r : records) rows.add(toSkuRow(r, columnKeys, tiers));
+        return rows;
+    }
+
+    private static SkuRow toSkuRow(Record r, Map<UUID, String[]> columnKeys, Map<UUID, List<PriceTier>> tiers) {
+        UUID id = r.get(SKUS.ID);
+        String[] keys = columnKeys.getOrDefault(r.get(SKUS.PRODUCT_GROUP_ID), NO_KEYS);
         return new SkuRow(
-                r.get(SKUS.ID),
+                id,
+                r.get(SKUS.SORT_KEY),
                 r.get(SKUS.PART_NUMBER),
-                specsJsonb != null ? specsJsonb.data() : null,
+                SpecValues.of(specValues(r.get(SPECS), keys)),
                 r.get(SKUS.SELL_UNIT),
                 r.get(SKUS.SELL_QTY),
                 r.get(SKUS.IN_STOCK),
                 r.get(SKUS.PRICE_1EA),
-                r.get("price_tiers", String.class)
+                tiers.getOrDefault(id, List.of())
         );
     }
+
+    private static final String[] NO_KEYS = new String[0];
+
+    /**
+     * specs_jsonb keys of each group's table columns, in column order — the
+     * ORDER BY must match {@link JooqAttributeRepository#findColumnConfig} so
+     * key i is column i. Resolved once per query rather than per row.
+     */
+    static Map<UUID, String[]> fetchColumnKeys(DSLContext dsl, Collection<UUID> groupIds) {
+        if (groupIds.isEmpty()) return Map.of();
+        var pgc = PRODUCT_GROUP_COLUMNS;
+        Map<UUID, List<String>> keys = new HashMap<>();
+        dsl.select(pgc.PRODUCT_GROUP_ID, ATTRIBUTE_DEFINITIONS.KEY)
+                .from(pgc)
+                .join(ATTRIBUTE_DEFINITIONS).on(ATTRIBUTE_DEFINITIONS.ID.eq(pgc.ATTRIBUTE_ID))
+                .where(pgc.PRODUCT_GROUP_ID.eq(DSL.any(groupIds.toArray(UUID[]::new))))
+                .orderBy(pgc.PRODUCT_GROUP_ID, pgc.SORT_ORDER, pgc.ATTRIBUTE_ID)
+                .forEach(r -> keys.computeIfAbsent(r.value1(), group -> new ArrayList<>()).add(r.value2()));
+        Map<UUID, String[]> byGroup = new HashMap<>();
+        keys.forEach((group, list) -> byGroup.put(group, list.toArray(String[]::new)));
+        return byGroup;
+    }
+
+    /**
+     * The values under {@code keys} in a specs_jsonb object, read as
+     * {@code ->>} reads them: strings unquoted, numbers and booleans as text.
+     * Absent keys stay null. One pass over the object's fields, skipping the
+     * ones no column shows; specs_jsonb holds only text values (V5), so a
+     * nested value is skipped too.
+     */
+    static String[] specValues(String specs, String[] keys) {
+        String[] values = new String[keys.length];
+        if (specs == null || keys.length == 0) return values;
+        try (var parser = JSON.createParser(specs)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) return values;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value.isScalarValue() && value != JsonToken.VALUE_NULL) {
+                    for (int i = 0; i < keys.length; i++) {
+                        if (keys[i].equals(name)) values[i] = parser.getText();
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            throw new DataTypeException("Unreadable specs_jsonb: " + specs, e);
+        }
+        return values;
+    }
+
+    /**
+     * Active USD tiers of the given SKUs as flat rows — one indexed
+     * {@code = ANY(?)} probe instead of a JSON aggregate built per SKU.
+     */
+    static Map<UUID, List<PriceTier>> fetchPriceTiers(DSLContext dsl, List<UUID> skuIds) {
+        if (skuIds.isEmpty()) return Map.of();
+        var pt = SKU_PRICE_TIERS;
+        return groupPriceTiers(dsl
+                .select(pt.SKU_ID, pt.QTY_MIN, pt.QTY_MAX, pt.UNIT_PRICE)
+                .from(pt)
+                .where(pt.SKU_ID.eq(DSL.any(skuIds.toArray(UUID[]::new)))
+                        .and(pt.CURRENCY.eq("USD"))
+                        .and(pt.IS_ACTIVE.isTrue()))
+                .orderBy(pt.SKU_ID, pt.QTY_MIN)
+                .fetch());
+    }
+
+    /** Tier rows ordered by (sku_id, qty_min) into immutable per-SKU lists. */
+    static Map<UUID, List<PriceTier>> groupPriceTiers(Result<? extends Record> records) {
+        var pt = SKU_PRICE_TIERS;
+        Map<UUID, List<PriceTier>> bySku = new HashMap<>();
+        for (var r : records) {
+            bySku.computeIfAbsent(r.get(pt.SKU_ID), id -> new ArrayList<>(4))
+                    .add(new PriceTier(r.get(pt.QTY_MIN), r.get(pt.QTY_MAX), r.get(pt.UNIT_PRICE)));
+        }
+        bySku.replaceAll((id, tiers) -> List.copyOf(tiers));
+        return bySku;
+    }
+
+    /** Active SKUs of the group; each filter adds an EXISTS — equivalent to INTERSECT but composable. */
+    static Condition matchingSkus(UUID groupId,
+                                  Map<Integer, List<Integer>> enumFilters,
+                                  Map<Integer, NumericRange> rangeFilters) {
+        Condition condition = SKUS.PRODUCT_GROUP_ID.eq(groupId).and(SKUS.IS_ACTIVE.isTrue());
+        var sa = SKU_ATTRIBUTES.as("sa");
+
+        if (enumFilters != null) {
+            for (var entry : enumFilters.entrySet()) {
+                int attrId = entry.getKey();
+                List<Integer> optionIds = entry.getValue();
+                if (optionIds == null || optionIds.isEmpty()) continue;
+
+                condition = condition.and(DSL.exists(
+                        DSL.selectOne()
+                                .from(sa)
+                                .where(sa.SKU_ID.eq(SKUS.ID)
+                                        .and(sa.ATTRIBUTE_ID.eq(attrId))
+                                        .and(sa.OPTION_ID.in(optionIds)))
+                ));
+            }
+        }
+
+        if (rangeFilters != null) {
+            for (var entry : rangeFilters.entrySet()) {
+                int attrId = entry.getKey();
+                NumericRange range = entry.getValue();
+                if (range == null) continue;
+
+                condition = condition.and(DSL.exists(
+                        DSL.selectOne()
+                                .from(sa)
+                                .where(sa.SKU_ID.eq(SKUS.ID)
+                                        .and(sa.ATTRIBUTE_ID.eq(attrId))
+                                        .and(inRange(sa.VALUE_NUMERIC, range)))
+                ));
+            }
+        }
+
+        return condition;
+    }
+
+    /** value_numeric inside the range; a null bound is open-ended. */
+    static Condition inRange(Field<BigDecimal> value, NumericRange range) {
+        Condition condition = value.isNotNull();
+        if (range.min() != null) condition = condition.and(value.ge(range.min()));
+        if (range.max() != null) condition = condition.and(value.le(range.max()));
+        return condition;
+    }
 }
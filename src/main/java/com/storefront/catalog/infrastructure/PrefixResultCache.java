@@ -0,0 +1,106 @@
+package com.storefront.catalog.infrastructure;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+
+/**
+ * Result cache for as-you-type queries that reuses the answer to a prefix.
+ *
+ * Queries are keyed by their {@link SearchText#tokens} joined by single
+ * spaces. For a short key (up to {@code maxPrefixLength} chars) the loader is
+ * asked for every candidate, up to {@code entryCap}; when it returns no more
+ * than that the entry is complete. A later query that extends a complete
+ * entry's key — {@code "bol"} after {@code "bo"} — is answered by filtering
+ * that entry's candidates in memory, keeping their order, instead of calling
+ * the loader. This holds as long as the loader's matches narrow as the query
+ * grows, which is what {@code matches} must express: a candidate matches the
+ * longer query only if it matched the shorter one.
+ *
+ * Longer keys load just the requested {@code limit} and serve exact repeats.
+ * Entries are weighed by candidate count and the cache is bounded by the
+ * total.
+ */
+final class PrefixResultCache<V> {
+
+    enum Outcome { EXACT, PREFIX, MISS }
+
+    private record Entry<V>(List<V> candidates, boolean complete) {}
+
+    private final Cache<String, Entry<V>> entries;
+    private final BiPredicate<V, List<String>> matches;
+    private final int maxPrefixLength;
+    private final int entryCap;
+    private final LongAdder[] outcomes = new LongAdder[Outcome.values().length];
+
+    /**
+     * @param matches whether a candidate matches the query words
+     */
+    PrefixResultCache(int maxPrefixLength, int entryCap, long maxCandidates, Duration expireAfterWrite,
+                      BiPredicate<V, List<String>> matches) {
+        this.entries = Caffeine.newBuilder()
+                .maximumWeight(maxCandidates)
+                .weigher((String key, Entry<V> entry) -> entry.candidates().size() + 1)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        this.matches = matches;
+        this.maxPrefixLength = maxPrefixLength;
+        this.entryCap = entryCap;
+        for (int i = 0; i < outcomes.length; i++) outcomes[i] = new LongAdder();
+    }
+
+    /**
+     * Up to {@code limit} results for the query.
+     *
+     * @param loader the query key and how many results to load, best first
+     */
+    List<V> get(String query, int limit, BiFunction<String, Integer, List<V>> loader) {
+        var words = SearchText.tokens(query);
+        String key = String.join(" ", words);
+        if (key.isEmpty() || limit <= 0) return List.of();
+
+        var exact = entries.getIfPresent(key);
+        if (exact != null && (exact.complete() || exact.candidates().size() >= limit)) {
+            outcomes[Outcome.EXACT.ordinal()].increment();
+            return head(exact.candidates(), limit);
+        }
+
+        for (int length = key.length() - 1; length > 0; length--) {
+            var prefix = entries.getIfPresent(key.substring(0, length));
+            if (prefix == null || !prefix.complete()) continue;
+            List<V> narrowed = new ArrayList<>();
+            for (V candidate : prefix.candidates()) {
+                if (matches.test(candidate, words)) narrowed.add(candidate);
+            }
+            entries.put(key, new Entry<>(List.copyOf(narrowed), true));
+            outcomes[Outcome.PREFIX.ordinal()].increment();
+            return head(narrowed, limit);
+        }
+
+        outcomes[Outcome.MISS.ordinal()].increment();
+        int want = key.length() <= maxPrefixLength ? Math.max(limit, entryCap + 1) : limit;
+        var loaded = loader.apply(key, want);
+        boolean complete = loaded.size() < want;
+        var kept = complete ? loaded : loaded.subList(0, Math.min(loaded.size(), Math.max(limit, entryCap)));
+        entries.put(key, new Entry<>(List.copyOf(kept), complete));
+        return head(loaded, limit);
+    }
+
+    long count(Outcome outcome) {
+        return outcomes[outcome.ordinal()].sum();
+    }
+
+    void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    private static <V> List<V> head(List<V> list, int limit) {
+        return list.size() <= limit ? list : List.copyOf(list.subList(0, limit));
+    }
+}
@@ -0,0 +1,147 @@
+package com.storefront.catalog.infrastructure;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+
+/**
+ * Immutable snapshot of the active USD rows of {@code sku_price_tiers}.
+ * ═══════════════════════════════════════════════════════════════════════
+ *
+ * SKUs are addressed by their {@code skus.ordinal}; their tiers sit
+ * contiguously in parallel arrays, sorted by qty_min, with
+ * {@code firstTier[o] .. firstTier[o + 1]} as the slice of SKU {@code o}
+ * (empty for SKUs without tiers). Translating an id to its ordinal is the
+ * caller's job — see {@link com.storefront.catalog.domain.model.SkuOrdinals}. Prices are {@code long}s in units of
+ * 10<sup>-{@value #PRICE_SCALE}</sup> USD — the scale of the NUMERIC(12,4)
+ * column, so every stored price is exact.
+ *
+ * A quote is two array reads plus a binary search over the SKU's breakpoints,
+ * with the same semantics as the SQL it replaces: the tier with the largest
+ * qty_min such that {@code qty_min <= quantity <= qty_max} (open qty_max = ∞).
+ */
+final class PriceTierIndex {
+
+    /** Decimal places of the stored prices. */
+    static final int PRICE_SCALE = 4;
+
+    private static final int OPEN = Integer.MAX_VALUE;
+
+    private final int skuCount;
+    private final String[] partNumbers;
+    private final String[] sellUnits;
+    private final int[] firstTier;
+    private final int[] qtyMin;
+    private final int[] qtyMax;
+    private final long[] unitPrice;
+
+    private PriceTierIndex(Builder b) {
+        this.skuCount = b.skuCount;
+        this.partNumbers = Arrays.copyOf(b.partNumbers, b.bound);
+        this.sellUnits = Arrays.copyOf(b.sellUnits, b.bound);
+        this.firstTier = Arrays.copyOf(b.firstTier, b.bound + 1);
+        this.firstTier[b.bound] = b.tierCount;
+        this.qtyMin = Arrays.copyOf(b.qtyMin, b.tierCount);
+        this.qtyMax = Arrays.copyOf(b.qtyMax, b.tierCount);
+        this.unitPrice = Arrays.copyOf(b.unitPrice, b.tierCount);
+    }
+
+    static Builder builder() {
+        return new Builder();
+    }
+
+    int skuCount() {
+        return skuCount;
+    }
+
+    int tierCount() {
+        return unitPrice.length;
+    }
+
+    /** Unit price for the quantity; null when the SKU is not indexed or no tier covers the quantity. */
+    BigDecimal unitPrice(int ordinal, int quantity) {
+        if (ordinal < 0 || ordinal >= partNumbers.length) return null;
+        int tier = tierFor(ordinal, quantity);
+        return tier < 0 ? null : BigDecimal.valueOf(unitPrice[tier], PRICE_SCALE);
+    }
+
+    String partNumber(int ordinal) {
+        return partNumbers[ordinal];
+    }
+
+    String sellUnit(int ordinal) {
+        return sellUnits[ordinal];
+    }
+
+    private int tierFor(int ordinal, int quantity) {
+        int from = firstTier[ordinal];
+        int to = firstTier[ordinal + 1];
+        int found = Arrays.binarySearch(qtyMin, from, to, quantity);
+        // Last breakpoint at or below the quantity; step back past tiers whose qty_max stops short
+        for (int i = found >= 0 ? found : -found - 2; i >= from; i--) {
+            if (qtyMax[i] >= quantity) return i;
+        }
+        return -1;
+    }
+
+    // ─── Builder ─────────────────────────────────────────────────────────────
+
+    /** Tiers must arrive in ascending SKU ordinal and in ascending qty_min within a SKU. */
+    static final class Builder {
+
+        private String[] partNumbers = new String[64];
+        private String[] sellUnits = new String[64];
+        private int[] firstTier = new int[65];
+        private int bound;
+        private int skuCount;
+        private int[] qtyMin = new int[128];
+        private int[] qtyMax = new int[128];
+        private long[] unitPrice = new long[128];
+        private int tierCount;
+
+        private Builder() {
+        }
+
+        Builder tier(int ordinal, String partNumber, String sellUnit,
+                     int min, Integer max, BigDecimal price) {
+            if (ordinal >= bound) {
+                if (ordinal >= partNumbers.length) growSkus(ordinal + 1);
+                // SKUs skipped over have no tiers: empty slices ending where this one starts
+                Arrays.fill(firstTier, bound, ordinal + 1, tierCount);
+                partNumbers[ordinal] = partNumber;
+                sellUnits[ordinal] = sellUnit;
+                bound = ordinal + 1;
+                skuCount++;
+            } else if (ordinal < bound - 1) {
+                throw new IllegalStateException("Tiers of SKU ordinal " + ordinal + " are not in ordinal order");
+            } else if (qtyMin[tierCount - 1] >= min) {
+                throw new IllegalStateException("Tiers of SKU ordinal " + ordinal + " are not ordered by qty_min");
+            }
+
+            if (tierCount == unitPrice.length) growTiers();
+            qtyMin[tierCount] = min;
+            qtyMax[tierCount] = max != null ? max : OPEN;
+            unitPrice[tierCount] = price.setScale(PRICE_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+            tierCount++;
+            return this;
+        }
+
+        PriceTierIndex build() {
+            return new PriceTierIndex(this);
+        }
+
+        private void growSkus(int minimum) {
+            int size = Math.max(minimum, partNumbers.length * 2);
+            partNumbers = Arrays.copyOf(partNumbers, size);
+            sellUnits = Arrays.copyOf(sellUnits, size);
+            firstTier = Arrays.copyOf(firstTier, size + 1);
+        }
+
+        private void growTiers() {
+            int size = unitPrice.length * 2;
+            qtyMin = Arrays.copyOf(qtyMin, size);
+            qtyMax = Arrays.copyOf(qtyMax, size);
+            unitPrice = Arrays.copyOf(unitPrice, size);
+        }
+    }
+}
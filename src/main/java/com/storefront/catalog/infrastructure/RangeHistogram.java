@@ -0,0 +1,53 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.ProductApi.RangeFacet;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Counts the values of one numeric attribute into {@link #BUCKETS}
+ * equal-width buckets over fixed bounds, producing a {@link RangeFacet}.
+ *
+ * The bounds are the attribute's extent over the whole scope (category or
+ * product group), not over the values added, so the slider keeps its shape
+ * while filters narrow the counts — down to all-zero buckets when nothing
+ * matches. The extent of the values added is tracked alongside, for the
+ * facet's own min and max. Values may arrive in any order; values outside
+ * the bounds are ignored.
+ */
+final class RangeHistogram {
+
+    /** Fixed so a slider can sum neighbouring buckets without knowing the data. */
+    static final int BUCKETS = 20;
+
+    private final double min;
+    private final double max;
+    private final double width;
+    private final int[] counts = new int[BUCKETS];
+    private double addedMin = Double.POSITIVE_INFINITY;
+    private double addedMax = Double.NEGATIVE_INFINITY;
+
+    RangeHistogram(double min, double max) {
+        this.min = min;
+        this.max = max;
+        this.width = (max - min) / BUCKETS;
+    }
+
+    void add(double value) {
+        if (!(value >= min && value <= max)) return;   // NaN fails both
+        int bucket = width == 0 ? 0 : (int) ((value - min) / width);
+        counts[Math.min(bucket, BUCKETS - 1)]++;
+        addedMin = Math.min(addedMin, value);
+        addedMax = Math.max(addedMax, value);
+    }
+
+    RangeFacet build() {
+        boolean empty = addedMin > addedMax;
+        return new RangeFacet(
+                empty ? null : BigDecimal.valueOf(addedMin),
+                empty ? null : BigDecimal.valueOf(addedMax),
+                BigDecimal.valueOf(min), BigDecimal.valueOf(max),
+                Arrays.stream(counts).boxed().toList());
+    }
+}
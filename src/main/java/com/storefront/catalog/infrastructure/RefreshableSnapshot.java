@@ -0,0 +1,72 @@
+package com.storefront.catalog.infrastructure;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Holder for an immutable in-JVM index snapshot.
+ *
+ * The first {@link #get()} builds the snapshot synchronously. After that,
+ * {@link #refreshAsync()} rebuilds on a virtual thread while readers keep
+ * using the previous snapshot; the new one is swapped in atomically.
+ * Refresh requests arriving mid-build coalesce into one follow-up build.
+ */
+@Slf4j
+final class RefreshableSnapshot<T> {
+
+    private final String name;
+    private final Supplier<T> loader;
+    private final AtomicBoolean building = new AtomicBoolean();
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private volatile T current;
+
+    RefreshableSnapshot(String name, Supplier<T> loader) {
+        this.name = name;
+        this.loader = loader;
+    }
+
+    T get() {
+        T snapshot = current;
+        if (snapshot != null) return snapshot;
+        synchronized (this) {
+            if (current == null) current = build();
+            return current;
+        }
+    }
+
+    /** Whether a snapshot has been built — lets callers fall back instead of blocking. */
+    boolean isReady() {
+        return current != null;
+    }
+
+    void refreshAsync() {
+        dirty.set(true);
+        if (building.compareAndSet(false, true)) {   // otherwise the running build picks up the dirty flag
+            Thread.ofVirtual().name("snapshot-" + name).start(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (dirty.getAndSet(false)) {
+                try {
+                    current = build();
+                } catch (RuntimeException e) {
+                    log.error("Rebuilding {} failed — keeping previous snapshot", name, e);
+                }
+            }
+        } finally {
+            building.set(false);
+        }
+        if (dirty.get()) refreshAsync();   // request raced with the end of the loop
+    }
+
+    private T build() {
+        long start = System.nanoTime();
+        T snapshot = loader.get();
+        log.info("Built {} in {} ms", name, (System.nanoTime() - start) / 1_000_000);
+        return snapshot;
+    }
+}
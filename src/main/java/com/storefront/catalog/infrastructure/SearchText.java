@@ -0,0 +1,82 @@
+package com.storefront.catalog.infrastructure;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Text analysis shared by the in-JVM search indexes, so documents and
+ * queries are cut into terms the same way.
+ *
+ * A token is a run of letters and digits, lower-cased; a dot between two
+ * digits stays inside it ({@code 1.5}). {@link #terms} then drops English
+ * stop words and stems plurals with the S-stemmer (Harman, 1991) plus a rule
+ * for sibilant {@code -es} plurals — close to what Postgres's {@code english}
+ * configuration does for catalog vocabulary ({@code bolts} → {@code bolt},
+ * {@code assemblies} → {@code assembly}, {@code boxes} → {@code box}), without
+ * touching sizes and part numbers.
+ */
+final class SearchText {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in",
+            "into", "is", "it", "of", "on", "or", "the", "to", "with");
+
+    private SearchText() {
+    }
+
+    /** Lower-cased tokens in order, stop words and all. */
+    static List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) return tokens;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            boolean inToken = Character.isLetterOrDigit(c)
+                    || (c == '.' && start >= 0 && Character.isDigit(text.charAt(i - 1))
+                        && i + 1 < text.length() && Character.isDigit(text.charAt(i + 1)));
+            if (inToken) {
+                if (start < 0) start = i;
+            } else if (start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /** Index terms: tokens without stop words, plurals stemmed. */
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String token : tokens(text)) {
+            if (!STOP_WORDS.contains(token)) terms.add(stem(token));
+        }
+        return terms;
+    }
+
+    static String stem(String token) {
+        if (token.length() <= 3 || !isAlphabetic(token)) return token;
+        if (token.endsWith("ies") && !token.endsWith("eies") && !token.endsWith("aies")) {
+            return token.substring(0, token.length() - 3) + "y";
+        }
+        if (token.endsWith("sses") || token.endsWith("shes") || token.endsWith("ches")
+                || token.endsWith("xes") || token.endsWith("zes")) {
+            return token.substring(0, token.length() - 2);   // boxes → box, inches → inch
+        }
+        if (token.endsWith("es") && !token.endsWith("aes") && !token.endsWith("ees") && !token.endsWith("oes")) {
+            return token.substring(0, token.length() - 1);
+        }
+        if (token.endsWith("s") && !token.endsWith("us") && !token.endsWith("ss")) {
+            return token.substring(0, token.length() - 1);
+        }
+        return token;
+    }
+
+    private static boolean isAlphabetic(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if (!Character.isLetter(token.charAt(i))) return false;
+        }
+        return true;
+    }
+}
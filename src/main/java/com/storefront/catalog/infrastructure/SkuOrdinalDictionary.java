@@ -0,0 +1,119 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.domain.model.SkuOrdinals;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.storefront.jooq.Tables.SKUS;
+
+/**
+ * {@link SkuOrdinals} over an in-JVM {@link SkuOrdinalTable}.
+ *
+ * Ordinals are append-only, so after the initial load a change to
+ * {@code skus} only reads the tail above the current high-water mark — an
+ * index range scan on {@code uq_skus_ordinal} — and swaps in the extended
+ * table. Identity values are handed out at insert but become visible at
+ * commit, so the scan starts {@value #CATCH_UP_OVERLAP} ordinals below the
+ * mark and fills gaps left by transactions that committed out of order.
+ * Deleted SKUs keep their slot; their ids simply stop matching rows.
+ *
+ * A transaction that commits further behind than the overlap is not seen by
+ * any tail scan, so the whole table is reloaded every
+ * {@code full-reload-interval}: that bounds how long such a SKU can go
+ * unknown, and drops the slots of deleted ones.
+ */
+@Component
+@Slf4j
+class SkuOrdinalDictionary implements SkuOrdinals {
+
+    static final int CATCH_UP_OVERLAP = 10_000;
+
+    private final DSLContext dsl;
+    private final int fetchSize;
+    private final RefreshableSnapshot<SkuOrdinalTable> table;
+    private final AtomicBoolean fullReloadDue = new AtomicBoolean();
+
+    SkuOrdinalDictionary(@Qualifier("readOnlyDsl") DSLContext readOnlyDsl,
+                         @Value("${storefront.catalog.sku-ordinals.load-fetch-size:10000}") int fetchSize) {
+        this.dsl = readOnlyDsl;
+        this.fetchSize = fetchSize;
+        this.table = new RefreshableSnapshot<>("sku-ordinals", this::load);
+    }
+
+    @Override
+    public int ordinalOf(UUID skuId) {
+        return table.get().ordinalOf(skuId);
+    }
+
+    @Override
+    public UUID skuId(int ordinal) {
+        return table.get().skuId(ordinal);
+    }
+
+    @Override
+    public List<UUID> skuIds(int[] ordinals) {
+        var snapshot = table.get();
+        List<UUID> result = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            UUID id = snapshot.skuId(ordinal);
+            if (id != null) result.add(id);
+        }
+        return result;
+    }
+
+    // ─── Lifecycle ───────────────────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        var snapshot = table.get();
+        log.info("SKU ordinal dictionary ready: {} SKUs, bound {}", snapshot.size(), snapshot.bound());
+    }
+
+    @EventListener
+    void onCatalogChange(CatalogTablesChanged event) {
+        if (event.touches("skus")) {
+            table.refreshAsync();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${storefront.catalog.sku-ordinals.full-reload-interval:PT15M}",
+            initialDelayString = "${storefront.catalog.sku-ordinals.full-reload-interval:PT15M}")
+    void scheduleFullReload() {
+        fullReloadDue.set(true);
+        table.refreshAsync();
+    }
+
+    // ─── Loading ─────────────────────────────────────────────────────────────
+
+    /** Everything on first load and when a full reload is due; otherwise only the tail of recently assigned ordinals. */
+    private SkuOrdinalTable load() {
+        boolean full = fullReloadDue.getAndSet(false) || !table.isReady();
+        var builder = SkuOrdinalTable.builder(full ? null : table.get());
+        return dsl.transactionResult(cfg -> {
+            try (var cursor = DSL.using(cfg)
+                    .select(SKUS.ORDINAL, SKUS.ID)
+                    .from(SKUS)
+                    .where(SKUS.ORDINAL.gt(builder.lastOrdinal() - CATCH_UP_OVERLAP))
+                    .orderBy(SKUS.ORDINAL)
+                    .fetchSize(fetchSize)
+                    .fetchLazy()) {
+                for (var r : cursor) {
+                    builder.add(r.get(SKUS.ORDINAL), r.get(SKUS.ID));
+                }
+            }
+            return builder.build();
+        });
+    }
+}
@@ -0,0 +1,142 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.domain.model.SkuOrdinals;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Immutable snapshot of the {@code skus.id ↔ skus.ordinal} mapping.
+ * ═══════════════════════════════════════════════════════════════════════
+ *
+ * Ids are held as two {@code long[]} columns indexed by ordinal — no UUID
+ * objects, 16 bytes per SKU — and a {@link UUID} is only materialised when an
+ * ordinal is translated back. The reverse direction is an open-addressed,
+ * linear-probing table of ordinals hashed on the id bits, so a lookup
+ * compares longs and allocates nothing.
+ *
+ * Ordinals never assigned (rolled-back inserts) are stored as the nil UUID,
+ * which {@code gen_random_uuid()} cannot produce.
+ */
+final class SkuOrdinalTable {
+
+    private static final int FREE = -1;
+
+    private final long[] msb;
+    private final long[] lsb;
+    private final int[] slots;
+    private final int size;
+
+    private SkuOrdinalTable(long[] msb, long[] lsb, int bound, int size) {
+        this.msb = Arrays.copyOf(msb, bound);
+        this.lsb = Arrays.copyOf(lsb, bound);
+        this.size = size;
+
+        this.slots = new int[Math.max(2, Integer.highestOneBit(Math.max(1, size) * 2 - 1) << 1)];
+        Arrays.fill(slots, FREE);
+        int mask = slots.length - 1;
+        for (int ordinal = 0; ordinal < bound; ordinal++) {
+            if (msb[ordinal] == 0 && lsb[ordinal] == 0) continue;
+            int slot = hash(msb[ordinal], lsb[ordinal]) & mask;
+            while (slots[slot] != FREE) slot = (slot + 1) & mask;
+            slots[slot] = ordinal;
+        }
+    }
+
+    /** Builder starting from {@code base} (null for an empty table); ordinals are appended above it. */
+    static Builder builder(SkuOrdinalTable base) {
+        return new Builder(base);
+    }
+
+    /** Number of SKUs in the table. */
+    int size() {
+        return size;
+    }
+
+    /** One past the highest ordinal — the length of arrays indexed by ordinal. */
+    int bound() {
+        return msb.length;
+    }
+
+    int ordinalOf(UUID skuId) {
+        long hi = skuId.getMostSignificantBits();
+        long lo = skuId.getLeastSignificantBits();
+        int mask = slots.length - 1;
+        for (int slot = hash(hi, lo) & mask; ; slot = (slot + 1) & mask) {
+            int ordinal = slots[slot];
+            if (ordinal == FREE) return SkuOrdinals.ABSENT;
+            if (msb[ordinal] == hi && lsb[ordinal] == lo) return ordinal;
+        }
+    }
+
+    UUID skuId(int ordinal) {
+        if (ordinal < 0 || ordinal >= msb.length) return null;
+        if (msb[ordinal] == 0 && lsb[ordinal] == 0) return null;
+        return new UUID(msb[ordinal], lsb[ordinal]);
+    }
+
+    private static int hash(long hi, long lo) {
+        long h = (hi ^ lo) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    // ─── Builder ─────────────────────────────────────────────────────────────
+
+    /**
+     * Ordinals above the current bound are appended; ordinals below it may
+     * only fill a gap or repeat the id already there.
+     */
+    static final class Builder {
+
+        private long[] msb;
+        private long[] lsb;
+        private int bound;
+        private int size;
+
+        private Builder(SkuOrdinalTable base) {
+            int capacity = base == null ? 64 : Math.max(64, base.bound() + base.bound() / 8);
+            this.msb = new long[capacity];
+            this.lsb = new long[capacity];
+            if (base != null) {
+                System.arraycopy(base.msb, 0, msb, 0, base.bound());
+                System.arraycopy(base.lsb, 0, lsb, 0, base.bound());
+                this.bound = base.bound();
+                this.size = base.size();
+            }
+        }
+
+        /** Highest ordinal added so far, or -1. */
+        int lastOrdinal() {
+            return bound - 1;
+        }
+
+        Builder add(int ordinal, UUID skuId) {
+            long hi = skuId.getMostSignificantBits();
+            long lo = skuId.getLeastSignificantBits();
+            if (ordinal < bound) {
+                if (msb[ordinal] == hi && lsb[ordinal] == lo) return this;
+                if (msb[ordinal] != 0 || lsb[ordinal] != 0) {
+                    throw new IllegalStateException("Ordinal " + ordinal + " is already assigned");
+                }
+                msb[ordinal] = hi;
+                lsb[ordinal] = lo;
+                size++;
+                return this;
+            }
+            if (ordinal >= msb.length) {
+                int capacity = Math.max(ordinal + 1, msb.length * 2);
+                msb = Arrays.copyOf(msb, capacity);
+                lsb = Arrays.copyOf(lsb, capacity);
+            }
+            msb[ordinal] = hi;
+            lsb[ordinal] = lo;
+            bound = ordinal + 1;
+            size++;
+            return this;
+        }
+
+        SkuOrdinalTable build() {
+            return new SkuOrdinalTable(msb, lsb, bound, size);
+        }
+    }
+}
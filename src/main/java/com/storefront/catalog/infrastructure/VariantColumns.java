@@ -0,0 +1,370 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.ProductApi.FacetGroup;
+import com.storefront.catalog.ProductApi.FacetOption;
+import com.storefront.catalog.ProductApi.FilteredVariantTable;
+import com.storefront.catalog.ProductApi.NumericRange;
+import com.storefront.catalog.ProductApi.RangeFacet;
+import com.storefront.catalog.ProductApi.SkuRow;
+import com.storefront.catalog.domain.model.VariantCursor;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.*;
+
+/**
+ * Column-oriented, immutable snapshot of one product group's active SKUs.
+ * ═══════════════════════════════════════════════════════════════════
+ *
+ * Rows are kept in {@link VariantCursor} order, (sort_key, id) bytewise.
+ * Every attribute present on the group's SKUs becomes a column:
+ *   codes[row]   — dictionary code of the row's option (-1 = no value)
+ *   numeric[row] — value_numeric (NaN = no value)
+ * The dictionary is ordered by option sort_order, with the "no option"
+ * entry (numeric/text attributes) last — the same order the facet SQL used.
+ *
+ * {@link #filter} walks the rows once: each row is tested against the
+ * compiled predicates and, if it matches, is emitted and counted into the
+ * facet columns in the same iteration.
+ *
+ * Numeric columns also keep their extent over the group, so a range facet
+ * always spans the same [min, max] and its histogram counts the rows that
+ * matched — or failed only that attribute's own range filter. A filter that
+ * excludes every row still returns the range facets, with empty buckets.
+ */
+final class VariantColumns {
+
+    private static final int ABSENT = -1;
+
+    /** Row status during {@link #filter}; values ≥ 0 name the only range predicate the row failed. */
+    private static final int MATCHED = -1;
+    private static final int REJECTED = -2;
+
+    private final OffsetDateTime version;
+    private final SkuRow[] rows;
+    private final Map<Integer, Column> columns;
+    private final Column[] facetColumns;
+
+    private VariantColumns(OffsetDateTime version, SkuRow[] rows,
+                           Map<Integer, Column> columns, Column[] facetColumns) {
+        this.version = version;
+        this.rows = rows;
+        this.columns = columns;
+        this.facetColumns = facetColumns;
+    }
+
+    static Builder builder(OffsetDateTime version, List<SkuRow> rows) {
+        return new Builder(version, rows);
+    }
+
+    /** product_groups.updated_at at load time — bumped by triggers whenever the group's SKUs change. */
+    OffsetDateTime version() {
+        return version;
+    }
+
+    /** Approximate size in cells, used as the cache weight. */
+    int weight() {
+        return rows.length * (columns.size() + 1);
+    }
+
+    FilteredVariantTable filter(Map<Integer, List<Integer>> enumFilters,
+                                Map<Integer, NumericRange> rangeFilters) {
+        var predicates = compile(enumFilters, rangeFilters);
+
+        int[][] counts = new int[facetColumns.length][];
+        for (int f = 0; f < facetColumns.length; f++) {
+            counts[f] = new int[facetColumns[f].dictionary().length];
+        }
+
+        List<SkuRow> matched = new ArrayList<>();
+        int[] status = new int[rows.length];
+        for (int row = 0; row < rows.length; row++) {
+            status[row] = predicates.status(row);
+            if (status[row] != MATCHED) continue;
+
+            matched.add(rows[row]);
+            for (int f = 0; f < facetColumns.length; f++) {
+                int code = facetColumns[f].codes()[row];
+                if (code != ABSENT) counts[f][code]++;
+            }
+        }
+
+        return new FilteredVariantTable(matched, toFacetGroups(counts, status, predicates.rangeAttributes()));
+    }
+
+    /**
+     * Up to {@code limit} of the rows {@link #filter} would return that come
+     * after {@code after}, with no facet counts. The cursor's position is
+     * found by binary search, and only the rows past it are tested, so a deep
+     * page costs no more than the first. The cursor's own row need not still
+     * be in the snapshot.
+     */
+    List<SkuRow> page(Map<Integer, List<Integer>> enumFilters,
+                      Map<Integer, NumericRange> rangeFilters,
+                      VariantCursor after, int limit) {
+        var predicates = compile(enumFilters, rangeFilters);
+        List<SkuRow> page = new ArrayList<>(limit);
+        for (int row = firstAfter(after); row < rows.length && page.size() < limit; row++) {
+            if (predicates.status(row) == MATCHED) page.add(rows[row]);
+        }
+        return page;
+    }
+
+    /** Index of the first row after the cursor; rows are in {@link VariantCursor} order. */
+    private int firstAfter(VariantCursor after) {
+        int low = 0;
+        int high = rows.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (after.precedes(rows[mid])) high = mid;
+            else low = mid + 1;
+        }
+        return low;
+    }
+
+    private Predicates compile(Map<Integer, List<Integer>> enumFilters,
+                               Map<Integer, NumericRange> rangeFilters) {
+        boolean matchesNothing = false;
+        List<int[]> enumCodes = new ArrayList<>();
+        List<boolean[]> enumAccepted = new ArrayList<>();
+        if (enumFilters != null) {
+            for (var entry : enumFilters.entrySet()) {
+                var optionIds = entry.getValue();
+                if (optionIds == null || optionIds.isEmpty()) continue;
+                var column = columns.get(entry.getKey());
+                if (column == null) {
+                    matchesNothing = true;
+                    continue;
+                }
+
+                boolean[] accepted = new boolean[column.dictionary().length];
+                boolean any = false;
+                for (int code = 0; code < column.dictionary().length; code++) {
+                    Integer optionId = column.dictionary()[code].optionId();
+                    if (optionId != null && optionIds.contains(optionId)) {
+                        accepted[code] = true;
+                        any = true;
+                    }
+                }
+                if (!any) matchesNothing = true;
+                enumCodes.add(column.codes());
+                enumAccepted.add(accepted);
+            }
+        }
+
+        List<double[]> rangeValues = new ArrayList<>();
+        List<double[]> rangeBounds = new ArrayList<>();
+        List<Integer> rangeAttributes = new ArrayList<>();
+        if (rangeFilters != null) {
+            for (var entry : rangeFilters.entrySet()) {
+                var range = entry.getValue();
+                if (range == null) continue;
+                var column = columns.get(entry.getKey());
+                if (column == null) {
+                    matchesNothing = true;
+                    continue;
+                }
+                rangeValues.add(column.numeric());
+                rangeAttributes.add(entry.getKey());
+                rangeBounds.add(new double[]{
+                        range.min() == null ? Double.NEGATIVE_INFINITY : range.min().doubleValue(),
+                        range.max() == null ? Double.POSITIVE_INFINITY : range.max().doubleValue()});
+            }
+        }
+
+        return new Predicates(matchesNothing,
+                enumCodes.toArray(int[][]::new), enumAccepted.toArray(boolean[][]::new),
+                rangeValues.toArray(double[][]::new), rangeBounds.toArray(double[][]::new), rangeAttributes);
+    }
+
+    /** Filters compiled against the columns; {@link #status} tests one row. */
+    private record Predicates(boolean matchesNothing,
+                              int[][] enumCodes, boolean[][] enumAccepted,
+                              double[][] rangeValues, double[][] rangeBounds,
+                              List<Integer> rangeAttributes) {
+
+        /** {@link #MATCHED}, {@link #REJECTED}, or the index of the only range predicate the row failed. */
+        int status(int row) {
+            if (matchesNothing) return REJECTED;
+            for (int p = 0; p < enumCodes.length; p++) {
+                int code = enumCodes[p][row];
+                if (code == ABSENT || !enumAccepted[p][code]) return REJECTED;
+            }
+            int failed = MATCHED;
+            for (int p = 0; p < rangeValues.length; p++) {
+                double value = rangeValues[p][row];
+                double[] bounds = rangeBounds[p];
+                if (!(value >= bounds[0] && value <= bounds[1])) {   // NaN fails both
+                    if (failed != MATCHED) return REJECTED;
+                    failed = p;
+                }
+            }
+            return failed;
+        }
+    }
+
+    private List<FacetGroup> toFacetGroups(int[][] counts, int[] status, List<Integer> rangeAttributes) {
+        List<FacetGroup> groups = new ArrayList<>();
+        for (int f = 0; f < facetColumns.length; f++) {
+            var column = facetColumns[f];
+            List<FacetOption> options = new ArrayList<>();
+            for (int code = 0; code < column.dictionary().length; code++) {
+                if (counts[f][code] == 0) continue;
+                var option = column.dictionary()[code];
+                options.add(new FacetOption(option.optionId(), option.value(), option.displayValue(),
+                        option.imageUrl(), counts[f][code]));
+            }
+            var facet = column.facet();
+            var range = "range".equals(facet.filterWidget())
+                    ? rangeFacet(column, status, rangeAttributes.indexOf(column.attributeId()))
+                    : null;
+            if (!options.isEmpty() || range != null) {
+                groups.add(new FacetGroup(column.attributeId(), facet.key(), facet.label(),
+                        facet.filterWidget(), facet.unitLabel(), options, range));
+            }
+        }
+        return groups;
+    }
+
+    /** Rows that matched, or failed only this column's own range predicate, binned over the column's extent. */
+    private static RangeFacet rangeFacet(Column column, int[] status, int ownPredicate) {
+        if (Double.isNaN(column.min())) return null;   // no numeric values
+        var histogram = new RangeHistogram(column.min(), column.max());
+        for (int row = 0; row < status.length; row++) {
+            int s = status[row];
+            if (s == MATCHED || (ownPredicate >= 0 && s == ownPredicate)) {
+                histogram.add(column.numeric()[row]);
+            }
+        }
+        return histogram.build();
+    }
+
+    // ─── Columns ─────────────────────────────────────────────────────────────
+
+    /** Dictionary entry; {@code optionId == null} is the "value without option" entry. */
+    record OptionEntry(Integer optionId, String value, String displayValue, String imageUrl, short sortOrder) {}
+
+    /** Facet metadata is only set for filterable table columns. */
+    private record Column(int attributeId, FacetAttribute facet,
+                          int[] codes, double[] numeric, double min, double max, OptionEntry[] dictionary) {}
+
+    record FacetAttribute(String key, String label, String filterWidget, String unitLabel) {}
+
+    // ─── Builder ─────────────────────────────────────────────────────────────
+
+    static final class Builder {
+
+        private static final int NO_OPTION = 0;
+        private static final int UNSET = Integer.MIN_VALUE;
+
+        private final OffsetDateTime version;
+        private final List<SkuRow> rows;
+        private final Map<UUID, Integer> rowBySku = new HashMap<>();
+        private final Map<Integer, int[]> optionIds = new HashMap<>();
+        private final Map<Integer, double[]> numeric = new HashMap<>();
+        private final Map<Integer, OptionEntry> options = new HashMap<>();
+        private final Map<Integer, FacetAttribute> facetAttributes = new LinkedHashMap<>();
+
+        private Builder(OffsetDateTime version, List<SkuRow> rows) {
+            this.version = version;
+            this.rows = rows;
+            for (int i = 0; i < rows.size(); i++) rowBySku.put(rows.get(i).id(), i);
+        }
+
+        Builder value(UUID skuId, int attributeId, Integer optionId, BigDecimal valueNumeric) {
+            Integer row = rowBySku.get(skuId);
+            if (row == null) return this;   // inactive SKU
+
+            optionIds.computeIfAbsent(attributeId, k -> {
+                int[] column = new int[rows.size()];
+                Arrays.fill(column, UNSET);
+                return column;
+            })[row] = optionId == null ? NO_OPTION : optionId;
+
+            if (valueNumeric != null) {
+                numeric.computeIfAbsent(attributeId, k -> {
+                    double[] column = new double[rows.size()];
+                    Arrays.fill(column, Double.NaN);
+                    return column;
+                })[row] = valueNumeric.doubleValue();
+            }
+            return this;
+        }
+
+        /** Attribute ids seen on the group's SKUs — the options to load. */
+        Set<Integer> attributeIds() {
+            return optionIds.keySet();
+        }
+
+        Builder option(int id, String value, String displayValue, String imageUrl, short sortOrder) {
+            options.put(id, new OptionEntry(id, value, displayValue, imageUrl, sortOrder));
+            return this;
+        }
+
+        /** Filterable table column, in product_group_columns order. */
+        Builder facetAttribute(int attributeId, String key, String label, String filterWidget, String unitLabel) {
+            facetAttributes.put(attributeId, new FacetAttribute(key, label, filterWidget, unitLabel));
+            return this;
+        }
+
+        VariantColumns build() {
+            Map<Integer, Column> columns = new HashMap<>();
+            optionIds.forEach((attributeId, raw) -> columns.put(attributeId, encode(attributeId, raw)));
+
+            List<Column> facets = new ArrayList<>();
+            for (int attributeId : facetAttributes.keySet()) {
+                var column = columns.get(attributeId);
+                if (column != null) facets.add(column);
+            }
+
+            return new VariantColumns(version, rows.toArray(SkuRow[]::new),
+                    Map.copyOf(columns), facets.toArray(Column[]::new));
+        }
+
+        private Column encode(int attributeId, int[] raw) {
+            List<OptionEntry> dictionary = new ArrayList<>();
+            boolean hasNoOption = false;
+            Set<Integer> seen = new HashSet<>();
+            for (int optionId : raw) {
+                if (optionId == UNSET) continue;
+                if (optionId == NO_OPTION) {
+                    hasNoOption = true;
+                } else if (seen.add(optionId)) {
+                    var option = options.get(optionId);
+                    dictionary.add(option != null ? option
+                            : new OptionEntry(optionId, null, null, null, Short.MAX_VALUE));
+                }
+            }
+            dictionary.sort(Comparator.comparingInt(OptionEntry::sortOrder)
+                    .thenComparingInt(OptionEntry::optionId));
+            if (hasNoOption) dictionary.add(new OptionEntry(null, null, null, null, Short.MAX_VALUE));
+
+            Map<Integer, Integer> codeByOption = new HashMap<>();
+            for (int code = 0; code < dictionary.size(); code++) {
+                Integer optionId = dictionary.get(code).optionId();
+                codeByOption.put(optionId == null ? NO_OPTION : optionId, code);
+            }
+
+            int[] codes = new int[raw.length];
+            for (int row = 0; row < raw.length; row++) {
+                codes[row] = raw[row] == UNSET ? ABSENT : codeByOption.get(raw[row]);
+            }
+
+            double[] values = numeric.get(attributeId);
+            if (values == null) {
+                values = new double[raw.length];
+                Arrays.fill(values, Double.NaN);
+            }
+            double min = Double.NaN;
+            double max = Double.NaN;
+            for (double value : values) {
+                if (Double.isNaN(value)) continue;
+                if (!(value >= min)) min = value;   // true while min is NaN
+                if (!(value <= max)) max = value;
+            }
+
+            return new Column(attributeId, facetAttributes.get(attributeId), codes, values, min, max,
+                    dictionary.toArray(OptionEntry[]::new));
+        }
+    }
+}
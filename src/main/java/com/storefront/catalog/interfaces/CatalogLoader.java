@@ -0,0 +1,50 @@
+package com.storefront.catalog.interfaces;
+
+import com.storefront.catalog.CategoryApi;
+import com.storefront.catalog.CategoryApi.CategoryNode;
+import com.storefront.catalog.ProductApi;
+import com.storefront.catalog.ProductApi.ColumnConfig;
+import com.storefront.shared.web.BatchLoader;
+import com.storefront.shared.web.BatchLoader.Handle;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One request's {@link BatchLoader}s over {@link CategoryApi} and {@link ProductApi}.
+ *
+ * Controllers and the fragments they render queue lookups here instead of
+ * calling the APIs directly; repeated keys are served from memory, and the
+ * keys queued during one render phase go out as one batched call per kind.
+ * Today's pages ask for one category and one group's columns, so the win is
+ * reuse across fragments and forks of the same request; a kind is added here
+ * when a page has a call site for it. Obtain it from
+ * {@link CatalogLoaders#current()} on the request thread — the instance
+ * itself may then be used from page forks.
+ */
+final class CatalogLoader {
+
+    private final BatchLoader<String, CategoryNode> categoriesBySlug;
+    private final BatchLoader<UUID, List<ColumnConfig>> columns;
+
+    CatalogLoader(CategoryApi categoryApi, ProductApi productApi) {
+        this.categoriesBySlug = new BatchLoader<>(categoryApi::findCategoriesBySlugs);
+        this.columns = new BatchLoader<>(productApi::findColumnConfigs);
+    }
+
+    // ─── Lookups ─────────────────────────────────────────────────────────────
+
+    Handle<CategoryNode> category(String slug) {
+        return categoriesBySlug.load(slug);
+    }
+
+    Handle<List<ColumnConfig>> columns(UUID groupId) {
+        return columns.load(groupId);
+    }
+
+    /** Ends a render phase: every queued key, one batched call per kind. */
+    void dispatch() {
+        categoriesBySlug.dispatch();
+        columns.dispatch();
+    }
+}
@@ -0,0 +1,37 @@
+package com.storefront.catalog.interfaces;
+
+import com.storefront.catalog.CategoryApi;
+import com.storefront.catalog.ProductApi;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Hands out the current request's {@link CatalogLoader}, created on first use.
+ *
+ * Kept as a request attribute rather than a {@code @RequestScope} proxy: a
+ * scoped proxy resolves the request on every call, which fails on page-fork
+ * threads. Here the lookup happens once, on the request thread, and the
+ * plain instance can be captured by forks.
+ */
+@Component
+@RequiredArgsConstructor
+class CatalogLoaders {
+
+    private static final String ATTRIBUTE = CatalogLoader.class.getName();
+
+    private final CategoryApi categoryApi;
+    private final ProductApi productApi;
+
+    /** Must be called on the request thread. */
+    CatalogLoader current() {
+        var request = RequestContextHolder.currentRequestAttributes();
+        var loader = (CatalogLoader) request.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (loader == null) {
+            loader = new CatalogLoader(categoryApi, productApi);
+            request.setAttribute(ATTRIBUTE, loader, RequestAttributes.SCOPE_REQUEST);
+        }
+        return loader;
+    }
+}
@@ -3,6 +3,7 @@ package com.storefront.catalog.interfaces;
 import com.storefront.catalog.CategoryApi;
 import com.storefront.catalog.ProductApi;
 import com.storefront.shared.web.HtmxResponse;
+import com.storefront.shared.web.PageAssembler;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +22,8 @@ class CategoryController {
 
     private final CategoryApi categoryApi;
     private final ProductApi productApi;
+    private final PageAssembler pageAssembler;
+    private final CatalogLoaders catalogLoaders;
 
     @GetMapping("/categories/top-level")
     public String topLevelCategories(Model model) {
@@ -36,7 +39,7 @@ class CategoryController {
             HttpServletResponse response,
             Model model) {
 
-        var category = categoryApi.findCategoryBySlug(slug)
+        var category = catalogLoaders.current().category(slug).get()
                 .orElseThrow(() -> new CategoryNotFoundException(slug));
 
         var parsed = FilterParamParser.parse(allParams);
@@ -44,34 +47,46 @@ class CategoryController {
         var rangeFilters = parsed.rangeFilters();
 
         model.addAttribute("category", category);
-        model.addAttribute("breadcrumb", categoryApi.findBreadcrumb(category.path()));
 
         HtmxResponse.pushUrl(response, buildUrl(slug, allParams));
 
+        // Breadcrumb and the per-level lookups are independent once the category is known
         String viewMode;
-        if (category.depth() == 0) {
-            viewMode = "top-level";
-            model.addAttribute("children", categoryApi.findChildCategories(category.id()));
-
-        } else if (!category.isLeaf()) {
-            viewMode = "mid-level";
-            model.addAttribute("filteredChildren",
-                    categoryApi.findFilteredChildren(category.id(), category.path(),
-                            enumFilters, rangeFilters));
-            model.addAttribute("facets",
-                    categoryApi.findMidLevelFacets(category.path(), enumFilters, rangeFilters));
-            model.addAttribute("enumFilters", enumFilters);
-            model.addAttribute("rangeFilters", rangeFilters);
-
-        } else {
-            viewMode = "leaf";
-            model.addAttribute("groupTables",
-                    categoryApi.findLeafGroupTables(category.id(), category.path(),
-                            enumFilters, rangeFilters));
-            model.addAttribute("facets",
-                    categoryApi.findLeafFacets(category.id(), enumFilters, rangeFilters));
-            model.addAttribute("enumFilters", enumFilters);
-            model.addAttribute("rangeFilters", rangeFilters);
+        try (var page = pageAssembler.open()) {
+            var breadcrumb = page.fork(() -> categoryApi.findBreadcrumb(category.path()));
+
+            if (category.depth() == 0) {
+                viewMode = "top-level";
+                var children = page.fork(() -> categoryApi.findChildCategories(category.id()));
+                page.join();
+                model.addAttribute("children", children.get());
+
+            } else if (!category.isLeaf()) {
+                viewMode = "mid-level";
+                var filteredChildren = page.fork(() -> categoryApi.findFilteredChildren(
+                        category.id(), category.path(), enumFilters, rangeFilters));
+                var facets = page.fork(() -> categoryApi.findMidLevelFacets(
+                        category.path(), enumFilters, rangeFilters));
+                page.join();
+                model.addAttribute("filteredChildren", filteredChildren.get());
+                model.addAttribute("facets", facets.get());
+                model.addAttribute("enumFilters", enumFilters);
+                model.addAttribute("rangeFilters", rangeFilters);
+
+            } else {
+                viewMode = "leaf";
+                var groupTables = page.fork(() -> categoryApi.findLeafGroupTables(
+                        category.id(), category.path(), enumFilters, rangeFilters));
+                var facets = page.fork(() -> categoryApi.findLeafFacets(
+                        category.id(), enumFilters, rangeFilters));
+                page.join();
+                model.addAttribute("groupTables", groupTables.get());
+                model.addAttribute("facets", facets.get());
+                model.addAttribute("enumFilters", enumFilters);
+                model.addAttribute("rangeFilters", rangeFilters);
+            }
+
+            model.addAttribute("breadcrumb", breadcrumb.get());
         }
 
         model.addAttribute("viewMode", viewMode);
@@ -84,7 +99,7 @@ class CategoryController {
 
     @GetMapping("/category/{slug}/children")
     public String categoryChildren(@PathVariable String slug, Model model) {
-        var category = categoryApi.findCategoryBySlug(slug)
+        var category = catalogLoaders.current().category(slug).get()
                 .orElseThrow(() -> new CategoryNotFoundException(slug));
         model.addAttribute("children", categoryApi.findChildCategories(category.id()));
         return "catalog/category/children";
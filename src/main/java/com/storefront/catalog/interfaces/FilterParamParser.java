@@ -8,6 +8,9 @@ import java.util.*;
 /**
  * Parses URL query parameters into typed filter maps.
  * Format: enum_{attrId}=optId1,optId2  /  range_min_{attrId}=val  range_max_{attrId}=val
+ * Output is canonical regardless of query-string order: attribute ids ascending
+ * (TreeMap), option ids sorted and de-duplicated. Either range bound may be
+ * given alone; the missing one stays null (open-ended).
  */
 class FilterParamParser {
 
@@ -17,8 +20,8 @@ class FilterParamParser {
     ) {}
 
     static ParsedFilters parse(Map<String, String> params) {
-        Map<Integer, List<Integer>> enumFilters = new LinkedHashMap<>();
-        Map<Integer, NumericRange> rangeFilters = new LinkedHashMap<>();
+        Map<Integer, List<Integer>> enumFilters = new TreeMap<>();
+        Map<Integer, NumericRange> rangeFilters = new TreeMap<>();
 
         for (var entry : params.entrySet()) {
             String key = entry.getKey();
@@ -28,7 +31,9 @@ class FilterParamParser {
             if (key.startsWith("enum_")) {
                 parseEnum(key.substring(5), value, enumFilters);
             } else if (key.startsWith("range_min_")) {
-                parseRangeMin(key.substring(10), value, params, rangeFilters);
+                parseRangeBound(key.substring(10), value, true, rangeFilters);
+            } else if (key.startsWith("range_max_")) {
+                parseRangeBound(key.substring(10), value, false, rangeFilters);
             }
         }
         return new ParsedFilters(enumFilters, rangeFilters);
@@ -40,21 +45,20 @@ class FilterParamParser {
             int attrId = Integer.parseInt(attrIdStr);
             List<Integer> optionIds = Arrays.stream(value.split(","))
                     .map(String::trim).filter(s -> !s.isEmpty())
-                    .map(Integer::parseInt).toList();
+                    .map(Integer::parseInt)
+                    .sorted().distinct().toList();
             if (!optionIds.isEmpty()) out.put(attrId, optionIds);
         } catch (NumberFormatException ignored) {}
     }
 
-    private static void parseRangeMin(String attrIdStr, String minVal,
-                                       Map<String, String> params,
-                                       Map<Integer, NumericRange> out) {
+    private static void parseRangeBound(String attrIdStr, String value, boolean isMin,
+                                         Map<Integer, NumericRange> out) {
         try {
             int attrId = Integer.parseInt(attrIdStr);
-            BigDecimal min = new BigDecimal(minVal);
-            String maxKey = "range_max_" + attrId;
-            BigDecimal max = params.containsKey(maxKey)
-                    ? new BigDecimal(params.get(maxKey))
-                    : new BigDecimal("999999");
+            BigDecimal bound = new BigDecimal(value.trim());
+            NumericRange current = out.get(attrId);
+            BigDecimal min = isMin ? bound : current != null ? current.min() : null;
+            BigDecimal max = isMin ? (current != null ? current.max() : null) : bound;
             out.put(attrId, new NumericRange(min, max));
         } catch (NumberFormatException ignored) {}
     }
@@ -2,80 +2,311 @@ package com.storefront.catalog.interfaces;
 
 import com.storefront.catalog.CategoryApi;
 import com.storefront.catalog.ProductApi;
+import com.storefront.catalog.ProductApi.ColumnConfig;
+import com.storefront.catalog.ProductApi.NumericRange;
+import com.storefront.catalog.ProductApi.ProductGroupDetail;
+import com.storefront.catalog.ProductApi.VariantTablePage;
+import com.storefront.catalog.SearchApi;
+import com.storefront.shared.SliceRequest;
 import com.storefront.shared.web.HtmxResponse;
+import com.storefront.shared.web.PageAssembler;
+import com.storefront.shared.web.StreamingTemplates;
 import jakarta.servlet.http.HttpServletRequest;
-import lombok.RequiredArgsConstructor;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.util.List;
 import java.util.Map;
 
 @Controller
 @RequestMapping("/catalog")
-@RequiredArgsConstructor
 class ProductController {
 
+    /** Request parameter overriding the configured page size; 0 asks for the whole table. */
+    private static final String PAGE_SIZE = "page-size";
+
     private final ProductApi productApi;
     private final CategoryApi categoryApi;
+    private final SearchApi searchApi;
+    private final PageAssembler pageAssembler;
+    private final StreamingTemplates streamingTemplates;
+    private final CatalogLoaders catalogLoaders;
+    private final int streamThreshold;
+    private final int pageSize;
+
+    ProductController(ProductApi productApi,
+                      CategoryApi categoryApi,
+                      SearchApi searchApi,
+                      PageAssembler pageAssembler,
+                      StreamingTemplates streamingTemplates,
+                      CatalogLoaders catalogLoaders,
+                      @Value("${storefront.catalog.variant-table.stream-threshold:5000}") int streamThreshold,
+                      @Value("${storefront.catalog.variant-table.page-size:100}") int pageSize) {
+        this.productApi = productApi;
+        this.categoryApi = categoryApi;
+        this.searchApi = searchApi;
+        this.pageAssembler = pageAssembler;
+        this.streamingTemplates = streamingTemplates;
+        this.catalogLoaders = catalogLoaders;
+        this.streamThreshold = streamThreshold;
+        this.pageSize = pageSize;
+    }
 
     @GetMapping("/product/{slug}")
     public String productGroup(
             @PathVariable String slug,
+            @RequestParam(name = PAGE_SIZE, required = false) Integer requestedPageSize,
             HttpServletRequest request,
+            HttpServletResponse response,
             Model model) {
 
         var group = productApi.findProductGroupBySlug(slug)
                 .orElseThrow(() -> new ProductGroupNotFoundException(slug));
 
-        var columns = productApi.findColumnConfig(group.id());
-        var breadcrumb = categoryApi.findBreadcrumb(group.categoryPath());
+        var loader = catalogLoaders.current();
+        String view = HtmxResponse.isHtmxRequest(request)
+                ? "catalog/product/content"
+                : "catalog/product/page";
+        model.addAttribute("group", group);
+        int rowsPerPage = rowsPerPage(requestedPageSize);
 
-        var allSkuIds = productApi.findMatchingSkuIds(group.id(), Map.of(), Map.of());
-        var skuRows = productApi.findVariantTable(group.id(), allSkuIds);
-        var facets = productApi.findFacetCounts(group.id(), allSkuIds);
+        // Everything below depends only on the group, not on each other
+        try (var page = pageAssembler.open()) {
+            var columns = page.fork(() -> columnsOf(loader, group));
+            var breadcrumb = page.fork(() -> categoryApi.findBreadcrumb(group.categoryPath()));
 
-        model.addAttribute("group", group);
-        model.addAttribute("columns", columns);
-        model.addAttribute("breadcrumb", breadcrumb);
-        model.addAttribute("skuRows", skuRows);
-        model.addAttribute("facets", facets);
+            if (rowsPerPage > 0) {
+                var table = page.fork(() -> tablePage(group, Map.of(), Map.of(), SliceRequest.of(0, rowsPerPage)));
+                page.join();
+                model.addAttribute("columns", columns.get());
+                model.addAttribute("breadcrumb", breadcrumb.get());
+                addTablePage(model, slug, pageSizeParam(requestedPageSize), table.get());
+                return view;
+            }
+
+            if (outsideColumnarStore(group)) {
+                // The whole table, as asked: SQL facet counts now, rows streamed while rendering
+                var facets = page.fork(() -> productApi.findFacetCounts(group.id(), null));
+                page.join();
+                model.addAttribute("columns", columns.get());
+                model.addAttribute("breadcrumb", breadcrumb.get());
+                model.addAttribute("facets", facets.get());
+                return stream(view, group, Map.of(), Map.of(), null, pageSizeParam(requestedPageSize),
+                        model, response);
+            }
 
-        if (HtmxResponse.isHtmxRequest(request)) {
-            return "catalog/product/content";
+            var table = page.fork(() -> productApi.filterVariantTable(group.id(), Map.of(), Map.of()));
+            page.join();
+            model.addAttribute("columns", columns.get());
+            model.addAttribute("breadcrumb", breadcrumb.get());
+            model.addAttribute("itemCount", table.get().rows().size());
+            model.addAttribute("skuRows", table.get().rows());
+            model.addAttribute("facets", table.get().facets());
         }
-        return "catalog/product/page";
+        return view;
+    }
+
+    /**
+     * Deep link from part-number and spec-value search: the group's page with
+     * the table narrowed to the SKUs matching {@code match}. Those are bounded
+     * by the search's candidate limit, so the rows are listed whatever the
+     * group's size.
+     */
+    @GetMapping(value = "/product/{slug}", params = "match")
+    public String productGroupMatching(
+            @PathVariable String slug,
+            @RequestParam String match,
+            HttpServletRequest request,
+            Model model) {
+
+        var group = productApi.findProductGroupBySlug(slug)
+                .orElseThrow(() -> new ProductGroupNotFoundException(slug));
+        var skuIds = searchApi.findMatchingVariantIds(group.id(), match);
+        if (skuIds.isEmpty()) return "redirect:/catalog/product/" + slug;
+
+        var loader = catalogLoaders.current();
+        try (var page = pageAssembler.open()) {
+            var columns = page.fork(() -> columnsOf(loader, group));
+            var breadcrumb = page.fork(() -> categoryApi.findBreadcrumb(group.categoryPath()));
+            var rows = page.fork(() -> productApi.findVariantTable(group.id(), skuIds));
+            var facets = page.fork(() -> productApi.findFacetCounts(group.id(), skuIds));
+            page.join();
+
+            model.addAttribute("group", group);
+            model.addAttribute("columns", columns.get());
+            model.addAttribute("breadcrumb", breadcrumb.get());
+            model.addAttribute("itemCount", rows.get().size());
+            model.addAttribute("skuRows", rows.get());
+            model.addAttribute("facets", facets.get());
+            model.addAttribute("matchQuery", match);
+        }
+        return HtmxResponse.isHtmxRequest(request) ? "catalog/product/content" : "catalog/product/page";
     }
 
     @GetMapping("/product/{slug}/filter")
     public String filterProductGroup(
             @PathVariable String slug,
             @RequestParam Map<String, String> allParams,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(name = PAGE_SIZE, required = false) Integer requestedPageSize,
+            HttpServletResponse response,
             Model model) {
 
         var group = productApi.findProductGroupBySlug(slug)
                 .orElseThrow(() -> new ProductGroupNotFoundException(slug));
 
-        var columns = productApi.findColumnConfig(group.id());
-
         var parsed = FilterParamParser.parse(allParams);
         var enumFilters = parsed.enumFilters();
         var rangeFilters = parsed.rangeFilters();
 
-        var matchingSkuIds = productApi.findMatchingSkuIds(group.id(), enumFilters, rangeFilters);
-        var skuRows = productApi.findVariantTable(group.id(), matchingSkuIds);
-        var facets = productApi.findFacetCounts(group.id(), matchingSkuIds);
-
+        var loader = catalogLoaders.current();
         model.addAttribute("group", group);
-        model.addAttribute("columns", columns);
-        model.addAttribute("skuRows", skuRows);
-        model.addAttribute("facets", facets);
         model.addAttribute("activeFilters", allParams);
+        int rowsPerPage = rowsPerPage(requestedPageSize);
+
+        if (rowsPerPage > 0) {
+            try (var page = pageAssembler.open()) {
+                var columns = page.fork(() -> columnsOf(loader, group));
+                var table = page.fork(() -> tablePage(group, enumFilters, rangeFilters,
+                        SliceRequest.withCursor(rowsPerPage, null, cursor)));
+                page.join();
+                model.addAttribute("columns", columns.get());
+                addTablePage(model, slug, allParams, table.get());
+            }
+            model.addAttribute("enumFilters", enumFilters);
+            model.addAttribute("rangeFilters", rangeFilters);
+            // A cursor means the scroll sentinel asked for more rows, not a new filter
+            return cursor != null ? "catalog/product/variant-rows" : "catalog/product/filtered";
+        }
+
+        if (outsideColumnarStore(group)) {
+            if (cursor != null) {
+                model.addAttribute("columns", columnsOf(loader, group));
+                return stream("catalog/product/variant-rows", group, enumFilters, rangeFilters, cursor, allParams,
+                        model, response);
+            }
+            try (var page = pageAssembler.open()) {
+                var columns = page.fork(() -> columnsOf(loader, group));
+                var facets = page.fork(() -> productApi.findFacetCounts(group.id(), enumFilters, rangeFilters));
+                page.join();
+                model.addAttribute("columns", columns.get());
+                model.addAttribute("facets", facets.get());
+            }
+            model.addAttribute("enumFilters", enumFilters);
+            model.addAttribute("rangeFilters", rangeFilters);
+            return stream("catalog/product/filtered", group, enumFilters, rangeFilters, null, allParams,
+                    model, response);
+        }
+
+        try (var page = pageAssembler.open()) {
+            var columns = page.fork(() -> columnsOf(loader, group));
+            // Matches, rows and facet counts in one pass over the group's columnar snapshot
+            var table = page.fork(() -> productApi.filterVariantTable(group.id(), enumFilters, rangeFilters));
+            page.join();
+
+            model.addAttribute("columns", columns.get());
+            model.addAttribute("itemCount", table.get().rows().size());
+            model.addAttribute("skuRows", table.get().rows());
+            model.addAttribute("facets", table.get().facets());
+        }
+        model.addAttribute("enumFilters", enumFilters);
+        model.addAttribute("rangeFilters", rangeFilters);
 
         return "catalog/product/filtered";
     }
 
+    /** Through the request's loader, so fragments rendered in the same request reuse it. */
+    private static List<ColumnConfig> columnsOf(CatalogLoader loader, ProductGroupDetail group) {
+        return loader.columns(group.id()).get().orElse(List.of());
+    }
+
+    // ─── Paging ─────────────────────────────────────────────────────────────
+
+    /**
+     * Rows per keyset page: the client's {@code page-size}, else the
+     * configured one. 0 asks for the whole table — listed, or streamed for
+     * groups outside the columnar store.
+     */
+    private int rowsPerPage(Integer requestedPageSize) {
+        return requestedPageSize != null && requestedPageSize >= 0 ? requestedPageSize : pageSize;
+    }
+
+    private static Map<String, String> pageSizeParam(Integer requestedPageSize) {
+        return requestedPageSize == null ? Map.of() : Map.of(PAGE_SIZE, requestedPageSize.toString());
+    }
+
+    /**
+     * Groups up to the stream threshold page through their columnar snapshot;
+     * larger ones stay out of it and seek each page in SQL.
+     */
+    private VariantTablePage tablePage(ProductGroupDetail group,
+                                       Map<Integer, List<Integer>> enumFilters,
+                                       Map<Integer, NumericRange> rangeFilters,
+                                       SliceRequest request) {
+        return outsideColumnarStore(group)
+                ? productApi.findVariantSlice(group.id(), enumFilters, rangeFilters, request)
+                : productApi.findVariantTablePage(group.id(), enumFilters, rangeFilters, request);
+    }
+
+    private static void addTablePage(Model model, String slug, Map<String, String> params, VariantTablePage table) {
+        model.addAttribute("itemCount", table.matchCount());
+        model.addAttribute("skuRows", table.rows().items());
+        model.addAttribute("facets", table.facets());
+        model.addAttribute("nextPageUrl", table.rows().nextCursor()
+                .map(next -> nextPageUrl(slug, params, next))
+                .orElse(null));
+    }
+
+    /** Same filters and page size, continuing after the cursor — what the table's scroll sentinel loads. */
+    private static String nextPageUrl(String slug, Map<String, String> params, String cursor) {
+        var builder = ServletUriComponentsBuilder
+                .fromCurrentContextPath()
+                .path("/catalog/product/{slug}/filter");
+
+        params.entrySet().stream()
+                .filter(e -> e.getKey().startsWith("enum_") || e.getKey().startsWith("range_")
+                        || e.getKey().equals(PAGE_SIZE))
+                .forEach(e -> builder.queryParam(e.getKey(), e.getValue()));
+
+        return builder.queryParam("cursor", cursor).buildAndExpand(slug).encode().toUriString();
+    }
+
+    /**
+     * Groups above the threshold are kept out of the columnar store, which
+     * would hold all their rows: they page in SQL, and stream when the whole
+     * table is asked for.
+     */
+    private boolean outsideColumnarStore(ProductGroupDetail group) {
+        return group.skuCount() > streamThreshold;
+    }
+
+    // ─── Streaming ───────────────────────────────────────────────────────────
+
+    /**
+     * Writes the view while the rows are read, so memory stays flat in the group
+     * size. Each call is bounded by the repository's stream-max-rows; past it the
+     * rows end in the scroll sentinel, continuing in another streamed request.
+     * Returns null: the response has already been written.
+     */
+    private String stream(String view, ProductGroupDetail group,
+                          Map<Integer, List<Integer>> enumFilters,
+                          Map<Integer, NumericRange> rangeFilters,
+                          String cursor, Map<String, String> params,
+                          Model model, HttpServletResponse response) {
+        productApi.streamVariantTable(group.id(), enumFilters, rangeFilters, cursor, (rowCount, rows, nextCursor) -> {
+            model.addAttribute("itemCount", rowCount);
+            model.addAttribute("skuRows", rows);
+            model.addAttribute("nextPageUrl", nextCursor == null ? null : nextPageUrl(group.slug(), params, nextCursor));
+            streamingTemplates.render(view, model, response);
+        });
+        return null;
+    }
+
     @ResponseStatus(HttpStatus.NOT_FOUND)
     static class ProductGroupNotFoundException extends RuntimeException {
         ProductGroupNotFoundException(String slug) {
@@ -0,0 +1,64 @@
+package com.storefront.catalog.interfaces;
+
+import com.storefront.catalog.ProductApi;
+import com.storefront.shared.web.HtmxResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+@Controller
+@RequestMapping("/catalog")
+class QuickOrderController {
+
+    /** One part number per token — newlines, tabs, commas and semicolons as pasted from a spreadsheet. */
+    private static final Pattern SEPARATORS = Pattern.compile("[\\s,;]+");
+
+    private final ProductApi productApi;
+    private final int maxPartNumbers;
+
+    QuickOrderController(ProductApi productApi,
+                         @Value("${storefront.catalog.quick-order.max-part-numbers:1000}") int maxPartNumbers) {
+        this.productApi = productApi;
+        this.maxPartNumbers = maxPartNumbers;
+    }
+
+    @GetMapping("/quick-order")
+    public String quickOrder(HttpServletRequest request) {
+        return HtmxResponse.isHtmxRequest(request)
+                ? "catalog/quick-order/content"
+                : "catalog/quick-order/page";
+    }
+
+    @PostMapping("/quick-order")
+    public String resolve(@RequestParam(defaultValue = "") String partNumbers, Model model) {
+        var requested = parse(partNumbers);
+        if (requested.size() > maxPartNumbers) {
+            throw new TooManyPartNumbersException(requested.size(), maxPartNumbers);
+        }
+
+        var resolution = productApi.resolvePartNumbers(requested);
+        model.addAttribute("found", resolution.found());
+        model.addAttribute("unknown", resolution.unknown());
+        return "catalog/quick-order/result";
+    }
+
+    static List<String> parse(String pasted) {
+        return Arrays.stream(SEPARATORS.split(pasted.strip()))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    static class TooManyPartNumbersException extends RuntimeException {
+        TooManyPartNumbersException(int count, int max) {
+            super("Quick order accepts at most " + max + " part numbers, got " + count);
+        }
+    }
+}
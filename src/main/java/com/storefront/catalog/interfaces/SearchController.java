@@ -5,6 +5,7 @@ import com.storefront.catalog.SearchApi;
 import com.storefront.shared.PageRequest;
 import com.storefront.shared.Pagination;
 import com.storefront.shared.web.HtmxResponse;
+import com.storefront.shared.web.TemplateHelpers;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -14,12 +15,16 @@ import org.springframework.web.bind.annotation.*;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 @Controller
 @RequestMapping("/catalog")
 @RequiredArgsConstructor
 class SearchController {
 
+    /** Groups listed under "Matching parts" above the results. */
+    private static final int VARIANT_MATCH_GROUPS = 6;
+
     private final SearchApi searchApi;
 
     @GetMapping("/search/dropdown")
@@ -59,9 +64,16 @@ class SearchController {
         var results = q.isBlank()
                 ? Pagination.<ProductApi.ProductGroupSummary>empty(pageRequest)
                 : searchApi.search(q, pageRequest);
+        // Part numbers and spec values, on the first page only
+        var variantMatches = q.isBlank() || page > 0
+                ? List.<SearchApi.VariantMatch>of()
+                : searchApi.searchVariants(q, VARIANT_MATCH_GROUPS);
 
         model.addAttribute("results", results.items());
+        model.addAttribute("variantMatches", variantMatches);
         model.addAttribute("totalItems", results.totalItems());
+        model.addAttribute("totalLabel", TemplateHelpers.formatTotal(results));
+        model.addAttribute("totalExact", results.isTotalExact());
         model.addAttribute("totalPages", results.totalPages());
         model.addAttribute("currentPage", results.page());
         model.addAttribute("hasNext", results.hasNext());
@@ -0,0 +1,100 @@
+package com.storefront.config;
+
+import com.storefront.shared.Coalesced;
+import com.storefront.shared.SingleFlight;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Single-flight for {@link Coalesced} methods
+ * ═══════════════════════════════════════════
+ * <p>
+ * When a hot page's cache entry expires, every request in that instant
+ * misses together and runs the same query. This advisor puts a
+ * {@link SingleFlight} per method in front of the catalog read APIs: calls
+ * with equal arguments that overlap in time share one execution.
+ * <p>
+ * Ordered outermost, ahead of the transaction and cache advisors, so a
+ * waiting caller holds no connection and the leader still gets the cache
+ * hit if one is there.
+ * <p>
+ * Metrics: {@code catalog.single_flight.calls}, tagged {@code method} and
+ * {@code role} = {@code leader} | {@code coalesced}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "storefront.catalog.single-flight", name = "enabled", matchIfMissing = true)
+public class SingleFlightConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)   // picked up by the infrastructure auto-proxy creator
+    static Advisor singleFlightAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        var advisor = new DefaultPointcutAdvisor(
+                AnnotationMatchingPointcut.forMethodAnnotation(Coalesced.class),
+                new SingleFlightInterceptor(meterRegistry));
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+
+    static final class SingleFlightInterceptor implements MethodInterceptor {
+
+        private final ObjectProvider<MeterRegistry> meterRegistry;
+        private final ConcurrentHashMap<Method, SingleFlight<List<Object>, Object>> flights = new ConcurrentHashMap<>();
+
+        SingleFlightInterceptor(ObjectProvider<MeterRegistry> meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) {
+            var key = Arrays.asList(invocation.getArguments().clone());
+            return flights.computeIfAbsent(invocation.getMethod(), this::register)
+                    .execute(key, () -> proceed(invocation));
+        }
+
+        /** The registry is looked up lazily: advisors are created before most beans. */
+        private SingleFlight<List<Object>, Object> register(Method method) {
+            var flight = new SingleFlight<List<Object>, Object>();
+            var registry = meterRegistry.getIfAvailable();
+            if (registry != null) {
+                String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+                FunctionCounter.builder("catalog.single_flight.calls", flight, SingleFlight::leaderCount)
+                        .description("Coalesced-method calls that ran the method")
+                        .tags("method", name, "role", "leader")
+                        .register(registry);
+                FunctionCounter.builder("catalog.single_flight.calls", flight, SingleFlight::coalescedCount)
+                        .description("Coalesced-method calls answered by a concurrent call")
+                        .tags("method", name, "role", "coalesced")
+                        .register(registry);
+            }
+            return flight;
+        }
+
+        private static Object proceed(MethodInvocation invocation) {
+            try {
+                return invocation.proceed();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new UndeclaredThrowableException(t);
+            }
+        }
+    }
+}
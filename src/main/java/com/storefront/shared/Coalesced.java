@@ -0,0 +1,22 @@
+package com.storefront.shared;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read method whose concurrent calls with equal arguments may share
+ * one execution — see {@link SingleFlight}.
+ *
+ * Only for methods whose result depends on nothing but their arguments and
+ * is not mutated by callers. Arguments are compared with {@code equals}, so
+ * records, strings, boxed numbers and collections coalesce; arrays and other
+ * identity-equal arguments still work but never share a flight.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Coalesced {
+}
@@ -10,9 +10,11 @@ import java.util.function.Function;
  * Use when the UI needs to show a total count or jump to arbitrary pages
  * (e.g. "Page 3 of 47", numbered pagination controls).
  *
- * Cost: requires a COUNT(*) query alongside the data query.
+ * Cost: requires a count alongside the data query.
  * For large tables this can be expensive — prefer {@link Slice} when
- * you only need next/prev navigation (infinite scroll, "load more").
+ * you only need next/prev navigation (infinite scroll, "load more"),
+ * or report the total as a {@link TotalAccuracy#LOWER_BOUND} ("1,000+")
+ * or an {@link TotalAccuracy#ESTIMATE} when an exact count is not worth it.
  *
  * <pre>{@code
  * // Building from a jOOQ query result
@@ -49,19 +51,49 @@ public record Pagination<T>(
         boolean hasPrevious,
 
         /** Whether there is a page after this one. */
-        boolean hasNext
+        boolean hasNext,
+
+        /** How far {@code totalItems} can be trusted. */
+        TotalAccuracy totalAccuracy
 
 ) {
 
+    public enum TotalAccuracy {
+        /** {@code totalItems} is the exact count. */
+        EXACT,
+        /** There are at least {@code totalItems} — counting stopped at a cap. */
+        LOWER_BOUND,
+        /** {@code totalItems} is an estimate (e.g. from planner statistics). */
+        ESTIMATE
+    }
+
+    public Pagination {
+        totalAccuracy = totalAccuracy == null ? TotalAccuracy.EXACT : totalAccuracy;   // entries cached before the field existed
+    }
+
     // ─── Factory methods ───────────────────────────────────────────────────────
 
     /**
      * Construct a Pagination from items, a total count, and a {@link PageRequest}.
      */
     public static <T> Pagination<T> of(List<T> items, int totalItems, PageRequest request) {
+        return of(items, totalItems, request, TotalAccuracy.EXACT);
+    }
+
+    /**
+     * Construct a Pagination whose total may be capped or estimated. Unless
+     * the total is exact, whether another page exists is judged from this
+     * page being full, not from the total: a capped count says nothing about
+     * the rows past the cap, and an estimate may be short.
+     */
+    public static <T> Pagination<T> of(List<T> items, int totalItems, PageRequest request,
+                                       TotalAccuracy totalAccuracy) {
         int totalPages = request.pageSize() == 0
                 ? 1
                 : (int) Math.ceil((double) totalItems / request.pageSize());
+        boolean hasNext = totalAccuracy == TotalAccuracy.EXACT
+                ? request.page() < totalPages - 1
+                : items.size() == request.pageSize();
 
         return new Pagination<>(
                 items,
@@ -70,7 +102,8 @@ public record Pagination<T>(
                 request.pageSize(),
                 totalPages,
                 request.page() > 0,
-                request.page() < totalPages - 1
+                hasNext,
+                totalAccuracy
         );
     }
 
@@ -78,7 +111,8 @@ public record Pagination<T>(
      * Construct an empty Pagination (zero results).
      */
     public static <T> Pagination<T> empty(PageRequest request) {
-        return new Pagination<>(List.of(), 0, request.page(), request.pageSize(), 0, false, false);
+        return new Pagination<>(List.of(), 0, request.page(), request.pageSize(), 0, false, false,
+                TotalAccuracy.EXACT);
     }
 
     // ─── Derived helpers ───────────────────────────────────────────────────────
@@ -93,6 +127,11 @@ public record Pagination<T>(
         return items.isEmpty();
     }
 
+    /** Whether {@code totalItems} is an exact count. */
+    public boolean isTotalExact() {
+        return totalAccuracy == TotalAccuracy.EXACT;
+    }
+
     /** Number of items on this specific page (may be less than pageSize on last page). */
     public int itemCount() {
         return items.size();
@@ -115,7 +154,8 @@ public record Pagination<T>(
                 pageSize,
                 totalPages,
                 hasPrevious,
-                hasNext
+                hasNext,
+                totalAccuracy
         );
     }
 }
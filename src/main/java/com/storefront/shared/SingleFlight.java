@@ -0,0 +1,125 @@
+package com.storefront.shared;
+
+import java.io.InterruptedIOException;
+import java.nio.channels.ClosedByInterruptException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * SingleFlight — shares one in-flight computation among concurrent callers with the same key.
+ * ═══════════════════════════════════════════════════════════════════════════════════════════
+ *
+ * The first caller for a key (the leader) runs the computation on its own
+ * thread; callers arriving with the same key while it runs wait for it and
+ * get the same result — or the same exception. Nothing is kept afterwards:
+ * once the flight lands, the next caller starts a new one, so a failure
+ * reaches only the callers that were waiting on that one call.
+ *
+ * <pre>{@code
+ * flights.execute("browse:/fasteners/bolts", () -> repository.browse(...));
+ * }</pre>
+ *
+ * Waiting is interruptible: a waiter whose thread is interrupted stops
+ * waiting and throws {@link CancellationException}, leaving the flight to
+ * the others. A leader that fails because it was itself interrupted or
+ * cancelled says nothing about the call, so its waiters don't inherit that
+ * failure — they race again and one of them leads a new flight.
+ *
+ * This is a stampede guard, not a cache: it closes the window in which many
+ * threads miss a cache entry together and all run the query that fills it.
+ * Waiters share the leader's result object, so it must not be mutated.
+ *
+ * Shaped after Go's {@code singleflight.Group}.
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public V execute(K key, Supplier<? extends V> computation) {
+        while (true) {
+            var flight = new CompletableFuture<V>();
+            var existing = inFlight.putIfAbsent(key, flight);
+            if (existing == null) {
+                return lead(key, flight, computation);
+            }
+            coalesced.increment();
+            try {
+                return await(existing);
+            } catch (LeaderAbandoned e) {
+                // The leader was interrupted or cancelled; race for the key again
+            }
+        }
+    }
+
+    private V lead(K key, CompletableFuture<V> flight, Supplier<? extends V> computation) {
+        leaders.increment();
+        try {
+            V value = computation.get();
+            flight.complete(value);
+            return value;
+        } catch (Throwable t) {
+            flight.completeExceptionally(abandoned(t) ? LeaderAbandoned.INSTANCE : t);
+            throw t;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /** Calls that ran their computation. */
+    public long leaderCount() {
+        return leaders.sum();
+    }
+
+    /** Calls that were answered by another caller's computation. */
+    public long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    /** Keys with a computation running now. */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private static <V> V await(CompletableFuture<V> flight) {
+        try {
+            return flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a concurrent call");
+        } catch (ExecutionException e) {
+            // Rethrow what the leader saw, not the future's wrapper
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    /** Whether a leader's failure came from its own thread being interrupted or its call cancelled. */
+    private static boolean abandoned(Throwable failure) {
+        if (Thread.currentThread().isInterrupted()) return true;
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof InterruptedException || t instanceof InterruptedIOException
+                    || t instanceof ClosedByInterruptException || t instanceof CancellationException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Completes a flight whose leader gave up; its waiters retry instead of failing. */
+    private static final class LeaderAbandoned extends RuntimeException {
+
+        static final LeaderAbandoned INSTANCE = new LeaderAbandoned();
+
+        private LeaderAbandoned() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.storefront.shared.web;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * BatchLoader — deduplicates and batches key lookups of one kind for one request.
+ * ═══════════════════════════════════════════════════════════════════════════════
+ *
+ * {@link #load} only queues a key and hands back a {@link Handle}; nothing is
+ * fetched until {@link #dispatch} runs, or until the first handle is read.
+ * Either way, every key queued so far goes to the batch function in one call,
+ * and each key is fetched at most once per loader — a key already loaded is
+ * answered from memory.
+ *
+ * <pre>{@code
+ * var a = categories.load("hex-bolts");   // queued
+ * var b = categories.load("washers");     // queued
+ * a.get();                                // one batch call for both
+ * categories.load("hex-bolts").get();     // no call: already loaded
+ * }</pre>
+ *
+ * Safe to share with {@link PageAssembly} forks. The lock only guards the
+ * bookkeeping; the batch call runs outside it, so forks reading other keys
+ * are never held up by a slow batch. A fork asking for a key that is being
+ * fetched waits for that fetch instead of issuing its own, and sees its
+ * failure if it fails. The lock is a {@link ReentrantLock}, not
+ * {@code synchronized}, so a waiting virtual thread does not pin its carrier.
+ *
+ * Shaped after the DataLoader pattern (GraphQL), minus the event-loop tick:
+ * the render phase boundary is an explicit dispatch or the first read.
+ */
+public final class BatchLoader<K, V> {
+
+    /** Deferred result of {@link #load}; reading it dispatches if still queued. */
+    public interface Handle<V> {
+        Optional<V> get();
+    }
+
+    private final Function<Set<K>, Map<K, V>> batch;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<K> pending = new LinkedHashSet<>();
+    private final Map<K, V> loaded = new HashMap<>();
+    private final Map<K, CompletableFuture<Void>> inFlight = new HashMap<>();
+    private int batches;
+
+    /**
+     * @param batch fetches many keys in one call; keys absent from its result
+     *              have no value and are not asked for again
+     */
+    public BatchLoader(Function<Set<K>, Map<K, V>> batch) {
+        this.batch = batch;
+    }
+
+    // ─── Queue / dispatch ─────────────────────────────────────────────────────
+
+    public Handle<V> load(K key) {
+        lock.lock();
+        try {
+            if (!loaded.containsKey(key) && !inFlight.containsKey(key)) pending.add(key);
+        } finally {
+            lock.unlock();
+        }
+        return () -> get(key);
+    }
+
+    public void loadAll(Collection<? extends K> keys) {
+        keys.forEach(this::load);
+    }
+
+    /**
+     * Fetches every queued key in one batch call, on the calling thread and
+     * without holding the lock; a no-op when nothing is queued. A failed
+     * batch leaves its keys unloaded, so a later read asks again.
+     */
+    public void dispatch() {
+        Set<K> keys;
+        var flight = new CompletableFuture<Void>();
+        lock.lock();
+        try {
+            if (pending.isEmpty()) return;
+            keys = new LinkedHashSet<>(pending);
+            pending.clear();
+            for (K key : keys) inFlight.put(key, flight);
+            batches++;
+        } finally {
+            lock.unlock();
+        }
+
+        Map<K, V> values;
+        try {
+            values = batch.apply(keys);
+        } catch (RuntimeException | Error e) {
+            land(keys, null);
+            flight.completeExceptionally(e);
+            throw e;
+        }
+        land(keys, values);
+        flight.complete(null);
+    }
+
+    /** Moves a batch's keys from in flight to loaded — or back to unknown when it failed. */
+    private void land(Set<K> keys, Map<K, V> values) {
+        lock.lock();
+        try {
+            for (K key : keys) {
+                inFlight.remove(key);
+                if (values != null) loaded.put(key, values.get(key));   // null = known to be absent
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ─── Reads ────────────────────────────────────────────────────────────────
+
+    public Optional<V> get(K key) {
+        awaitLoaded(List.of(key));
+        lock.lock();
+        try {
+            return Optional.ofNullable(loaded.get(key));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Values of the keys that have one, in key order — at most one batch call. */
+    public Map<K, V> getAll(Collection<? extends K> keys) {
+        awaitLoaded(keys);
+        lock.lock();
+        try {
+            Map<K, V> result = new LinkedHashMap<>();
+            for (K key : keys) {
+                V value = loaded.get(key);
+                if (value != null) result.put(key, value);
+            }
+            return result;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Dispatches the keys nobody is fetching and waits for the ones in flight.
+     * Loops because another thread's dispatch may pick up a key queued here.
+     */
+    private void awaitLoaded(Collection<? extends K> keys) {
+        while (true) {
+            boolean queued = false;
+            CompletableFuture<Void> flight = null;
+            lock.lock();
+            try {
+                for (K key : keys) {
+                    if (loaded.containsKey(key)) continue;
+                    var fetching = inFlight.get(key);
+                    if (fetching != null) {
+                        flight = fetching;
+                    } else {
+                        pending.add(key);
+                        queued = true;
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            if (queued) {
+                dispatch();
+            } else if (flight != null) {
+                await(flight);
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static void await(CompletableFuture<Void> flight) {
+        try {
+            flight.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for a batch");
+        } catch (ExecutionException e) {
+            // Rethrow what the dispatching thread saw, not the future's wrapper
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw new CompletionException(e.getCause());
+        }
+    }
+
+    /** Batch calls made so far — for tests and debug logging. */
+    public int batchCount() {
+        lock.lock();
+        try {
+            return batches;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.storefront.shared.web;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Opens a {@link PageAssembly} per request with the configured deadline
+ * ({@code storefront.web.page-assembly.deadline}).
+ */
+@Component
+public class PageAssembler {
+
+    private final Duration deadline;
+
+    PageAssembler(@Value("${storefront.web.page-assembly.deadline:PT5S}") Duration deadline) {
+        this.deadline = deadline;
+    }
+
+    public PageAssembly open() {
+        return new PageAssembly(deadline);
+    }
+}
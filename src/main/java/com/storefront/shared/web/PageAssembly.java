@@ -0,0 +1,150 @@
+package com.storefront.shared.web;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * PageAssembly — runs the independent lookups behind one page concurrently.
+ * ═══════════════════════════════════════════════════════════════════════════
+ *
+ * Each {@link #fork} starts a virtual thread; {@link #join} waits for all of
+ * them against a deadline shared by the whole page. The first failure cancels
+ * (interrupts) the remaining forks and is rethrown unchanged from join, so a
+ * 404 raised inside a fork still maps to a 404. Page latency becomes the
+ * slowest lookup instead of the sum.
+ *
+ * <pre>{@code
+ * try (var page = pageAssembler.open()) {
+ *     var columns    = page.fork(() -> productApi.findColumnConfig(id));
+ *     var breadcrumb = page.fork(() -> categoryApi.findBreadcrumb(path));
+ *     page.join();
+ *     model.addAttribute("columns", columns.get());
+ *     ...
+ * }
+ * }</pre>
+ *
+ * Forks run on their own threads, outside any transaction of the caller.
+ * That is what keeps replica routing intact: a catalog API method either
+ * opens its own {@code @Transactional(readOnly = true)} on the fork thread,
+ * or — like the columnar variant-table reads — answers from memory with no
+ * transaction at all, its loads opening their own on {@code readOnlyDsl}.
+ * Either way every query goes to the replica. Only call such read-only API
+ * methods from a fork.
+ *
+ * Shaped after {@code StructuredTaskScope.ShutdownOnFailure}, which is still
+ * a preview API on Java 21.
+ */
+public final class PageAssembly implements AutoCloseable {
+
+    /** Handle to a forked lookup; {@link #get()} is valid after a successful join. */
+    public interface Part<T> {
+        T get();
+    }
+
+    /** How long {@link #close} waits for cancelled forks to stop. */
+    static final Duration CLOSE_GRACE = Duration.ofMillis(500);
+
+    private final ThreadFactory threads = Thread.ofVirtual().name("page-fork-", 0).factory();
+    private final List<Future<?>> forks = new CopyOnWriteArrayList<>();
+    private final List<Thread> forkThreads = new CopyOnWriteArrayList<>();
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final long deadlineNanos;
+    private final Duration timeout;
+
+    PageAssembly(Duration timeout) {
+        this.timeout = timeout;
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+    }
+
+    // ─── Fork / join ──────────────────────────────────────────────────────────
+
+    public <T> Part<T> fork(Supplier<T> lookup) {
+        var future = new FutureTask<T>(() -> {
+            try {
+                return lookup.get();
+            } catch (Throwable t) {
+                fail(t);
+                throw t;
+            }
+        });
+        // Own threads rather than an executor's: a thread-per-task executor counts a
+        // cancelled task as finished while its thread still runs, so it cannot be waited for
+        Thread thread = threads.newThread(future);
+        forkThreads.add(thread);
+        thread.start();
+        forks.add(future);
+        if (failure.get() != null) future.cancel(true);   // forked after a sibling already failed
+        return future::resultNow;
+    }
+
+    /**
+     * Wait for every fork. Rethrows the first fork failure, or throws
+     * {@link PageAssemblyTimeoutException} once the shared deadline passes.
+     */
+    public void join() {
+        for (Future<?> fork : forks) {
+            try {
+                fork.get(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (ExecutionException | CancellationException e) {
+                cancelAll();
+                throw rethrowable(failure.get() != null ? failure.get() : e);
+            } catch (TimeoutException e) {
+                cancelAll();
+                throw new PageAssemblyTimeoutException(timeout);
+            } catch (InterruptedException e) {
+                cancelAll();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while assembling page", e);
+            }
+        }
+    }
+
+    /**
+     * Cancels anything still running and waits up to {@link #CLOSE_GRACE} for
+     * it to stop. A fork that ignores the interrupt past that — one blocked in
+     * a socket read, say — finishes on its own after the request, its result
+     * discarded.
+     */
+    @Override
+    public void close() {
+        cancelAll();
+        long graceEnd = System.nanoTime() + CLOSE_GRACE.toNanos();
+        try {
+            for (Thread thread : forkThreads) {
+                thread.join(Duration.ofNanos(Math.max(0, graceEnd - System.nanoTime())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ─── Internals ────────────────────────────────────────────────────────────
+
+    private void fail(Throwable t) {
+        if (failure.compareAndSet(null, t)) {
+            cancelAll();
+        }
+    }
+
+    private static RuntimeException rethrowable(Throwable t) {
+        if (t instanceof RuntimeException e) return e;
+        if (t instanceof Error e) throw e;
+        return new IllegalStateException(t);
+    }
+
+    private void cancelAll() {
+        for (Future<?> fork : forks) {
+            fork.cancel(true);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.storefront.shared.web;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+/** A page's lookups did not all finish within the shared deadline. */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PageAssemblyTimeoutException extends RuntimeException {
+
+    PageAssemblyTimeoutException(Duration timeout) {
+        super("Page assembly exceeded its " + timeout.toMillis() + " ms deadline");
+    }
+}
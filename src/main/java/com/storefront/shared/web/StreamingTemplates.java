@@ -0,0 +1,48 @@
+package com.storefront.shared.web;
+
+import gg.jte.TemplateEngine;
+import gg.jte.output.WriterOutput;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.ui.Model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Renders a JTE view straight into the servlet response.
+ * ═══════════════════════════════════════════════════════════════════════════
+ *
+ * The regular view resolver renders into a buffer, then writes it with a
+ * Content-Length. Here the output goes to the response writer as it is
+ * produced. Whenever the servlet buffer fills, the container flushes it as
+ * an HTTP chunk, so a template iterating a lazy {@code Iterable} holds only
+ * one buffer's worth of HTML at a time.
+ *
+ * The controller must return {@code null} after calling {@link #render} —
+ * the response has been written.
+ */
+@Component
+public class StreamingTemplates {
+
+    private final TemplateEngine templateEngine;
+
+    StreamingTemplates(TemplateEngine templateEngine) {
+        this.templateEngine = templateEngine;
+    }
+
+    /** @param view view name as a controller would return it, e.g. "catalog/product/page" */
+    public void render(String view, Model model, HttpServletResponse response) {
+        response.setContentType(MediaType.TEXT_HTML_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        try {
+            var writer = response.getWriter();
+            templateEngine.render(view + ".jte", model.asMap(), new WriterOutput(writer));
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
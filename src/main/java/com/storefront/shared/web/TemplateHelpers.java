@@ -1,9 +1,12 @@
 package com.storefront.shared.web;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.storefront.shared.Pagination;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.text.NumberFormat;
 import java.util.Locale;
 
@@ -31,6 +34,29 @@ public final class TemplateHelpers {
         return NumberFormat.getCurrencyInstance(Locale.US).format(amount);
     }
 
+    /**
+     * Format a page's total for display, marking totals that are not exact.
+     * Examples: "1,234", "1,000+", "about 12,000"
+     */
+    public static String formatTotal(Pagination<?> page) {
+        var format = NumberFormat.getIntegerInstance(Locale.US);
+        return switch (page.totalAccuracy()) {
+            case EXACT -> format.format(page.totalItems());
+            case LOWER_BOUND -> format.format(page.totalItems()) + "+";
+            // Two significant digits — the estimate is not better than that
+            case ESTIMATE -> "about " + format.format(
+                    new BigDecimal(page.totalItems()).round(new MathContext(2)));
+        };
+    }
+
+    /**
+     * Encode text for a URL query parameter value.
+     * Example: "#10-32 x 1" → "%2310-32+x+1"
+     */
+    public static String urlEncode(String value) {
+        return value == null ? "" : URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
     /**
      * Check if a string is null or empty.
      */
@@ -65,22 +91,4 @@ public final class TemplateHelpers {
     public static String classIf(boolean condition, String ifTrue, String ifFalse) {
         return condition ? ifTrue : ifFalse;
     }
-
-    private static final ObjectMapper MAPPER = new ObjectMapper();
-
-    /**
-     * Extract a value from a JSON specs string by key.
-     * Returns empty string on null input or missing key.
-     */
-    public static String getSpec(String specsJson, String key) {
-        if (specsJson == null || specsJson.isBlank()) return "";
-        try {
-            var node = MAPPER.readTree(specsJson);
-            var val = node.get(key);
-            return val != null ? val.asText() : "";
-        } catch (Exception e) {
-            return "";
-        }
-    }
 }
-
@@ -0,0 +1,73 @@
+-- ════════════════════════════════════════════════════════════════════════════
+-- V11__catalog_change_versions.sql
+-- Per-table change counters for the catalog read model. In-JVM indexes poll
+-- this table (one tiny primary-key scan) and rebuild from the replica when a
+-- counter they depend on has moved.
+-- ════════════════════════════════════════════════════════════════════════════
+
+CREATE TABLE catalog_change_versions (
+    table_name  VARCHAR(63) PRIMARY KEY,
+    version     BIGINT NOT NULL DEFAULT 0,
+    changed_at  TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+INSERT INTO catalog_change_versions (table_name) VALUES
+    ('categories'),
+    ('attribute_definitions'),
+    ('attribute_options'),
+    ('product_groups'),
+    ('product_group_columns'),
+    ('skus'),
+    ('sku_attributes'),
+    ('sku_price_tiers'),
+    ('sku_facet_index');
+
+
+-- ── Statement-level bump ────────────────────────────────────────────────────
+-- One UPDATE per statement, not per row, so bulk imports stay cheap.
+
+CREATE OR REPLACE FUNCTION fn_bump_catalog_version()
+RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    UPDATE catalog_change_versions
+    SET version    = version + 1,
+        changed_at = NOW()
+    WHERE table_name = TG_TABLE_NAME;
+    RETURN NULL;
+END; $$;
+
+CREATE TRIGGER trg_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON categories
+    FOR EACH STATEMENT EXECUTE FUNCTION fn_bump_catalog_version();
+
+CREATE TRIGGER trg_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON attribute_definitions
+    FOR EACH STATEMENT EXECUTE FUNCTION fn_bump_catalog_version();
+
+CREATE TRIGGER trg_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON attribute_options
+    FOR EACH STATEMENT EXECUTE FUNCTION fn_bump_catalog_version();
+
+CREATE TRIGGER trg_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON product_groups
+    FOR EACH STATEMENT EXECUTE FUNCTION fn_bump_catalog_version();
+
+CREATE TRIGGER trg_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON product_group_columns
+    FOR EACH STATEMENT EXECUTE FUNCTION fn_bump_catalog_version();
+
+CREATE TRIGGER trg_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON skus
+    FOR EACH STATEMENT EXECUTE FUNCTION fn_bump_catalog_version();
+
+CREATE TRIGGER trg_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON sku_attributes
+    FOR EACH STATEMENT EXECUTE FUNCTION fn_bump_catalog_version();
+
+CREATE TRIGGER trg_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON sku_price_tiers
+    FOR EACH STATEMENT EXECUTE FUNCTION fn_bump_catalog_version();
+
+CREATE TRIGGER trg_catalog_version
+    AFTER INSERT OR UPDATE OR DELETE OR TRUNCATE ON sku_facet_index
+    FOR EACH STATEMENT EXECUTE FUNCTION fn_bump_catalog_version();
@@ -0,0 +1,176 @@
+-- ════════════════════════════════════════════════════════════════════════════
+-- V12__category_facet_counts.sql
+-- Pre-aggregated facet counts per category (leaf and every ancestor) so that
+-- unfiltered category pages read one index range instead of recounting every
+-- sku_facet_index row under the subtree.
+--
+-- Semantics match the live browse queries:
+--   * a leaf's own rows count all of its SKUs;
+--   * ancestors only aggregate active leaves;
+--   * option_id 0 stands for "no option" (numeric / text values).
+-- ════════════════════════════════════════════════════════════════════════════
+
+CREATE TABLE category_facet_counts (
+    category_id   INT NOT NULL REFERENCES categories(id) ON DELETE CASCADE,
+    attribute_id  INT NOT NULL REFERENCES attribute_definitions(id) ON DELETE CASCADE,
+    option_id     INT NOT NULL DEFAULT 0,
+    sku_count     INT NOT NULL DEFAULT 0,
+    PRIMARY KEY (category_id, attribute_id, option_id)
+);
+
+-- Distinct SKUs per category — facet rows alone cannot answer this
+CREATE TABLE category_sku_counts (
+    category_id   INT PRIMARY KEY REFERENCES categories(id) ON DELETE CASCADE,
+    sku_count     INT NOT NULL DEFAULT 0
+);
+
+
+-- ── Full rebuild ────────────────────────────────────────────────────────────
+-- Used for the backfill below, after category tree changes, and as a
+-- reconciliation job if counts are ever suspected to have drifted.
+
+CREATE OR REPLACE FUNCTION fn_rebuild_category_facet_counts()
+RETURNS VOID LANGUAGE plpgsql AS $$
+BEGIN
+    DELETE FROM category_facet_counts;
+    DELETE FROM category_sku_counts;
+
+    INSERT INTO category_facet_counts (category_id, attribute_id, option_id, sku_count)
+    SELECT t.id, sfi.attribute_id, COALESCE(sfi.option_id, 0), COUNT(*)
+    FROM sku_facet_index sfi
+    JOIN categories l ON l.id = sfi.category_id
+    JOIN categories t ON t.id = l.id OR (l.is_leaf AND l.is_active AND t.path @> l.path)
+    GROUP BY t.id, sfi.attribute_id, COALESCE(sfi.option_id, 0);
+
+    INSERT INTO category_sku_counts (category_id, sku_count)
+    SELECT t.id, COUNT(DISTINCT sfi.sku_id)
+    FROM sku_facet_index sfi
+    JOIN categories l ON l.id = sfi.category_id
+    JOIN categories t ON t.id = l.id OR (l.is_leaf AND l.is_active AND t.path @> l.path)
+    GROUP BY t.id;
+END; $$;
+
+
+-- ── Incremental maintenance ─────────────────────────────────────────────────
+-- Statement-level with transition tables: fn_rebuild_sku_facet_index writes
+-- one row per statement, bulk loads and cascades write many — both are
+-- applied as one grouped delta. A SKU's distinct-count contribution changes
+-- only when its first row enters, or its last row leaves, a category.
+--
+-- Concurrency: every delta lands on one counter row per (ancestor, attribute,
+-- option), and the root category is an ancestor of everything. Concurrent
+-- transactions writing facet rows under a shared ancestor therefore queue on
+-- those counter rows until the first one commits; catalog writes are
+-- serialized in practice. Deltas are applied in key order, so writers wait
+-- rather than deadlock. Bulk loads should write in few large statements,
+-- whose rows fold into a single delta, rather than many small transactions.
+
+CREATE OR REPLACE FUNCTION fn_maintain_category_facet_counts()
+RETURNS TRIGGER LANGUAGE plpgsql AS $$
+DECLARE
+    v_new TEXT := CASE WHEN TG_OP IN ('INSERT', 'UPDATE') THEN 'new_rows'
+                       ELSE '(SELECT * FROM sku_facet_index WHERE FALSE)' END;
+    v_old TEXT := CASE WHEN TG_OP IN ('DELETE', 'UPDATE') THEN 'old_rows'
+                       ELSE '(SELECT * FROM sku_facet_index WHERE FALSE)' END;
+BEGIN
+    -- Updates that leave every counted column as it was (V13's leaf_lft
+    -- renumbering) have no delta; skip the two aggregations outright
+    IF TG_OP = 'UPDATE' AND NOT EXISTS (
+            SELECT sku_id, category_id, attribute_id, option_id FROM new_rows
+            EXCEPT ALL
+            SELECT sku_id, category_id, attribute_id, option_id FROM old_rows) THEN
+        RETURN NULL;
+    END IF;
+
+    EXECUTE format($sql$
+        WITH delta AS (
+            SELECT category_id, attribute_id, COALESCE(option_id, 0) AS option_id, SUM(d) AS d
+            FROM (SELECT category_id, attribute_id, option_id,  1 AS d FROM %1$s n
+                  UNION ALL
+                  SELECT category_id, attribute_id, option_id, -1 AS d FROM %2$s o) x
+            GROUP BY 1, 2, 3
+            HAVING SUM(d) <> 0
+        )
+        INSERT INTO category_facet_counts AS cfc (category_id, attribute_id, option_id, sku_count)
+        SELECT t.id, delta.attribute_id, delta.option_id, SUM(delta.d)
+        FROM delta
+        JOIN categories l ON l.id = delta.category_id
+        JOIN categories t ON t.id = l.id OR (l.is_leaf AND l.is_active AND t.path @> l.path)
+        GROUP BY 1, 2, 3
+        ORDER BY 1, 2, 3
+        ON CONFLICT (category_id, attribute_id, option_id)
+        DO UPDATE SET sku_count = cfc.sku_count + EXCLUDED.sku_count
+    $sql$, v_new, v_old);
+
+    EXECUTE format($sql$
+        WITH pairs AS (
+            SELECT sku_id, category_id FROM %1$s n
+            UNION
+            SELECT sku_id, category_id FROM %2$s o
+        ), delta AS (
+            SELECT p.category_id,
+                   SUM(
+                       EXISTS (SELECT 1 FROM sku_facet_index s
+                               WHERE s.sku_id = p.sku_id AND s.category_id = p.category_id)::INT
+                     - (EXISTS (SELECT 1 FROM %2$s o
+                                WHERE o.sku_id = p.sku_id AND o.category_id = p.category_id)
+                        OR EXISTS (SELECT 1 FROM sku_facet_index s
+                                   WHERE s.sku_id = p.sku_id AND s.category_id = p.category_id
+                                     AND NOT EXISTS (SELECT 1 FROM %1$s n
+                                                     WHERE n.sku_id = s.sku_id
+                                                       AND n.attribute_id = s.attribute_id)))::INT
+                   ) AS d
+            FROM pairs p
+            GROUP BY p.category_id
+        )
+        INSERT INTO category_sku_counts AS csc (category_id, sku_count)
+        SELECT t.id, SUM(delta.d)
+        FROM delta
+        JOIN categories l ON l.id = delta.category_id
+        JOIN categories t ON t.id = l.id OR (l.is_leaf AND l.is_active AND t.path @> l.path)
+        WHERE delta.d <> 0
+        GROUP BY 1
+        ORDER BY 1
+        ON CONFLICT (category_id)
+        DO UPDATE SET sku_count = csc.sku_count + EXCLUDED.sku_count
+    $sql$, v_new, v_old);
+
+    RETURN NULL;
+END; $$;
+
+-- Transition tables allow a single event per trigger
+CREATE TRIGGER trg_category_facet_counts_ins
+    AFTER INSERT ON sku_facet_index
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION fn_maintain_category_facet_counts();
+
+CREATE TRIGGER trg_category_facet_counts_upd
+    AFTER UPDATE ON sku_facet_index
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION fn_maintain_category_facet_counts();
+
+CREATE TRIGGER trg_category_facet_counts_del
+    AFTER DELETE ON sku_facet_index
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION fn_maintain_category_facet_counts();
+
+
+-- ── Category tree changes ───────────────────────────────────────────────────
+-- Activating, moving or deleting a category changes which ancestors a leaf
+-- rolls up into; rare enough that a full rebuild is the simplest correct answer.
+
+CREATE OR REPLACE FUNCTION fn_category_tree_changed()
+RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    PERFORM fn_rebuild_category_facet_counts();
+    RETURN NULL;
+END; $$;
+
+CREATE TRIGGER trg_category_facet_counts_tree
+    AFTER UPDATE OF is_active, is_leaf, path OR DELETE ON categories
+    FOR EACH STATEMENT EXECUTE FUNCTION fn_category_tree_changed();
+
+
+-- ── Backfill ────────────────────────────────────────────────────────────────
+
+SELECT fn_rebuild_category_facet_counts();
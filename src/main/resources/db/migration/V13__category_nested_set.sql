@@ -0,0 +1,204 @@
+-- ════════════════════════════════════════════════════════════════════════════
+-- V13__category_nested_set.sql
+-- Pre-order interval numbering for the category tree, so subtree restriction
+-- is an indexed integer BETWEEN instead of an ltree self-join.
+--
+--   categories.lft        pre-order entry number, gapped (see Numbering)
+--   categories.rgt        exit number, above every number in the subtree —
+--                         descendants of c are exactly the rows with lft
+--                         BETWEEN c.lft AND c.rgt
+--   sku_facet_index.leaf_lft
+--                         lft of the row's category when it is an active
+--                         leaf, NULL otherwise. Matches the subtree rule of
+--                         the browse queries and V12: ancestors only see
+--                         active leaves. Leaf pages keep using category_id.
+-- ════════════════════════════════════════════════════════════════════════════
+
+ALTER TABLE categories      ADD COLUMN lft INT, ADD COLUMN rgt INT;
+ALTER TABLE sku_facet_index ADD COLUMN leaf_lft INT;
+
+
+-- ── Numbering ───────────────────────────────────────────────────────────────
+-- A pre-order walk gives every node an entry and an exit number, spaced a gap
+-- apart: lft is the entry, rgt the exit. The queries only test containment,
+-- so sibling order is not encoded and sort_order edits renumber nothing. The
+-- gap leaves free numbers inside every interval after its last child; a new
+-- or moved subtree is numbered into that space without touching any other
+-- row. Only when a gap is used up is the whole tree renumbered.
+
+-- Whole tree: the backfill, and the fallback when a gap runs out. Only rows
+-- whose numbers actually move are written, and only their leaves' facet rows.
+CREATE OR REPLACE FUNCTION fn_renumber_category_intervals()
+RETURNS VOID LANGUAGE plpgsql AS $$
+DECLARE
+    -- As wide as INT allows for the tree's 2n numbers, at most 2^16
+    v_gap INT := (SELECT LEAST(65536, 2147483647 / (2 * COUNT(*) + 2)) FROM categories);
+BEGIN
+    WITH RECURSIVE walk AS (
+        SELECT id, ARRAY[sort_order::INT, id] AS ord
+        FROM categories
+        WHERE parent_id IS NULL
+        UNION ALL
+        SELECT c.id, w.ord || ARRAY[c.sort_order::INT, c.id]
+        FROM categories c
+        JOIN walk w ON w.id = c.parent_id
+    ), numbered AS (
+        SELECT id, ord, array_length(ord, 1) / 2 - 1 AS depth,
+               (ROW_NUMBER() OVER (ORDER BY ord) - 1)::INT AS rank
+        FROM walk
+    ), descendants AS (
+        -- ord interleaves (sort_order, id) per level; every id in it is an ancestor
+        SELECT n.ord[i] AS id, COUNT(*)::INT AS n
+        FROM numbered n, generate_subscripts(n.ord, 1) AS i
+        WHERE i % 2 = 0 AND n.ord[i] <> n.id
+        GROUP BY n.ord[i]
+    ), intervals AS (
+        -- Entering the node at pre-order rank r and depth d follows r entries
+        -- and r - d exits; leaving it follows its k descendants' entries and exits
+        SELECT n.id,
+               (2 * n.rank - n.depth + 1) * v_gap AS lft,
+               (2 * n.rank + 2 * COALESCE(d.n, 0) - n.depth + 2) * v_gap AS rgt
+        FROM numbered n
+        LEFT JOIN descendants d ON d.id = n.id
+    ), moved AS (
+        UPDATE categories c
+        SET lft = i.lft, rgt = i.rgt
+        FROM intervals i
+        WHERE c.id = i.id
+          AND (c.lft IS DISTINCT FROM i.lft OR c.rgt IS DISTINCT FROM i.rgt)
+        RETURNING c.id, CASE WHEN c.is_leaf AND c.is_active THEN c.lft END AS leaf_lft
+    )
+    UPDATE sku_facet_index sfi
+    SET leaf_lft = m.leaf_lft
+    FROM moved m
+    WHERE sfi.category_id = m.id
+      AND sfi.leaf_lft IS DISTINCT FROM m.leaf_lft;
+END; $$;
+
+-- One subtree: numbers p_id and its descendants, keeping their nesting, into
+-- the free space after the last child of p_id's parent (after the last root
+-- for a root). False when the parent is unnumbered or the space is too small.
+CREATE OR REPLACE FUNCTION fn_place_category_subtree(p_id INT)
+RETURNS BOOLEAN LANGUAGE plpgsql AS $$
+DECLARE
+    v_node   categories%ROWTYPE;
+    v_parent categories%ROWTYPE;
+    v_lo     BIGINT;
+    v_hi     BIGINT;
+    v_size   INT;
+    v_step   BIGINT;
+BEGIN
+    SELECT * INTO v_node FROM categories WHERE id = p_id;
+
+    IF v_node.parent_id IS NULL THEN
+        SELECT COALESCE(MAX(rgt), 0) INTO v_lo
+        FROM categories WHERE parent_id IS NULL AND id <> p_id;
+        v_hi := LEAST(v_lo + 3 * 65536, 2147483647);
+    ELSE
+        SELECT * INTO v_parent FROM categories WHERE id = v_node.parent_id;
+        IF v_parent.lft IS NULL THEN
+            RETURN FALSE;
+        END IF;
+        SELECT GREATEST(v_parent.lft, MAX(rgt)) INTO v_lo
+        FROM categories WHERE parent_id = v_parent.id AND id <> p_id;
+        v_hi := v_parent.rgt;
+    END IF;
+
+    SELECT GREATEST(COUNT(*), 1) INTO v_size
+    FROM categories WHERE lft BETWEEN v_node.lft AND v_node.rgt;
+    -- 2n numbers with at least one free number around each
+    v_step := (v_hi - v_lo) / (2 * v_size + 1);
+    IF v_step < 2 THEN
+        RETURN FALSE;
+    END IF;
+
+    WITH events AS (
+        SELECT c.id, e.v, e.is_lft
+        FROM categories c
+        CROSS JOIN LATERAL (VALUES (c.lft, TRUE), (c.rgt, FALSE)) AS e(v, is_lft)
+        WHERE c.id = p_id OR c.lft BETWEEN v_node.lft AND v_node.rgt
+    ), placed AS (
+        -- Old numbers in order keep the nesting; an unnumbered node is just [lft, rgt]
+        SELECT id, is_lft, (v_lo + v_step * ROW_NUMBER() OVER (ORDER BY v, is_lft DESC))::INT AS v
+        FROM events
+    ), intervals AS (
+        SELECT id, MAX(v) FILTER (WHERE is_lft) AS lft, MAX(v) FILTER (WHERE NOT is_lft) AS rgt
+        FROM placed
+        GROUP BY id
+    ), moved AS (
+        UPDATE categories c
+        SET lft = i.lft, rgt = i.rgt
+        FROM intervals i
+        WHERE c.id = i.id
+        RETURNING c.id, CASE WHEN c.is_leaf AND c.is_active THEN c.lft END AS leaf_lft
+    )
+    UPDATE sku_facet_index sfi
+    SET leaf_lft = m.leaf_lft
+    FROM moved m
+    WHERE sfi.category_id = m.id
+      AND sfi.leaf_lft IS DISTINCT FROM m.leaf_lft;
+
+    RETURN TRUE;
+END; $$;
+
+-- Per row: a multi-row insert places each new category as its row comes up.
+-- Deletes leave their numbers as free space; leaf or active flips only touch
+-- that category's facet rows.
+CREATE OR REPLACE FUNCTION fn_category_intervals_changed()
+RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    IF TG_OP = 'INSERT' OR NEW.parent_id IS DISTINCT FROM OLD.parent_id THEN
+        -- A fallback renumber earlier in the statement may already have numbered it
+        IF TG_OP = 'INSERT' AND (SELECT lft FROM categories WHERE id = NEW.id) IS NOT NULL THEN
+            RETURN NULL;
+        END IF;
+        IF NOT fn_place_category_subtree(NEW.id) THEN
+            PERFORM fn_renumber_category_intervals();
+        END IF;
+    ELSIF NEW.is_leaf IS DISTINCT FROM OLD.is_leaf OR NEW.is_active IS DISTINCT FROM OLD.is_active THEN
+        UPDATE sku_facet_index sfi
+        SET leaf_lft = CASE WHEN c.is_leaf AND c.is_active THEN c.lft END
+        FROM categories c
+        WHERE c.id = NEW.id
+          AND sfi.category_id = c.id
+          AND sfi.leaf_lft IS DISTINCT FROM CASE WHEN c.is_leaf AND c.is_active THEN c.lft END;
+    END IF;
+    RETURN NULL;
+END; $$;
+
+-- lft/rgt are not in the column list, so the numbering UPDATEs do not re-fire
+CREATE TRIGGER trg_category_intervals
+    AFTER INSERT OR UPDATE OF parent_id, is_leaf, is_active ON categories
+    FOR EACH ROW EXECUTE FUNCTION fn_category_intervals_changed();
+
+
+-- ── sku_facet_index.leaf_lft on write ───────────────────────────────────────
+-- Every writer (the V9 trigger, backfills, bulk loads) gets the column filled
+-- without having to know about it.
+
+CREATE OR REPLACE FUNCTION fn_sfi_leaf_lft()
+RETURNS TRIGGER LANGUAGE plpgsql AS $$
+BEGIN
+    SELECT CASE WHEN c.is_leaf AND c.is_active THEN c.lft END
+    INTO NEW.leaf_lft
+    FROM categories c
+    WHERE c.id = NEW.category_id;
+    RETURN NEW;
+END; $$;
+
+CREATE TRIGGER trg_sfi_leaf_lft
+    BEFORE INSERT OR UPDATE OF category_id ON sku_facet_index
+    FOR EACH ROW EXECUTE FUNCTION fn_sfi_leaf_lft();
+
+
+-- ── Backfill and indexes ────────────────────────────────────────────────────
+
+SELECT fn_renumber_category_intervals();
+
+-- Not UNIQUE: a full renumber shifts lft row by row and would trip an immediate check
+CREATE INDEX idx_cat_lft ON categories (lft) INCLUDE (rgt);
+
+-- Subtree facet counts: range on leaf_lft, grouped by attribute/option
+CREATE INDEX idx_sfi_leaf_lft ON sku_facet_index (leaf_lft, attribute_id, option_id)
+    INCLUDE (sku_id)
+    WHERE leaf_lft IS NOT NULL;
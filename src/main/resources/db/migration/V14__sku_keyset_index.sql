@@ -0,0 +1,24 @@
+-- ════════════════════════════════════════════════════════════════════════════
+-- V14__sku_keyset_index.sql
+-- Variant tables are read in (sort_key, id) order and paged by keyset:
+--
+--   WHERE product_group_id = ? AND is_active AND (sort_key COLLATE "C", id) > (?, ?)
+--   ORDER BY sort_key COLLATE "C", id LIMIT n
+--
+-- Adding id to the group index makes that an index seek to the cursor plus
+-- n rows, whatever the page depth. sort_key compares bytewise so that the
+-- in-memory variant tables, which binary-search a cursor in Java, order rows
+-- exactly as SQL does; the index must carry the same collation to serve the
+-- ORDER BY. It serves every query idx_sku_group did, so it replaces it rather
+-- than adding write cost.
+--
+-- Both statements are CONCURRENTLY, so writes to skus carry on while the
+-- index builds. Flyway runs a migration made only of such statements outside
+-- a transaction; keep anything else out of this file. A failed build leaves
+-- an INVALID index behind — drop it before re-running.
+-- ════════════════════════════════════════════════════════════════════════════
+
+CREATE INDEX CONCURRENTLY idx_sku_group_keyset
+    ON skus (product_group_id, is_active, sort_key COLLATE "C", id);
+
+DROP INDEX CONCURRENTLY idx_sku_group;
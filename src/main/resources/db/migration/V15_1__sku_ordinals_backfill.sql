@@ -0,0 +1,29 @@
+-- ════════════════════════════════════════════════════════════════════════════
+-- V15_1__sku_ordinals_backfill.sql
+-- Numbers the SKUs that predate V15, walking the primary key in batches of
+-- 10000 and committing each, so no batch holds its row locks for long.
+-- Rows inserted meanwhile already carry an ordinal from the default.
+--
+-- Runs outside a transaction (V15_1__sku_ordinals_backfill.sql.conf): the
+-- COMMITs inside the DO block are only allowed there. Re-running after a
+-- failure picks up the rows still unnumbered.
+-- ════════════════════════════════════════════════════════════════════════════
+
+DO $$
+DECLARE
+    last_id    UUID := '00000000-0000-0000-0000-000000000000';
+    batch_last UUID;
+BEGIN
+    LOOP
+        SELECT max(id) INTO batch_last
+        FROM (SELECT id FROM skus WHERE id > last_id ORDER BY id LIMIT 10000) batch;
+        EXIT WHEN batch_last IS NULL;
+
+        UPDATE skus
+        SET ordinal = nextval('skus_ordinal_backfill_seq')
+        WHERE id > last_id AND id <= batch_last AND ordinal IS NULL;
+
+        last_id := batch_last;
+        COMMIT;
+    END LOOP;
+END $$;
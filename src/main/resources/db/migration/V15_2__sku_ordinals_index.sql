@@ -0,0 +1,12 @@
+-- ════════════════════════════════════════════════════════════════════════════
+-- V15_2__sku_ordinals_index.sql
+-- Unique index on the ordinal; V15_3 turns it into uq_skus_ordinal. Also
+-- serves ordinal = ANY(?) lookups and the dictionary's catch-up scan.
+--
+-- Built CONCURRENTLY so skus stays writable meanwhile. Flyway runs a
+-- migration made only of such statements outside a transaction; keep
+-- anything else out of this file. A failed build leaves an INVALID index
+-- behind — drop it before re-running.
+-- ════════════════════════════════════════════════════════════════════════════
+
+CREATE UNIQUE INDEX CONCURRENTLY uq_skus_ordinal ON skus (ordinal);
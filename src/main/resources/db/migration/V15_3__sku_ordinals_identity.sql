@@ -0,0 +1,39 @@
+-- ════════════════════════════════════════════════════════════════════════════
+-- V15_3__sku_ordinals_identity.sql
+-- Makes the ordinal NOT NULL and database-assigned only.
+--
+-- SET NOT NULL alone scans skus under ACCESS EXCLUSIVE. A NOT VALID check is
+-- added instead and validated under SHARE UPDATE EXCLUSIVE, which lets
+-- writes through; SET NOT NULL then trusts the check and skips the scan.
+-- The last block swaps the V15 sequence for an identity restarted past it,
+-- atomically so that no insert sees the column without a default.
+--
+-- Runs outside a transaction (V15_3__sku_ordinals_identity.sql.conf), so
+-- the validation does not hold the lock the check was added under. Each
+-- catalog change gives up after lock_timeout rather than queue writes
+-- behind a long transaction; re-run it when that happens.
+-- ════════════════════════════════════════════════════════════════════════════
+
+SET lock_timeout = '5s';
+
+ALTER TABLE skus ADD CONSTRAINT ck_skus_ordinal_not_null CHECK (ordinal IS NOT NULL) NOT VALID;
+
+ALTER TABLE skus VALIDATE CONSTRAINT ck_skus_ordinal_not_null;
+
+DO $$
+DECLARE
+    next_ordinal INT;
+BEGIN
+    LOCK TABLE skus IN ACCESS EXCLUSIVE MODE;
+    ALTER TABLE skus ALTER COLUMN ordinal SET NOT NULL;
+    ALTER TABLE skus DROP CONSTRAINT ck_skus_ordinal_not_null;
+    ALTER TABLE skus ADD CONSTRAINT uq_skus_ordinal UNIQUE USING INDEX uq_skus_ordinal;
+
+    next_ordinal := nextval('skus_ordinal_backfill_seq');
+    ALTER TABLE skus ALTER COLUMN ordinal DROP DEFAULT;
+    DROP SEQUENCE skus_ordinal_backfill_seq;
+    ALTER TABLE skus ALTER COLUMN ordinal ADD GENERATED ALWAYS AS IDENTITY (MINVALUE 0 START WITH 0);
+    EXECUTE format('ALTER TABLE skus ALTER COLUMN ordinal RESTART WITH %s', next_ordinal);
+END $$;
+
+RESET lock_timeout;
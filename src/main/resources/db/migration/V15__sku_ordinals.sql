@@ -0,0 +1,31 @@
+-- ════════════════════════════════════════════════════════════════════════════
+-- V15__sku_ordinals.sql
+-- Dense integer handle for every SKU, assigned by the database on insert.
+--
+-- In-JVM catalog structures (facet bitmaps, price index, intermediate
+-- SKU sets) key on this ordinal instead of the UUID: an int indexes an array
+-- or a bitmap directly, where a UUID costs two objects and a hash. The id
+-- stays the public identifier; ordinals never leave the catalog module.
+--
+-- Ordinals start at 0 and are never reused. Gaps only come from rolled-back
+-- inserts and deleted SKUs, so arrays sized by the highest ordinal stay
+-- dense.
+--
+-- Adding an identity column directly would rewrite skus under ACCESS
+-- EXCLUSIVE, so the column is built in stages, none of which blocks writes
+-- for longer than a catalog update:
+--
+--   V15     nullable column, numbered from a sequence on insert from now on
+--   V15_1   existing rows numbered in committed batches
+--   V15_2   unique index, built CONCURRENTLY
+--   V15_3   NOT NULL proven by a validated check, then the sequence default
+--           swapped for an identity continuing where it left off
+-- ════════════════════════════════════════════════════════════════════════════
+
+CREATE SEQUENCE skus_ordinal_backfill_seq AS INT MINVALUE 0 START WITH 0;
+
+-- No default yet: a volatile one would rewrite the table. Setting it
+-- afterwards only applies to new rows.
+ALTER TABLE skus ADD COLUMN ordinal INT;
+ALTER TABLE skus ALTER COLUMN ordinal SET DEFAULT nextval('skus_ordinal_backfill_seq');
+ALTER SEQUENCE skus_ordinal_backfill_seq OWNED BY skus.ordinal;
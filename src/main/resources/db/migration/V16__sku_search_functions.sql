@@ -0,0 +1,21 @@
+-- ════════════════════════════════════════════════════════════════════════════
+-- V16__sku_search_functions.sql
+-- Search over SKUs: part numbers and spec values.
+--
+-- Part numbers are compared by their key — lower-cased letters and digits
+-- only — so "91251-A-105", "91251 a105" and "91251A105" are the same.
+-- Spec values are every string and number in specs_jsonb, as a 'simple'
+-- tsvector (no stemming: "316", "18-8" and "stainless" stay as written).
+--
+-- Both are immutable functions so they can back expression indexes (V19):
+-- no new columns, nothing to backfill or keep in sync. Queries must call the
+-- same functions to use them.
+-- ════════════════════════════════════════════════════════════════════════════
+
+CREATE FUNCTION catalog_part_number_key(part_number TEXT) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE
+AS $$ SELECT regexp_replace(lower(part_number), '[^a-z0-9]+', '', 'g') $$;
+
+CREATE FUNCTION catalog_sku_spec_vector(specs JSONB) RETURNS TSVECTOR
+    LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE
+AS $$ SELECT jsonb_to_tsvector('simple'::regconfig, specs, '["string", "numeric"]'::jsonb) $$;
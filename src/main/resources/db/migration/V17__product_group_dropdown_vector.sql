@@ -0,0 +1,28 @@
+-- ════════════════════════════════════════════════════════════════════════════
+-- V17__product_group_dropdown_vector.sql
+-- A word vector for the search dropdown's prefix query.
+--
+-- The dropdown matches 'word':* for every word typed so far. Against the
+-- 'english' search_vector that loses words: stop words never reach the
+-- vector or the query ("a", "on", "at" as the start of "alloy", "one",
+-- "attachment"), and stems are shorter than the words they came from
+-- ("bearings" is stored as 'bear', so 'bearin':* finds nothing). Prefixes
+-- must be matched against the words as written.
+--
+-- catalog_search_words cuts text the way SearchText.tokens does — runs of
+-- letters and digits, lower-cased, a dot kept only between two digits — so
+-- the SQL query and the in-memory filter of the prefix cache agree on what a
+-- word is. The vector indexes those words with the 'simple' configuration
+-- (no stop words, no stemming), name as weight A and subtitle as B.
+--
+-- The index is built by V18, concurrently.
+-- ════════════════════════════════════════════════════════════════════════════
+
+CREATE FUNCTION catalog_search_words(words TEXT) RETURNS TEXT
+    LANGUAGE sql IMMUTABLE STRICT PARALLEL SAFE
+AS $$ SELECT regexp_replace(lower(words), '[^[:alnum:].]+|(?<![0-9])\.|\.(?![0-9])', ' ', 'g') $$;
+
+CREATE FUNCTION catalog_dropdown_vector(name TEXT, subtitle TEXT) RETURNS TSVECTOR
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+AS $$ SELECT setweight(to_tsvector('simple'::regconfig, coalesce(catalog_search_words(name), '')), 'A')
+          || setweight(to_tsvector('simple'::regconfig, coalesce(catalog_search_words(subtitle), '')), 'B') $$;
@@ -0,0 +1,14 @@
+-- ════════════════════════════════════════════════════════════════════════════
+-- V18__product_group_dropdown_index.sql
+-- GIN index over catalog_dropdown_vector (V17) for the dropdown's
+--
+--   catalog_dropdown_vector(name, subtitle) @@ to_tsquery('simple', 'hex':* & 'b':*)
+--
+-- Built CONCURRENTLY so product_groups stays writable meanwhile. Flyway runs
+-- a migration outside a transaction when every statement in it can't run in
+-- one, which is why this file holds nothing else.
+-- ════════════════════════════════════════════════════════════════════════════
+
+CREATE INDEX CONCURRENTLY idx_pg_dropdown_vector
+    ON product_groups USING GIN (catalog_dropdown_vector(name, subtitle))
+    WHERE is_active = TRUE;
@@ -0,0 +1,28 @@
+-- ════════════════════════════════════════════════════════════════════════════
+-- V19__sku_search_indexes.sql
+-- Indexes over the V16 search functions:
+--
+--   key = ? / key LIKE 'abc%'   btree, text_pattern_ops (exact and prefix)
+--   key LIKE '%abc%'            GIN trigram (any run of characters)
+--   catalog_sku_spec_vector(specs_jsonb) @@ plainto_tsquery('simple', ?)
+--
+-- where key is catalog_part_number_key(part_number). All three are partial
+-- on active SKUs, the only ones search returns.
+--
+-- Every statement is CONCURRENTLY, so writes to skus carry on while the
+-- indexes build. Flyway runs a migration made only of such statements outside
+-- a transaction; keep anything else out of this file. A failed build leaves
+-- an INVALID index behind — drop it before re-running.
+-- ════════════════════════════════════════════════════════════════════════════
+
+CREATE INDEX CONCURRENTLY idx_sku_pn_key
+    ON skus (catalog_part_number_key(part_number) text_pattern_ops)
+    WHERE is_active = TRUE;
+
+CREATE INDEX CONCURRENTLY idx_sku_pn_key_trgm
+    ON skus USING GIN (catalog_part_number_key(part_number) gin_trgm_ops)
+    WHERE is_active = TRUE;
+
+CREATE INDEX CONCURRENTLY idx_sku_spec_vector
+    ON skus USING GIN (catalog_sku_spec_vector(specs_jsonb))
+    WHERE is_active = TRUE;
@@ -0,0 +1,53 @@
+package com.storefront.catalog.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    private final List<String> partNumbers = IntStream.range(0, 100_000)
+            .mapToObj(i -> "HB-M%d-%d".formatted(i % 24 + 3, i))
+            .toList();
+
+    @Test
+    void neverRejectsAKeyItWasBuiltFrom() {
+        var filter = BloomFilter.of(partNumbers, 0.01);
+
+        assertThat(partNumbers).allMatch(filter::mightContain);
+        assertThat(filter.keyCount()).isEqualTo(100_000);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearTheTarget() {
+        var filter = BloomFilter.of(partNumbers, 0.01);
+
+        long passed = IntStream.range(0, 100_000)
+                .mapToObj(i -> "missing-" + i)
+                .filter(filter::mightContain)
+                .count();
+
+        assertThat(passed / 100_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFpp()).isBetween(0.005, 0.02);
+    }
+
+    @Test
+    void emptyFilterRejectsEverything() {
+        var filter = BloomFilter.of(List.of(), 0.01);
+
+        assertThat(filter.mightContain("hex-bolts")).isFalse();
+        assertThat(filter.expectedFpp()).isZero();
+    }
+
+    @Test
+    void rejectsAnFppOutsideTheOpenUnitInterval() {
+        assertThatThrownBy(() -> BloomFilter.of(partNumbers, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BloomFilter.of(partNumbers, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
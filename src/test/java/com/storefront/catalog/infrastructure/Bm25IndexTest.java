@@ -0,0 +1,93 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.ProductApi.ProductGroupSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class Bm25IndexTest {
+
+    private final ProductGroupSummary hexBolts = group("Hex Head Screws", "Zinc-plated steel, coarse thread");
+    private final ProductGroupSummary carriageBolts = group("Carriage Bolts", "Square neck, zinc-plated steel");
+    private final ProductGroupSummary flatWashers = group("Flat Washers", "Stainless steel");
+    private final ProductGroupSummary lockNuts = group("Nylon-Insert Lock Nuts", "Stainless steel");
+
+    private Bm25Index index;
+
+    @BeforeEach
+    void setUp() {
+        index = Bm25Index.builder()
+                .add(hexBolts, terms(hexBolts.name()), terms(hexBolts.subtitle()),
+                        terms("Also sold as hex bolts. Use with a nut and washer."))
+                .add(carriageBolts, terms(carriageBolts.name()), terms(carriageBolts.subtitle()), terms(""))
+                .add(flatWashers, terms(flatWashers.name()), terms(flatWashers.subtitle()),
+                        terms("For bolts and screws."))
+                .add(lockNuts, terms(lockNuts.name()), terms(lockNuts.subtitle()), terms(""))
+                .build();
+    }
+
+    @Test
+    void ranksNameMatchesAboveDescriptionMatches() {
+        var hits = index.search("bolt", 0, 10);
+
+        assertThat(hits.items()).first().isEqualTo(carriageBolts);
+        assertThat(hits.items()).containsExactlyInAnyOrder(carriageBolts, hexBolts, flatWashers);
+        assertThat(hits.total()).isEqualTo(3);
+    }
+
+    @Test
+    void requiresEveryTermWhenSomeGroupHasThemAll() {
+        var hits = index.search("stainless washers", 0, 10);
+
+        assertThat(hits.items()).containsExactly(flatWashers);
+    }
+
+    @Test
+    void fallsBackToAnyTermWhenNoGroupHasThemAll() {
+        var hits = index.search("carriage nylon", 0, 10);
+
+        assertThat(hits.items()).containsExactlyInAnyOrder(carriageBolts, lockNuts);
+    }
+
+    @Test
+    void excludesNegatedWords() {
+        var hits = index.search("steel -zinc", 0, 10);
+
+        assertThat(hits.items()).containsExactlyInAnyOrder(flatWashers, lockNuts);
+    }
+
+    @Test
+    void pagesThroughTheRanking() {
+        var all = index.search("steel", 0, 10).items();
+        var second = index.search("steel", 2, 2);
+
+        assertThat(second.items()).containsExactlyElementsOf(all.subList(2, 4));
+        assertThat(second.total()).isEqualTo(4);
+        assertThat(index.search("steel", 8, 2).items()).isEmpty();
+    }
+
+    @Test
+    void unknownWordsMatchNothing() {
+        assertThat(index.search("flnage", 0, 10).total()).isZero();
+        assertThat(index.search("the", 0, 10).total()).isZero();
+    }
+
+    @Test
+    void analysisStemsPluralsButNotSizes() {
+        assertThat(SearchText.terms("Assemblies, boxes & M8x1.25 bolts"))
+                .containsExactly("assembly", "box", "m8x1.25", "bolt");
+    }
+
+    private static List<String> terms(String text) {
+        return SearchText.terms(text);
+    }
+
+    private static ProductGroupSummary group(String name, String subtitle) {
+        return new ProductGroupSummary(UUID.randomUUID(), name, subtitle,
+                name.toLowerCase().replace(' ', '-'), null, 10, null, true);
+    }
+}
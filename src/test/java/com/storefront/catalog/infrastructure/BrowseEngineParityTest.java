@@ -0,0 +1,166 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.BaseIntegrationTest;
+import com.storefront.catalog.CategoryApi.FilteredCategory;
+import com.storefront.catalog.ProductApi.FacetGroup;
+import com.storefront.catalog.ProductApi.FacetOption;
+import com.storefront.catalog.ProductApi.NumericRange;
+import com.storefront.catalog.domain.model.CategoryBrowseRepository;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The bitmap and SQL browse engines give the same children, facet counts and
+ * matching SKUs for the same filters. Range facets are left out: only the
+ * bitmap engine computes them.
+ */
+class BrowseEngineParityTest extends BaseIntegrationTest {
+
+    private static final String LEAF_SLUG = "socket-head-cap-screws";
+
+    @Autowired
+    @Qualifier("readOnlyDsl")
+    DSLContext readOnlyDsl;
+
+    private CategoryBrowseRepository bitmap;
+    private CategoryBrowseRepository sql;
+
+    private int leafId;
+    private int parentId;
+    private String parentPath;
+    private int rootId;
+    private String rootPath;
+    private Map<String, Map<Integer, List<Integer>>> enumCases;
+    private Map<String, Map<Integer, NumericRange>> rangeCases;
+
+    @BeforeEach
+    void setUp() {
+        // Constructed directly: no result cache in front of either engine
+        bitmap = new BitmapCategoryBrowseRepository(readOnlyDsl, 10_000);
+        sql = new JooqCategoryBrowseRepository(readOnlyDsl);
+
+        var leaf = readOnlyDsl.fetchSingle("""
+                SELECT l.id, p.id, p.path::TEXT, r.id, r.path::TEXT
+                FROM categories l
+                JOIN categories p ON p.id = l.parent_id
+                JOIN categories r ON r.path = subpath(l.path, 0, 1)
+                WHERE l.slug = ?""", LEAF_SLUG);
+        leafId = leaf.get(0, Integer.class);
+        parentId = leaf.get(1, Integer.class);
+        parentPath = leaf.get(2, String.class);
+        rootId = leaf.get(3, Integer.class);
+        rootPath = leaf.get(4, String.class);
+
+        int threadType = attributeId("thread_type");
+        int threadSize = attributeId("thread_size");
+        int length = attributeId("length_in");
+        List<Integer> firstThreadType = options(threadType).subList(0, 1);
+        List<Integer> twoThreadSizes = options(threadSize).subList(0, 2);
+        var shortLengths = Map.of(length, new NumericRange(new BigDecimal("0.5"), new BigDecimal("1.0")));
+
+        enumCases = new LinkedHashMap<>();
+        rangeCases = new LinkedHashMap<>();
+        addCase("unfiltered", Map.of(), Map.of());
+        addCase("one option", Map.of(threadType, firstThreadType), Map.of());
+        addCase("two attributes", Map.of(threadType, firstThreadType, threadSize, twoThreadSizes), Map.of());
+        addCase("range", Map.of(), shortLengths);
+        addCase("option and range", Map.of(threadType, firstThreadType), shortLengths);
+    }
+
+    @Test
+    void filteredChildrenAgree() {
+        for (String name : enumCases.keySet()) {
+            var enums = enumCases.get(name);
+            var ranges = rangeCases.get(name);
+            assertThat(children(bitmap.findFilteredChildren(rootId, rootPath, enums, ranges)))
+                    .as("root children, %s", name)
+                    .isEqualTo(children(sql.findFilteredChildren(rootId, rootPath, enums, ranges)));
+            assertThat(children(bitmap.findFilteredChildren(parentId, parentPath, enums, ranges)))
+                    .as("parent children, %s", name)
+                    .isEqualTo(children(sql.findFilteredChildren(parentId, parentPath, enums, ranges)));
+        }
+    }
+
+    @Test
+    void facetCountsAgree() {
+        for (String name : enumCases.keySet()) {
+            var enums = enumCases.get(name);
+            var ranges = rangeCases.get(name);
+            assertThat(optionCounts(bitmap.findMidLevelFacets(parentPath, enums, ranges)))
+                    .as("mid-level facets, %s", name)
+                    .isEqualTo(optionCounts(sql.findMidLevelFacets(parentPath, enums, ranges)));
+            assertThat(optionCounts(bitmap.findLeafFacets(leafId, enums, ranges)))
+                    .as("leaf facets, %s", name)
+                    .isEqualTo(optionCounts(sql.findLeafFacets(leafId, enums, ranges)));
+        }
+    }
+
+    @Test
+    void matchingSkusAgree() {
+        for (String name : enumCases.keySet()) {
+            var enums = enumCases.get(name);
+            var ranges = rangeCases.get(name);
+            var expected = ordinals(sql.findMatchingSkuOrdinalsByGroup(leafId, enums, ranges));
+            assertThat(ordinals(bitmap.findMatchingSkuOrdinalsByGroup(leafId, enums, ranges)))
+                    .as("matching SKUs, %s", name)
+                    .isEqualTo(expected);
+            if (name.equals("unfiltered")) assertThat(expected).isNotEmpty();
+        }
+    }
+
+    private void addCase(String name, Map<Integer, List<Integer>> enums, Map<Integer, NumericRange> ranges) {
+        enumCases.put(name, enums);
+        rangeCases.put(name, ranges);
+    }
+
+    private int attributeId(String key) {
+        return readOnlyDsl.fetchSingle(
+                "SELECT id FROM attribute_definitions WHERE category_id = ? AND key = ?", leafId, key)
+                .get(0, Integer.class);
+    }
+
+    private List<Integer> options(int attributeId) {
+        return readOnlyDsl.fetch(
+                "SELECT id FROM attribute_options WHERE attribute_id = ? ORDER BY sort_order, id", attributeId)
+                .getValues(0, Integer.class);
+    }
+
+    /** Child id to SKU count. */
+    private static Map<Integer, Long> children(List<FilteredCategory> children) {
+        return children.stream().collect(Collectors.toMap(
+                FilteredCategory::id, FilteredCategory::skuCount, (a, b) -> a, TreeMap::new));
+    }
+
+    /** Attribute id to option id to SKU count; zero counts and option-less groups dropped. */
+    private static Map<Integer, Map<Integer, Integer>> optionCounts(List<FacetGroup> groups) {
+        Map<Integer, Map<Integer, Integer>> counts = new TreeMap<>();
+        for (FacetGroup group : groups) {
+            Map<Integer, Integer> byOption = new TreeMap<>();
+            for (FacetOption option : group.options()) {
+                if (option.skuCount() > 0) byOption.put(option.optionId(), option.skuCount());
+            }
+            if (!byOption.isEmpty()) counts.put(group.attributeId(), byOption);
+        }
+        return counts;
+    }
+
+    private static Map<UUID, List<Integer>> ordinals(Map<UUID, int[]> byGroup) {
+        Map<UUID, List<Integer>> lists = new TreeMap<>();
+        byGroup.forEach((group, ordinals) -> lists.put(group, Arrays.stream(ordinals).boxed().toList()));
+        return lists;
+    }
+}
@@ -0,0 +1,119 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.BaseIntegrationTest;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The V12 triggers keep category_facet_counts and category_sku_counts equal
+ * to a recount from sku_facet_index through every kind of catalog write.
+ */
+class CategoryFacetCountsTest extends BaseIntegrationTest {
+
+    private static final String TEMPLATE = "91251A120";
+    private static final String PART = "91251A120-FACET-TEST";
+
+    /** fn_rebuild_category_facet_counts, as a query. */
+    private static final String RECOUNTED_FACETS = """
+            SELECT t.id, sfi.attribute_id, COALESCE(sfi.option_id, 0), COUNT(*)::INT
+            FROM sku_facet_index sfi
+            JOIN categories l ON l.id = sfi.category_id
+            JOIN categories t ON t.id = l.id OR (l.is_leaf AND l.is_active AND t.path @> l.path)
+            GROUP BY 1, 2, 3""";
+
+    private static final String RECOUNTED_SKUS = """
+            SELECT t.id, COUNT(DISTINCT sfi.sku_id)::INT
+            FROM sku_facet_index sfi
+            JOIN categories l ON l.id = sfi.category_id
+            JOIN categories t ON t.id = l.id OR (l.is_leaf AND l.is_active AND t.path @> l.path)
+            GROUP BY 1""";
+
+    @Autowired
+    DSLContext dsl;
+
+    @AfterEach
+    void restore() {
+        dsl.execute("DELETE FROM skus WHERE part_number = ?", PART);
+        dsl.execute("""
+                UPDATE categories SET is_active = TRUE
+                WHERE id = (SELECT pg.category_id FROM skus s JOIN product_groups pg ON pg.id = s.product_group_id
+                            WHERE s.part_number = ?) AND NOT is_active""", TEMPLATE);
+    }
+
+    @Test
+    void countsFollowInsertsUpdatesDeletesAndActivation() {
+        assertCountsMatchRecount();
+        int before = leafSkuCount();
+
+        dsl.execute("""
+                INSERT INTO skus (product_group_id, part_number, name)
+                SELECT product_group_id, ?, name FROM skus WHERE part_number = ?""", PART, TEMPLATE);
+        dsl.execute("""
+                INSERT INTO sku_attributes (sku_id, attribute_id, value_text, value_numeric, option_id)
+                SELECT n.id, a.attribute_id, a.value_text, a.value_numeric, a.option_id
+                FROM skus n, skus t
+                JOIN sku_attributes a ON a.sku_id = t.id
+                WHERE n.part_number = ? AND t.part_number = ?""", PART, TEMPLATE);
+        assertThat(leafSkuCount()).isEqualTo(before + 1);
+        assertCountsMatchRecount();
+
+        // Moves the SKU between options: an UPDATE of sku_facet_index
+        int moved = dsl.execute("""
+                UPDATE sku_attributes a
+                SET option_id = (SELECT MAX(o.id) FROM attribute_options o
+                                 WHERE o.attribute_id = a.attribute_id AND o.id <> a.option_id)
+                WHERE a.sku_id = (SELECT id FROM skus WHERE part_number = ?)
+                  AND EXISTS (SELECT 1 FROM attribute_options o
+                              WHERE o.attribute_id = a.attribute_id AND o.id <> a.option_id)""", PART);
+        assertThat(moved).isPositive();
+        assertCountsMatchRecount();
+
+        dsl.execute("UPDATE skus SET is_active = NOT is_active WHERE part_number = ?", PART);
+        assertCountsMatchRecount();
+        dsl.execute("UPDATE skus SET is_active = NOT is_active WHERE part_number = ?", PART);
+        assertCountsMatchRecount();
+
+        // An inactive leaf keeps its own counts but drops out of its ancestors'
+        dsl.execute("""
+                UPDATE categories SET is_active = NOT is_active
+                WHERE id = (SELECT pg.category_id FROM skus s JOIN product_groups pg ON pg.id = s.product_group_id
+                            WHERE s.part_number = ?)""", PART);
+        assertCountsMatchRecount();
+        dsl.execute("""
+                UPDATE categories SET is_active = NOT is_active
+                WHERE id = (SELECT pg.category_id FROM skus s JOIN product_groups pg ON pg.id = s.product_group_id
+                            WHERE s.part_number = ?)""", PART);
+        assertCountsMatchRecount();
+
+        dsl.execute("DELETE FROM skus WHERE part_number = ?", PART);
+        assertThat(leafSkuCount()).isEqualTo(before);
+        assertCountsMatchRecount();
+    }
+
+    private void assertCountsMatchRecount() {
+        // Incremental deltas can leave zero rows behind; a recount has none
+        assertThat(rows("SELECT category_id, attribute_id, option_id, sku_count FROM category_facet_counts WHERE sku_count <> 0"))
+                .containsExactlyInAnyOrderElementsOf(rows(RECOUNTED_FACETS));
+        assertThat(rows("SELECT category_id, sku_count FROM category_sku_counts WHERE sku_count <> 0"))
+                .containsExactlyInAnyOrderElementsOf(rows(RECOUNTED_SKUS));
+    }
+
+    private int leafSkuCount() {
+        return ((Number) dsl.fetchValue("""
+                SELECT COALESCE(MAX(csc.sku_count), 0)
+                FROM skus s
+                JOIN product_groups pg ON pg.id = s.product_group_id
+                LEFT JOIN category_sku_counts csc ON csc.category_id = pg.category_id
+                WHERE s.part_number = ?""", TEMPLATE)).intValue();
+    }
+
+    private List<List<Object>> rows(String sql) {
+        return dsl.fetch(sql).map(r -> List.of(r.intoArray()));
+    }
+}
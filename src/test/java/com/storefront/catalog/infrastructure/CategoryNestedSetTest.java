@@ -0,0 +1,169 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.BaseIntegrationTest;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The V13 triggers keep categories.lft/rgt nesting exactly as path does, and
+ * sku_facet_index.leaf_lft on the active leaves, through inserts, moves, a
+ * used-up gap and activation flips.
+ */
+class CategoryNestedSetTest extends BaseIntegrationTest {
+
+    private static final String LEAF_SLUG = "socket-head-cap-screws";
+    private static final String ROOT = "NestTest";
+
+    /** Ancestor/descendant pairs as the intervals nest them. */
+    private static final String NESTED_BY_INTERVAL = """
+            SELECT a.id, d.id
+            FROM categories a
+            JOIN categories d ON d.id <> a.id AND d.lft BETWEEN a.lft AND a.rgt""";
+
+    private static final String NESTED_BY_PATH = """
+            SELECT a.id, d.id
+            FROM categories a
+            JOIN categories d ON d.id <> a.id AND a.path @> d.path""";
+
+    /** Facet rows under each category, found by leaf_lft range. */
+    private static final String SUBTREE_ROWS_BY_INTERVAL = """
+            SELECT t.id, COUNT(*)::INT
+            FROM categories t
+            JOIN sku_facet_index sfi ON sfi.leaf_lft BETWEEN t.lft AND t.rgt
+            GROUP BY 1""";
+
+    /** The same, from path and the flags: only active leaves count towards a subtree. */
+    private static final String SUBTREE_ROWS_BY_PATH = """
+            SELECT t.id, COUNT(*)::INT
+            FROM sku_facet_index sfi
+            JOIN categories l ON l.id = sfi.category_id AND l.is_leaf AND l.is_active
+            JOIN categories t ON t.path @> l.path
+            GROUP BY 1""";
+
+    @Autowired
+    DSLContext dsl;
+
+    private int leafId;
+    private int leafParentId;
+    private String leafPath;
+
+    @BeforeEach
+    void setUp() {
+        var leaf = dsl.fetchSingle("SELECT id, parent_id, path::TEXT FROM categories WHERE slug = ?", LEAF_SLUG);
+        leafId = leaf.get(0, Integer.class);
+        leafParentId = leaf.get(1, Integer.class);
+        leafPath = leaf.get(2, String.class);
+    }
+
+    @AfterEach
+    void restore() {
+        dsl.execute("UPDATE categories SET is_active = TRUE WHERE id = ? AND NOT is_active", leafId);
+        String path = dsl.fetchValue("SELECT path::TEXT FROM categories WHERE id = ?", leafId).toString();
+        if (!path.equals(leafPath)) move(leafId, leafParentId, path, leafPath);
+        dsl.execute("DELETE FROM categories WHERE path <@ ?::LTREE AND nlevel(path) = 3", ROOT);
+        dsl.execute("DELETE FROM categories WHERE path <@ ?::LTREE AND nlevel(path) = 2", ROOT);
+        dsl.execute("DELETE FROM categories WHERE path = ?::LTREE", ROOT);
+    }
+
+    @Test
+    void intervalsFollowInsertsMovesGapsAndActivation() {
+        assertIntervalsMatchPaths();
+
+        // A new subtree, one row at a time
+        int root = insert(null, "nest-test", ROOT, false);
+        int a = insert(root, "nest-test-a", ROOT + ".A", false);
+        int b = insert(root, "nest-test-b", ROOT + ".B", false);
+        insert(a, "nest-test-a-empty", ROOT + ".A.Empty", true);
+        assertIntervalsMatchPaths();
+
+        // A leaf with facet rows moves into it, and its rows' leaf_lft with it
+        int before = subtreeRows(leafParentId);
+        int moving = subtreeRows(leafId);
+        assertThat(moving).isPositive();
+        move(leafId, a, leafPath, ROOT + ".A." + LEAF_SLUG.replace('-', '_'));
+        assertThat(subtreeRows(a)).isEqualTo(moving);
+        assertThat(subtreeRows(leafParentId)).isEqualTo(before - moving);
+        assertIntervalsMatchPaths();
+
+        // Children under one parent until its free space runs out and the whole tree is renumbered
+        var numbersBefore = rows("SELECT id, lft, rgt FROM categories WHERE NOT path <@ 'NestTest'");
+        dsl.execute("""
+                INSERT INTO categories (parent_id, slug, name, path, depth, is_leaf, is_active, sort_order)
+                SELECT ?, 'nest-test-b-' || n, 'Nest Test B ' || n, (? || '.C' || n)::LTREE, 2, TRUE, TRUE, n
+                FROM generate_series(1, 40) n""", b, ROOT + ".B");
+        assertThat(rows("SELECT id, lft, rgt FROM categories WHERE NOT path <@ 'NestTest'"))
+                .as("renumbered outside the subtree")
+                .isNotEqualTo(numbersBefore);
+        assertIntervalsMatchPaths();
+
+        // An inactive leaf keeps its rows but drops out of every subtree, itself included
+        dsl.execute("UPDATE categories SET is_active = FALSE WHERE id = ?", leafId);
+        assertThat(subtreeRows(a)).isZero();
+        assertIntervalsMatchPaths();
+        dsl.execute("UPDATE categories SET is_active = TRUE WHERE id = ?", leafId);
+        assertThat(subtreeRows(a)).isEqualTo(moving);
+        assertIntervalsMatchPaths();
+    }
+
+    private void assertIntervalsMatchPaths() {
+        assertThat(count("SELECT COUNT(*) FROM categories WHERE lft IS NULL OR rgt IS NULL OR lft >= rgt"))
+                .as("categories without a proper interval")
+                .isZero();
+        assertThat(count("""
+                SELECT COUNT(*) FROM categories a
+                JOIN categories d ON d.id <> a.id AND d.lft BETWEEN a.lft AND a.rgt AND d.rgt > a.rgt"""))
+                .as("intervals overlapping without nesting")
+                .isZero();
+        assertThat(rows(NESTED_BY_INTERVAL)).containsExactlyInAnyOrderElementsOf(rows(NESTED_BY_PATH));
+
+        assertThat(count("""
+                SELECT COUNT(*) FROM sku_facet_index sfi
+                JOIN categories c ON c.id = sfi.category_id
+                WHERE sfi.leaf_lft IS DISTINCT FROM CASE WHEN c.is_leaf AND c.is_active THEN c.lft END"""))
+                .as("facet rows with a stale leaf_lft")
+                .isZero();
+        assertThat(rows(SUBTREE_ROWS_BY_INTERVAL)).containsExactlyInAnyOrderElementsOf(rows(SUBTREE_ROWS_BY_PATH));
+    }
+
+    private int insert(Integer parentId, String slug, String path, boolean leaf) {
+        return ((Number) dsl.fetchValue("""
+                INSERT INTO categories (parent_id, slug, name, path, depth, is_leaf, is_active)
+                VALUES (?, ?, ?, ?::LTREE, nlevel(?::LTREE) - 1, ?, TRUE)
+                RETURNING id""", parentId, slug, slug, path, path, leaf)).intValue();
+    }
+
+    /** Re-parents a category and rewrites its subtree's paths in one statement, as an admin move would. */
+    private void move(int id, int parentId, String fromPath, String toPath) {
+        dsl.execute("""
+                UPDATE categories
+                SET parent_id = CASE WHEN id = ? THEN ? ELSE parent_id END,
+                    path = CASE WHEN path = ?::LTREE THEN ?::LTREE
+                                ELSE ?::LTREE || subpath(path, nlevel(?::LTREE)) END,
+                    depth = nlevel(?::LTREE) - nlevel(?::LTREE) + depth
+                WHERE path <@ ?::LTREE""",
+                id, parentId, fromPath, toPath, toPath, fromPath, toPath, fromPath, fromPath);
+    }
+
+    private int subtreeRows(int categoryId) {
+        return count("""
+                SELECT COUNT(*)
+                FROM categories t
+                JOIN sku_facet_index sfi ON sfi.leaf_lft BETWEEN t.lft AND t.rgt
+                WHERE t.id = ?""", categoryId);
+    }
+
+    private int count(String sql, Object... bindings) {
+        return ((Number) dsl.fetchValue(sql, bindings)).intValue();
+    }
+
+    private List<List<Object>> rows(String sql) {
+        return dsl.fetch(sql).map(r -> List.of(r.intoArray()));
+    }
+}
@@ -0,0 +1,82 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.ProductApi.ProductGroupSummary;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompletionTableTest {
+
+    private final ProductGroupSummary hexScrews = group("Hex Head Screws", "Zinc-plated steel", 40);
+    private final ProductGroupSummary hexNuts = group("Hex Nuts", "Stainless steel", 10);
+    private final ProductGroupSummary carriageBolts = group("Carriage Bolts", "Square neck, zinc-plated steel", 5);
+    private final ProductGroupSummary socketScrews = group("Socket Head Screws", "Alloy steel", 30);
+
+    private final CompletionTable table = CompletionTable.build(
+            List.of(hexScrews, hexNuts, carriageBolts, socketScrews), 10);
+
+    @Test
+    void completesFromAnyWordOfTheName() {
+        assertThat(table.complete("hex", 10)).containsExactly(hexScrews, hexNuts);
+        assertThat(table.complete("head", 10)).containsExactly(hexScrews, socketScrews);
+    }
+
+    @Test
+    void matchesWordPrefixesRegardlessOfCaseAndPunctuation() {
+        // "h" may match the same word as "hex", as 'hex':* & 'h':* does in SQL
+        assertThat(table.complete("HEX h", 10)).containsExactly(hexScrews, hexNuts);
+        assertThat(table.complete("zinc-pl", 10)).containsExactly(hexScrews, carriageBolts);
+    }
+
+    @Test
+    void matchesEveryQueryWordAnywhereInTheGroup() {
+        // Not contiguous, not in order, across name and subtitle
+        assertThat(table.complete("hex screw", 10)).containsExactly(hexScrews);
+        assertThat(table.complete("screws hex", 10)).containsExactly(hexScrews);
+        assertThat(table.complete("head alloy", 10)).containsExactly(socketScrews);
+        assertThat(table.complete("hex bolt", 10)).isEmpty();
+    }
+
+    @Test
+    void ranksMultiWordMatchesByTheirWeakestWord() {
+        // Both match "hex" first in the name; "steel" comes earlier in the nuts' subtitle
+        assertThat(table.complete("steel hex", 10)).containsExactly(hexNuts, hexScrews);
+        assertThat(table.complete("steel hex", 1)).containsExactly(hexNuts);
+    }
+
+    @Test
+    void ranksNameMatchesBeforeSubtitleMatches() {
+        // "s…": socket (name, first word) and screws (name, later word) before subtitle-only hits
+        assertThat(table.complete("s", 10)).startsWith(socketScrews).contains(hexNuts, carriageBolts);
+        assertThat(table.complete("s", 2)).containsExactly(socketScrews, hexScrews);
+    }
+
+    @Test
+    void unknownPrefixesAndBlankQueriesCompleteToNothing() {
+        assertThat(table.complete("flange", 10)).isEmpty();
+        assertThat(table.complete("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void heavyPrefixesAnswerLikeAScan() {
+        List<ProductGroupSummary> groups = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            groups.add(group("Screw %04d".formatted(i), i % 2 == 0 ? "Steel" : "Brass", i % 97));
+        }
+        var big = CompletionTable.build(groups, 5);
+        assertThat(big.heavyPrefixCount()).isPositive();
+
+        // limit 5 is served from the precomputed top, limit 6 by scanning the range
+        assertThat(big.complete("screw", 5)).containsExactlyElementsOf(big.complete("screw", 6).subList(0, 5));
+        assertThat(big.complete("screw", 5)).allMatch(g -> g.skuCount() == 96);
+    }
+
+    private static ProductGroupSummary group(String name, String subtitle, int skuCount) {
+        return new ProductGroupSummary(UUID.randomUUID(), name, subtitle,
+                name.toLowerCase().replace(' ', '-'), null, skuCount, null, true);
+    }
+}
@@ -0,0 +1,166 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.ProductApi.FacetOption;
+import com.storefront.catalog.ProductApi.NumericRange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FacetBitmapIndexTest {
+
+    // Fasteners(1) ─┬─ Screws(2, leaf)
+    //               ├─ Nuts(3, leaf)
+    //               └─ Rivets(4, leaf, inactive)
+    private static final int MATERIAL = 10;
+    private static final int LENGTH = 11;
+    private static final int STEEL = 100;
+    private static final int BRASS = 101;
+
+    private final UUID groupA = UUID.randomUUID();
+    private final UUID groupB = UUID.randomUUID();
+    // SKU ordinals, sparse as after deletes
+    private static final int SKU1 = 7;
+    private static final int SKU2 = 8;
+    private static final int SKU3 = 12;
+    private static final int SKU4 = 40;
+
+    private FacetBitmapIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = FacetBitmapIndex.builder()
+                .category(1, null, "Fasteners", "fasteners", "Fasteners", false, true, (short) 0, (short) 0)
+                .category(2, 1, "Screws", "screws", "Fasteners.Screws", true, true, (short) 1, (short) 1)
+                .category(3, 1, "Nuts", "nuts", "Fasteners.Nuts", true, true, (short) 1, (short) 2)
+                .category(4, 1, "Rivets", "rivets", "Fasteners.Rivets", true, false, (short) 1, (short) 3)
+                .attribute(MATERIAL, "material", "Material", "checkbox", null, (short) 1, true)
+                .attribute(LENGTH, "length", "Length", "range", "mm", (short) 2, true)
+                .option(STEEL, MATERIAL, "steel", "Steel", null, (short) 1)
+                .option(BRASS, MATERIAL, "brass", "Brass", null, (short) 2)
+                .facet(SKU1, groupA, 2, MATERIAL, STEEL, null)
+                .facet(SKU1, groupA, 2, LENGTH, null, new BigDecimal("10"))
+                .facet(SKU2, groupA, 2, MATERIAL, BRASS, null)
+                .facet(SKU2, groupA, 2, LENGTH, null, new BigDecimal("20"))
+                .facet(SKU3, groupB, 3, MATERIAL, STEEL, null)
+                .facet(SKU3, groupB, 3, LENGTH, null, new BigDecimal("100"))
+                .facet(SKU4, groupB, 4, MATERIAL, STEEL, null)
+                .build();
+    }
+
+    @Test
+    void filteredChildrenCountsActiveSubtreesInSortOrder() {
+        var children = index.filteredChildren(1, Map.of(), Map.of());
+
+        assertThat(children).extracting(c -> c.slug()).containsExactly("screws", "nuts");
+        assertThat(children).extracting(c -> c.skuCount()).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void filteredChildrenAppliesEnumFilter() {
+        var children = index.filteredChildren(1, Map.of(MATERIAL, List.of(BRASS)), Map.of());
+
+        assertThat(children).singleElement()
+                .satisfies(c -> assertThat(c.slug()).isEqualTo("screws"))
+                .satisfies(c -> assertThat(c.skuCount()).isEqualTo(1L));
+    }
+
+    @Test
+    void subtreeFacetsExcludeInactiveLeaves() {
+        var facets = index.subtreeFacets("Fasteners", Map.of(), Map.of());
+
+        var material = facets.get(0);
+        assertThat(material.key()).isEqualTo("material");
+        assertThat(material.options()).extracting(FacetOption::optionId).containsExactly(STEEL, BRASS);
+        assertThat(material.options()).extracting(FacetOption::skuCount).containsExactly(2, 1);
+    }
+
+    @Test
+    void leafFacetsReportNumericAttributesWithNullOption() {
+        var facets = index.leafFacets(2, Map.of(), Map.of());
+
+        assertThat(facets).extracting(f -> f.key()).containsExactly("material", "length");
+        assertThat(facets.get(1).options()).singleElement()
+                .satisfies(o -> assertThat(o.optionId()).isNull())
+                .satisfies(o -> assertThat(o.skuCount()).isEqualTo(2));
+    }
+
+    @Test
+    void rangeFacetIgnoresItsOwnFilterButHonoursOthers() {
+        var facets = index.leafFacets(2, Map.of(),
+                Map.of(LENGTH, new NumericRange(new BigDecimal("15"), null)));
+
+        var length = facets.get(1).range();
+        assertThat(length.min()).isEqualByComparingTo("10");
+        assertThat(length.max()).isEqualByComparingTo("20");
+        assertThat(length.buckets()).hasSize(RangeHistogram.BUCKETS);
+        assertThat(length.buckets().get(0)).isEqualTo(1);
+        assertThat(length.buckets().get(RangeHistogram.BUCKETS - 1)).isEqualTo(1);
+
+        var brassOnly = index.leafFacets(2, Map.of(MATERIAL, List.of(BRASS)), Map.of());
+        assertThat(brassOnly.get(1).range().min()).isEqualByComparingTo("20");
+        assertThat(brassOnly.get(1).range().scopeMin()).isEqualByComparingTo("10");
+        assertThat(brassOnly.get(1).range().buckets().get(0)).isZero();
+        assertThat(brassOnly.get(1).range().buckets().get(RangeHistogram.BUCKETS - 1)).isEqualTo(1);
+        assertThat(brassOnly.get(0).range()).isNull();
+    }
+
+    @Test
+    void rangeFacetSpansItsScopeAndSurvivesAnEmptyResult() {
+        var subtree = index.subtreeFacets("Fasteners", Map.of(MATERIAL, List.of(BRASS)), Map.of());
+        assertThat(subtree.get(1).range().scopeMax()).isEqualByComparingTo("100");
+        assertThat(subtree.get(1).range().max()).isEqualByComparingTo("20");
+        assertThat(subtree.get(1).range().buckets().stream().mapToInt(Integer::intValue).sum()).isEqualTo(1);
+
+        var nothing = index.leafFacets(2, Map.of(MATERIAL, List.of(999)), Map.of());
+        assertThat(nothing).singleElement().satisfies(length -> {
+            assertThat(length.key()).isEqualTo("length");
+            assertThat(length.options()).isEmpty();
+            assertThat(length.range().min()).isNull();
+            assertThat(length.range().max()).isNull();
+            assertThat(length.range().scopeMin()).isEqualByComparingTo("10");
+            assertThat(length.range().scopeMax()).isEqualByComparingTo("20");
+            assertThat(length.range().buckets()).containsOnly(0);
+        });
+    }
+
+    @Test
+    void matchesLeaveTheIndexAsAscendingOrdinalsPerGroup() {
+        var groups = index.matchingSkuOrdinalsByGroup(2, Map.of(), Map.of());
+
+        assertThat(groups).containsOnlyKeys(groupA);
+        assertThat(groups.get(groupA)).containsExactly(SKU1, SKU2);
+        assertThat(index.skuCount()).isEqualTo(4);
+    }
+
+    @Test
+    void rangeFilterIsInclusive() {
+        var range = Map.of(LENGTH, new NumericRange(new BigDecimal("15"), new BigDecimal("20")));
+        var groups = index.matchingSkuOrdinalsByGroup(2, Map.of(), range);
+
+        assertThat(groups).containsOnlyKeys(groupA);
+        assertThat(groups.get(groupA)).containsExactly(SKU2);
+    }
+
+    @Test
+    void filtersOnDifferentAttributesAreIntersected() {
+        var groups = index.matchingSkuOrdinalsByGroup(2,
+                Map.of(MATERIAL, List.of(STEEL)),
+                Map.of(LENGTH, new NumericRange(new BigDecimal("15"), new BigDecimal("30"))));
+
+        assertThat(groups).isEmpty();
+    }
+
+    @Test
+    void unknownCategoriesReturnEmptyResults() {
+        assertThat(index.filteredChildren(999, Map.of(), Map.of())).isEmpty();
+        assertThat(index.subtreeFacets("NonExistent.Path", Map.of(), Map.of())).isEmpty();
+        assertThat(index.leafFacets(9999, Map.of(), Map.of())).isEmpty();
+        assertThat(index.matchingSkuOrdinalsByGroup(9999, Map.of(), Map.of())).isEmpty();
+    }
+}
@@ -4,11 +4,13 @@ import com.storefront.catalog.BaseIntegrationTest;
 import com.storefront.catalog.domain.model.CategoryBrowseRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
 
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+@TestPropertySource(properties = "storefront.catalog.browse.engine=sql")
 class JooqCategoryBrowseRepositoryTest extends BaseIntegrationTest {
 
     @Autowired
@@ -33,8 +35,8 @@ class JooqCategoryBrowseRepositoryTest extends BaseIntegrationTest {
     }
 
     @Test
-    void findMatchingSkuIdsByGroupReturnsEmptyForNonExistentCategory() {
-        var result = repo.findMatchingSkuIdsByGroup(9999, Map.of(), Map.of());
+    void findMatchingSkuOrdinalsByGroupReturnsEmptyForNonExistentCategory() {
+        var result = repo.findMatchingSkuOrdinalsByGroup(9999, Map.of(), Map.of());
         assertThat(result).isNotNull().isEmpty();
     }
 }
\ No newline at end of file
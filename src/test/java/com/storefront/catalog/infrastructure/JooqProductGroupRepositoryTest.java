@@ -0,0 +1,144 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.BaseIntegrationTest;
+import com.storefront.catalog.ProductApi.ProductGroupSummary;
+import com.storefront.catalog.domain.model.ProductGroupRepository;
+import com.storefront.shared.PageRequest;
+import com.storefront.shared.Pagination.TotalAccuracy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static com.storefront.jooq.Tables.CATEGORIES;
+import static com.storefront.jooq.Tables.PRODUCT_GROUPS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JooqProductGroupRepositoryTest extends BaseIntegrationTest {
+
+    private static final String SLUG = "tapered-roller-bearings-one-piece";
+
+    @Autowired
+    ProductGroupRepository repo;
+
+    @Autowired
+    DSLContext dsl;
+
+    @Autowired
+    @Qualifier("readOnlyDsl")
+    DSLContext readOnlyDsl;
+
+    @Autowired
+    ApplicationEventPublisher events;
+
+    @BeforeEach
+    void insertGroup() {
+        dsl.insertInto(PRODUCT_GROUPS)
+                .set(PRODUCT_GROUPS.CATEGORY_ID, DSL.field(dsl.select(CATEGORIES.ID.min()).from(CATEGORIES)))
+                .set(PRODUCT_GROUPS.NAME, "Tapered Roller Bearings")
+                .set(PRODUCT_GROUPS.SUBTITLE, "One-Piece, At-Rest Seal")
+                .set(PRODUCT_GROUPS.SLUG, SLUG)
+                .execute();
+        catalogChanged();
+    }
+
+    @AfterEach
+    void deleteGroup() {
+        dsl.deleteFrom(PRODUCT_GROUPS).where(PRODUCT_GROUPS.SLUG.eq(SLUG)).execute();
+        catalogChanged();
+    }
+
+    @Test
+    void dropdownMatchesPrefixesThatAreStopWords() {
+        assertThat(slugs("on")).contains(SLUG);
+        assertThat(slugs("at")).contains(SLUG);
+        assertThat(slugs("tapered a")).containsExactly(SLUG);
+        assertThat(slugs("a")).contains("socket-head-cap-screws-alloy-steel");
+    }
+
+    @Test
+    void dropdownMatchesPrefixesLongerThanTheStem() {
+        assertThat(slugs("bearin")).containsExactly(SLUG);
+        assertThat(slugs("bearings")).containsExactly(SLUG);
+    }
+
+    @Test
+    void prefixesAnsweredFromTheCacheAgreeWithTheDatabase() {
+        var queries = List.of("bea", "bear", "bearin", "bearings", "bearings o", "bearings on");
+        var narrowed = queries.stream().map(this::slugs).toList();   // all but the first from "bea"
+
+        for (int i = 0; i < queries.size(); i++) {
+            catalogChanged();
+            assertThat(narrowed.get(i)).as(queries.get(i))
+                    .containsExactlyInAnyOrderElementsOf(slugs(queries.get(i)))
+                    .contains(SLUG);
+        }
+    }
+
+    @Test
+    void exactCountsEveryMatch() {
+        var all = searchAllPages(searchRepository("exact", 1000), "cap screws");
+        var first = searchRepository("exact", 1000).search("cap screws", PageRequest.of(0, 2));
+
+        assertThat(all).hasSizeGreaterThan(2).doesNotHaveDuplicates();
+        assertThat(first.totalAccuracy()).isEqualTo(TotalAccuracy.EXACT);
+        assertThat(first.totalItems()).isEqualTo(all.size());
+    }
+
+    @Test
+    void cappedCountsAreLowerBoundsAndEveryPageStaysReachable() {
+        var all = searchAllPages(searchRepository("exact", 1000), "cap screws");
+        var capped = searchRepository("capped", 1);
+        var first = capped.search("cap screws", PageRequest.of(0, 2));
+
+        assertThat(first.totalAccuracy()).isEqualTo(TotalAccuracy.LOWER_BOUND);
+        assertThat(first.totalItems()).isEqualTo(2);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(searchAllPages(capped, "cap screws")).containsExactlyInAnyOrderElementsOf(all);
+    }
+
+    @Test
+    void estimatedCountsAboveTheCapPageByFullness() {
+        var all = searchAllPages(searchRepository("exact", 1000), "cap screws");
+        var estimated = searchRepository("estimated", 0);
+
+        assertThat(estimated.search("cap screws", PageRequest.of(0, 2)).totalAccuracy())
+                .isEqualTo(TotalAccuracy.ESTIMATE);
+        assertThat(searchAllPages(estimated, "cap screws")).containsExactlyInAnyOrderElementsOf(all);
+    }
+
+    /** Outside Spring, so no result cache between the modes. */
+    private JooqProductGroupRepository searchRepository(String countMode, int countCap) {
+        return new JooqProductGroupRepository(readOnlyDsl, new SimpleMeterRegistry(), countMode, countCap,
+                3, 500, 100_000, Duration.ofMinutes(5));
+    }
+
+    private static List<String> searchAllPages(JooqProductGroupRepository repository, String query) {
+        List<String> slugs = new ArrayList<>();
+        var page = repository.search(query, PageRequest.of(0, 2));
+        page.items().forEach(group -> slugs.add(group.slug()));
+        while (page.hasNext()) {
+            page = repository.search(query, PageRequest.of(page.page() + 1, 2));
+            page.items().forEach(group -> slugs.add(group.slug()));
+        }
+        return slugs;
+    }
+
+    private List<String> slugs(String query) {
+        return repo.searchDropdown(query, 100).stream().map(ProductGroupSummary::slug).toList();
+    }
+
+    private void catalogChanged() {
+        events.publishEvent(new CatalogTablesChanged(Set.of("product_groups")));
+    }
+}
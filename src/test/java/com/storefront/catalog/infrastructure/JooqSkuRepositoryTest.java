@@ -0,0 +1,102 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.BaseIntegrationTest;
+import com.storefront.catalog.ProductApi.SkuRow;
+import com.storefront.shared.SliceRequest;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.storefront.jooq.Tables.PRODUCT_GROUPS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JooqSkuRepositoryTest extends BaseIntegrationTest {
+
+    private static final String SLUG = "socket-head-cap-screws-alloy-steel";
+
+    @Autowired
+    @Qualifier("readOnlyDsl")
+    DSLContext readOnlyDsl;
+
+    @Test
+    void aStreamStopsAtItsBoundAndContinuesFromTheCursor() {
+        // Two rows per batch, four per call: 10 rows take three calls
+        var repository = new JooqSkuRepository(readOnlyDsl, 2, 4, 500, 4);
+        List<String> drained = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        String cursor = null;
+        do {
+            String[] next = new String[1];
+            repository.streamVariantTable(groupId(), Map.of(), Map.of(), cursor, (rowCount, rows, nextCursor) -> {
+                counts.add(rowCount);
+                rows.forEach(row -> drained.add(row.partNumber()));
+                next[0] = nextCursor;
+            });
+            cursor = next[0];
+        } while (cursor != null && counts.size() < 10);
+
+        assertThat(counts).containsExactly(10, -1, -1);
+        assertThat(drained).hasSize(10).doesNotHaveDuplicates();
+        assertThat(drained).containsExactlyElementsOf(
+                repository.findVariantSlice(groupId(), Map.of(), Map.of(), SliceRequest.of(0, 10)).items()
+                        .stream().map(SkuRow::partNumber).toList());
+    }
+
+    @Test
+    void aStreamEndingExactlyAtItsBoundHasNoContinuation() {
+        var repository = new JooqSkuRepository(readOnlyDsl, 3, 10, 500, 4);
+        List<String> drained = new ArrayList<>();
+        String[] next = {"unset"};
+
+        repository.streamVariantTable(groupId(), Map.of(), Map.of(), null, (rowCount, rows, nextCursor) -> {
+            assertThat(rowCount).isEqualTo(10);
+            rows.forEach(row -> drained.add(row.partNumber()));
+            next[0] = nextCursor;
+        });
+
+        assertThat(drained).hasSize(10).doesNotHaveDuplicates();
+        assertThat(next[0]).isNull();
+    }
+
+    @Test
+    void specValuesFollowEachGroupsColumnOrder() {
+        var repository = new JooqSkuRepository(readOnlyDsl, 500, 10_000, 500, 4);
+        // SKUs of two groups in one call: each row reads its own group's columns
+        List<UUID> ids = readOnlyDsl.fetch("""
+                SELECT s.id FROM skus s
+                WHERE s.is_active AND s.product_group_id IN (
+                    SELECT product_group_id FROM product_group_columns GROUP BY 1 ORDER BY 1 LIMIT 2)""")
+                .getValues(0, UUID.class);
+        var rows = repository.findByIds(ids);
+        assertThat(rows).hasSameSizeAs(ids);
+
+        for (var row : rows) {
+            // The per-row projection the column keys replaced
+            String[] expected = readOnlyDsl.fetchSingle("""
+                    SELECT ARRAY(SELECT s.specs_jsonb ->> ad.key
+                                 FROM product_group_columns pgc
+                                 JOIN attribute_definitions ad ON ad.id = pgc.attribute_id
+                                 WHERE pgc.product_group_id = s.product_group_id
+                                 ORDER BY pgc.sort_order, pgc.attribute_id)
+                    FROM skus s WHERE s.id = ?""", row.id()).get(0, String[].class);
+            List<String> values = new ArrayList<>();
+            for (int i = 0; i < row.specs().size(); i++) values.add(row.specs().get(i));
+            assertThat(values).as(row.partNumber())
+                    .containsExactly(Arrays.stream(expected).map(v -> v == null ? "" : v).toArray(String[]::new));
+        }
+        assertThat(rows).anyMatch(row -> row.specs().size() > 0);
+    }
+
+    private UUID groupId() {
+        return readOnlyDsl.select(PRODUCT_GROUPS.ID).from(PRODUCT_GROUPS)
+                .where(PRODUCT_GROUPS.SLUG.eq(SLUG))
+                .fetchSingle(PRODUCT_GROUPS.ID);
+    }
+}
@@ -0,0 +1,90 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.BaseIntegrationTest;
+import com.storefront.catalog.CategoryApi;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteListenerProvider;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A leaf's group tables cost a fixed number of replica statements, however
+ * many groups the leaf has. The bitmap engine finds the matching SKUs in
+ * memory, so every statement comes from loading the tables.
+ */
+class LeafGroupTablesQueryCountTest extends BaseIntegrationTest {
+
+    /** Summaries, SKU rows, their column keys, their price tiers, column configs. */
+    private static final int STATEMENTS = 5;
+
+    private static final QueryPlanRegressionTest.Recorder RECORDER = new QueryPlanRegressionTest.Recorder();
+
+    @TestConfiguration
+    static class RecordedReplica {
+
+        /** The replica DSLContext every repository gets, with the recorder added to its listeners. */
+        @Bean
+        static BeanPostProcessor recordReplicaStatements() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!beanName.equals("readOnlyDsl")) return bean;
+                    var configuration = ((DSLContext) bean).configuration();
+                    var listeners = configuration.executeListenerProviders();
+                    ExecuteListenerProvider[] withRecorder = Arrays.copyOf(listeners, listeners.length + 1);
+                    withRecorder[listeners.length] = new DefaultExecuteListenerProvider(RECORDER);
+                    return configuration.derive(withRecorder).dsl();
+                }
+            };
+        }
+    }
+
+    @Autowired
+    CategoryApi categoryApi;
+
+    @Autowired
+    @Qualifier("readOnlyDsl")
+    DSLContext readOnlyDsl;
+
+    @Test
+    void leafGroupTablesTakeTheSameStatementsWhateverTheGroupCount() {
+        // Leaves by how many groups with active SKUs they hold
+        var leaves = readOnlyDsl.fetch("""
+                SELECT c.id, c.path::TEXT, COUNT(DISTINCT pg.id)::INT
+                FROM categories c
+                JOIN product_groups pg ON pg.category_id = c.id AND pg.is_active
+                JOIN skus s ON s.product_group_id = pg.id AND s.is_active
+                WHERE c.is_leaf AND c.is_active
+                GROUP BY 1, 2
+                ORDER BY 3, 1""");
+        var fewest = leaves.get(0);
+        var most = leaves.get(leaves.size() - 1);
+        assertThat(most.get(2, Integer.class)).isGreaterThan(fewest.get(2, Integer.class));
+
+        for (var leaf : List.of(fewest, most)) {
+            int categoryId = leaf.get(0, Integer.class);
+            String path = leaf.get(1, String.class);
+            List<Object> tables = new ArrayList<>();
+
+            var statements = RECORDER.capture(
+                    () -> tables.addAll(categoryApi.findLeafGroupTables(categoryId, path, Map.of(), Map.of())));
+
+            assertThat(tables).isNotEmpty();
+            assertThat(statements)
+                    .as("statements for a leaf of %d groups", tables.size())
+                    .hasSize(STATEMENTS);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.infrastructure.PrefixResultCache.Outcome;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixResultCacheTest {
+
+    private static final List<String> NAMES = List.of(
+            "bolt cutter", "carriage bolt", "hex bolt", "hex nut", "box wrench", "lock nut");
+
+    private final List<String> loads = new ArrayList<>();
+
+    private final PrefixResultCache<String> cache = new PrefixResultCache<>(3, 10, 1_000, Duration.ofMinutes(5),
+            (name, words) -> words.stream().allMatch(w -> SearchText.tokens(name).stream().anyMatch(t -> t.startsWith(w))));
+
+    @Test
+    void extendsAShortPrefixWithoutLoading() {
+        assertThat(cache.get("bo", 10, this::load)).containsExactly("bolt cutter", "carriage bolt", "hex bolt", "box wrench");
+        assertThat(cache.get("bol", 10, this::load)).containsExactly("bolt cutter", "carriage bolt", "hex bolt");
+        assertThat(cache.get("bolt c", 10, this::load)).containsExactly("bolt cutter", "carriage bolt");
+
+        assertThat(loads).containsExactly("bo");
+        assertThat(cache.count(Outcome.MISS)).isEqualTo(1);
+        assertThat(cache.count(Outcome.PREFIX)).isEqualTo(2);
+    }
+
+    @Test
+    void repeatsAreExactHitsWhateverTheSpellingOfTheQuery() {
+        cache.get("hex", 2, this::load);
+        assertThat(cache.get("  HEX ", 1, this::load)).containsExactly("hex bolt");
+
+        assertThat(loads).containsExactly("hex");
+        assertThat(cache.count(Outcome.EXACT)).isEqualTo(1);
+    }
+
+    @Test
+    void truncatedCandidateListsServeOnlyTheirOwnQuery() {
+        var small = new PrefixResultCache<String>(3, 2, 1_000, Duration.ofMinutes(5), (name, words) -> true);
+
+        small.get("b", 2, this::load);       // three matches, capped at two
+        small.get("b", 2, this::load);
+        small.get("bo", 2, this::load);
+
+        assertThat(loads).containsExactly("b", "bo");
+        assertThat(small.count(Outcome.EXACT)).isEqualTo(1);
+    }
+
+    @Test
+    void longQueriesLoadOnlyWhatWasAsked() {
+        cache.get("hex bolt", 1, this::load);
+        cache.get("hex bolt", 2, this::load);    // the first load stopped at one
+        cache.get("hex bolt", 2, this::load);
+
+        assertThat(loads).containsExactly("hex bolt", "hex bolt");
+        assertThat(cache.count(Outcome.EXACT)).isEqualTo(1);
+    }
+
+    private List<String> load(String key, int limit) {
+        loads.add(key);
+        var words = SearchText.tokens(key);
+        return NAMES.stream()
+                .filter(name -> words.stream().allMatch(w -> SearchText.tokens(name).stream().anyMatch(t -> t.startsWith(w))))
+                .limit(limit)
+                .toList();
+    }
+}
@@ -0,0 +1,70 @@
+package com.storefront.catalog.infrastructure;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PriceTierIndexTest {
+
+    // Ordinal 4 (between them) has no tiers
+    private final int bolt = 3;
+    private final int washer = 5;
+
+    private PriceTierIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = PriceTierIndex.builder()
+                .tier(bolt, "91251A540", "Pack of 10", 1, 24, new BigDecimal("1.2500"))
+                .tier(bolt, "91251A540", "Pack of 10", 25, 99, new BigDecimal("1.0000"))
+                .tier(bolt, "91251A540", "Pack of 10", 100, null, new BigDecimal("0.8125"))
+                .tier(washer, "90107A030", "Each", 10, 49, new BigDecimal("0.0345"))
+                .build();
+    }
+
+    @Test
+    void quotesTheTierCoveringTheQuantity() {
+        assertThat(price(bolt, 1)).isEqualByComparingTo("1.25");
+        assertThat(price(bolt, 24)).isEqualByComparingTo("1.25");
+        assertThat(price(bolt, 25)).isEqualByComparingTo("1.00");
+        assertThat(price(bolt, 5000)).isEqualByComparingTo("0.8125");
+    }
+
+    @Test
+    void keepsFourDecimalPlacesExactly() {
+        assertThat(index.unitPrice(washer, 10)).isEqualTo(new BigDecimal("0.0345"));
+        assertThat(index.partNumber(washer)).isEqualTo("90107A030");
+        assertThat(index.sellUnit(washer)).isEqualTo("Each");
+    }
+
+    @Test
+    void quantitiesOutsideEveryTierAreNotPriced() {
+        assertThat(index.unitPrice(washer, 9)).isNull();
+        assertThat(index.unitPrice(washer, 50)).isNull();
+        assertThat(index.unitPrice(4, 1)).isNull();
+        assertThat(index.unitPrice(0, 1)).isNull();
+        assertThat(index.unitPrice(99, 1)).isNull();
+        assertThat(index.unitPrice(-1, 1)).isNull();
+    }
+
+    @Test
+    void rejectsTiersOutOfBuilderOrder() {
+        assertThatThrownBy(() -> PriceTierIndex.builder()
+                .tier(bolt, "A", "Each", 25, null, BigDecimal.ONE)
+                .tier(bolt, "A", "Each", 1, 24, BigDecimal.TEN))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> PriceTierIndex.builder()
+                .tier(bolt, "A", "Each", 1, null, BigDecimal.ONE)
+                .tier(washer, "B", "Each", 1, null, BigDecimal.ONE)
+                .tier(bolt, "A", "Each", 10, null, BigDecimal.ONE))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private BigDecimal price(int sku, int quantity) {
+        return index.unitPrice(sku, quantity);
+    }
+}
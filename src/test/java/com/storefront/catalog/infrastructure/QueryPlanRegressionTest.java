@@ -0,0 +1,386 @@
+package com.storefront.catalog.infrastructure;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.storefront.catalog.BaseIntegrationTest;
+import com.storefront.catalog.ProductApi.NumericRange;
+import com.storefront.catalog.domain.model.AttributeRepository;
+import com.storefront.catalog.domain.model.CategoryBrowseRepository;
+import com.storefront.catalog.domain.model.CategoryRepository;
+import com.storefront.catalog.domain.model.ProductGroupRepository;
+import com.storefront.catalog.domain.model.SkuRepository;
+import com.storefront.catalog.domain.model.VariantCursor;
+import com.storefront.shared.PageRequest;
+import com.storefront.shared.SliceRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.ExecuteListenerProvider;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.stream.Stream;
+
+import static com.storefront.jooq.Tables.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query-plan regression suite for the catalog's jOOQ repositories.
+ * ═══════════════════════════════════════════════════════════════════
+ *
+ * Loads a synthetic catalog (query-plans/synthetic-catalog.sql) into the
+ * Testcontainers Postgres, calls every repository method, captures each SQL
+ * statement it issues and re-runs it under EXPLAIN (ANALYZE, BUFFERS). A case
+ * fails when
+ *   - any plan node is a Seq Scan on skus, sku_attributes or sku_facet_index, or
+ *   - shared buffers (hit + read) exceed the recorded baseline by more than
+ *     the tolerance.
+ *
+ * Scale and tolerance are system properties (query-plans.mids,
+ * query-plans.leaves-per-mid, query-plans.groups-per-leaf,
+ * query-plans.skus-per-group, query-plans.tolerance). Buffer baselines live in
+ * query-plans/baseline.properties and only apply at the scale they were
+ * recorded at; every run writes the observed values to
+ * build/query-plans/baseline.properties for review and copying back. At the
+ * default scale a statement without a baseline entry fails, so a missing or
+ * stale baseline cannot pass silently.
+ *
+ * The repositories are constructed here over a configuration derived from
+ * readOnlyDsl's with the recorder added, leaving the shared bean untouched
+ * — and with no cache proxies, so every call reaches SQL.
+ *
+ * Tagged "query-plans" and run by {@code ./gradlew queryPlanTest}, not by the
+ * default test task.
+ */
+@Tag("query-plans")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanRegressionTest extends BaseIntegrationTest {
+
+    private static final Set<String> NO_SEQ_SCAN = Set.of("skus", "sku_attributes", "sku_facet_index");
+    private static final Path OBSERVED = Path.of("build", "query-plans", "baseline.properties");
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final Map<String, Integer> DEFAULT_SCALE = Map.of(
+            "mids", 4, "leaves_per_mid", 10, "groups_per_leaf", 20, "skus_per_group", 50);
+
+    @Autowired @Qualifier("readOnlyDsl") DSLContext readOnlyDsl;
+    @Autowired DSLContext primaryDsl;
+    @Autowired DataSource dataSource;
+
+    private final Recorder recorder = new Recorder();
+    private final Properties observed = new Properties();
+    private Properties baseline;
+    private String scale;
+    private boolean defaultScale;
+    private double tolerance;
+    private Fixture fixture;
+
+    private JooqAttributeRepository attributes;
+    private JooqCategoryBrowseRepository browse;
+    private JooqCategoryRepository categories;
+    private JooqProductGroupRepository productGroups;
+    private JooqSkuRepository skus;
+
+    @BeforeAll
+    void loadCatalog() throws Exception {
+        Map<String, Integer> params = new LinkedHashMap<>();
+        params.put("mids", Integer.getInteger("query-plans.mids", DEFAULT_SCALE.get("mids")));
+        params.put("leaves_per_mid", Integer.getInteger("query-plans.leaves-per-mid", DEFAULT_SCALE.get("leaves_per_mid")));
+        params.put("groups_per_leaf", Integer.getInteger("query-plans.groups-per-leaf", DEFAULT_SCALE.get("groups_per_leaf")));
+        params.put("skus_per_group", Integer.getInteger("query-plans.skus-per-group", DEFAULT_SCALE.get("skus_per_group")));
+        scale = params.toString();
+        defaultScale = params.equals(DEFAULT_SCALE);
+        tolerance = Double.parseDouble(System.getProperty("query-plans.tolerance", "0.25"));
+
+        String sql = resource("/query-plans/synthetic-catalog.sql");
+        for (var p : params.entrySet()) sql = sql.replace("${" + p.getKey() + "}", p.getValue().toString());
+        try (var connection = dataSource.getConnection(); var statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+
+        baseline = new Properties();
+        try (InputStream in = getClass().getResourceAsStream("/query-plans/baseline.properties")) {
+            if (in != null) baseline.load(in);
+        }
+        fixture = Fixture.load(primaryDsl);
+
+        var listeners = readOnlyDsl.configuration().executeListenerProviders();
+        ExecuteListenerProvider[] withRecorder = Arrays.copyOf(listeners, listeners.length + 1);
+        withRecorder[listeners.length] = new DefaultExecuteListenerProvider(recorder);
+        DSLContext recorded = readOnlyDsl.configuration().derive(withRecorder).dsl();
+
+        // Settings as in application.yml
+        attributes = new JooqAttributeRepository(recorded);
+        browse = new JooqCategoryBrowseRepository(recorded);
+        categories = new JooqCategoryRepository(recorded);
+        productGroups = new JooqProductGroupRepository(recorded, new SimpleMeterRegistry(), "capped", 1000,
+                3, 500, 100_000, Duration.ofMinutes(5));
+        skus = new JooqSkuRepository(recorded, 500, 10_000, 500, 4);
+    }
+
+    @AfterAll
+    void writeObserved() throws IOException {
+        observed.setProperty("scale", scale);
+        Files.createDirectories(OBSERVED.getParent());
+        try (OutputStream out = Files.newOutputStream(OBSERVED)) {
+            observed.store(out, "Shared buffers (hit + read) per captured statement");
+        }
+    }
+
+    // ─── Cases ───────────────────────────────────────────────────────────────
+
+    /** One entry per code path; names are "Interface.method[variant]". */
+    private Map<String, Runnable> cases() {
+        var f = fixture;
+        Map<Integer, List<Integer>> noEnum = Map.of();
+        Map<Integer, NumericRange> noRange = Map.of();
+        var enumFilter = Map.of(f.materialId(), f.materialOptions());
+        var rangeFilter = Map.of(f.lengthId(), new NumericRange(new BigDecimal("10"), new BigDecimal("60")));
+
+        Map<String, Runnable> cases = new LinkedHashMap<>();
+
+        cases.put("CategoryBrowseRepository.findFilteredChildren[rollup]",
+                () -> browse.findFilteredChildren(f.rootId(), "PlanRoot", noEnum, noRange));
+        cases.put("CategoryBrowseRepository.findFilteredChildren[filtered]",
+                () -> browse.findFilteredChildren(f.rootId(), "PlanRoot", enumFilter, rangeFilter));
+        cases.put("CategoryBrowseRepository.findMidLevelFacets[rollup]",
+                () -> browse.findMidLevelFacets(f.midPath(), noEnum, noRange));
+        cases.put("CategoryBrowseRepository.findMidLevelFacets[filtered]",
+                () -> browse.findMidLevelFacets(f.midPath(), enumFilter, noRange));
+        cases.put("CategoryBrowseRepository.findLeafFacets[rollup]",
+                () -> browse.findLeafFacets(f.leafId(), noEnum, noRange));
+        cases.put("CategoryBrowseRepository.findLeafFacets[filtered]",
+                () -> browse.findLeafFacets(f.leafId(), enumFilter, rangeFilter));
+        cases.put("CategoryBrowseRepository.findMatchingSkuOrdinalsByGroup[unfiltered]",
+                () -> browse.findMatchingSkuOrdinalsByGroup(f.leafId(), noEnum, noRange));
+        cases.put("CategoryBrowseRepository.findMatchingSkuOrdinalsByGroup[filtered]",
+                () -> browse.findMatchingSkuOrdinalsByGroup(f.leafId(), enumFilter, rangeFilter));
+
+        cases.put("CategoryRepository.findTopLevel", categories::findTopLevel);
+        cases.put("CategoryRepository.findChildren", () -> categories.findChildren(f.rootId()));
+        cases.put("CategoryRepository.findBreadcrumb", () -> categories.findBreadcrumb(f.leafPath()));
+        cases.put("CategoryRepository.findBySlug", () -> categories.findBySlug(f.leafSlug()));
+        cases.put("CategoryRepository.findBySlugs",
+                () -> categories.findBySlugs(List.of(f.leafSlug(), "plan-m1", "no-such-category")));
+        cases.put("CategoryRepository.findDescendants", () -> categories.findDescendants(f.midPath()));
+        cases.put("CategoryRepository.findAllWithinDepth", () -> categories.findAllWithinDepth((short) 2));
+
+        cases.put("ProductGroupRepository.browseByCategory",
+                () -> productGroups.browseByCategory(f.midPath(), SliceRequest.of(0, 24)));
+        cases.put("ProductGroupRepository.findBySlug", () -> productGroups.findBySlug(f.groupSlug()));
+        cases.put("ProductGroupRepository.search", () -> productGroups.search("hex bolt", PageRequest.of(0, 24)));
+        cases.put("ProductGroupRepository.searchDropdown", () -> productGroups.searchDropdown("hex", 8));
+        cases.put("ProductGroupRepository.findSummariesByIds",
+                () -> productGroups.findSummariesByIds(f.groupIds()));
+
+        cases.put("SkuRepository.findVariantTable[whole]", () -> skus.findVariantTable(f.groupId(), List.of()));
+        cases.put("SkuRepository.findVariantTable[matching]", () -> skus.findVariantTable(f.groupId(), f.skuIds()));
+        cases.put("SkuRepository.findVariantTables", () -> {
+            Map<UUID, int[]> byGroup = new LinkedHashMap<>();
+            f.groupIds().forEach(id -> byGroup.put(id, new int[0]));
+            byGroup.put(f.groupId(), f.skuOrdinals());
+            skus.findVariantTables(byGroup);
+        });
+        cases.put("SkuRepository.findMatchingSkuIds",
+                () -> skus.findMatchingSkuIds(f.groupId(), enumFilter, rangeFilter));
+        cases.put("SkuRepository.countMatchingSkus",
+                () -> skus.countMatchingSkus(f.groupId(), enumFilter, rangeFilter));
+        cases.put("SkuRepository.findVariantSlice[first]",
+                () -> skus.findVariantSlice(f.groupId(), noEnum, noRange, SliceRequest.of(0, 20)));
+        cases.put("SkuRepository.findVariantSlice[cursor]",
+                () -> skus.findVariantSlice(f.groupId(), enumFilter, noRange, SliceRequest.withCursor(20, null,
+                        new VariantCursor("000025", f.skuIds().get(0)).encode())));
+        cases.put("SkuRepository.streamVariantTable",
+                () -> skus.streamVariantTable(f.groupId(), enumFilter, rangeFilter, null,
+                        (rowCount, rows, nextCursor) -> rows.forEach(row -> {})));
+        cases.put("SkuRepository.streamVariantTable[cursor]",
+                () -> skus.streamVariantTable(f.groupId(), noEnum, noRange,
+                        new VariantCursor("000025", f.skuIds().get(0)).encode(),
+                        (rowCount, rows, nextCursor) -> rows.forEach(row -> {})));
+        cases.put("SkuRepository.findByPartNumber", () -> skus.findByPartNumber(f.partNumber()));
+        cases.put("SkuRepository.findByIds", () -> skus.findByIds(f.skuIds()));
+        cases.put("SkuRepository.findByPartNumbers",
+                () -> skus.findByPartNumbers(List.of(f.partNumber(), "NO-SUCH-PART")));
+        cases.put("SkuRepository.existsAndActive", () -> skus.existsAndActive(f.skuIds().get(0)));
+        cases.put("SkuRepository.search[part number]",
+                () -> skus.search(f.partNumber().toLowerCase(Locale.ROOT).replace("-", " "), null));
+        cases.put("SkuRepository.search[fragment]", () -> skus.search(f.partNumber().substring(2, 10), null));
+        cases.put("SkuRepository.search[in group]", () -> skus.search(f.partNumber(), f.groupId()));
+
+        cases.put("AttributeRepository.findColumnConfig", () -> attributes.findColumnConfig(f.groupId()));
+        cases.put("AttributeRepository.findColumnConfigs", () -> attributes.findColumnConfigs(f.groupIds()));
+        cases.put("AttributeRepository.findFacetCounts", () -> attributes.findFacetCounts(f.groupId(), f.skuIds()));
+        cases.put("AttributeRepository.findFacetCounts[filters]",
+                () -> attributes.findFacetCounts(f.groupId(), enumFilter, rangeFilter));
+        cases.put("AttributeRepository.findFilterableAttributes",
+                () -> attributes.findFilterableAttributes(f.leafId()));
+
+        return cases;
+    }
+
+    @Test
+    void everyRepositoryMethodHasACase() {
+        var covered = cases().keySet().stream()
+                .map(name -> name.replaceFirst("\\[.*]$", ""))
+                .toList();
+
+        Stream.of(AttributeRepository.class, CategoryBrowseRepository.class, CategoryRepository.class,
+                        ProductGroupRepository.class, SkuRepository.class)
+                .flatMap(type -> Arrays.stream(type.getDeclaredMethods())
+                        .map(m -> type.getSimpleName() + "." + m.getName()))
+                .forEach(method -> assertThat(covered).as("plan case for %s", method).contains(method));
+    }
+
+    @TestFactory
+    Stream<DynamicTest> plansStayOnIndexesAndWithinBaseline() {
+        return cases().entrySet().stream().map(c -> DynamicTest.dynamicTest(c.getKey(), () -> {
+            List<String> statements = recorder.capture(c.getValue());
+            assertThat(statements).as("statements issued by %s", c.getKey()).isNotEmpty();
+
+            for (int i = 0; i < statements.size(); i++) {
+                String key = c.getKey() + "#" + (i + 1);
+                JsonNode plan = explain(statements.get(i));
+                long buffers = plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong();
+                observed.setProperty(key, Long.toString(buffers));
+
+                List<String> seqScans = new ArrayList<>();
+                collectSeqScans(plan, seqScans);
+                assertThat(seqScans)
+                        .as("%s seq-scans a large table%n%s%n%s", key, statements.get(i), plan.toPrettyString())
+                        .isEmpty();
+
+                String recorded = baseline.getProperty(key);
+                if (defaultScale) {
+                    assertThat(scale)
+                            .as("baseline scale; re-record query-plans/baseline.properties (see its header)")
+                            .isEqualTo(baseline.getProperty("scale"));
+                    assertThat(recorded)
+                            .as("%s has no baseline; re-record query-plans/baseline.properties (see its header)", key)
+                            .isNotNull();
+                }
+                if (recorded != null && scale.equals(baseline.getProperty("scale"))) {
+                    long limit = (long) Math.ceil(Long.parseLong(recorded) * (1 + tolerance));
+                    assertThat(buffers)
+                            .as("%s shared buffers vs baseline %s (+%.0f%%)%n%s",
+                                    key, recorded, tolerance * 100, plan.toPrettyString())
+                            .isLessThanOrEqualTo(limit);
+                }
+            }
+        }));
+    }
+
+    // ─── Plan inspection ─────────────────────────────────────────────────────
+
+    /** Top plan node of EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON); buffer counts there are cumulative. */
+    private JsonNode explain(String sql) {
+        return primaryDsl.connectionResult(connection -> {
+            try (var statement = connection.createStatement();
+                 var rs = statement.executeQuery("EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + sql)) {
+                rs.next();
+                return MAPPER.readTree(rs.getString(1)).get(0).get("Plan");
+            }
+        });
+    }
+
+    private static void collectSeqScans(JsonNode node, List<String> out) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())
+                && NO_SEQ_SCAN.contains(node.path("Relation Name").asText())) {
+            out.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) collectSeqScans(child, out);
+    }
+
+    private static String resource(String name) throws IOException {
+        try (InputStream in = QueryPlanRegressionTest.class.getResourceAsStream(name)) {
+            return new String(Objects.requireNonNull(in, name).readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Captures the statements the calling thread sends through the derived DSL,
+     * rendered with inlined bind values so they can be re-run under EXPLAIN.
+     * Scoped to one thread so the change watcher's polling is never captured.
+     */
+    static final class Recorder implements ExecuteListener {
+
+        private final ThreadLocal<List<String>> active = new ThreadLocal<>();
+
+        List<String> capture(Runnable call) {
+            List<String> statements = new ArrayList<>();
+            active.set(statements);
+            try {
+                call.run();
+            } finally {
+                active.remove();
+            }
+            return statements;
+        }
+
+        @Override
+        public void executeStart(ExecuteContext ctx) {
+            var statements = active.get();
+            if (statements != null && ctx.query() != null) {
+                statements.add(ctx.configuration().dsl().renderInlined(ctx.query()));
+            }
+        }
+    }
+
+    // ─── Fixture ids ─────────────────────────────────────────────────────────
+
+    record Fixture(int rootId, String midPath, int leafId, String leafPath, String leafSlug,
+                   int materialId, List<Integer> materialOptions, int lengthId,
+                   UUID groupId, String groupSlug, List<UUID> groupIds,
+                   List<UUID> skuIds, int[] skuOrdinals, String partNumber) {
+
+        static Fixture load(DSLContext dsl) {
+            int rootId = dsl.select(CATEGORIES.ID).from(CATEGORIES)
+                    .where(CATEGORIES.SLUG.eq("plan-root")).fetchSingle(CATEGORIES.ID);
+            var leaf = dsl.select(CATEGORIES.ID, CATEGORIES.SLUG).from(CATEGORIES)
+                    .where(CATEGORIES.SLUG.eq("plan-m1-l1")).fetchSingle();
+            int leafId = leaf.get(CATEGORIES.ID);
+
+            Map<String, Integer> attributeIds = dsl
+                    .select(ATTRIBUTE_DEFINITIONS.KEY, ATTRIBUTE_DEFINITIONS.ID)
+                    .from(ATTRIBUTE_DEFINITIONS)
+                    .where(ATTRIBUTE_DEFINITIONS.CATEGORY_ID.eq(leafId))
+                    .fetchMap(ATTRIBUTE_DEFINITIONS.KEY, ATTRIBUTE_DEFINITIONS.ID);
+            int materialId = attributeIds.get("pl_material");
+            List<Integer> materialOptions = dsl
+                    .select(ATTRIBUTE_OPTIONS.ID).from(ATTRIBUTE_OPTIONS)
+                    .where(ATTRIBUTE_OPTIONS.ATTRIBUTE_ID.eq(materialId))
+                    .orderBy(ATTRIBUTE_OPTIONS.SORT_ORDER).limit(2)
+                    .fetch(ATTRIBUTE_OPTIONS.ID);
+
+            var groups = dsl.select(PRODUCT_GROUPS.ID, PRODUCT_GROUPS.SLUG).from(PRODUCT_GROUPS)
+                    .where(PRODUCT_GROUPS.CATEGORY_ID.eq(leafId))
+                    .orderBy(PRODUCT_GROUPS.SORT_ORDER).limit(3)
+                    .fetch();
+            UUID groupId = groups.get(0).get(PRODUCT_GROUPS.ID);
+
+            var skuRows = dsl.select(SKUS.ID, SKUS.ORDINAL, SKUS.PART_NUMBER).from(SKUS)
+                    .where(SKUS.PRODUCT_GROUP_ID.eq(groupId))
+                    .orderBy(SKUS.SORT_KEY).limit(10)
+                    .fetch();
+
+            return new Fixture(rootId, "PlanRoot.M1", leafId, "PlanRoot.M1.L1", leaf.get(CATEGORIES.SLUG),
+                    materialId, materialOptions, attributeIds.get("pl_length"),
+                    groupId, groups.get(0).get(PRODUCT_GROUPS.SLUG), groups.getValues(PRODUCT_GROUPS.ID),
+                    skuRows.getValues(SKUS.ID),
+                    skuRows.getValues(SKUS.ORDINAL).stream().mapToInt(Integer::intValue).toArray(),
+                    skuRows.get(0).get(SKUS.PART_NUMBER));
+        }
+    }
+}
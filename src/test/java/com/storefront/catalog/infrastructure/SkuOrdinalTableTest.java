@@ -0,0 +1,78 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.domain.model.SkuOrdinals;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SkuOrdinalTableTest {
+
+    private final UUID bolt = UUID.randomUUID();
+    private final UUID nut = UUID.randomUUID();
+    private final UUID washer = UUID.randomUUID();
+
+    @Test
+    void translatesBothWays() {
+        var table = SkuOrdinalTable.builder(null)
+                .add(0, bolt)
+                .add(1, nut)
+                .add(3, washer)
+                .build();
+
+        assertThat(table.ordinalOf(nut)).isEqualTo(1);
+        assertThat(table.ordinalOf(washer)).isEqualTo(3);
+        assertThat(table.skuId(0)).isEqualTo(bolt);
+        assertThat(table.size()).isEqualTo(3);
+        assertThat(table.bound()).isEqualTo(4);
+    }
+
+    @Test
+    void unknownIdsAndUnassignedOrdinalsAreAbsent() {
+        var table = SkuOrdinalTable.builder(null).add(0, bolt).add(3, washer).build();
+
+        assertThat(table.ordinalOf(nut)).isEqualTo(SkuOrdinals.ABSENT);
+        assertThat(table.skuId(2)).isNull();
+        assertThat(table.skuId(4)).isNull();
+        assertThat(table.skuId(-1)).isNull();
+    }
+
+    @Test
+    void catchUpAppendsAndFillsGapsWithoutTouchingTheBase() {
+        var base = SkuOrdinalTable.builder(null).add(0, bolt).add(2, washer).build();
+
+        var extended = SkuOrdinalTable.builder(base)
+                .add(1, nut)           // committed after ordinal 2
+                .add(2, washer)        // re-read by the overlap
+                .add(5, UUID.randomUUID())
+                .build();
+
+        assertThat(extended.ordinalOf(nut)).isEqualTo(1);
+        assertThat(extended.size()).isEqualTo(4);
+        assertThat(extended.bound()).isEqualTo(6);
+        assertThat(base.ordinalOf(nut)).isEqualTo(SkuOrdinals.ABSENT);
+        assertThat(base.bound()).isEqualTo(3);
+    }
+
+    @Test
+    void rejectsReassigningAnOrdinal() {
+        var builder = SkuOrdinalTable.builder(null).add(0, bolt);
+
+        assertThatThrownBy(() -> builder.add(0, nut)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void findsEveryIdOfALargeTable() {
+        var ids = IntStream.range(0, 50_000).mapToObj(i -> UUID.randomUUID()).toArray(UUID[]::new);
+        var builder = SkuOrdinalTable.builder(null);
+        for (int i = 0; i < ids.length; i++) builder.add(i, ids[i]);
+        var table = builder.build();
+
+        for (int i = 0; i < ids.length; i++) {
+            assertThat(table.ordinalOf(ids[i])).isEqualTo(i);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.storefront.catalog.infrastructure;
+
+import com.storefront.catalog.ProductApi.FacetOption;
+import com.storefront.catalog.ProductApi.NumericRange;
+import com.storefront.catalog.ProductApi.SkuRow;
+import com.storefront.catalog.ProductApi.SpecValues;
+import com.storefront.catalog.domain.model.VariantCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VariantColumnsTest {
+
+    private static final int THREAD = 1;
+    private static final int LENGTH = 2;
+    private static final int M4 = 10;
+    private static final int M5 = 11;
+
+    private final SkuRow a = row("A-100");
+    private final SkuRow b = row("A-200");
+    private final SkuRow c = row("A-300");
+
+    private VariantColumns columns;
+
+    @BeforeEach
+    void setUp() {
+        columns = VariantColumns.builder(OffsetDateTime.now(), List.of(a, b, c))
+                .value(a.id(), THREAD, M4, null)
+                .value(a.id(), LENGTH, null, new BigDecimal("8"))
+                .value(b.id(), THREAD, M4, null)
+                .value(b.id(), LENGTH, null, new BigDecimal("12"))
+                .value(c.id(), THREAD, M5, null)
+                .value(c.id(), LENGTH, null, new BigDecimal("12"))
+                .value(UUID.randomUUID(), THREAD, M5, null)      // inactive SKU, not in rows
+                .option(M5, "m5", "M5", null, (short) 2)
+                .option(M4, "m4", "M4", null, (short) 1)
+                .facetAttribute(THREAD, "thread", "Thread Size", "checkbox", null)
+                .facetAttribute(LENGTH, "length", "Length", "range", "mm")
+                .build();
+    }
+
+    @Test
+    void noFiltersReturnsAllRowsInOriginalOrder() {
+        var table = columns.filter(Map.of(), Map.of());
+
+        assertThat(table.rows()).containsExactly(a, b, c);
+        assertThat(table.facets()).extracting(f -> f.key()).containsExactly("thread", "length");
+        assertThat(table.facets().get(0).options()).extracting(FacetOption::optionId).containsExactly(M4, M5);
+        assertThat(table.facets().get(0).options()).extracting(FacetOption::skuCount).containsExactly(2, 1);
+    }
+
+    @Test
+    void facetCountsCoverOnlyMatchingRows() {
+        var table = columns.filter(Map.of(), Map.of(LENGTH, new NumericRange(new BigDecimal("10"), new BigDecimal("12"))));
+
+        assertThat(table.rows()).containsExactly(b, c);
+        assertThat(table.facets().get(0).options()).extracting(FacetOption::skuCount).containsExactly(1, 1);
+        assertThat(table.facets().get(1).options()).singleElement()
+                .satisfies(o -> assertThat(o.optionId()).isNull())
+                .satisfies(o -> assertThat(o.skuCount()).isEqualTo(2));
+    }
+
+    @Test
+    void enumAndRangeFiltersAreIntersected() {
+        var table = columns.filter(
+                Map.of(THREAD, List.of(M4)),
+                Map.of(LENGTH, new NumericRange(new BigDecimal("10"), null)));
+
+        assertThat(table.rows()).containsExactly(b);
+    }
+
+    @Test
+    void rangeFacetSpansRowsExcludedOnlyByItsOwnFilter() {
+        var table = columns.filter(
+                Map.of(THREAD, List.of(M4)),
+                Map.of(LENGTH, new NumericRange(new BigDecimal("10"), null)));
+
+        var length = table.facets().get(1).range();
+        assertThat(length.min()).isEqualByComparingTo("8");
+        assertThat(length.max()).isEqualByComparingTo("12");
+        assertThat(length.buckets().stream().mapToInt(Integer::intValue).sum()).isEqualTo(2);
+        assertThat(table.facets().get(0).range()).isNull();
+    }
+
+    @Test
+    void rangeFacetMinMaxFollowTheResultWhileBucketsKeepTheScope() {
+        var table = columns.filter(Map.of(THREAD, List.of(M5)), Map.of());
+
+        var length = table.facets().get(1).range();
+        assertThat(length.min()).isEqualByComparingTo("12");
+        assertThat(length.max()).isEqualByComparingTo("12");
+        assertThat(length.scopeMin()).isEqualByComparingTo("8");
+        assertThat(length.scopeMax()).isEqualByComparingTo("12");
+        assertThat(length.buckets().get(0)).isZero();
+        assertThat(length.buckets().get(RangeHistogram.BUCKETS - 1)).isEqualTo(1);
+    }
+
+    @Test
+    void filterMatchingNothingKeepsOnlyTheRangeFacets() {
+        var table = columns.filter(Map.of(THREAD, List.of(999)), Map.of());
+
+        assertThat(table.rows()).isEmpty();
+        assertThat(table.facets()).singleElement().satisfies(length -> {
+            assertThat(length.key()).isEqualTo("length");
+            assertThat(length.options()).isEmpty();
+            assertThat(length.range().min()).isNull();
+            assertThat(length.range().max()).isNull();
+            assertThat(length.range().scopeMin()).isEqualByComparingTo("8");
+            assertThat(length.range().scopeMax()).isEqualByComparingTo("12");
+            assertThat(length.range().buckets()).containsOnly(0);
+        });
+    }
+
+    @Test
+    void pagesSeekPastTheCursorAndKeepFiltering() {
+        assertThat(columns.page(Map.of(), Map.of(), VariantCursor.after(a), 10)).containsExactly(b, c);
+        assertThat(columns.page(Map.of(), Map.of(), VariantCursor.after(a), 1)).containsExactly(b);
+        assertThat(columns.page(Map.of(THREAD, List.of(M5)), Map.of(), VariantCursor.after(a), 10)).containsExactly(c);
+        assertThat(columns.page(Map.of(), Map.of(), VariantCursor.after(c), 10)).isEmpty();
+    }
+
+    @Test
+    void aCursorWhoseRowIsGoneStillHasAPosition() {
+        var removed = new VariantCursor("A-150", UUID.randomUUID());
+
+        assertThat(columns.page(Map.of(), Map.of(), removed, 10)).containsExactly(b, c);
+    }
+
+    @Test
+    void equalSortKeysOrderByIdAsUnsignedBytes() {
+        // Signed comparison would put the second id first
+        var low = row(UUID.fromString("00000000-0000-0000-0000-000000000001"), "B-100");
+        var high = row(UUID.fromString("ffffffff-0000-0000-0000-000000000001"), "B-100");
+        var tied = VariantColumns.builder(OffsetDateTime.now(), List.of(low, high)).build();
+
+        assertThat(tied.page(Map.of(), Map.of(), VariantCursor.after(low), 10)).containsExactly(high);
+        assertThat(tied.page(Map.of(), Map.of(), VariantCursor.after(high), 10)).isEmpty();
+    }
+
+    private static SkuRow row(String partNumber) {
+        return row(UUID.randomUUID(), partNumber);
+    }
+
+    private static SkuRow row(UUID id, String partNumber) {
+        return new SkuRow(id, partNumber, partNumber, SpecValues.EMPTY, "each", 1, true, BigDecimal.ONE, List.of());
+    }
+}
@@ -1,10 +1,12 @@
 package com.storefront.catalog.interfaces;
 
 import com.storefront.catalog.ProductApi.NumericRange;
+import com.storefront.catalog.domain.model.FilterSignature;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -42,11 +44,50 @@ class FilterParamParserTest {
     }
 
     @Test
-    void rangeWithMissingMaxDefaultsToLargeValue() {
+    void rangeWithMissingMaxIsOpenEnded() {
         var params = Map.of("range_min_5", "2.0");
         var result = FilterParamParser.parse(params);
 
-        assertThat(result.rangeFilters().get(5).max())
-                .isEqualByComparingTo("999999");
+        assertThat(result.rangeFilters().get(5).min()).isEqualByComparingTo("2.0");
+        assertThat(result.rangeFilters().get(5).max()).isNull();
+    }
+
+    @Test
+    void rangeWithOnlyMaxIsOpenBelow() {
+        var params = Map.of("range_max_5", "8", "range_min_5", "");
+        var result = FilterParamParser.parse(params);
+
+        assertThat(result.rangeFilters().get(5).min()).isNull();
+        assertThat(result.rangeFilters().get(5).max()).isEqualByComparingTo("8");
+    }
+
+    @Test
+    void enumOptionIdsAreSortedAndDeduplicated() {
+        var result = FilterParamParser.parse(Map.of("enum_3", "5,1,2,1"));
+
+        assertThat(result.enumFilters().get(3)).containsExactly(1, 2, 5);
+    }
+
+    @Test
+    void reorderedQueryStringsShareOneSignature() {
+        Map<String, String> first = new LinkedHashMap<>();
+        first.put("enum_3", "1,2");
+        first.put("enum_5", "9");
+        first.put("range_min_7", "1.50");
+        first.put("range_max_7", "10");
+
+        Map<String, String> second = new LinkedHashMap<>();
+        second.put("range_max_7", "10.0");
+        second.put("enum_5", "9");
+        second.put("range_min_7", "1.5");
+        second.put("enum_3", "2,1");
+
+        var a = FilterParamParser.parse(first);
+        var b = FilterParamParser.parse(second);
+
+        assertThat(FilterSignature.of(a.enumFilters(), a.rangeFilters()))
+                .isEqualTo(FilterSignature.of(b.enumFilters(), b.rangeFilters()))
+                .isNotEqualTo(FilterSignature.of(a.enumFilters(), Map.of()));
+        assertThat(FilterSignature.of(Map.of(), Map.of())).isEqualTo(FilterSignature.NONE);
     }
 }
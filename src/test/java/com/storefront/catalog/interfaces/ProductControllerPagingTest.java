@@ -0,0 +1,68 @@
+package com.storefront.catalog.interfaces;
+
+import com.storefront.catalog.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Two-row pages, so the seeded group spans several keyset pages. */
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "storefront.catalog.variant-table.page-size=2")
+class ProductControllerPagingTest extends BaseIntegrationTest {
+
+    private static final String SLUG = "socket-head-cap-screws-alloy-steel";
+    private static final Pattern NEXT_PAGE = Pattern.compile("hx-get=\"([^\"]*cursor=[^\"]*)\"");
+    private static final Pattern PART_NUMBER = Pattern.compile("<span class=\"part-number\">([^<]+)</span>");
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void cursorPagesContinueWithoutRepeatsUntilTheLastPage() throws Exception {
+        String html = render("/catalog/product/" + SLUG + "/filter");
+        List<String> partNumbers = new ArrayList<>(partNumbers(html));
+        assertThat(partNumbers).hasSize(2);
+
+        Matcher next = NEXT_PAGE.matcher(html);
+        int pages = 1;
+        while (next.find()) {
+            String rows = render(next.group(1).replace("&amp;", "&"));
+            assertThat(rows).doesNotContain("items</span>");   // rows only, no table header
+            partNumbers.addAll(partNumbers(rows));
+            next = NEXT_PAGE.matcher(rows);
+            pages++;
+        }
+
+        assertThat(pages).isGreaterThan(1);
+        assertThat(partNumbers).doesNotHaveDuplicates();
+        assertThat(html).contains(partNumbers.size() + " items");
+    }
+
+    @Test
+    void malformedCursorYieldsNoRows() throws Exception {
+        String rows = render("/catalog/product/" + SLUG + "/filter?cursor=not-a-cursor");
+        assertThat(partNumbers(rows)).isEmpty();
+        assertThat(NEXT_PAGE.matcher(rows).find()).isFalse();
+    }
+
+    private String render(String url) throws Exception {
+        return mockMvc.perform(get(url).header("HX-Request", "true"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private static List<String> partNumbers(String html) {
+        return PART_NUMBER.matcher(html).results().map(m -> m.group(1)).toList();
+    }
+}
@@ -0,0 +1,178 @@
+package com.storefront.catalog.interfaces;
+
+import com.storefront.catalog.BaseIntegrationTest;
+import com.storefront.catalog.ProductApi;
+import com.storefront.catalog.ProductApi.SkuRow;
+import com.storefront.shared.web.StreamingTemplates;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.ui.ExtendedModelMap;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.matchesPattern;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Every group is outside the columnar store at threshold -1: its pages are
+ * SQL keyset seeks, and it streams in keyset batches when a request asks for
+ * the whole table with {@code page-size=0} — four rows per response here, the
+ * rest behind the scroll sentinel.
+ */
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "storefront.catalog.variant-table.page-size=2",
+        "storefront.catalog.variant-table.stream-threshold=-1",
+        "storefront.catalog.variant-table.stream-fetch-size=2",
+        "storefront.catalog.variant-table.stream-max-rows=4"
+})
+class ProductControllerStreamingTest extends BaseIntegrationTest {
+
+    private static final String SLUG = "socket-head-cap-screws-alloy-steel";
+    private static final Pattern NEXT_PAGE = Pattern.compile("hx-get=\"([^\"]*cursor=[^\"]*)\"");
+    private static final Pattern PART_NUMBER = Pattern.compile("<span class=\"part-number\">([^<]+)</span>");
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ProductApi productApi;
+
+    @Autowired
+    StreamingTemplates streamingTemplates;
+
+    @Test
+    void productPageStreamsVariantRows() throws Exception {
+        mockMvc.perform(get("/catalog/product/" + SLUG).param("page-size", "0").header("HX-Request", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/html"))
+                .andExpect(content().string(containsString("class=\"vt-row")))
+                .andExpect(content().string(containsString("10 items")))
+                .andExpect(content().string(containsString("page-size=0")))
+                .andExpect(content().string(not(containsString("No items match"))));
+    }
+
+    @Test
+    void streamedTablesContinueWithoutRepeats() throws Exception {
+        var first = mockMvc.perform(get("/catalog/product/" + SLUG).param("page-size", "0").header("HX-Request", "true"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(partNumbers(first)).hasSize(4);
+        assertThat(drain(first)).hasSize(10).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void filterEndpointStreamsFacetsWithTheActiveFilters() throws Exception {
+        var group = productApi.findProductGroupBySlug(SLUG).orElseThrow();
+        var facet = productApi.findFacetCounts(group.id(), null).stream()
+                .filter(f -> f.filterWidget().equals("checkbox") && !f.options().isEmpty())
+                .findFirst().orElseThrow();
+        int optionId = facet.options().get(0).optionId();
+
+        mockMvc.perform(get("/catalog/product/" + SLUG + "/filter")
+                        .param("enum_" + facet.attributeId(), String.valueOf(optionId))
+                        .param("page-size", "0"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("hx-swap-oob=\"innerHTML:#filter-panel\"")))
+                .andExpect(content().string(matchesPattern("(?s).*name=\"enum_" + facet.attributeId()
+                        + "\"\\s+value=\"" + optionId + "\"\\s+checked.*")));
+    }
+
+    @Test
+    void rowsReachTheResponseWhileTheCursorIsStillOpen() {
+        var group = productApi.findProductGroupBySlug(SLUG).orElseThrow();
+        var response = new MockHttpServletResponse();
+        response.setBufferSize(256);   // well under one table: the container would send chunks
+        var model = new ExtendedModelMap();
+        model.addAttribute("group", group);
+        model.addAttribute("activeFilters", Map.of());
+        model.addAttribute("columns", productApi.findColumnConfigs(List.of(group.id())).getOrDefault(group.id(), List.of()));
+
+        // Response size and state as each row is pulled from the cursor
+        List<Integer> written = new ArrayList<>();
+        List<Boolean> committed = new ArrayList<>();
+        productApi.streamVariantTable(group.id(), Map.of(), Map.of(), null, (rowCount, rows, nextCursor) -> {
+            model.addAttribute("itemCount", rowCount);
+            model.addAttribute("skuRows", (Iterable<SkuRow>) () -> {
+                var cursor = rows.iterator();
+                return new Iterator<>() {
+                    @Override
+                    public boolean hasNext() {
+                        return cursor.hasNext();
+                    }
+
+                    @Override
+                    public SkuRow next() {
+                        written.add(response.getContentAsByteArray().length);
+                        committed.add(response.isCommitted());
+                        return cursor.next();
+                    }
+                };
+            });
+            streamingTemplates.render("catalog/product/filtered", model, response);
+        });
+
+        assertThat(written).hasSize(4).isSorted();
+        assertThat(written.get(3)).isGreaterThan(written.get(0));
+        assertThat(written.get(3)).isLessThan(response.getContentAsByteArray().length);
+        assertThat(committed.get(3)).isTrue();
+    }
+
+    @Test
+    void filterEndpointStreamsEmptyResult() throws Exception {
+        mockMvc.perform(get("/catalog/product/" + SLUG + "/filter")
+                        .param("enum_999999", "1")
+                        .param("page-size", "0"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("0 items")))
+                .andExpect(content().string(containsString("No items match")));
+    }
+
+    @Test
+    void largeGroupsPageThroughSqlWithoutRepeats() throws Exception {
+        var first = mockMvc.perform(get("/catalog/product/" + SLUG).header("HX-Request", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("10 items")))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(partNumbers(first)).hasSize(2);
+        assertThat(drain(first)).hasSize(10).doesNotHaveDuplicates();
+    }
+
+    /** Part numbers of the first response and of every page its scroll sentinels load. */
+    private List<String> drain(String first) throws Exception {
+        List<String> skus = new ArrayList<>(partNumbers(first));
+        String next = nextPage(first);
+        while (next != null) {
+            var rows = mockMvc.perform(get(next.replace("&amp;", "&")))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            skus.addAll(partNumbers(rows));
+            next = nextPage(rows);
+        }
+        return skus;
+    }
+
+    private static List<String> partNumbers(String html) {
+        return PART_NUMBER.matcher(html).results().map(m -> m.group(1)).toList();
+    }
+
+    private static String nextPage(String html) {
+        var matcher = NEXT_PAGE.matcher(html);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+}
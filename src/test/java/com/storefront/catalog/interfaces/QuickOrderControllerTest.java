@@ -0,0 +1,40 @@
+package com.storefront.catalog.interfaces;
+
+import com.storefront.catalog.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+class QuickOrderControllerTest extends BaseIntegrationTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void resolvesPastedListIntoFoundAndUnknown() throws Exception {
+        mockMvc.perform(post("/catalog/quick-order")
+                        .param("partNumbers", " 92240A105\n92240A106,\tNO-SUCH-PART; 92240A105 "))
+                .andExpect(status().isOk())
+                .andExpect(content().string(allOf(
+                        containsString("2 found"),
+                        containsString(">92240A105<"),
+                        containsString(">92240A106<"),
+                        containsString("1 not found"),
+                        containsString(">NO-SUCH-PART<"))));
+    }
+
+    @Test
+    void rejectsListsAboveTheLimit() throws Exception {
+        mockMvc.perform(post("/catalog/quick-order")
+                        .param("partNumbers", "P-1\n".repeat(1001)))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,83 @@
+package com.storefront.catalog.interfaces;
+
+import com.storefront.catalog.BaseIntegrationTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc
+@TestPropertySource(properties = "storefront.catalog.sku-search.candidate-limit=" + SearchControllerTest.CANDIDATE_LIMIT)
+class SearchControllerTest extends BaseIntegrationTest {
+
+    /** Below the ten 18-8 stainless SKUs, above every other query's matches. */
+    static final int CANDIDATE_LIMIT = 8;
+
+    private static final String SLUG = "socket-head-cap-screws-alloy-steel";
+    private static final Pattern PART_NUMBER = Pattern.compile("<span class=\"part-number\">([^<]+)</span>");
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void partNumbersMatchIgnoringDashesAndSpacing() throws Exception {
+        String html = render("/catalog/search?q=91251-a 12");
+
+        assertThat(html).contains("Matching parts", "/catalog/product/" + SLUG + "?match=91251-a+12");
+        assertThat(partNumbers(html)).containsExactly("91251A120", "91251A121", "91251A122", "91251A123");
+    }
+
+    @Test
+    void deepLinkListsOnlyTheMatchingRows() throws Exception {
+        String html = render("/catalog/product/" + SLUG + "?match=91251a14");
+
+        assertThat(html).contains("3 items matching");
+        assertThat(partNumbers(html)).containsExactlyInAnyOrder("91251A140", "91251A141", "91251A142");
+    }
+
+    @Test
+    void specValuesMatchEveryWord() throws Exception {
+        // "stainless" is every SKU's material, "UNF" only two thread types
+        String html = render("/catalog/product/hex-head-cap-screws-18-8-stainless-steel?match=stainless unf");
+
+        assertThat(html).contains("2 items matching");
+        assertThat(partNumbers(html)).containsExactlyInAnyOrder("92188A110", "92188A111");
+    }
+
+    @Test
+    void countsCutAtTheCandidateLimitAreLabelledAsLowerBounds() throws Exception {
+        String html = render("/catalog/search?q=stainless");
+
+        assertThat(html).containsPattern("\\d\\+ matching");
+    }
+
+    @Test
+    void deepLinkWithoutMatchesShowsTheWholeGroup() throws Exception {
+        mockMvc.perform(get("/catalog/product/" + SLUG).param("match", "no such part"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/catalog/product/" + SLUG));
+    }
+
+    private String render(String url) throws Exception {
+        return mockMvc.perform(get(url).header("HX-Request", "true"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private static List<String> partNumbers(String html) {
+        List<String> partNumbers = new ArrayList<>();
+        var matcher = PART_NUMBER.matcher(html);
+        while (matcher.find()) partNumbers.add(matcher.group(1));
+        return partNumbers;
+    }
+}
@@ -0,0 +1,66 @@
+package com.storefront.shared;
+
+import com.storefront.shared.Pagination.TotalAccuracy;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PaginationTest {
+
+    private static final List<String> FULL = List.of("a", "b", "c");
+    private static final List<String> SHORT = List.of("a");
+
+    @Test
+    void exactTotalsDecideTheNextPage() {
+        var middle = Pagination.of(FULL, 7, PageRequest.of(1, 3));
+        assertThat(middle.totalPages()).isEqualTo(3);
+        assertThat(middle.hasPrevious()).isTrue();
+        assertThat(middle.hasNext()).isTrue();
+        assertThat(middle.isTotalExact()).isTrue();
+
+        // A full last page: the total, not the page size, says it is the last
+        var last = Pagination.of(FULL, 6, PageRequest.of(1, 3));
+        assertThat(last.hasNext()).isFalse();
+    }
+
+    @Test
+    void aLowerBoundDoesNotEndPagingAtTheCap() {
+        var atCap = Pagination.of(FULL, 6, PageRequest.of(1, 3), TotalAccuracy.LOWER_BOUND);
+        assertThat(atCap.totalPages()).isEqualTo(2);
+        assertThat(atCap.hasNext()).isTrue();
+        assertThat(atCap.isTotalExact()).isFalse();
+
+        var pastCap = Pagination.of(SHORT, 6, PageRequest.of(2, 3), TotalAccuracy.LOWER_BOUND);
+        assertThat(pastCap.hasNext()).isFalse();
+        assertThat(pastCap.hasPrevious()).isTrue();
+    }
+
+    @Test
+    void anEstimateDecidesTheNextPageFromPageFullness() {
+        var underEstimated = Pagination.of(FULL, 2, PageRequest.of(0, 3), TotalAccuracy.ESTIMATE);
+        assertThat(underEstimated.hasNext()).isTrue();
+
+        var overEstimated = Pagination.of(SHORT, 100, PageRequest.of(0, 3), TotalAccuracy.ESTIMATE);
+        assertThat(overEstimated.hasNext()).isFalse();
+    }
+
+    @Test
+    void mapKeepsTheAccuracy() {
+        var page = Pagination.of(FULL, 1000, PageRequest.of(0, 3), TotalAccuracy.LOWER_BOUND)
+                .map(String::length);
+
+        assertThat(page.items()).containsExactly(1, 1, 1);
+        assertThat(page.totalAccuracy()).isEqualTo(TotalAccuracy.LOWER_BOUND);
+        assertThat(page.hasNext()).isTrue();
+    }
+
+    @Test
+    void emptyIsExact() {
+        var empty = Pagination.<String>empty(PageRequest.of(0, 3));
+        assertThat(empty.isEmpty()).isTrue();
+        assertThat(empty.hasNext()).isFalse();
+        assertThat(empty.isTotalExact()).isTrue();
+    }
+}
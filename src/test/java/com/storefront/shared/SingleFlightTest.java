@@ -0,0 +1,139 @@
+package com.storefront.shared;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, String> flights = new SingleFlight<>();
+    private final AtomicInteger runs = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test
+    void concurrentCallersWithOneKeyShareOneRun() throws Exception {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<String>> callers = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                callers.add(executor.submit(() -> flights.execute("bolts", () -> blockedRun("page"))));
+            }
+            awaitWaiters(49);
+            release.countDown();
+
+            for (var caller : callers) assertThat(caller.get(5, TimeUnit.SECONDS)).isEqualTo("page");
+        }
+        assertThat(runs).hasValue(1);
+        assertThat(flights.leaderCount()).isEqualTo(1);
+        assertThat(flights.coalescedCount()).isEqualTo(49);
+        assertThat(flights.inFlightCount()).isZero();
+    }
+
+    @Test
+    void differentKeysDoNotWaitOnEachOther() {
+        assertThat(flights.execute("bolts", () -> "bolt page")).isEqualTo("bolt page");
+        assertThat(flights.execute("nuts", () -> "nut page")).isEqualTo("nut page");
+        assertThat(flights.coalescedCount()).isZero();
+    }
+
+    @Test
+    void failureReachesOnlyTheWaitersOfThatCall() throws Exception {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var leader = executor.submit(() -> flights.execute("bolts", () -> {
+                blockedRun("unused");
+                throw new IllegalStateException("replica down");
+            }));
+            awaitInFlight();
+            var waiter = executor.submit(() -> flights.execute("bolts", () -> "never runs"));
+            awaitWaiters(1);
+            release.countDown();
+
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasRootCauseMessage("replica down");
+            assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause().isInstanceOf(IllegalStateException.class);
+        }
+
+        // The failed flight is gone; the next caller runs afresh
+        assertThat(flights.execute("bolts", () -> "recovered")).isEqualTo("recovered");
+    }
+
+    @Test
+    void interruptedWaiterStopsWaitingWhileTheLeaderRuns() throws Exception {
+        var waiterGone = new CountDownLatch(1);
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var leader = executor.submit(() -> flights.execute("bolts", () -> blockedRun("page")));
+            awaitInFlight();
+            var waiter = executor.submit(() -> {
+                try {
+                    return flights.execute("bolts", () -> "never runs");
+                } finally {
+                    waiterGone.countDown();
+                }
+            });
+            awaitWaiters(1);
+
+            waiter.cancel(true);
+            assertThat(waiterGone.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(leader.isDone()).isFalse();
+
+            release.countDown();
+            assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("page");
+        }
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void waitersRetryWhenTheLeaderIsCancelled() throws Exception {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var leader = executor.submit(() -> flights.execute("bolts", () -> {
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("request abandoned");
+                }
+                return "unused";
+            }));
+            awaitInFlight();
+            var waiter = executor.submit(() -> flights.execute("bolts", () -> "fresh page"));
+            awaitWaiters(1);
+
+            leader.cancel(true);
+
+            assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("fresh page");
+        }
+        assertThat(flights.leaderCount()).isEqualTo(2);
+        assertThat(flights.inFlightCount()).isZero();
+    }
+
+    private String blockedRun(String result) {
+        runs.incrementAndGet();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return result;
+    }
+
+    private void awaitInFlight() throws InterruptedException {
+        while (flights.inFlightCount() == 0) Thread.sleep(1);
+    }
+
+    private void awaitWaiters(int waiters) throws InterruptedException {
+        while (flights.coalescedCount() < waiters) Thread.sleep(1);
+    }
+}
@@ -0,0 +1,138 @@
+package com.storefront.shared.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class BatchLoaderTest {
+
+    private final List<Set<String>> calls = new ArrayList<>();
+
+    private final BatchLoader<String, Integer> lengths = new BatchLoader<>(keys -> {
+        calls.add(Set.copyOf(keys));
+        Map<String, Integer> result = new HashMap<>();
+        keys.stream().filter(k -> !k.startsWith("missing")).forEach(k -> result.put(k, k.length()));
+        return result;
+    });
+
+    @Test
+    void keysQueuedInOnePhaseGoOutAsOneBatch() {
+        var a = lengths.load("bolt");
+        var b = lengths.load("washer");
+        var c = lengths.load("bolt");
+
+        assertThat(calls).isEmpty();
+        assertThat(a.get()).contains(4);
+        assertThat(b.get()).contains(6);
+        assertThat(c.get()).contains(4);
+        assertThat(calls).containsExactly(Set.of("bolt", "washer"));
+    }
+
+    @Test
+    void loadedAndAbsentKeysAreNotFetchedAgain() {
+        assertThat(lengths.get("bolt")).contains(4);
+        assertThat(lengths.get("missing-nut")).isEmpty();
+
+        lengths.load("bolt");
+        lengths.load("missing-nut");
+        lengths.dispatch();
+        assertThat(lengths.getAll(List.of("bolt", "missing-nut", "rivet")))
+                .containsExactly(Map.entry("bolt", 4), Map.entry("rivet", 5));
+
+        assertThat(calls).containsExactly(Set.of("bolt"), Set.of("missing-nut"), Set.of("rivet"));
+        assertThat(lengths.batchCount()).isEqualTo(3);
+    }
+
+    @Test
+    void forksShareOneFetch() {
+        var slow = new BatchLoader<String, String>(keys -> {
+            sleep(100);
+            calls.add(Set.copyOf(keys));
+            return Map.of("bolt", "Hex bolt");
+        });
+        slow.load("bolt");
+
+        try (var page = new PageAssembly(Duration.ofSeconds(5))) {
+            var a = page.fork(() -> slow.load("bolt").get());
+            var b = page.fork(() -> slow.load("bolt").get());
+            page.join();
+
+            assertThat(a.get()).contains("Hex bolt");
+            assertThat(b.get()).contains("Hex bolt");
+        }
+        assertThat(calls).hasSize(1);
+    }
+
+    @Test
+    void aRunningBatchDoesNotHoldUpOtherKeys() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var slow = new BatchLoader<String, String>(keys -> {
+            if (keys.contains("slow")) {
+                started.countDown();
+                await(release);
+            }
+            calls.add(Set.copyOf(keys));
+            Map<String, String> result = new HashMap<>();
+            keys.forEach(k -> result.put(k, k.toUpperCase()));
+            return result;
+        });
+        assertThat(slow.get("bolt")).contains("BOLT");
+
+        try (var page = new PageAssembly(Duration.ofSeconds(5))) {
+            var pending = page.fork(() -> slow.get("slow"));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+                assertThat(slow.get("bolt")).contains("BOLT");
+                assertThat(slow.get("nut")).contains("NUT");
+            });
+
+            release.countDown();
+            page.join();
+            assertThat(pending.get()).contains("SLOW");
+        }
+        assertThat(calls).containsExactly(Set.of("bolt"), Set.of("nut"), Set.of("slow"));
+    }
+
+    @Test
+    void aFailedBatchIsAskedForAgain() {
+        var attempts = new AtomicInteger();
+        var flaky = new BatchLoader<String, Integer>(keys -> {
+            if (attempts.incrementAndGet() == 1) throw new IllegalStateException("replica down");
+            return Map.of("bolt", 4);
+        });
+
+        assertThatThrownBy(() -> flaky.get("bolt")).isInstanceOf(IllegalStateException.class);
+        assertThat(flaky.get("bolt")).contains(4);
+        assertThat(attempts).hasValue(2);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.storefront.shared.web;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageAssemblyTest {
+
+    @Test
+    void forksRunConcurrently() {
+        long start = System.nanoTime();
+        try (var page = new PageAssembly(Duration.ofSeconds(5))) {
+            var a = page.fork(() -> sleepThen(300, "a"));
+            var b = page.fork(() -> sleepThen(300, "b"));
+            var c = page.fork(() -> sleepThen(300, "c"));
+            page.join();
+
+            assertThat(a.get() + b.get() + c.get()).isEqualTo("abc");
+        }
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(800));
+    }
+
+    @Test
+    void firstFailureIsRethrownAndCancelsSiblings() throws InterruptedException {
+        var siblingInterrupted = new CountDownLatch(1);
+        var failure = new IllegalArgumentException("not found");
+
+        try (var page = new PageAssembly(Duration.ofSeconds(5))) {
+            page.fork(() -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    siblingInterrupted.countDown();
+                }
+                return null;
+            });
+            page.fork(() -> { throw failure; });
+
+            assertThatThrownBy(page::join).isSameAs(failure);
+        }
+        assertThat(siblingInterrupted.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void deadlineIsSharedAcrossForks() {
+        long start = System.nanoTime();
+
+        try (var page = new PageAssembly(Duration.ofMillis(200))) {
+            // The slow fork only gets what is left of the 200 ms page budget
+            page.fork(() -> sleepThen(150, "fits"));
+            page.fork(() -> sleepThen(150, "fits"));
+            page.fork(() -> sleepThen(5_000, "too slow"));
+
+            assertThatThrownBy(page::join).isInstanceOf(PageAssemblyTimeoutException.class);
+        }
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    @Test
+    void closeWaitsForCancelledForksToStop() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        var stopped = new AtomicBoolean();
+
+        try (var page = new PageAssembly(Duration.ofSeconds(5))) {
+            page.fork(() -> {
+                started.countDown();
+                busyFor(200);   // does not see the interrupt until it is done
+                stopped.set(true);
+                return null;
+            });
+            started.await();
+        }
+        assertThat(stopped).isTrue();
+    }
+
+    @Test
+    void closeGivesUpOnAForkIgnoringTheInterrupt() throws InterruptedException {
+        var started = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        try (var page = new PageAssembly(Duration.ofSeconds(5))) {
+            page.fork(() -> {
+                started.countDown();
+                busyFor(5_000);
+                return null;
+            });
+            started.await();
+        }
+        assertThat(Duration.ofNanos(System.nanoTime() - start))
+                .isGreaterThanOrEqualTo(PageAssembly.CLOSE_GRACE)
+                .isLessThan(Duration.ofSeconds(2));
+    }
+
+    private static void busyFor(long millis) {
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        while (System.nanoTime() < end) {
+            Thread.onSpinWait();
+        }
+    }
+
+    private static String sleepThen(long millis, String value) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,31 @@
+package com.storefront.shared.web;
+
+import com.storefront.shared.PageRequest;
+import com.storefront.shared.Pagination;
+import com.storefront.shared.Pagination.TotalAccuracy;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TemplateHelpersTest {
+
+    @Test
+    void formatTotalMarksTotalsThatAreNotExact() {
+        assertThat(TemplateHelpers.formatTotal(page(1234, TotalAccuracy.EXACT))).isEqualTo("1,234");
+        assertThat(TemplateHelpers.formatTotal(page(1000, TotalAccuracy.LOWER_BOUND))).isEqualTo("1,000+");
+        assertThat(TemplateHelpers.formatTotal(page(0, TotalAccuracy.EXACT))).isEqualTo("0");
+    }
+
+    @Test
+    void formatTotalRoundsEstimatesToTwoSignificantDigits() {
+        assertThat(TemplateHelpers.formatTotal(page(12_345, TotalAccuracy.ESTIMATE))).isEqualTo("about 12,000");
+        assertThat(TemplateHelpers.formatTotal(page(1_960, TotalAccuracy.ESTIMATE))).isEqualTo("about 2,000");
+        assertThat(TemplateHelpers.formatTotal(page(7, TotalAccuracy.ESTIMATE))).isEqualTo("about 7");
+    }
+
+    private static Pagination<String> page(int total, TotalAccuracy accuracy) {
+        return Pagination.of(List.of(), total, PageRequest.of(0, 10), accuracy);
+    }
+}
@@ -0,0 +1,139 @@
+-- ════════════════════════════════════════════════════════════════════════════
+-- Synthetic catalog for QueryPlanRegressionTest
+--
+-- PlanRoot ─ M{1..mids} ─ L{1..leaves_per_mid}, every leaf with four
+-- attributes, groups_per_leaf product groups and skus_per_group SKUs.
+-- Placeholders ${...} are substituted by the test before execution.
+--
+-- Bulk-loaded with triggers off (session_replication_role = replica); the
+-- denormalized columns the triggers would maintain are filled explicitly
+-- below, then statistics are gathered so the planner sees production-like
+-- row counts.
+-- ════════════════════════════════════════════════════════════════════════════
+
+SET session_replication_role = replica;
+
+-- ── Category tree ───────────────────────────────────────────────────────────
+
+INSERT INTO categories (parent_id, slug, name, path, depth, is_leaf, is_active, sort_order)
+VALUES (NULL, 'plan-root', 'Plan Root', 'PlanRoot', 0, FALSE, TRUE, 900);
+
+INSERT INTO categories (parent_id, slug, name, path, depth, is_leaf, is_active, sort_order)
+SELECT r.id, 'plan-m' || m, 'Plan Mid ' || m, ('PlanRoot.M' || m)::LTREE, 1, FALSE, TRUE, m
+FROM categories r, generate_series(1, ${mids}) m
+WHERE r.path = 'PlanRoot';
+
+INSERT INTO categories (parent_id, slug, name, path, depth, is_leaf, is_active, sort_order)
+SELECT p.id, 'plan-m' || m || '-l' || l, 'Plan Leaf ' || m || '.' || l,
+       ('PlanRoot.M' || m || '.L' || l)::LTREE, 2, TRUE, TRUE, l
+FROM generate_series(1, ${mids}) m
+JOIN categories p ON p.path = ('PlanRoot.M' || m)::LTREE
+CROSS JOIN generate_series(1, ${leaves_per_mid}) l;
+
+SELECT fn_renumber_category_intervals();
+
+
+-- ── Attributes and options (per leaf) ───────────────────────────────────────
+
+INSERT INTO attribute_definitions (category_id, key, label, unit_label, data_type, filter_widget,
+                                   filter_sort_order, table_sort_order)
+SELECT c.id, a.key, a.label, a.unit, a.dtype, a.widget, a.ord, a.ord
+FROM categories c
+CROSS JOIN (VALUES
+    ('pl_material', 'Material', NULL, 'enum',   'checkbox', 1),
+    ('pl_finish',   'Finish',   NULL, 'enum',   'checkbox', 2),
+    ('pl_thread',   'Thread',   NULL, 'enum',   'dropdown', 3),
+    ('pl_length',   'Length',   'mm', 'number', 'range',    4)
+) AS a(key, label, unit, dtype, widget, ord)
+WHERE c.path <@ 'PlanRoot' AND c.is_leaf;
+
+INSERT INTO attribute_options (attribute_id, value, display_value, sort_order)
+SELECT ad.id, ad.key || '-' || o, initcap(ad.key) || ' ' || o, o
+FROM attribute_definitions ad
+JOIN categories c ON c.id = ad.category_id AND c.path <@ 'PlanRoot'
+CROSS JOIN LATERAL generate_series(1, CASE ad.key WHEN 'pl_material' THEN 8
+                                                  WHEN 'pl_finish'   THEN 5
+                                                  WHEN 'pl_thread'   THEN 12 END) o
+WHERE ad.data_type = 'enum';
+
+
+-- ── Product groups, columns, SKUs ───────────────────────────────────────────
+
+INSERT INTO product_groups (category_id, name, subtitle, slug, description, sku_count, any_in_stock, sort_order)
+SELECT c.id, 'Plan Hex Bolt ' || c.id || '-' || g, 'Synthetic group',
+       'plan-g' || c.id || '-' || g, 'Zinc-plated steel hex bolt, series ' || g,
+       ${skus_per_group}, TRUE, g
+FROM categories c
+CROSS JOIN generate_series(1, ${groups_per_leaf}) g
+WHERE c.path <@ 'PlanRoot' AND c.is_leaf;
+
+UPDATE product_groups
+SET search_vector = SETWEIGHT(TO_TSVECTOR('english', name), 'A')
+                 || SETWEIGHT(TO_TSVECTOR('english', COALESCE(subtitle, '')), 'B')
+                 || SETWEIGHT(TO_TSVECTOR('english', COALESCE(description, '')), 'C')
+WHERE slug LIKE 'plan-g%';
+
+INSERT INTO product_group_columns (product_group_id, attribute_id, role, sort_order)
+SELECT pg.id, ad.id, CASE ad.key WHEN 'pl_thread' THEN 'sort_primary' ELSE 'column' END, ad.table_sort_order
+FROM product_groups pg
+JOIN attribute_definitions ad ON ad.category_id = pg.category_id
+WHERE pg.slug LIKE 'plan-g%';
+
+INSERT INTO skus (product_group_id, part_number, name, sort_key, in_stock, price_1ea)
+SELECT pg.id, 'PL' || substr(md5(pg.slug), 1, 8) || '-' || lpad(n::TEXT, 5, '0'),
+       pg.name || ' #' || n, lpad(n::TEXT, 6, '0'), n % 4 <> 0, 0.10 + n * 0.01
+FROM product_groups pg
+CROSS JOIN generate_series(1, ${skus_per_group}) n
+WHERE pg.slug LIKE 'plan-g%';
+
+UPDATE product_groups pg
+SET min_price_usd = 0.11
+WHERE pg.slug LIKE 'plan-g%';
+
+
+-- ── EAV values, price tiers, facet index ────────────────────────────────────
+
+INSERT INTO sku_attributes (sku_id, attribute_id, value_text, value_numeric, option_id)
+SELECT s.id, ad.id,
+       COALESCE(ao.value, v.num::TEXT),
+       CASE WHEN ad.data_type = 'number' THEN v.num END,
+       ao.id
+FROM skus s
+JOIN product_groups pg ON pg.id = s.product_group_id AND pg.slug LIKE 'plan-g%'
+JOIN attribute_definitions ad ON ad.category_id = pg.category_id
+CROSS JOIN LATERAL (SELECT hashtext(s.part_number || ad.key) & 2147483647 AS h,
+                           (hashtext(s.part_number) & 63) * 2.5 + 3 AS num) v
+LEFT JOIN attribute_options ao
+       ON ad.data_type = 'enum'
+      AND ao.attribute_id = ad.id
+      AND ao.sort_order = 1 + v.h % CASE ad.key WHEN 'pl_material' THEN 8
+                                                WHEN 'pl_finish'   THEN 5
+                                                ELSE 12 END;
+
+UPDATE skus s
+SET specs_jsonb = x.specs
+FROM (SELECT sa.sku_id, jsonb_object_agg(ad.key, sa.value_text) AS specs
+      FROM sku_attributes sa
+      JOIN attribute_definitions ad ON ad.id = sa.attribute_id AND ad.key LIKE 'pl\_%'
+      GROUP BY sa.sku_id) x
+WHERE s.id = x.sku_id;
+
+INSERT INTO sku_price_tiers (sku_id, qty_min, qty_max, unit_price)
+SELECT s.id, t.mn, t.mx, s.price_1ea * t.mult
+FROM skus s
+JOIN product_groups pg ON pg.id = s.product_group_id AND pg.slug LIKE 'plan-g%'
+CROSS JOIN (VALUES (1, 24, 1.00), (25, 99, 0.80), (100, NULL, 0.65)) AS t(mn, mx, mult);
+
+INSERT INTO sku_facet_index (sku_id, category_id, attribute_id, option_id, value_numeric,
+                             product_group_id, leaf_lft)
+SELECT sa.sku_id, c.id, sa.attribute_id, sa.option_id, sa.value_numeric, pg.id, c.lft
+FROM sku_attributes sa
+JOIN skus s            ON s.id = sa.sku_id
+JOIN product_groups pg ON pg.id = s.product_group_id AND pg.slug LIKE 'plan-g%'
+JOIN categories c      ON c.id = pg.category_id;
+
+SELECT fn_rebuild_category_facet_counts();
+
+SET session_replication_role = origin;
+
+ANALYZE;